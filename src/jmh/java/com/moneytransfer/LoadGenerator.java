@@ -0,0 +1,444 @@
+package com.moneytransfer;
+
+import com.google.gson.Gson;
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.request.AccountRequest;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.request.UpdateBalanceRequest;
+import com.moneytransfer.server.BinaryProtocol;
+import com.moneytransfer.server.VirtualThreads;
+import com.moneytransfer.utils.Configuration;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.moneytransfer.utils.Constants.DECIMAL_PLACES;
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static spark.Spark.awaitInitialization;
+
+/**
+ * Starts the server in this JVM and drives a mix of deposits, withdrawals and transfers against it
+ * from many client threads, then checks that the balances of all accounts add up.
+ *
+ * <p>Options are given as {@code key=value} arguments: {@code accounts}, {@code threads},
+ * {@code mode} ({@code closed} or {@code open}), {@code rate} (requests per second of the
+ * open-loop mode), {@code warmup} and {@code duration} (seconds), {@code mix} (percentages of
+ * deposits, withdrawals and transfers, e.g. {@code 20:20:60}), {@code balance} (initial deposit
+ * of each account), {@code amount} (maximum amount of an operation), {@code clients}
+ * ({@code platform} or {@code virtual} threads), and {@code protocol=binary} with
+ * {@code pipeline} (commands in flight per connection) to use the binary endpoint.
+ */
+public class LoadGenerator {
+
+    private static final String BASE_URL = "http://localhost:4567/api";
+
+    enum Endpoint { DEPOSIT, WITHDRAW, TRANSFER }
+
+    private final int accountCount;
+    private final int threads;
+    private final boolean virtualClients;
+    private final boolean openLoop;
+    private final int rate;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int[] mix;
+    private final long initialBalanceCents;
+    private final long maxAmountCents;
+    private final boolean binary;
+    private final int pipeline;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HTTP_1_1).build();
+    private final Gson gson = new Gson();
+    private final List<String> accounts = new ArrayList<>();
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> completed = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> rejected = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> failed = new EnumMap<>(Endpoint.class);
+    private final LongAdder depositedCents = new LongAdder();
+    private final LongAdder withdrawnCents = new LongAdder();
+    private final LongAdder unknownOutcomes = new LongAdder();
+
+    LoadGenerator(final Map<String, String> options) {
+        this.accountCount = Integer.parseInt(options.getOrDefault("accounts", "100"));
+        this.threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        this.virtualClients = "virtual".equalsIgnoreCase(options.getOrDefault("clients", "platform"));
+        this.openLoop = "open".equalsIgnoreCase(options.getOrDefault("mode", "closed"));
+        this.rate = Integer.parseInt(options.getOrDefault("rate", "2000"));
+        this.warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        this.initialBalanceCents = toCents(new BigDecimal(options.getOrDefault("balance", "1000.00")));
+        this.maxAmountCents = toCents(new BigDecimal(options.getOrDefault("amount", "100.00")));
+        this.binary = "binary".equalsIgnoreCase(options.getOrDefault("protocol", "http"));
+        this.pipeline = Integer.parseInt(options.getOrDefault("pipeline", "64"));
+
+        final String[] mix = options.getOrDefault("mix", "20:20:60").split(":");
+        this.mix = new int[]{Integer.parseInt(mix[0]), Integer.parseInt(mix[1]), Integer.parseInt(mix[2])};
+
+        if (this.accountCount < 2 || this.threads < 1 || this.rate < 1 || this.maxAmountCents < 1
+            || this.mix[0] + this.mix[1] + this.mix[2] <= 0) {
+            throw new IllegalArgumentException("Load needs 2 accounts, 1 thread, a positive rate, amount and mix");
+        }
+
+        if (this.binary && (this.openLoop || this.pipeline < 1)) {
+            throw new IllegalArgumentException("Binary load needs the closed-loop mode and a positive pipeline");
+        }
+
+        for (final Endpoint endpoint : Endpoint.values()) {
+            this.recorders.put(endpoint, new Recorder(3));
+            this.completed.put(endpoint, new LongAdder());
+            this.rejected.put(endpoint, new LongAdder());
+            this.failed.put(endpoint, new LongAdder());
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Map<String, String> options = new HashMap<>();
+
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Option should be given as key=value: " + arg);
+            }
+
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        final boolean conserved = new LoadGenerator(options).run();
+        System.exit(conserved ? 0 : 1);
+    }
+
+    boolean run() throws Exception {
+        if (this.binary && !Configuration.get("moneytransfer.binary.port").isPresent()) {
+            System.setProperty("moneytransfer.binary.port", "0");
+        }
+
+        ApiServer.initialize();
+        awaitInitialization();
+
+        try {
+            createAccounts();
+
+            System.out.printf("%s loop, %d %sthreads%s, %d accounts, mix %d:%d:%d%n",
+                this.openLoop ? "Open" : "Closed", this.threads, this.virtualClients ? "virtual " : "",
+                this.openLoop ? " at " + this.rate + " req/s"
+                    : this.binary ? " on binary connections of " + this.pipeline + " commands in flight" : "",
+                this.accountCount, this.mix[0], this.mix[1], this.mix[2]);
+
+            drive(this.warmupSeconds);
+            resetStatistics();
+            drive(this.durationSeconds);
+            report();
+
+            return checkConservation();
+        } finally {
+            ApiServer.shutdown();
+        }
+    }
+
+    private void createAccounts() throws Exception {
+        for (int i = 0; i < this.accountCount; i++) {
+            final HttpResponse<String> created = send(HttpRequest.newBuilder(URI.create(BASE_URL + "/accounts"))
+                .POST(body(new AccountRequest("Load " + i))));
+
+            if (created.statusCode() != 200) {
+                throw new IllegalStateException("Error creating account: " + created.body());
+            }
+
+            final String number = this.gson.fromJson(created.body(), Account.class).getNumber();
+            final HttpResponse<String> deposited = send(deposit(number, this.initialBalanceCents));
+
+            if (deposited.statusCode() != 200) {
+                throw new IllegalStateException("Error depositing initial balance: " + deposited.body());
+            }
+
+            this.depositedCents.add(this.initialBalanceCents);
+            this.accounts.add(number);
+        }
+    }
+
+    private void drive(final int seconds) throws Exception {
+        if (seconds <= 0) {
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final long deadline = start + SECONDS.toNanos(seconds);
+        final long interval = SECONDS.toNanos(1) / this.rate;
+        final ExecutorService executor = this.virtualClients
+            ? VirtualThreads.newExecutor() : newFixedThreadPool(this.threads);
+
+        try {
+            final List<Future<?>> workers = new ArrayList<>();
+
+            for (int i = 0; i < this.threads; i++) {
+                final int worker = i;
+
+                workers.add(executor.submit(() -> {
+                    if (this.binary) {
+                        pipeline(deadline);
+                        return null;
+                    }
+
+                    for (long request = 0; ; request++) {
+                        final long due = this.openLoop ? start + (request * this.threads + worker) * interval
+                            : System.nanoTime();
+
+                        if (due >= deadline) {
+                            return null;
+                        }
+
+                        final long wait = due - System.nanoTime();
+
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+
+                        execute(due);
+                    }
+                }));
+            }
+
+            for (final Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void execute(final long due) throws InterruptedException {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final Endpoint endpoint = pickEndpoint(random);
+        final String origin = this.accounts.get(random.nextInt(this.accounts.size()));
+        final long cents = 1 + random.nextLong(this.maxAmountCents);
+
+        final HttpRequest.Builder request;
+
+        switch (endpoint) {
+            case DEPOSIT:
+                request = deposit(origin, cents);
+                break;
+            case WITHDRAW:
+                request = HttpRequest.newBuilder(URI.create(BASE_URL + "/accounts/" + origin + "/withdraw"))
+                    .PUT(body(new UpdateBalanceRequest(toAmount(cents))));
+                break;
+            default:
+                request = HttpRequest.newBuilder(URI.create(BASE_URL + "/transfers"))
+                    .POST(body(new TransferRequest(origin, pickDestination(random, origin), toAmount(cents))));
+        }
+
+        int status;
+
+        try {
+            status = send(request).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        }
+
+        record(endpoint, cents, status, due);
+    }
+
+    private void pipeline(final long deadline) throws IOException {
+        final int port = ApiServer.getBinaryServer().getPort();
+        final Map<Long, Command> inFlight = new HashMap<>();
+        final ByteBuffer frame = ByteBuffer.allocate(BinaryProtocol.LENGTH_SIZE + BinaryProtocol.MAX_COMMAND_SIZE);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setTcpNoDelay(true);
+
+            final OutputStream output = new BufferedOutputStream(socket.getOutputStream());
+            final DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            long correlationId = 0;
+
+            while (true) {
+                final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                while (inFlight.size() < this.pipeline && System.nanoTime() < deadline) {
+                    final Endpoint endpoint = pickEndpoint(random);
+                    final String origin = this.accounts.get(random.nextInt(this.accounts.size()));
+                    final long cents = 1 + random.nextLong(this.maxAmountCents);
+
+                    frame.clear();
+
+                    if (endpoint == Endpoint.DEPOSIT) {
+                        BinaryProtocol.writeDeposit(frame, ++correlationId, origin, cents);
+                    } else if (endpoint == Endpoint.WITHDRAW) {
+                        BinaryProtocol.writeWithdraw(frame, ++correlationId, origin, cents);
+                    } else {
+                        BinaryProtocol.writeTransfer(frame, ++correlationId, origin, pickDestination(random, origin),
+                            cents);
+                    }
+
+                    output.write(frame.array(), 0, frame.position());
+                    inFlight.put(correlationId, new Command(endpoint, cents, System.nanoTime()));
+                }
+
+                output.flush();
+
+                if (inFlight.isEmpty()) {
+                    return;
+                }
+
+                do {
+                    final int length = input.readInt();
+                    final Command command = inFlight.remove(input.readLong());
+                    final int status = input.readShort();
+                    input.readFully(new byte[length - BinaryProtocol.RESPONSE_HEADER_SIZE]);
+
+                    record(command.endpoint, command.cents, status, command.sent);
+                } while (input.available() > 0);
+            }
+        }
+    }
+
+    private void record(final Endpoint endpoint, final long cents, final int status, final long due) {
+        this.recorders.get(endpoint).recordValue(NANOSECONDS.toMicros(System.nanoTime() - due));
+
+        if (status == 200) {
+            this.completed.get(endpoint).increment();
+
+            if (endpoint == Endpoint.DEPOSIT) {
+                this.depositedCents.add(cents);
+            } else if (endpoint == Endpoint.WITHDRAW) {
+                this.withdrawnCents.add(cents);
+            }
+        } else if (status == 400 || status == 404) {
+            this.rejected.get(endpoint).increment();
+        } else {
+            this.failed.get(endpoint).increment();
+
+            // conflicts and lock timeouts are rolled back, anything else may or may not have been applied
+            if (endpoint != Endpoint.TRANSFER && status != 409 && status != 503) {
+                this.unknownOutcomes.increment();
+            }
+        }
+    }
+
+    private Endpoint pickEndpoint(final ThreadLocalRandom random) {
+        final int pick = random.nextInt(this.mix[0] + this.mix[1] + this.mix[2]);
+
+        if (pick < this.mix[0]) {
+            return Endpoint.DEPOSIT;
+        }
+
+        return pick < this.mix[0] + this.mix[1] ? Endpoint.WITHDRAW : Endpoint.TRANSFER;
+    }
+
+    private String pickDestination(final ThreadLocalRandom random, final String origin) {
+        String destination = origin;
+
+        while (destination.equals(origin)) {
+            destination = this.accounts.get(random.nextInt(this.accounts.size()));
+        }
+
+        return destination;
+    }
+
+    private void resetStatistics() {
+        for (final Endpoint endpoint : Endpoint.values()) {
+            this.recorders.get(endpoint).reset();
+            this.completed.get(endpoint).reset();
+            this.rejected.get(endpoint).reset();
+            this.failed.get(endpoint).reset();
+        }
+    }
+
+    private void report() {
+        System.out.printf("%-9s %10s %10s %10s %8s %10s %10s %10s %10s%n", "Endpoint", "Requests", "Req/s",
+            "Rejected", "Failed", "p50 ms", "p99 ms", "p99.9 ms", "Max ms");
+
+        for (final Endpoint endpoint : Endpoint.values()) {
+            final Histogram histogram = this.recorders.get(endpoint).getIntervalHistogram();
+
+            System.out.printf("%-9s %10d %10.1f %10d %8d %10.3f %10.3f %10.3f %10.3f%n", endpoint,
+                histogram.getTotalCount(), (double) histogram.getTotalCount() / this.durationSeconds,
+                this.rejected.get(endpoint).sum(), this.failed.get(endpoint).sum(),
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+        }
+    }
+
+    private boolean checkConservation() throws Exception {
+        long balanceCents = 0;
+
+        for (final String number : this.accounts) {
+            balanceCents += ApiServer.getContext().getAccountDao().findById(number).getBalance().getCents();
+        }
+
+        final long expectedCents = this.depositedCents.sum() - this.withdrawnCents.sum();
+
+        if (this.unknownOutcomes.sum() > 0) {
+            System.out.printf("Money conservation NOT CHECKED: %d deposits or withdrawals failed with an unknown "
+                + "outcome (balances %s, expected %s)%n", this.unknownOutcomes.sum(), toAmount(balanceCents),
+                toAmount(expectedCents));
+
+            return false;
+        }
+
+        System.out.printf("Money conservation %s: balances %s, deposits minus withdrawals %s%n",
+            balanceCents == expectedCents ? "OK" : "BROKEN", toAmount(balanceCents), toAmount(expectedCents));
+
+        return balanceCents == expectedCents;
+    }
+
+    private HttpRequest.Builder deposit(final String accountNumber, final long cents) {
+        return HttpRequest.newBuilder(URI.create(BASE_URL + "/accounts/" + accountNumber + "/deposit"))
+            .PUT(body(new UpdateBalanceRequest(toAmount(cents))));
+    }
+
+    private HttpRequest.BodyPublisher body(final Object request) {
+        return HttpRequest.BodyPublishers.ofString(this.gson.toJson(request), UTF_8);
+    }
+
+    private HttpResponse<String> send(final HttpRequest.Builder request) throws IOException, InterruptedException {
+        return this.client.send(request.build(), HttpResponse.BodyHandlers.ofString(UTF_8));
+    }
+
+    private static BigDecimal toAmount(final long cents) {
+        return BigDecimal.valueOf(cents, DECIMAL_PLACES);
+    }
+
+    private static long toCents(final BigDecimal amount) {
+        return amount.setScale(DECIMAL_PLACES).unscaledValue().longValueExact();
+    }
+
+    private static final class Command {
+
+        private final Endpoint endpoint;
+        private final long cents;
+        private final long sent;
+
+        Command(final Endpoint endpoint, final long cents, final long sent) {
+            this.endpoint = endpoint;
+            this.cents = cents;
+            this.sent = sent;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.moneytransfer.domain.entities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.moneytransfer.utils.Constants.DECIMAL_PLACES;
+import static java.math.RoundingMode.HALF_UP;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountBenchmark {
+
+    private final BigDecimal amount = new BigDecimal("250.5");
+    private final Money money = Money.of(this.amount);
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        this.account = new Account("John Doe");
+        this.account.deposit(new BigDecimal("10000000000000000.00"));
+    }
+
+    @Benchmark
+    public Account newAccount() {
+        return new Account("John Doe");
+    }
+
+    @Benchmark
+    public Money deposit() {
+        this.account.deposit(this.amount);
+
+        return this.account.getBalance();
+    }
+
+    @Benchmark
+    public Money withdraw() {
+        this.account.withdraw(this.amount);
+
+        return this.account.getBalance();
+    }
+
+    @Benchmark
+    public Money depositMoney() {
+        this.account.deposit(this.money);
+
+        return this.account.getBalance();
+    }
+
+    @Benchmark
+    public Money withdrawMoney() {
+        this.account.withdraw(this.money);
+
+        return this.account.getBalance();
+    }
+
+    @Benchmark
+    public BigDecimal setScale() {
+        return this.amount.setScale(DECIMAL_PLACES, HALF_UP);
+    }
+
+    @Benchmark
+    public UUID randomUUID() {
+        return UUID.randomUUID();
+    }
+}
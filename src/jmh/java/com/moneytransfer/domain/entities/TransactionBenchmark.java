@@ -0,0 +1,58 @@
+package com.moneytransfer.domain.entities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionBenchmark {
+
+    private final BigDecimal amount = new BigDecimal("250.5");
+    private Account origin;
+    private Account destination;
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        this.origin = new Account("John Doe");
+        this.origin.deposit(new BigDecimal("10000000000000000.00"));
+        this.destination = new Account("Joseph Doe");
+        this.transaction = new Transaction(this.origin, this.destination, this.amount);
+    }
+
+    @Benchmark
+    public Transaction newTransaction() {
+        return new Transaction(this.origin, this.destination, this.amount);
+    }
+
+    @Benchmark
+    public Transaction transfer() {
+        this.transaction.transfer();
+
+        return this.transaction;
+    }
+
+    @Benchmark
+    public Transaction newTransactionAndTransfer() {
+        final Transaction transaction = new Transaction(this.origin, this.destination, this.amount);
+        transaction.transfer();
+
+        return transaction;
+    }
+}
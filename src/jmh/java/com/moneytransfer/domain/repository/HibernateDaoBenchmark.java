@@ -0,0 +1,61 @@
+package com.moneytransfer.domain.repository;
+
+import com.moneytransfer.domain.entities.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HibernateDaoBenchmark {
+
+    private SessionFactory<org.hibernate.SessionFactory> sessionFactory;
+    private AccountDao accountDao;
+    private Account account;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.sessionFactory = new HibernateSessionFactory();
+        this.accountDao = new AccountDao(this.sessionFactory);
+
+        this.account = new Account("John Doe");
+        this.account.deposit(new BigDecimal("1000.00"));
+        this.account = this.accountDao.save(this.account);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.sessionFactory.close();
+    }
+
+    @Benchmark
+    public Account saveNewAccount() throws Exception {
+        return this.accountDao.save(new Account("John Doe"));
+    }
+
+    @Benchmark
+    public Account saveExistingAccount() throws Exception {
+        return this.accountDao.save(this.account);
+    }
+
+    @Benchmark
+    public Account findById() throws Exception {
+        return this.accountDao.findById(this.account.getNumber());
+    }
+}
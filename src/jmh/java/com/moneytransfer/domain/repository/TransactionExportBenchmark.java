@@ -0,0 +1,124 @@
+package com.moneytransfer.domain.repository;
+
+import com.google.gson.Gson;
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.response.TransactionSummary;
+import com.moneytransfer.utils.Identifiers;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.Writer;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Reported in rows per second by the {@code rows} counter. The table size is a parameter, e.g. {@code -p
+ * rows=50000000}, given enough heap for H2 to hold it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.time=ALL-UNNAMED")
+public class TransactionExportBenchmark {
+
+    @Param("1000000")
+    private int rows;
+
+    private SessionFactory<org.hibernate.SessionFactory> sessionFactory;
+    private TransactionDao transactionDao;
+    private Gson gson;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.sessionFactory = new HibernateSessionFactory();
+        this.transactionDao = new TransactionDao(this.sessionFactory);
+        this.gson = new Gson();
+
+        final AccountDao accountDao = new AccountDao(this.sessionFactory);
+        final Account origin = accountDao.save(new Account("John Doe"));
+        final Account destination = accountDao.save(new Account("Joseph Doe"));
+        final LocalDateTime date = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        try (Session session = this.sessionFactory.getSessionFactory().openSession()) {
+            session.beginTransaction();
+            session.doWork(connection -> {
+                try (PreparedStatement insert = connection.prepareStatement("insert into Transaction "
+                    + "(id, origin_number, destination_number, amount, date) values (?, ?, ?, ?, ?)")) {
+                    for (int i = 0; i < this.rows; i++) {
+                        insert.setBytes(1, Identifiers.toBytes(Identifiers.next()));
+                        insert.setBytes(2, Identifiers.toBytes(origin.getNumber()));
+                        insert.setBytes(3, Identifiers.toBytes(destination.getNumber()));
+                        insert.setLong(4, 100 + i % 10_000);
+                        insert.setTimestamp(5, Timestamp.valueOf(date.plusSeconds(i)));
+                        insert.addBatch();
+
+                        if (i % 1000 == 999) {
+                            insert.executeBatch();
+                        }
+                    }
+
+                    insert.executeBatch();
+                }
+            });
+            session.getTransaction().commit();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.sessionFactory.close();
+    }
+
+    @Benchmark
+    public long exportRows(final Rows counter, final Blackhole blackhole) throws Exception {
+        final long exported = this.transactionDao.export(null, null, blackhole::consume);
+        counter.rows += exported;
+
+        return exported;
+    }
+
+    @Benchmark
+    public long exportNdjson(final Rows counter) throws Exception {
+        final Writer writer = new BufferedWriter(Writer.nullWriter(), 64 * 1024);
+        final long exported = this.transactionDao.export(null, null, transaction -> {
+            this.gson.toJson(transaction, TransactionSummary.class, writer);
+            writer.write('\n');
+        });
+        writer.close();
+        counter.rows += exported;
+
+        return exported;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.rows = 0;
+        }
+    }
+}
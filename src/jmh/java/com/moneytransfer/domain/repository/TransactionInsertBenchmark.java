@@ -0,0 +1,95 @@
+package com.moneytransfer.domain.repository;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The table keeps growing across iterations; the teardown prints its size per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TransactionInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param("10000")
+    private int accounts;
+
+    private SessionFactory<org.hibernate.SessionFactory> sessionFactory;
+    private TransactionDao transactionDao;
+    private UnitOfWork unitOfWork;
+    private Account[] saved;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.sessionFactory = new HibernateSessionFactory();
+        this.transactionDao = new TransactionDao(this.sessionFactory);
+        this.unitOfWork = new HibernateUnitOfWork(this.sessionFactory);
+        this.saved = new Account[this.accounts];
+
+        final AccountDao accountDao = new AccountDao(this.sessionFactory);
+
+        this.unitOfWork.execute(() -> {
+            for (int i = 0; i < this.accounts; i++) {
+                this.saved[i] = accountDao.save(new Account("Owner " + i));
+            }
+
+            return null;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        try (Session session = this.sessionFactory.getSessionFactory().openSession()) {
+            final long rows = ((Number) session.createNativeQuery("select count(*) from Transaction")
+                .getSingleResult()).longValue();
+            final long bytes = ((Number) session.createNativeQuery("call disk_space_used('TRANSACTION')")
+                .getSingleResult()).longValue();
+
+            System.out.printf("%nTransaction table: %d rows, %d bytes, %.1f bytes per row%n",
+                rows, bytes, (double) bytes / rows);
+        }
+
+        this.sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object insert() throws Exception {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return this.unitOfWork.execute(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                final int origin = random.nextInt(this.saved.length);
+                final int destination = (origin + 1 + random.nextInt(this.saved.length - 1)) % this.saved.length;
+
+                this.transactionDao.save(new Transaction(this.saved[origin], this.saved[destination], BigDecimal.ONE));
+            }
+
+            return null;
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.moneytransfer.service.pipeline;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.repository.InMemoryAccountDao;
+import com.moneytransfer.domain.repository.InMemoryTransactionDao;
+import com.moneytransfer.domain.repository.InMemoryUnitOfWork;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The ledger alone on one thread: the most the single writer of the transfer pipeline can apply per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerBenchmark {
+
+    @Param("10000")
+    private int accounts;
+
+    private Ledger ledger;
+    private TransferCommand command;
+    private String[] accountNumbers;
+
+    @Setup
+    public void setUp() throws Exception {
+        final InMemoryAccountDao accountDao = new InMemoryAccountDao(this.accounts);
+        this.ledger = new Ledger(accountDao,
+            new LedgerWriter(accountDao, new InMemoryTransactionDao(accountDao), new InMemoryUnitOfWork()));
+        this.command = new TransferCommand();
+        this.command.type = TransferCommand.Type.TRANSFER;
+        this.command.amount = BigDecimal.ONE;
+        this.accountNumbers = new String[this.accounts];
+
+        for (int i = 0; i < this.accounts; i++) {
+            final Account account = new Account("Owner " + i);
+            account.deposit(new BigDecimal("1000000000.00"));
+            this.accountNumbers[i] = accountDao.save(account).getNumber();
+        }
+    }
+
+    @Benchmark
+    public Object transfer() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int origin = random.nextInt(this.accountNumbers.length);
+
+        this.command.accountNumber = this.accountNumbers[origin];
+        this.command.destinationAccountNumber = this.accountNumbers[(origin + 1
+            + random.nextInt(this.accountNumbers.length - 1)) % this.accountNumbers.length];
+        this.command.deltas.clear();
+        this.command.transactions.clear();
+        this.ledger.onEvent(this.command, 0, true);
+
+        return this.command.result;
+    }
+}
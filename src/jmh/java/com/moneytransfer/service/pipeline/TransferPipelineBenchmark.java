@@ -0,0 +1,140 @@
+package com.moneytransfer.service.pipeline;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.repository.AccountDao;
+import com.moneytransfer.domain.repository.BalanceDao;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.HibernateSessionFactory;
+import com.moneytransfer.domain.repository.HibernateUnitOfWork;
+import com.moneytransfer.domain.repository.InMemoryAccountDao;
+import com.moneytransfer.domain.repository.InMemoryTransactionDao;
+import com.moneytransfer.domain.repository.InMemoryUnitOfWork;
+import com.moneytransfer.domain.repository.SessionFactory;
+import com.moneytransfer.domain.repository.TransactionDao;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.service.TransactionService;
+import com.moneytransfer.service.TransactionServiceImpl;
+import com.moneytransfer.service.lock.StripedLockManager;
+import com.moneytransfer.service.retry.RetryExecutor;
+import com.moneytransfer.service.shard.ShardedLedger;
+import com.moneytransfer.service.shard.ShardedTransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class TransferPipelineBenchmark {
+
+    @Param({"memory", "hibernate"})
+    private String storage;
+
+    @Param({"pessimistic", "single_writer", "sharded"})
+    private String concurrency;
+
+    @Param("SLEEPING")
+    private PipelineWaitStrategy waitStrategy;
+
+    @Param("4")
+    private int shards;
+
+    @Param("10000")
+    private int accounts;
+
+    private SessionFactory<?> sessionFactory;
+    private TransferPipeline pipeline;
+    private ShardedLedger ledger;
+    private TransactionService transactionService;
+    private String[] accountNumbers;
+
+    @Setup
+    public void setUp() throws Exception {
+        final BaseDao<Account> accountDao;
+        final BalanceDao balanceDao;
+        final BaseDao<Transaction> transactionDao;
+        final UnitOfWork unitOfWork;
+
+        if ("memory".equals(this.storage)) {
+            final InMemoryAccountDao inMemoryAccountDao = new InMemoryAccountDao(this.accounts);
+            accountDao = inMemoryAccountDao;
+            balanceDao = inMemoryAccountDao;
+            transactionDao = new InMemoryTransactionDao(inMemoryAccountDao);
+            unitOfWork = new InMemoryUnitOfWork();
+        } else {
+            this.sessionFactory = new HibernateSessionFactory();
+            final AccountDao hibernateAccountDao = new AccountDao(this.sessionFactory);
+            accountDao = hibernateAccountDao;
+            balanceDao = hibernateAccountDao;
+            transactionDao = new TransactionDao(this.sessionFactory);
+            unitOfWork = new HibernateUnitOfWork(this.sessionFactory);
+        }
+
+        this.accountNumbers = new String[this.accounts];
+
+        for (int i = 0; i < this.accounts; i++) {
+            final Account account = new Account("Owner " + i);
+            account.deposit(new BigDecimal("1000000000.00"));
+            this.accountNumbers[i] = accountDao.save(account).getNumber();
+        }
+
+        if ("single_writer".equals(this.concurrency)) {
+            this.pipeline = new TransferPipeline(accountDao, balanceDao, transactionDao, unitOfWork,
+                TransferPipeline.DEFAULT_BUFFER_SIZE, this.waitStrategy);
+            this.transactionService = new PipelinedTransactionService(this.pipeline);
+        } else if ("sharded".equals(this.concurrency)) {
+            this.ledger = new ShardedLedger(accountDao, balanceDao, transactionDao, unitOfWork,
+                new RetryExecutor(), this.shards, ShardedLedger.DEFAULT_MAILBOX_CAPACITY);
+            this.transactionService = new ShardedTransactionService(this.ledger);
+        } else {
+            this.transactionService = new TransactionServiceImpl(accountDao, transactionDao, unitOfWork,
+                new StripedLockManager(), new RetryExecutor());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (this.pipeline != null) {
+            this.pipeline.close();
+        }
+
+        if (this.ledger != null) {
+            this.ledger.close();
+        }
+
+        if (this.sessionFactory != null) {
+            this.sessionFactory.close();
+        }
+    }
+
+    @Benchmark
+    public Transaction transfer() throws Exception {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int origin = random.nextInt(this.accountNumbers.length);
+        final int destination = (origin + 1 + random.nextInt(this.accountNumbers.length - 1))
+            % this.accountNumbers.length;
+
+        return this.transactionService.transfer(this.accountNumbers[origin], this.accountNumbers[destination],
+            BigDecimal.ONE);
+    }
+}
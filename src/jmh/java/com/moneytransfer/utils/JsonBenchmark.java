@@ -0,0 +1,89 @@
+package com.moneytransfer.utils;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.request.UpdateBalanceRequest;
+import com.moneytransfer.domain.response.TransferReceipt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private JsonCodec codec;
+    private JsonTransformer jsonTransformer;
+    private Account account;
+    private Transaction transaction;
+    private TransferReceipt receipt;
+    private byte[] transferRequest;
+    private byte[] updateBalanceRequest;
+
+    @Setup
+    public void setUp() {
+        this.codec = new JsonCodec();
+        this.jsonTransformer = new JsonTransformer(this.codec);
+
+        this.account = new Account("John Doe");
+        this.account.deposit(new BigDecimal("1000.00"));
+        this.transaction = new Transaction(this.account, new Account("Joseph Doe"), new BigDecimal("250.59"));
+        this.receipt = TransferReceipt.of(this.transaction);
+
+        this.transferRequest = this.codec.write(new TransferRequest(
+            this.account.getNumber(), this.transaction.getDestination().getNumber(), new BigDecimal("250.59")))
+            .getBytes(UTF_8);
+        this.updateBalanceRequest = this.codec.write(new UpdateBalanceRequest(new BigDecimal("1000.00")))
+            .getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public String renderAccount() {
+        return this.jsonTransformer.render(this.account);
+    }
+
+    @Benchmark
+    public String renderTransaction() {
+        return this.jsonTransformer.render(this.transaction);
+    }
+
+    @Benchmark
+    public String renderTransferReceipt() {
+        return this.jsonTransformer.render(this.receipt);
+    }
+
+    @Benchmark
+    public TransferRequest parseTransferRequest() {
+        return this.codec.read(new ByteArrayInputStream(this.transferRequest), TransferRequest.class);
+    }
+
+    @Benchmark
+    public UpdateBalanceRequest parseUpdateBalanceRequest() {
+        return this.codec.read(new ByteArrayInputStream(this.updateBalanceRequest), UpdateBalanceRequest.class);
+    }
+
+    @Benchmark
+    public String transfer() {
+        final TransferRequest request = parseTransferRequest();
+
+        return request == null ? null : this.jsonTransformer.render(this.receipt);
+    }
+}
@@ -0,0 +1,86 @@
+package com.moneytransfer.utils;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.response.TransferReceipt;
+import com.moneytransfer.domain.request.TransferRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The setup prints the size of each payload in both encodings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtobufBenchmark {
+
+    private ProtobufCodec codec;
+    private Account account;
+    private TransferReceipt receipt;
+    private byte[] transferRequest;
+
+    @Setup
+    public void setUp() {
+        this.codec = new ProtobufCodec();
+
+        this.account = new Account("John Doe");
+        this.account.deposit(new BigDecimal("1000.00"));
+        final Transaction transaction = new Transaction(this.account, new Account("Joseph Doe"),
+            new BigDecimal("250.59"));
+        this.receipt = TransferReceipt.of(transaction);
+
+        final TransferRequest request = new TransferRequest(
+            this.account.getNumber(), transaction.getDestination().getNumber(), new BigDecimal("250.59"));
+        this.transferRequest = this.codec.write(request);
+
+        final JsonCodec json = new JsonCodec();
+        System.out.printf("%nBytes (protobuf/JSON): account %d/%d, transfer receipt %d/%d, transfer request %d/%d%n",
+            this.codec.write(this.account).length, json.write(this.account).getBytes(UTF_8).length,
+            this.codec.write(this.receipt).length, json.write(this.receipt).getBytes(UTF_8).length,
+            this.transferRequest.length, json.write(request).getBytes(UTF_8).length);
+    }
+
+    @Benchmark
+    public byte[] renderAccount() {
+        return this.codec.write(this.account);
+    }
+
+    @Benchmark
+    public byte[] renderTransferReceipt() {
+        return this.codec.write(this.receipt);
+    }
+
+    @Benchmark
+    public TransferRequest parseTransferRequest() {
+        return this.codec.read(this.transferRequest, TransferRequest.class);
+    }
+
+    @Benchmark
+    public TransferReceipt parseTransferReceipt() {
+        return this.codec.read(renderTransferReceipt(), TransferReceipt.class);
+    }
+
+    @Benchmark
+    public byte[] transfer() {
+        final TransferRequest request = parseTransferRequest();
+
+        return request == null ? null : this.codec.write(this.receipt);
+    }
+}
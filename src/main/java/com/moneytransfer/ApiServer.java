@@ -1,93 +1,498 @@
 package com.moneytransfer;
 
-import com.google.gson.Gson;
-import com.moneytransfer.domain.repository.AccountDao;
-import com.moneytransfer.domain.repository.TransactionDao;
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
 import com.moneytransfer.domain.request.AccountRequest;
+import com.moneytransfer.domain.request.TransactionCursor;
+import com.moneytransfer.domain.request.TransactionDirection;
+import com.moneytransfer.domain.request.TransactionQuery;
 import com.moneytransfer.domain.request.TransferRequest;
 import com.moneytransfer.domain.request.UpdateBalanceRequest;
 import com.moneytransfer.domain.response.ErrorResponse;
-import com.moneytransfer.service.AccountServiceImpl;
-import com.moneytransfer.service.TransactionServiceImpl;
-import com.moneytransfer.utils.JsonTransformer;
+import com.moneytransfer.domain.response.TransactionSummary;
+import com.moneytransfer.domain.response.TransferReceipt;
+import com.moneytransfer.idempotency.IdempotentResponse;
+import com.moneytransfer.metrics.Metrics;
+import com.moneytransfer.metrics.Phase;
+import com.moneytransfer.metrics.RequestTimer;
+import com.moneytransfer.server.BinaryServer;
+import com.moneytransfer.server.ConfiguredJettyServerFactory;
+import com.moneytransfer.server.ErrorStatus;
+import com.moneytransfer.service.BatchMode;
+import com.moneytransfer.service.TransactionHistoryService;
+import com.moneytransfer.utils.ProtobufCodec;
 import lombok.extern.slf4j.Slf4j;
+import spark.Request;
+import spark.Response;
+import spark.embeddedserver.EmbeddedServers;
+import spark.embeddedserver.jetty.EmbeddedJettyFactory;
 
-import java.util.NoSuchElementException;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
-import static org.eclipse.jetty.http.HttpStatus.BAD_REQUEST_400;
-import static org.eclipse.jetty.http.HttpStatus.NOT_FOUND_404;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.jetty.http.HttpStatus.INTERNAL_SERVER_ERROR_500;
+import static org.eclipse.jetty.http.HttpStatus.NOT_MODIFIED_304;
+import static org.eclipse.jetty.http.HttpStatus.OK_200;
+import static org.eclipse.jetty.http.HttpStatus.SERVICE_UNAVAILABLE_503;
+import static spark.Spark.afterAfter;
+import static spark.Spark.awaitStop;
+import static spark.Spark.before;
 import static spark.Spark.exception;
+import static spark.Spark.get;
 import static spark.Spark.initExceptionHandler;
 import static spark.Spark.internalServerError;
 import static spark.Spark.notFound;
 import static spark.Spark.path;
 import static spark.Spark.post;
 import static spark.Spark.put;
+import static spark.Spark.stop;
 
 @Slf4j
 public class ApiServer {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    private static ApplicationContext context;
+    private static BinaryServer binaryServer;
+
     public static void main(String[] args) {
         initialize();
+        Runtime.getRuntime().addShutdownHook(new Thread(ApiServer::shutdown));
     }
 
-    public static void initialize() {
+    public static synchronized void initialize() {
+        final ConfiguredJettyServerFactory serverFactory = ConfiguredJettyServerFactory.fromConfiguration();
+
+        if (context == null) {
+            context = new ApplicationContext();
+        }
+
+        final ApplicationContext ctx = context;
+        final Metrics metrics = ctx.getMetrics();
+
+        EmbeddedServers.add(EmbeddedServers.Identifiers.JETTY, new EmbeddedJettyFactory(serverFactory));
         initExceptionHandler((e) -> log.error("Error starting server", e.getMessage()));
 
+        before((req, res) -> metrics.begin());
+        afterAfter((req, res) -> metrics.end(res.status()));
+
+        get("/metrics", metrics.instrument("GET", "/metrics", (req, res) -> {
+            res.type("text/plain; version=0.0.4");
+            return metrics.render();
+        }));
+
         path("/api", () -> {
             path("/accounts", () -> {
-                post("", (req, res) -> {
+                post("", metrics.instrument("POST", "/api/accounts", (req, res) -> {
+                    res.type("application/json");
+                    return render(ctx, req, res, ctx.getAccountService().create(
+                        Optional.ofNullable(parse(ctx, req, AccountRequest.class))
+                            .map(AccountRequest::getOwner).orElse(null)));
+                }));
+                get("/:id", metrics.instrument("GET", "/api/accounts/:id", (req, res) -> {
+                    res.type("application/json");
+                    final Account account = ctx.getAccountService().find(req.params(":id"));
+                    final String etag = etag(account, acceptsProtobuf(req));
+                    res.header("ETag", etag);
+                    res.header("Vary", "Accept");
+
+                    if (notModified(req.headers("If-None-Match"), etag)) {
+                        res.status(NOT_MODIFIED_304);
+                        return "";
+                    }
+
+                    return render(ctx, req, res, account);
+                }));
+                get("/:id/transactions", metrics.instrument("GET", "/api/accounts/:id/transactions", (req, res) -> {
                     res.type("application/json");
-                    return new AccountServiceImpl(new AccountDao()).create(
-                        Optional.ofNullable(new Gson().fromJson(req.body(), AccountRequest.class))
-                            .map(AccountRequest::getOwner).orElse(null));
-                }, new JsonTransformer());
-                put("/:id/deposit", (req, res) -> {
+                    return ctx.getTransactionHistoryService().find(historyQuery(req));
+                }), ctx.getJsonTransformer());
+                put("/:id/deposit", metrics.instrument("PUT", "/api/accounts/:id/deposit", (req, res) -> {
                     res.type("application/json");
-                    return new AccountServiceImpl(new AccountDao()).deposit(req.params(":id"),
-                        Optional.ofNullable(new Gson().fromJson(req.body(), UpdateBalanceRequest.class))
-                            .map(UpdateBalanceRequest::getAmount).orElse(null));
-                }, new JsonTransformer());
-                put("/:id/withdraw", (req, res) -> {
+                    return idempotent(ctx, req, res, Account.class, () -> ctx.getAccountService().deposit(
+                        req.params(":id"),
+                        Optional.ofNullable(parse(ctx, req, UpdateBalanceRequest.class))
+                            .map(UpdateBalanceRequest::getAmount).orElse(null)));
+                }));
+                put("/:id/withdraw", metrics.instrument("PUT", "/api/accounts/:id/withdraw", (req, res) -> {
                     res.type("application/json");
-                    return new AccountServiceImpl(new AccountDao()).withdraw(req.params(":id"),
-                        Optional.ofNullable(new Gson().fromJson(req.body(), UpdateBalanceRequest.class))
-                            .map(UpdateBalanceRequest::getAmount).orElse(null));
-                }, new JsonTransformer());
+                    return idempotent(ctx, req, res, Account.class, () -> ctx.getAccountService().withdraw(
+                        req.params(":id"),
+                        Optional.ofNullable(parse(ctx, req, UpdateBalanceRequest.class))
+                            .map(UpdateBalanceRequest::getAmount).orElse(null)));
+                }));
             });
 
-            post("/transfers", (req, res) -> {
+            post("/transfers", metrics.instrument("POST", "/api/transfers", (req, res) -> {
                 res.type("application/json");
-                final Optional<TransferRequest> payload = Optional.ofNullable(
-                    new Gson().fromJson(req.body(), TransferRequest.class));
-                return new TransactionServiceImpl(new AccountDao(), new TransactionDao()).transfer(
-                    payload.map(TransferRequest::getOriginAccountNumber).orElse(null),
-                    payload.map(TransferRequest::getDestinationAccountNumber).orElse(null),
-                    payload.map(TransferRequest::getAmount).orElse(null));
-            }, new JsonTransformer());
+                return idempotent(ctx, req, res, TransferReceipt.class, () -> {
+                    final Optional<TransferRequest> payload = Optional.ofNullable(
+                        parse(ctx, req, TransferRequest.class));
+                    return TransferReceipt.of(ctx.getTransactionService().transfer(
+                        payload.map(TransferRequest::getOriginAccountNumber).orElse(null),
+                        payload.map(TransferRequest::getDestinationAccountNumber).orElse(null),
+                        payload.map(TransferRequest::getAmount).orElse(null)));
+                });
+            }));
+            post("/transfers/batch", metrics.instrument("POST", "/api/transfers/batch", (req, res) -> {
+                res.type("application/json");
+                final TransferRequest[] payload = Optional.ofNullable(
+                    parse(ctx, req, TransferRequest[].class))
+                    .orElseThrow(() -> new IllegalArgumentException("Batch should contain a list of transfers"));
+                return ctx.getTransactionService().transfer(Arrays.asList(payload), batchMode(req.queryParams("mode")));
+            }), ctx.getJsonTransformer());
+            get("/transactions/export", metrics.instrument("GET", "/api/transactions/export", (req, res) -> {
+                res.type("application/x-ndjson");
+                export(ctx, req, res, dateParam(req, "from"), dateParam(req, "to"));
+                return "";
+            }));
         });
 
         notFound((req, res) -> {
             res.type("application/json");
-            return new Gson().toJson(new ErrorResponse("Endpoint not found"));
+            return ctx.getJsonTransformer().render(new ErrorResponse("Endpoint not found"));
         });
 
-        exception(NoSuchElementException.class, (exc, req, res) -> {
+        exception(Exception.class, (exc, req, res) -> {
+            final int status = ErrorStatus.of(exc);
             res.type("application/json");
-            res.status(NOT_FOUND_404);
-            res.body(new Gson().toJson(new ErrorResponse(exc.getMessage())));
-        });
+            res.status(status);
 
-        exception(IllegalArgumentException.class, (exc, req, res) -> {
-            res.type("application/json");
-            res.status(BAD_REQUEST_400);
-            res.body(new Gson().toJson(new ErrorResponse(exc.getMessage())));
+            if (status == SERVICE_UNAVAILABLE_503) {
+                res.header("Retry-After", ErrorStatus.RETRY_AFTER_SECONDS);
+            }
+
+            if (status == INTERNAL_SERVER_ERROR_500) {
+                log.error("Error handling {} {}", req.requestMethod(), req.pathInfo(), exc);
+                res.body(ctx.getJsonTransformer().render(new ErrorResponse("Unexpected error")));
+            } else {
+                res.body(ctx.getJsonTransformer().render(new ErrorResponse(exc.getMessage())));
+            }
         });
 
         internalServerError((req, res) -> {
             res.type("application/json");
-            return new Gson().toJson(new ErrorResponse("Unexpected error"));
+            return ctx.getJsonTransformer().render(new ErrorResponse("Unexpected error"));
         });
+
+        if (binaryServer == null) {
+            startBinaryServer(ctx);
+        }
+    }
+
+    private static void startBinaryServer(final ApplicationContext ctx) {
+        try {
+            binaryServer = BinaryServer.fromConfiguration(ctx.getAccountService(), ctx.getTransactionService())
+                .orElse(null);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error starting binary server", e);
+        }
+
+        if (binaryServer != null) {
+            final BinaryServer server = binaryServer;
+            ctx.getMetrics().counter("moneytransfer_binary_commands_total",
+                "Commands handled by the binary endpoint.", server::getCommands);
+            ctx.getMetrics().gauge("moneytransfer_binary_connections",
+                "Connections open to the binary endpoint.", server::getConnections);
+        }
+    }
+
+    /**
+     * The body stream is already consumed when an idempotent request was fingerprinted.
+     */
+    private static <T> T parse(final ApplicationContext ctx, final Request req, final Class<T> type)
+        throws IOException {
+        final long start = System.nanoTime();
+
+        try {
+            if (isProtobuf(req.contentType())) {
+                return ctx.getProtobufCodec().read(req.bodyAsBytes(), type);
+            }
+
+            if (req.headers(IDEMPOTENCY_KEY_HEADER) != null) {
+                return ctx.getJsonCodec().read(req.body(), type);
+            }
+
+            return ctx.getJsonCodec().read(req.raw().getInputStream(), type);
+        } finally {
+            RequestTimer.record(Phase.PARSE, start);
+        }
+    }
+
+    private static Object render(final ApplicationContext ctx, final Request req, final Response res,
+                                 final Object result) {
+        res.header("Vary", "Accept");
+
+        if (result == null || !acceptsProtobuf(req) || !ctx.getProtobufCodec().supports(result.getClass())) {
+            return ctx.getJsonTransformer().render(result);
+        }
+
+        final long start = System.nanoTime();
+
+        try {
+            res.type(ProtobufCodec.MEDIA_TYPE);
+            return ctx.getProtobufCodec().write(result);
+        } finally {
+            RequestTimer.record(Phase.SERIALIZATION, start);
+        }
+    }
+
+    /**
+     * Runs the request at most once per Idempotency-Key and replays its remembered JSON response to retries.
+     */
+    private static Object idempotent(final ApplicationContext ctx, final Request req, final Response res,
+                                     final Class<?> resultType, final Callable<Object> handler) throws Exception {
+        final String key = req.headers(IDEMPOTENCY_KEY_HEADER);
+
+        if (key == null) {
+            return render(ctx, req, res, handler.call());
+        }
+
+        final Object[] executed = new Object[1];
+        final IdempotentResponse response = ctx.getIdempotencyStore().execute(
+            req.requestMethod() + " " + req.pathInfo(), key, fingerprinted(req), () -> {
+                try {
+                    executed[0] = handler.call();
+                    return IdempotentResponse.of(OK_200, ctx.getJsonTransformer().render(executed[0]));
+                } catch (Exception e) {
+                    final int status = ErrorStatus.of(e);
+
+                    if (!ErrorStatus.isFinal(status)) {
+                        throw e;
+                    }
+
+                    return IdempotentResponse.of(status,
+                        ctx.getJsonTransformer().render(new ErrorResponse(e.getMessage())));
+                }
+            });
+
+        if (response.isReplayed()) {
+            res.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+
+        res.status(response.getStatus());
+        res.header("Vary", "Accept");
+
+        if (response.getStatus() != OK_200 || !acceptsProtobuf(req)) {
+            return response.getBody();
+        }
+
+        return render(ctx, req, res, executed[0] != null
+            ? executed[0] : ctx.getGson().fromJson(response.getBody(), resultType));
+    }
+
+    /**
+     * Protobuf bodies are kept byte for byte, which ISO-8859-1 maps one to one to chars.
+     */
+    private static String fingerprinted(final Request req) {
+        return isProtobuf(req.contentType()) ? new String(req.bodyAsBytes(), ISO_8859_1) : req.body();
+    }
+
+    private static boolean isProtobuf(final String contentType) {
+        return contentType != null && contentType.regionMatches(true, 0, ProtobufCodec.MEDIA_TYPE, 0,
+            ProtobufCodec.MEDIA_TYPE.length()) && (contentType.length() == ProtobufCodec.MEDIA_TYPE.length()
+            || contentType.charAt(ProtobufCodec.MEDIA_TYPE.length()) == ';'
+            || contentType.charAt(ProtobufCodec.MEDIA_TYPE.length()) == ' ');
+    }
+
+    /**
+     * A wildcard only makes JSON as acceptable as protobuf; a tie with application/json goes to JSON.
+     */
+    private static boolean acceptsProtobuf(final Request req) {
+        final String accept = req.headers("Accept");
+
+        if (accept == null || !accept.toLowerCase().contains(ProtobufCodec.MEDIA_TYPE)) {
+            return false;
+        }
+
+        double protobuf = 0;
+        double json = -1;
+        double wildcard = 0;
+
+        for (final String range : accept.toLowerCase().split(",")) {
+            final String[] parameters = range.split(";");
+            final String type = parameters[0].trim();
+            double quality = 1;
+
+            for (int i = 1; i < parameters.length; i++) {
+                final String parameter = parameters[i].replace(" ", "");
+
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+
+            if (type.equals(ProtobufCodec.MEDIA_TYPE)) {
+                protobuf = Math.max(protobuf, quality);
+            } else if (type.equals("application/json")) {
+                json = Math.max(json, quality);
+            } else if (type.equals("application/*") || type.equals("*/*")) {
+                wildcard = Math.max(wildcard, quality);
+            }
+        }
+
+        return protobuf > 0 && (json >= 0 ? protobuf > json : protobuf >= wildcard);
+    }
+
+    /**
+     * The representation of an account only changes with its balance.
+     */
+    private static String etag(final Account account, final boolean protobuf) {
+        return "\"" + account.getBalance().getCents() + (protobuf ? "-pb" : "") + "\"";
+    }
+
+    private static boolean notModified(final String ifNoneMatch, final String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (final String tag : ifNoneMatch.split(",")) {
+            final String value = tag.trim();
+
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Once the first chunk was sent the status can no longer change, and an error only cuts the response short.
+     */
+    private static void export(final ApplicationContext ctx,
+                               final Request req,
+                               final Response res,
+                               final LocalDateTime from,
+                               final LocalDateTime to) throws Exception {
+        final HttpServletResponse raw = res.raw();
+        final boolean gzip = acceptsGzip(req.headers("Accept-Encoding"));
+
+        try {
+            if (gzip) {
+                res.header("Content-Encoding", "gzip");
+            }
+
+            final OutputStream stream = gzip
+                ? new GZIPOutputStream(raw.getOutputStream(), EXPORT_BUFFER_SIZE) : raw.getOutputStream();
+
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, UTF_8), EXPORT_BUFFER_SIZE);
+
+            ctx.getTransactionHistoryService().export(from, to, transaction -> {
+                ctx.getGson().toJson(transaction, TransactionSummary.class, writer);
+                writer.write('\n');
+            });
+            writer.close();
+        } catch (Exception e) {
+            if (!raw.isCommitted()) {
+                raw.reset();
+            }
+
+            throw e;
+        }
+    }
+
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        return acceptEncoding != null && Arrays.stream(acceptEncoding.split(","))
+            .map(encoding -> encoding.replace(" ", "").toLowerCase())
+            .anyMatch(encoding -> encoding.equals("gzip")
+                || encoding.startsWith("gzip;") && !encoding.matches("gzip;q=0(\\.0*)?"));
+    }
+
+    private static TransactionQuery historyQuery(final Request req) {
+        final String after = req.queryParams("after");
+
+        return new TransactionQuery(req.params(":id"), direction(req.queryParams("direction")),
+            dateParam(req, "from"), dateParam(req, "to"), amountParam(req, "minAmount"), amountParam(req, "maxAmount"),
+            after == null ? null : TransactionCursor.decode(after), limit(req.queryParams("limit")));
+    }
+
+    private static TransactionDirection direction(final String direction) {
+        try {
+            return direction == null || direction.equalsIgnoreCase("all")
+                ? null : TransactionDirection.valueOf(direction.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Direction should be all, incoming or outgoing");
+        }
+    }
+
+    private static int limit(final String limit) {
+        try {
+            return limit == null ? TransactionHistoryService.DEFAULT_LIMIT : Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Limit should be a number");
+        }
+    }
+
+    private static LocalDateTime dateParam(final Request req, final String name) {
+        final String value = req.queryParams(name);
+
+        try {
+            return value == null ? null : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(
+                "Parameter " + name + " should be a date and time, e.g. 2020-01-31T23:59:59");
+        }
+    }
+
+    private static Money amountParam(final Request req, final String name) {
+        final String value = req.queryParams(name);
+
+        try {
+            return value == null ? null : Money.of(new BigDecimal(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " should be an amount");
+        }
+    }
+
+    private static BatchMode batchMode(final String mode) {
+        try {
+            return mode == null ? BatchMode.ALL_OR_NOTHING : BatchMode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Batch mode should be all_or_nothing or best_effort");
+        }
+    }
+
+    static synchronized ApplicationContext getContext() {
+        return context;
+    }
+
+    static synchronized BinaryServer getBinaryServer() {
+        return binaryServer;
+    }
+
+    public static synchronized void shutdown() {
+        if (binaryServer != null) {
+            binaryServer.close();
+            binaryServer = null;
+        }
+
+        stop();
+        awaitStop();
+
+        if (context != null) {
+            context.close();
+            context = null;
+        }
     }
 }
@@ -0,0 +1,285 @@
+package com.moneytransfer;
+
+import com.google.gson.Gson;
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.repository.AccountDao;
+import com.moneytransfer.domain.repository.BalanceDao;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.HibernateSessionFactory;
+import com.moneytransfer.domain.repository.HibernateUnitOfWork;
+import com.moneytransfer.domain.repository.IdempotencyRecordDao;
+import com.moneytransfer.domain.repository.InMemoryAccountDao;
+import com.moneytransfer.domain.repository.InMemoryTransactionDao;
+import com.moneytransfer.domain.repository.InMemoryUnitOfWork;
+import com.moneytransfer.domain.repository.SessionFactory;
+import com.moneytransfer.domain.repository.StorageEngine;
+import com.moneytransfer.domain.repository.TransactionDao;
+import com.moneytransfer.domain.repository.TransactionHistoryDao;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.idempotency.IdempotencyStore;
+import com.moneytransfer.journal.Journal;
+import com.moneytransfer.journal.JournalManager;
+import com.moneytransfer.journal.JournaledAccountService;
+import com.moneytransfer.journal.JournaledTransactionService;
+import com.moneytransfer.metrics.Metrics;
+import com.moneytransfer.service.AccountService;
+import com.moneytransfer.service.AccountServiceImpl;
+import com.moneytransfer.service.ConcurrencyMode;
+import com.moneytransfer.service.ConditionalUpdateAccountServiceImpl;
+import com.moneytransfer.service.ConditionalUpdateTransactionServiceImpl;
+import com.moneytransfer.service.TransactionHistoryService;
+import com.moneytransfer.service.TransactionService;
+import com.moneytransfer.service.TransactionServiceImpl;
+import com.moneytransfer.service.cache.AccountCache;
+import com.moneytransfer.service.cache.CachingAccountService;
+import com.moneytransfer.service.cache.CachingTransactionService;
+import com.moneytransfer.service.lock.LockManager;
+import com.moneytransfer.service.lock.NoOpLockManager;
+import com.moneytransfer.service.lock.StripedLockManager;
+import com.moneytransfer.service.pipeline.PipelineWaitStrategy;
+import com.moneytransfer.service.pipeline.PipelinedAccountService;
+import com.moneytransfer.service.pipeline.PipelinedTransactionService;
+import com.moneytransfer.service.pipeline.TransferPipeline;
+import com.moneytransfer.service.shard.ShardedAccountService;
+import com.moneytransfer.service.shard.ShardedLedger;
+import com.moneytransfer.service.shard.ShardedTransactionService;
+import com.moneytransfer.service.retry.RetryExecutor;
+import com.moneytransfer.utils.Configuration;
+import com.moneytransfer.utils.JsonCodec;
+import com.moneytransfer.utils.JsonTransformer;
+import com.moneytransfer.utils.ProtobufCodec;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+
+@Slf4j
+@Getter
+public class ApplicationContext implements AutoCloseable {
+
+    private final StorageEngine storageEngine;
+    private final SessionFactory sessionFactory;
+    private final UnitOfWork unitOfWork;
+    private final ConcurrencyMode concurrencyMode;
+    private final LockManager lockManager;
+    private final RetryExecutor retryExecutor;
+    private final BaseDao<Account> accountDao;
+    private final BaseDao<Transaction> transactionDao;
+    private final TransferPipeline transferPipeline;
+    private final ShardedLedger shardedLedger;
+    private final JournalManager journalManager;
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final TransactionHistoryService transactionHistoryService;
+    private final AccountCache accountCache;
+    private final IdempotencyStore idempotencyStore;
+    private final JsonCodec jsonCodec;
+    private final Gson gson;
+    private final JsonTransformer jsonTransformer;
+    private final ProtobufCodec protobufCodec = new ProtobufCodec();
+    private final Metrics metrics = new Metrics();
+
+    public ApplicationContext() {
+        this.storageEngine = StorageEngine.valueOf(
+            Configuration.getString("moneytransfer.storage", "hibernate").toUpperCase());
+        this.concurrencyMode = ConcurrencyMode.valueOf(
+            Configuration.getString("moneytransfer.concurrency", "pessimistic").toUpperCase());
+
+        if (this.concurrencyMode != ConcurrencyMode.PESSIMISTIC) {
+            this.lockManager = new NoOpLockManager();
+        } else {
+            final StripedLockManager stripedLockManager = new StripedLockManager(
+                Configuration.getInt("moneytransfer.locks.stripes", StripedLockManager.DEFAULT_STRIPES),
+                Configuration.getLong("moneytransfer.locks.timeout", 0));
+
+            this.lockManager = stripedLockManager;
+            this.metrics.counter("moneytransfer_lock_acquisitions_total",
+                "Account lock stripes acquired.", stripedLockManager::getAcquisitions);
+            this.metrics.counter("moneytransfer_lock_contentions_total",
+                "Account lock stripes that were held by another operation when acquired.",
+                stripedLockManager::getContentions);
+            this.metrics.counter("moneytransfer_lock_timeouts_total",
+                "Account lock stripes not acquired within the lock timeout.", stripedLockManager::getTimeouts);
+            this.metrics.counter("moneytransfer_lock_wait_nanoseconds_total",
+                "Time spent waiting for contended account lock stripes.", stripedLockManager::getWaitNanos);
+            this.metrics.gauge("moneytransfer_lock_stripe_contentions_max",
+                "Contentions of the most contended account lock stripe.",
+                stripedLockManager::getMaxStripeContentions);
+        }
+
+        this.retryExecutor = new RetryExecutor(
+            Configuration.getInt("moneytransfer.retry.attempts", RetryExecutor.DEFAULT_MAX_ATTEMPTS),
+            Configuration.getLong("moneytransfer.retry.delay.base", RetryExecutor.DEFAULT_BASE_DELAY_MILLIS),
+            Configuration.getLong("moneytransfer.retry.delay.max", RetryExecutor.DEFAULT_MAX_DELAY_MILLIS));
+        this.metrics.counter("moneytransfer_retries_total",
+            "Operations run again after a concurrent account update.", this.retryExecutor::getRetries);
+        this.metrics.counter("moneytransfer_retry_give_ups_total",
+            "Operations that still hit a concurrent account update after their last attempt.",
+            this.retryExecutor::getGiveUps);
+
+        final BalanceDao balanceDao;
+        final TransactionHistoryDao historyDao;
+
+        if (this.storageEngine == StorageEngine.MEMORY) {
+            final InMemoryAccountDao inMemoryAccountDao = new InMemoryAccountDao(
+                Configuration.getInt("moneytransfer.memory.capacity", InMemoryAccountDao.DEFAULT_CAPACITY));
+
+            this.sessionFactory = null;
+            this.unitOfWork = new InMemoryUnitOfWork();
+            this.accountDao = inMemoryAccountDao;
+            final InMemoryTransactionDao inMemoryTransactionDao = new InMemoryTransactionDao(inMemoryAccountDao);
+
+            this.transactionDao = inMemoryTransactionDao;
+            balanceDao = inMemoryAccountDao;
+            historyDao = inMemoryTransactionDao;
+        } else {
+            this.sessionFactory = new HibernateSessionFactory();
+            this.sessionFactory.getSessionFactory();
+
+            final AccountDao hibernateAccountDao = new AccountDao(this.sessionFactory);
+            final TransactionDao hibernateTransactionDao = new TransactionDao(this.sessionFactory);
+
+            this.unitOfWork = new HibernateUnitOfWork(this.sessionFactory);
+            this.accountDao = hibernateAccountDao;
+            this.transactionDao = hibernateTransactionDao;
+            balanceDao = hibernateAccountDao;
+            historyDao = hibernateTransactionDao;
+        }
+
+        AccountService accountService;
+        TransactionService transactionService;
+        TransferPipeline transferPipeline = null;
+        ShardedLedger shardedLedger = null;
+
+        if (this.concurrencyMode == ConcurrencyMode.CONDITIONAL_UPDATE) {
+            accountService = new ConditionalUpdateAccountServiceImpl(
+                this.accountDao, balanceDao, this.unitOfWork, this.retryExecutor);
+            transactionService = new ConditionalUpdateTransactionServiceImpl(
+                this.accountDao, balanceDao, this.transactionDao, this.unitOfWork, this.retryExecutor);
+        } else if (this.concurrencyMode == ConcurrencyMode.SINGLE_WRITER) {
+            transferPipeline = new TransferPipeline(this.accountDao, balanceDao, this.transactionDao, this.unitOfWork,
+                Configuration.getInt("moneytransfer.pipeline.buffer.size", TransferPipeline.DEFAULT_BUFFER_SIZE),
+                PipelineWaitStrategy.valueOf(
+                    Configuration.getString("moneytransfer.pipeline.wait", "sleeping").toUpperCase()));
+            accountService = new PipelinedAccountService(new AccountServiceImpl(
+                this.accountDao, this.unitOfWork, this.lockManager, this.retryExecutor), transferPipeline);
+            transactionService = new PipelinedTransactionService(transferPipeline);
+            this.metrics.gauge("moneytransfer_pipeline_backlog",
+                "Commands published to the transfer pipeline and not answered yet.", transferPipeline::getBacklog);
+            this.metrics.counter("moneytransfer_pipeline_rejected_total",
+                "Commands refused because the transfer pipeline was full.", transferPipeline::getRejected);
+        } else if (this.concurrencyMode == ConcurrencyMode.SHARDED) {
+            shardedLedger = new ShardedLedger(this.accountDao, balanceDao, this.transactionDao, this.unitOfWork,
+                this.retryExecutor,
+                Configuration.getInt("moneytransfer.shards.count", Runtime.getRuntime().availableProcessors()),
+                Configuration.getInt("moneytransfer.shards.mailbox", ShardedLedger.DEFAULT_MAILBOX_CAPACITY));
+            accountService = new ShardedAccountService(new AccountServiceImpl(
+                this.accountDao, this.unitOfWork, this.lockManager, this.retryExecutor), shardedLedger);
+            transactionService = new ShardedTransactionService(shardedLedger);
+            this.metrics.gauge("moneytransfer_shards_queued",
+                "Operations waiting in the mailboxes of the account shards.", shardedLedger::getQueued);
+            this.metrics.counter("moneytransfer_shards_rejected_total",
+                "Operations refused because the mailbox of their shard was full.", shardedLedger::getRejected);
+            this.metrics.counter("moneytransfer_shards_compensations_total",
+                "Transfers between shards whose reservation was released after the credit failed.",
+                shardedLedger::getCompensations);
+        } else {
+            accountService = new AccountServiceImpl(
+                this.accountDao, this.unitOfWork, this.lockManager, this.retryExecutor);
+            transactionService = new TransactionServiceImpl(
+                this.accountDao, this.transactionDao, this.unitOfWork, this.lockManager, this.retryExecutor);
+        }
+
+        this.transferPipeline = transferPipeline;
+        this.shardedLedger = shardedLedger;
+
+        final Optional<String> journalDirectory = Configuration.get("moneytransfer.journal.dir");
+
+        if (journalDirectory.isPresent()) {
+            this.journalManager = new JournalManager(Paths.get(journalDirectory.get()),
+                Configuration.getInt("moneytransfer.journal.segment.size", Journal.DEFAULT_SEGMENT_SIZE),
+                Configuration.getInt("moneytransfer.journal.flush.batch", Journal.DEFAULT_FLUSH_BATCH),
+                Configuration.getLong("moneytransfer.journal.flush.window", Journal.DEFAULT_FLUSH_WINDOW_MILLIS),
+                Configuration.getLong("moneytransfer.journal.snapshot.interval",
+                    JournalManager.DEFAULT_SNAPSHOT_INTERVAL_SECONDS));
+
+            try {
+                this.journalManager.recover(this.accountDao, this.transactionDao, this.unitOfWork);
+            } catch (Exception e) {
+                throw new IllegalStateException("Error recovering journal from " + journalDirectory.get(), e);
+            }
+
+            final Journal journal = this.journalManager.getJournal();
+            accountService = new JournaledAccountService(accountService, this.accountDao, journal);
+            transactionService = new JournaledTransactionService(transactionService, this.accountDao, journal);
+        } else {
+            this.journalManager = null;
+        }
+
+        this.transactionHistoryService = new TransactionHistoryService(this.accountDao, historyDao);
+
+        final int accountCacheCapacity = Configuration.getInt(
+            "moneytransfer.cache.accounts.capacity", AccountCache.DEFAULT_CAPACITY);
+
+        if (accountCacheCapacity > 0) {
+            this.accountCache = new AccountCache(accountCacheCapacity);
+            this.accountService = new CachingAccountService(accountService, this.accountCache);
+            this.transactionService = new CachingTransactionService(transactionService, this.accountCache);
+            this.metrics.counter("moneytransfer_account_cache_hits_total",
+                "Account reads answered by the cache.", this.accountCache::getHits);
+            this.metrics.counter("moneytransfer_account_cache_misses_total",
+                "Account reads that loaded the account.", this.accountCache::getMisses);
+            this.metrics.counter("moneytransfer_account_cache_evictions_total",
+                "Accounts dropped from the cache to make room.", this.accountCache::getEvictions);
+            this.metrics.gauge("moneytransfer_account_cache_size",
+                "Accounts in the cache.", this.accountCache::size);
+        } else {
+            this.accountCache = null;
+            this.accountService = accountService;
+            this.transactionService = transactionService;
+        }
+
+        final int idempotencyCapacity = Configuration.getInt(
+            "moneytransfer.idempotency.capacity", IdempotencyStore.DEFAULT_CAPACITY);
+        final long idempotencyTtl = Configuration.getLong(
+            "moneytransfer.idempotency.ttl", IdempotencyStore.DEFAULT_TTL_SECONDS);
+
+        if (Configuration.getBoolean("moneytransfer.idempotency.persistent", false) && this.sessionFactory != null) {
+            this.idempotencyStore = new IdempotencyStore(idempotencyCapacity, idempotencyTtl,
+                new IdempotencyRecordDao(this.sessionFactory));
+        } else {
+            this.idempotencyStore = new IdempotencyStore(idempotencyCapacity, idempotencyTtl);
+        }
+
+        this.jsonCodec = new JsonCodec();
+        this.gson = this.jsonCodec.getGson();
+        this.jsonTransformer = new JsonTransformer(this.jsonCodec);
+    }
+
+    @Override
+    public void close() {
+        log.info("Closing application context");
+
+        if (this.transferPipeline != null) {
+            this.transferPipeline.close();
+        }
+
+        if (this.shardedLedger != null) {
+            this.shardedLedger.close();
+        }
+
+        if (this.journalManager != null) {
+            try {
+                this.journalManager.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (this.sessionFactory != null) {
+            this.sessionFactory.close();
+        }
+    }
+}
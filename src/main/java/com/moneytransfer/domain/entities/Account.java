@@ -1,63 +1,104 @@
 package com.moneytransfer.domain.entities;
 
+import com.google.gson.annotations.JsonAdapter;
+import com.moneytransfer.domain.exceptions.InsufficientFundsException;
+import com.moneytransfer.utils.Identifiers;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.ToString;
+import org.hibernate.annotations.Type;
 
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Version;
 import java.io.Serializable;
 import java.math.BigDecimal;
 
 import static com.moneytransfer.utils.Constants.DECIMAL_PLACES;
+import static com.moneytransfer.utils.Identifiers.SIZE;
 import static java.math.BigDecimal.ZERO;
 import static java.math.RoundingMode.HALF_UP;
-import static java.util.UUID.randomUUID;
 
 @Entity
 @EqualsAndHashCode
 @Getter
 @ToString
+@JsonAdapter(AccountTypeAdapter.class)
 public class Account implements Serializable {
 
     private static final long serialVersionUID = -5933713453986435201L;
 
     @Id
+    @Type(type = BinaryIdType.NAME)
+    @Column(length = SIZE)
     private String number;
 
     private String owner;
 
-    private BigDecimal balance;
+    @Convert(converter = MoneyConverter.class)
+    private Money balance;
+
+    @Version
+    @EqualsAndHashCode.Exclude
+    private Long version;
 
     public Account() { }
 
     public Account(@NonNull final String owner) {
-        this.number = randomUUID().toString();
+        this.number = Identifiers.next();
+        setOwner(owner);
+        this.balance = Money.ZERO;
+    }
+
+    public Account(@NonNull final String number,
+                   @NonNull final String owner,
+                   @NonNull final Money balance,
+                   final Long version) {
+        this.number = number;
         setOwner(owner);
-        setBalance(ZERO);
+        this.balance = balance;
+        this.version = version;
     }
 
     public void deposit(@NonNull final BigDecimal amount) {
-        if (amount.compareTo(ZERO) <= 0) {
-            throw new IllegalArgumentException("Amount for deposit should be greater than zero");
-        }
+        deposit(Money.of(checkAmount(amount, "deposit")));
+    }
+
+    public void deposit(@NonNull final Money amount) {
+        checkAmount(amount, "deposit");
 
-        final BigDecimal newBalance = this.balance.add(amount);
-        setBalance(newBalance);
+        this.balance = this.balance.plus(amount);
     }
 
     public void withdraw(@NonNull final BigDecimal amount) {
-        if (amount.compareTo(ZERO) <= 0) {
-            throw new IllegalArgumentException("Amount for withdraw should be greater than zero");
-        }
+        withdraw(Money.of(checkAmount(amount, "withdraw")));
+    }
+
+    public void withdraw(@NonNull final Money amount) {
+        checkAmount(amount, "withdraw");
 
         if (amount.compareTo(this.balance) > 0) {
-            throw new IllegalArgumentException("Account balance should contain value for withdraw");
+            throw new InsufficientFundsException();
+        }
+
+        this.balance = this.balance.minus(amount);
+    }
+
+    public static BigDecimal checkAmount(@NonNull final BigDecimal amount, @NonNull final String operation) {
+        if (amount.compareTo(ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount for " + operation + " should be greater than zero");
         }
 
-        final BigDecimal newBalance = this.balance.subtract(amount);
-        setBalance(newBalance);
+        return amount.setScale(DECIMAL_PLACES, HALF_UP);
+    }
+
+    private static void checkAmount(final Money amount, final String operation) {
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount for " + operation + " should be greater than zero");
+        }
     }
 
     private void setOwner(@NonNull final String owner) {
@@ -67,8 +108,4 @@ public class Account implements Serializable {
 
         this.owner = owner;
     }
-
-    private void setBalance(@NonNull final BigDecimal balance) {
-        this.balance = balance.setScale(DECIMAL_PLACES, HALF_UP);
-    }
 }
@@ -0,0 +1,69 @@
+package com.moneytransfer.domain.entities;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import static com.moneytransfer.utils.JsonValues.nextString;
+
+class AccountTypeAdapter extends TypeAdapter<Account> {
+
+    private static final MoneyTypeAdapter MONEY = new MoneyTypeAdapter();
+
+    @Override
+    public void write(final JsonWriter out, final Account account) throws IOException {
+        if (account == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("number").value(account.getNumber());
+        out.name("owner").value(account.getOwner());
+        out.name("balance");
+        MONEY.write(out, account.getBalance());
+        out.endObject();
+    }
+
+    @Override
+    public Account read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String number = null;
+        String owner = null;
+        Money balance = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "number":
+                    number = nextString(in);
+                    break;
+                case "owner":
+                    owner = nextString(in);
+                    break;
+                case "balance":
+                    balance = MONEY.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        if (number == null || owner == null || balance == null) {
+            throw new JsonSyntaxException("Account should have a number, an owner and a balance");
+        }
+
+        return new Account(number, owner, balance, null);
+    }
+}
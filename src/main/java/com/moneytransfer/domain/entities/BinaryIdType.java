@@ -0,0 +1,82 @@
+package com.moneytransfer.domain.entities;
+
+import com.moneytransfer.utils.Identifiers;
+import org.hibernate.type.AbstractSingleColumnStandardBasicType;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractTypeDescriptor;
+import org.hibernate.type.descriptor.sql.VarbinaryTypeDescriptor;
+
+/**
+ * Stores UUID text identifiers as their 16 bytes.
+ */
+public class BinaryIdType extends AbstractSingleColumnStandardBasicType<String> {
+
+    public static final String NAME = "com.moneytransfer.domain.entities.BinaryIdType";
+
+    private static final long serialVersionUID = 2806343279170843626L;
+
+    public BinaryIdType() {
+        super(VarbinaryTypeDescriptor.INSTANCE, IdDescriptor.INSTANCE);
+    }
+
+    @Override
+    public String getName() {
+        return "binary-id";
+    }
+
+    private static final class IdDescriptor extends AbstractTypeDescriptor<String> {
+
+        private static final IdDescriptor INSTANCE = new IdDescriptor();
+
+        private static final long serialVersionUID = -2143578329960587218L;
+
+        private IdDescriptor() {
+            super(String.class);
+        }
+
+        @Override
+        public String toString(final String value) {
+            return value;
+        }
+
+        @Override
+        public String fromString(final String string) {
+            return string;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <X> X unwrap(final String value, final Class<X> type, final WrapperOptions options) {
+            if (value == null) {
+                return null;
+            }
+
+            if (byte[].class.equals(type)) {
+                return (X) Identifiers.toBytes(value);
+            }
+
+            if (String.class.equals(type)) {
+                return (X) value;
+            }
+
+            throw unknownUnwrap(type);
+        }
+
+        @Override
+        public <X> String wrap(final X value, final WrapperOptions options) {
+            if (value == null) {
+                return null;
+            }
+
+            if (value instanceof byte[]) {
+                return Identifiers.fromBytes((byte[]) value);
+            }
+
+            if (value instanceof String) {
+                return (String) value;
+            }
+
+            throw unknownWrap(value.getClass());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.moneytransfer.domain.entities;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.io.Serializable;
+
+@Entity
+@EqualsAndHashCode
+@Getter
+@ToString
+public class IdempotencyRecord implements Serializable {
+
+    private static final long serialVersionUID = 6245720385563162214L;
+
+    public static final int MAX_BODY_LENGTH = 8192;
+
+    @Id
+    private String id;
+
+    private String fingerprint;
+
+    private int status;
+
+    @Column(length = MAX_BODY_LENGTH)
+    private String body;
+
+    private long expiresAt;
+
+    public IdempotencyRecord() { }
+
+    public IdempotencyRecord(@NonNull final String id,
+                             @NonNull final String fingerprint,
+                             final int status,
+                             @NonNull final String body,
+                             final long expiresAt) {
+        this.id = id;
+        this.fingerprint = fingerprint;
+        this.status = status;
+        this.body = body;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,83 @@
+package com.moneytransfer.domain.entities;
+
+import com.google.gson.annotations.JsonAdapter;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import static com.moneytransfer.utils.Constants.DECIMAL_PLACES;
+import static java.math.RoundingMode.HALF_UP;
+
+/**
+ * An immutable amount of money kept as a number of cents.
+ */
+@EqualsAndHashCode
+@JsonAdapter(MoneyTypeAdapter.class)
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 3716190402458931470L;
+
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(final long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(final long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    public static Money of(@NonNull final BigDecimal amount) {
+        try {
+            return ofCents(amount.setScale(DECIMAL_PLACES, HALF_UP).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount is out of range");
+        }
+    }
+
+    public Money plus(@NonNull final Money other) {
+        try {
+            return ofCents(Math.addExact(this.cents, other.cents));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount is out of range");
+        }
+    }
+
+    public Money minus(@NonNull final Money other) {
+        try {
+            return ofCents(Math.subtractExact(this.cents, other.cents));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount is out of range");
+        }
+    }
+
+    public Money negate() {
+        return ZERO.minus(this);
+    }
+
+    public long getCents() {
+        return this.cents;
+    }
+
+    public int signum() {
+        return Long.signum(this.cents);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(this.cents, DECIMAL_PLACES);
+    }
+
+    @Override
+    public int compareTo(@NonNull final Money other) {
+        return Long.compare(this.cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.moneytransfer.domain.entities;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(final Money money) {
+        return money == null ? null : money.getCents();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(final Long cents) {
+        return cents == null ? null : Money.ofCents(cents);
+    }
+}
@@ -0,0 +1,31 @@
+package com.moneytransfer.domain.entities;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+class MoneyTypeAdapter extends TypeAdapter<Money> {
+
+    @Override
+    public void write(final JsonWriter out, final Money money) throws IOException {
+        if (money == null) {
+            out.nullValue();
+        } else {
+            out.value(money.toBigDecimal());
+        }
+    }
+
+    @Override
+    public Money read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        return Money.of(new BigDecimal(in.nextString()));
+    }
+}
@@ -1,39 +1,56 @@
 package com.moneytransfer.domain.entities;
 
+import com.google.gson.annotations.JsonAdapter;
+import com.moneytransfer.domain.exceptions.SameAccountTransferException;
+import com.moneytransfer.utils.Identifiers;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.ToString;
+import org.hibernate.annotations.Type;
 
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-import static com.moneytransfer.utils.Constants.DECIMAL_PLACES;
-import static java.math.RoundingMode.HALF_UP;
-import static java.util.UUID.randomUUID;
+import static com.moneytransfer.utils.Identifiers.SIZE;
+import static javax.persistence.FetchType.LAZY;
+import static java.time.temporal.ChronoUnit.MICROS;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_transaction_origin_date", columnList = "origin_number, date desc, id desc"),
+    @Index(name = "idx_transaction_destination_date", columnList = "destination_number, date desc, id desc"),
+    @Index(name = "idx_transaction_date", columnList = "date, id")
+})
 @EqualsAndHashCode
 @Getter
 @ToString
+@JsonAdapter(TransactionTypeAdapter.class)
 public class Transaction implements Serializable {
 
     private static final long serialVersionUID = -4857050094419687194L;
 
     @Id
+    @Type(type = BinaryIdType.NAME)
+    @Column(length = SIZE)
     private String id;
 
-    @ManyToOne
+    @ManyToOne(fetch = LAZY)
     private Account origin;
 
-    @ManyToOne
+    @ManyToOne(fetch = LAZY)
     private Account destination;
 
-    private BigDecimal amount;
+    @Convert(converter = MoneyConverter.class)
+    private Money amount;
 
     private LocalDateTime date;
 
@@ -46,12 +63,24 @@ public class Transaction implements Serializable {
         this.destination = destination;
 
         if (this.origin.equals(this.destination)) {
-            throw new IllegalArgumentException("Accounts for transfer should be different");
+            throw new SameAccountTransferException();
         }
 
-        this.id = randomUUID().toString();
-        this.amount = amount.setScale(DECIMAL_PLACES, HALF_UP);
-        this.date = LocalDateTime.now();
+        this.id = Identifiers.next();
+        this.amount = Money.of(amount);
+        this.date = LocalDateTime.now().truncatedTo(MICROS);
+    }
+
+    public Transaction(@NonNull final String id,
+                       @NonNull final Account origin,
+                       @NonNull final Account destination,
+                       @NonNull final Money amount,
+                       @NonNull final LocalDateTime date) {
+        this.id = id;
+        this.origin = origin;
+        this.destination = destination;
+        this.amount = amount;
+        this.date = date;
     }
 
     public void transfer() {
@@ -0,0 +1,86 @@
+package com.moneytransfer.domain.entities;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static com.moneytransfer.utils.JsonValues.nextDate;
+import static com.moneytransfer.utils.JsonValues.nextString;
+import static com.moneytransfer.utils.JsonValues.writeDate;
+
+class TransactionTypeAdapter extends TypeAdapter<Transaction> {
+
+    private static final AccountTypeAdapter ACCOUNT = new AccountTypeAdapter();
+    private static final MoneyTypeAdapter MONEY = new MoneyTypeAdapter();
+
+    @Override
+    public void write(final JsonWriter out, final Transaction transaction) throws IOException {
+        if (transaction == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("id").value(transaction.getId());
+        out.name("origin");
+        ACCOUNT.write(out, transaction.getOrigin());
+        out.name("destination");
+        ACCOUNT.write(out, transaction.getDestination());
+        out.name("amount");
+        MONEY.write(out, transaction.getAmount());
+        out.name("date");
+        writeDate(out, transaction.getDate());
+        out.endObject();
+    }
+
+    @Override
+    public Transaction read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String id = null;
+        Account origin = null;
+        Account destination = null;
+        Money amount = null;
+        LocalDateTime date = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    id = nextString(in);
+                    break;
+                case "origin":
+                    origin = ACCOUNT.read(in);
+                    break;
+                case "destination":
+                    destination = ACCOUNT.read(in);
+                    break;
+                case "amount":
+                    amount = MONEY.read(in);
+                    break;
+                case "date":
+                    date = nextDate(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        if (id == null || origin == null || destination == null || amount == null || date == null) {
+            throw new JsonSyntaxException("Transaction should have an id, accounts, an amount and a date");
+        }
+
+        return new Transaction(id, origin, destination, amount, date);
+    }
+}
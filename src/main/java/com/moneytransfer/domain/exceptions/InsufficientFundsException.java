@@ -0,0 +1,10 @@
+package com.moneytransfer.domain.exceptions;
+
+public class InsufficientFundsException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 2650718286466155316L;
+
+    public InsufficientFundsException() {
+        super("Account balance should contain value for withdraw");
+    }
+}
@@ -0,0 +1,10 @@
+package com.moneytransfer.domain.exceptions;
+
+public class SameAccountTransferException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = -3914806271372069530L;
+
+    public SameAccountTransferException() {
+        super("Accounts for transfer should be different");
+    }
+}
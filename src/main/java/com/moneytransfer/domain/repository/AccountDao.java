@@ -1,5 +1,79 @@
 package com.moneytransfer.domain.repository;
 
 import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.exceptions.InsufficientFundsException;
+import com.moneytransfer.utils.Identifiers;
+import lombok.NonNull;
 
-public class AccountDao extends HibernateDao<Account> { }
\ No newline at end of file
+import java.math.BigDecimal;
+import java.util.NoSuchElementException;
+
+public class AccountDao extends HibernateDao<Account> implements BalanceDao {
+
+    private static final String CREDIT = "update Account set balance = balance + :amount, version = version + 1 "
+        + "where number = :number";
+
+    private static final String DEBIT = "update Account set balance = balance - :amount, version = version + 1 "
+        + "where number = :number and balance >= :amount";
+
+    private static final String EXISTS = "select count(*) from Account where number = :number";
+
+    public AccountDao() {
+        super();
+    }
+
+    public AccountDao(@NonNull final SessionFactory sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void credit(@NonNull final String accountNumber, @NonNull final BigDecimal amount) throws Exception {
+        if (update(CREDIT, accountNumber, amount) == 0) {
+            throw new NoSuchElementException("No information found for given identifier");
+        }
+    }
+
+    @Override
+    public void debit(@NonNull final String accountNumber, @NonNull final BigDecimal amount) throws Exception {
+        if (update(DEBIT, accountNumber, amount) == 0) {
+            if (!exists(accountNumber)) {
+                throw new NoSuchElementException("No information found for given identifier");
+            }
+
+            throw new InsufficientFundsException();
+        }
+    }
+
+    @Override
+    protected boolean isIdentifier(final String id) {
+        return Identifiers.isValid(id);
+    }
+
+    private int update(final String statement, final String accountNumber, final BigDecimal amount)
+        throws Exception {
+        final byte[] number = number(accountNumber);
+
+        return execute("Error updating account balance", session -> session.createNativeQuery(statement)
+            .setParameter("amount", Money.of(amount).getCents())
+            .setParameter("number", number)
+            .executeUpdate());
+    }
+
+    private boolean exists(final String accountNumber) throws Exception {
+        final byte[] number = number(accountNumber);
+
+        return execute("Error retrieving information from database", session -> ((Number) session
+            .createNativeQuery(EXISTS)
+            .setParameter("number", number)
+            .getSingleResult()).longValue() > 0);
+    }
+
+    private static byte[] number(final String accountNumber) {
+        if (!Identifiers.isValid(accountNumber)) {
+            throw new NoSuchElementException("No information found for given identifier");
+        }
+
+        return Identifiers.toBytes(accountNumber);
+    }
+}
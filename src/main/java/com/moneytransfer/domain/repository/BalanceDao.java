@@ -0,0 +1,10 @@
+package com.moneytransfer.domain.repository;
+
+import java.math.BigDecimal;
+
+public interface BalanceDao {
+
+    void credit(String accountNumber, BigDecimal amount) throws Exception;
+
+    void debit(String accountNumber, BigDecimal amount) throws Exception;
+}
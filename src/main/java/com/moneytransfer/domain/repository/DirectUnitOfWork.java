@@ -0,0 +1,13 @@
+package com.moneytransfer.domain.repository;
+
+import lombok.NonNull;
+
+import java.util.concurrent.Callable;
+
+public class DirectUnitOfWork implements UnitOfWork {
+
+    @Override
+    public <R> R execute(@NonNull final Callable<R> work) throws Exception {
+        return work.call();
+    }
+}
@@ -1,72 +1,203 @@
 package com.moneytransfer.domain.repository;
 
+import com.moneytransfer.metrics.Phase;
+import com.moneytransfer.metrics.RequestTimer;
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.TransientObjectException;
+import org.hibernate.exception.ConstraintViolationException;
 
+import javax.persistence.LockTimeoutException;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PessimisticLockException;
 import javax.persistence.PersistenceException;
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Slf4j
 public abstract class HibernateDao<T extends Serializable> implements BaseDao<T> {
 
-    private final SessionFactory sessionFactory = new HibernateSessionFactory();
+    private final SessionFactory sessionFactory;
+
+    protected HibernateDao() {
+        this(new HibernateSessionFactory());
+    }
+
+    protected HibernateDao(@NonNull final SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
 
     public T save(final T clazz) throws Exception {
+        final long start = System.nanoTime();
+
+        try {
+            return saveInSession(clazz);
+        } finally {
+            RequestTimer.record(Phase.DB, start);
+        }
+    }
+
+    public T findById(final String id) throws Exception {
+        if (!isIdentifier(id)) {
+            throw new NoSuchElementException("No information found for given identifier");
+        }
+
+        final long start = System.nanoTime();
+
+        try {
+            return findInSession(id);
+        } finally {
+            RequestTimer.record(Phase.DB, start);
+        }
+    }
+
+    protected <R> R execute(final String errorMessage, final Function<Session, R> work) throws Exception {
+        final long start = System.nanoTime();
+
+        try {
+            return executeInSession(errorMessage, work);
+        } finally {
+            RequestTimer.record(Phase.DB, start);
+        }
+    }
+
+    private T saveInSession(final T clazz) throws Exception {
+        final Optional<Session> currentSession = HibernateUnitOfWork.currentSession(getSessionFactory());
+
+        if (currentSession.isPresent()) {
+            try {
+                write(currentSession.get(), clazz);
+
+                return clazz;
+            } catch (PersistenceException | IllegalStateException e) {
+                log.error("Error saving " + clazz.getClass().getName(), e.getMessage());
+                throw translate(e, "Error saving " + clazz.getClass().getName());
+            }
+        }
+
         Session session = null;
 
         try {
-            session = ((org.hibernate.SessionFactory) this.sessionFactory.getSessionFactory())
-                .openSession();
+            session = getSessionFactory().openSession();
             session.beginTransaction();
-            session.saveOrUpdate(clazz);
+            write(session, clazz);
             session.getTransaction().commit();
 
             return clazz;
         } catch (Exception e) {
             log.error("Error saving " + clazz.getClass().getName(), e.getMessage());
 
+            if (session != null && session.getTransaction().getStatus().canRollback()) {
+                session.getTransaction().rollback();
+            }
+
+            throw translate(e, "Error saving " + clazz.getClass().getName());
+        } finally {
             if (session != null) {
-                if (session.getTransaction() != null) {
-                    session.getTransaction().rollback();
-                }
                 session.close();
             }
+        }
+    }
 
-            if (e instanceof PersistenceException &&
-                e.getMessage().contains("ConstraintViolationException")) {
-                throw new NoSuchElementException("Object with given identifier does not exist");
+    private T findInSession(final String id) throws Exception {
+        final Optional<Session> currentSession = HibernateUnitOfWork.currentSession(getSessionFactory());
+        Session session = null;
+        T result;
+
+        try {
+            session = currentSession.orElseGet(() -> getSessionFactory().openSession());
+            result = session.get(getEntityClass(), id);
+        } catch (Exception e) {
+            log.error("Error retrieving information from database", e.getMessage());
+            throw new Exception("Error retrieving information from database");
+        } finally {
+            if (session != null && !currentSession.isPresent()) {
+                session.close();
             }
+        }
 
-            throw new Exception("Error saving " + clazz.getClass().getName());
+        if (result == null) {
+            throw new NoSuchElementException("No information found for given identifier");
         }
+
+        return result;
     }
 
-    public T findById(final String id) throws Exception {
+    private <R> R executeInSession(final String errorMessage, final Function<Session, R> work) throws Exception {
+        final Optional<Session> currentSession = HibernateUnitOfWork.currentSession(getSessionFactory());
+
+        if (currentSession.isPresent()) {
+            try {
+                return work.apply(currentSession.get());
+            } catch (PersistenceException | IllegalStateException e) {
+                log.error(errorMessage, e.getMessage());
+                throw translate(e, errorMessage);
+            }
+        }
+
         Session session = null;
-        T result;
 
         try {
-            session = ((org.hibernate.SessionFactory) this.sessionFactory.getSessionFactory())
-                .openSession();
-            Class clazz = ((Class) ((ParameterizedType) getClass()
-                .getGenericSuperclass()).getActualTypeArguments()[0]);
-            result = (T) session.get(clazz, id);
+            session = getSessionFactory().openSession();
+            session.beginTransaction();
+            final R result = work.apply(session);
+            session.getTransaction().commit();
+
+            return result;
         } catch (Exception e) {
-            log.error("Error retrieving information from database", e.getMessage());
+            log.error(errorMessage, e.getMessage());
 
+            if (session != null && session.getTransaction().getStatus().canRollback()) {
+                session.getTransaction().rollback();
+            }
+
+            throw translate(e, errorMessage);
+        } finally {
             if (session != null) {
                 session.close();
             }
+        }
+    }
 
-            throw new Exception("Error retrieving information from database");
+    protected boolean isIdentifier(final String id) {
+        return true;
+    }
+
+    protected void write(final Session session, final T entity) {
+        session.saveOrUpdate(entity);
+    }
+
+    protected org.hibernate.SessionFactory getSessionFactory() {
+        return (org.hibernate.SessionFactory) this.sessionFactory.getSessionFactory();
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Class<T> getEntityClass() {
+        return (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+    }
+
+    static Exception translate(final Exception e, final String message) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof StaleStateException
+                || cause instanceof PessimisticLockException || cause instanceof LockTimeoutException) {
+                return new ConcurrentModificationException("Account was updated concurrently, please retry");
+            }
+
+            if (cause instanceof ConstraintViolationException || cause instanceof TransientObjectException) {
+                return new NoSuchElementException("Object with given identifier does not exist");
+            }
         }
 
-        if (result == null) {
-            throw new NoSuchElementException("No information found for given identifier");
+        if (e.getMessage() != null && e.getMessage().contains("ConstraintViolationException")) {
+            return new NoSuchElementException("Object with given identifier does not exist");
         }
 
-        return result;
+        return new Exception(message);
     }
 }
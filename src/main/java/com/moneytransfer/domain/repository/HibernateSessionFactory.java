@@ -12,28 +12,43 @@ import static org.hibernate.boot.registry.StandardServiceRegistryBuilder.destroy
 public class HibernateSessionFactory implements SessionFactory<org.hibernate.SessionFactory> {
 
     private StandardServiceRegistry registry;
-    private org.hibernate.SessionFactory sessionFactory;
+    private volatile org.hibernate.SessionFactory sessionFactory;
 
     @Override
     public org.hibernate.SessionFactory getSessionFactory() {
         if (this.sessionFactory == null) {
-            try {
-                this.registry = new StandardServiceRegistryBuilder().configure().build();
-                MetadataSources sources = new MetadataSources(this.registry);
-                Metadata metadata = sources.getMetadataBuilder().build();
-                this.sessionFactory = metadata.getSessionFactoryBuilder().build();
-            } catch (Exception e) {
-                log.error("Error creating session factory", e.getMessage());
-                shutdown();
+            synchronized (this) {
+                if (this.sessionFactory == null) {
+                    try {
+                        this.registry = new StandardServiceRegistryBuilder().configure().build();
+                        MetadataSources sources = new MetadataSources(this.registry);
+                        Metadata metadata = sources.getMetadataBuilder().build();
+                        this.sessionFactory = metadata.getSessionFactoryBuilder().build();
+                    } catch (Exception e) {
+                        log.error("Error creating session factory", e.getMessage());
+                        shutdown();
+                    }
+                }
             }
         }
 
         return this.sessionFactory;
     }
 
+    @Override
+    public synchronized void close() {
+        if (this.sessionFactory != null) {
+            this.sessionFactory.close();
+            this.sessionFactory = null;
+        }
+
+        shutdown();
+    }
+
     private void shutdown() {
         if (this.registry != null) {
             destroy(this.registry);
+            this.registry = null;
         }
     }
 }
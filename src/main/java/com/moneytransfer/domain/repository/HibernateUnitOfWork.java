@@ -0,0 +1,75 @@
+package com.moneytransfer.domain.repository;
+
+import com.moneytransfer.metrics.Phase;
+import com.moneytransfer.metrics.RequestTimer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+
+import javax.persistence.PersistenceException;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@Slf4j
+public class HibernateUnitOfWork implements UnitOfWork {
+
+    private static final ThreadLocal<Session> CURRENT_SESSION = new ThreadLocal<>();
+
+    private final SessionFactory sessionFactory;
+
+    public HibernateUnitOfWork(@NonNull final SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public <R> R execute(@NonNull final Callable<R> work) throws Exception {
+        final org.hibernate.SessionFactory factory =
+            (org.hibernate.SessionFactory) this.sessionFactory.getSessionFactory();
+
+        if (currentSession(factory).isPresent()) {
+            return work.call();
+        }
+
+        long start = System.nanoTime();
+        final Session session = factory.openSession();
+        CURRENT_SESSION.set(session);
+
+        try {
+            session.beginTransaction();
+            RequestTimer.record(Phase.DB, start);
+
+            final R result = work.call();
+
+            start = System.nanoTime();
+            session.getTransaction().commit();
+            RequestTimer.record(Phase.DB, start);
+
+            return result;
+        } catch (Exception e) {
+            start = System.nanoTime();
+
+            if (session.getTransaction().getStatus().canRollback()) {
+                session.getTransaction().rollback();
+            }
+
+            RequestTimer.record(Phase.DB, start);
+
+            if (e instanceof PersistenceException || e.getCause() instanceof PersistenceException) {
+                log.error("Error executing unit of work", e.getMessage());
+                throw HibernateDao.translate(e, "Error executing unit of work");
+            }
+
+            throw e;
+        } finally {
+            CURRENT_SESSION.remove();
+            session.close();
+        }
+    }
+
+    static Optional<Session> currentSession(final org.hibernate.SessionFactory factory) {
+        final Session session = CURRENT_SESSION.get();
+
+        return session != null && session.getSessionFactory() == factory
+            ? Optional.of(session) : Optional.empty();
+    }
+}
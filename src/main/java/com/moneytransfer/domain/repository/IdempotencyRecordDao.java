@@ -0,0 +1,15 @@
+package com.moneytransfer.domain.repository;
+
+import com.moneytransfer.domain.entities.IdempotencyRecord;
+import lombok.NonNull;
+
+public class IdempotencyRecordDao extends HibernateDao<IdempotencyRecord> {
+
+    public IdempotencyRecordDao() {
+        super();
+    }
+
+    public IdempotencyRecordDao(@NonNull final SessionFactory sessionFactory) {
+        super(sessionFactory);
+    }
+}
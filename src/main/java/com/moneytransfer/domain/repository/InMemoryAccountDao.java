@@ -0,0 +1,277 @@
+package com.moneytransfer.domain.repository;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.utils.Identifiers;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Keeps accounts in primitive arrays found through an open-addressing index. Each slot has a
+ * seqlock counter, half of which is the account version, so readers never block and a stale write
+ * fails the same CAS.
+ */
+public class InMemoryAccountDao implements BaseDao<Account>, BalanceDao, InMemoryStore<Account> {
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    private final int capacity;
+    private final long[] numbersHigh;
+    private final long[] numbersLow;
+    private final String[] owners;
+    private final AtomicLongArray balances;
+    private final AtomicLongArray sequences;
+    private final AtomicIntegerArray index;
+    private final int indexMask;
+    private final ReentrantLock insertLock = new ReentrantLock();
+    private volatile int size;
+
+    public InMemoryAccountDao() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InMemoryAccountDao(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity of account store should be greater than zero");
+        }
+
+        this.capacity = capacity;
+        this.numbersHigh = new long[capacity];
+        this.numbersLow = new long[capacity];
+        this.owners = new String[capacity];
+        this.balances = new AtomicLongArray(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+
+        final int indexSize = Integer.highestOneBit(capacity) << 2;
+        this.index = new AtomicIntegerArray(indexSize);
+        this.indexMask = indexSize - 1;
+    }
+
+    @Override
+    public Account save(@NonNull final Account account) throws Exception {
+        final Optional<List<Account>> pending = InMemoryUnitOfWork.pending(this);
+
+        if (pending.isPresent()) {
+            pending.get().removeIf(other -> other.getNumber().equals(account.getNumber()));
+            pending.get().add(account);
+
+            return account;
+        }
+
+        commit(singletonList(account));
+
+        return read(slotOf(account.getNumber()));
+    }
+
+    @Override
+    public Account findById(@NonNull final String id) throws Exception {
+        final Optional<Account> pending = InMemoryUnitOfWork.pending(this)
+            .flatMap(accounts -> accounts.stream().filter(account -> account.getNumber().equals(id)).findFirst());
+
+        if (pending.isPresent()) {
+            return pending.get();
+        }
+
+        final int slot = slotOf(id);
+
+        if (slot < 0) {
+            throw new NoSuchElementException("No information found for given identifier");
+        }
+
+        return read(slot);
+    }
+
+    @Override
+    public void credit(@NonNull final String accountNumber, @NonNull final BigDecimal amount) throws Exception {
+        change(accountNumber, account -> account.deposit(amount));
+    }
+
+    @Override
+    public void debit(@NonNull final String accountNumber, @NonNull final BigDecimal amount) throws Exception {
+        change(accountNumber, account -> account.withdraw(amount));
+    }
+
+    public boolean exists(@NonNull final String accountNumber) {
+        return slotOf(accountNumber) >= 0;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Slots are claimed in ascending order, which keeps concurrent commits from deadlocking.
+     */
+    @Override
+    public void commit(final List<Account> pending) {
+        final List<Account> inserts = new ArrayList<>();
+        final List<int[]> updates = new ArrayList<>();
+
+        for (int i = 0; i < pending.size(); i++) {
+            final int slot = slotOf(pending.get(i).getNumber());
+
+            if (slot < 0) {
+                inserts.add(pending.get(i));
+            } else {
+                updates.add(new int[]{slot, i});
+            }
+        }
+
+        updates.sort(Comparator.comparingInt(update -> update[0]));
+
+        int claimed = 0;
+
+        try {
+            for (final int[] update : updates) {
+                final Long version = pending.get(update[1]).getVersion();
+
+                if (version == null || !this.sequences.compareAndSet(update[0], version << 1, (version << 1) + 1)) {
+                    throw new ConcurrentModificationException("Account was updated concurrently, please retry");
+                }
+
+                claimed++;
+            }
+
+            for (final int[] update : updates) {
+                this.balances.set(update[0], pending.get(update[1]).getBalance().getCents());
+                this.sequences.incrementAndGet(update[0]);
+            }
+        } finally {
+            if (claimed < updates.size()) {
+                for (int i = 0; i < claimed; i++) {
+                    this.sequences.decrementAndGet(updates.get(i)[0]);
+                }
+            }
+        }
+
+        inserts.forEach(this::insert);
+    }
+
+    private void change(final String accountNumber, final Consumer<Account> operation) throws Exception {
+        final boolean inUnitOfWork = InMemoryUnitOfWork.pending(this).isPresent();
+
+        while (true) {
+            final Account account = findById(accountNumber);
+            operation.accept(account);
+
+            if (inUnitOfWork) {
+                save(account);
+                return;
+            }
+
+            try {
+                commit(singletonList(account));
+                return;
+            } catch (ConcurrentModificationException e) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void insert(final Account account) {
+        final UUID number = UUID.fromString(account.getNumber());
+
+        this.insertLock.lock();
+
+        try {
+            if (slotOf(number.getMostSignificantBits(), number.getLeastSignificantBits()) >= 0) {
+                throw new ConcurrentModificationException("Account was updated concurrently, please retry");
+            }
+
+            final int slot = this.size;
+
+            if (slot >= this.capacity) {
+                throw new IllegalStateException("In-memory account store is full");
+            }
+
+            this.numbersHigh[slot] = number.getMostSignificantBits();
+            this.numbersLow[slot] = number.getLeastSignificantBits();
+            this.owners[slot] = account.getOwner();
+            this.balances.set(slot, account.getBalance().getCents());
+            this.sequences.set(slot, 0);
+
+            int position = hash(number.getMostSignificantBits(), number.getLeastSignificantBits()) & this.indexMask;
+            while (this.index.get(position) != 0) {
+                position = (position + 1) & this.indexMask;
+            }
+
+            this.index.set(position, slot + 1);
+            this.size = slot + 1;
+        } finally {
+            this.insertLock.unlock();
+        }
+    }
+
+    private Account read(final int slot) {
+        while (true) {
+            final long sequence = this.sequences.get(slot);
+
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            final long cents = this.balances.get(slot);
+
+            if (this.sequences.get(slot) == sequence) {
+                return new Account(new UUID(this.numbersHigh[slot], this.numbersLow[slot]).toString(),
+                    this.owners[slot], Money.ofCents(cents), sequence >> 1);
+            }
+        }
+    }
+
+    private int slotOf(final String accountNumber) {
+        if (!Identifiers.isValid(accountNumber)) {
+            return -1;
+        }
+
+        final UUID number = UUID.fromString(accountNumber);
+
+        return slotOf(number.getMostSignificantBits(), number.getLeastSignificantBits());
+    }
+
+    private int slotOf(final long high, final long low) {
+        int position = hash(high, low) & this.indexMask;
+
+        while (true) {
+            final int entry = this.index.get(position);
+
+            if (entry == 0) {
+                return -1;
+            }
+
+            if (this.numbersHigh[entry - 1] == high && this.numbersLow[entry - 1] == low) {
+                return entry - 1;
+            }
+
+            position = (position + 1) & this.indexMask;
+        }
+    }
+
+    private static int hash(final long high, final long low) {
+        long hash = high * 0x9E3779B97F4A7C15L ^ low;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+
+        return (int) hash;
+    }
+}
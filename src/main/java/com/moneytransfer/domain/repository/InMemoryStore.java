@@ -0,0 +1,8 @@
+package com.moneytransfer.domain.repository;
+
+import java.util.List;
+
+interface InMemoryStore<T> {
+
+    void commit(List<T> pending);
+}
@@ -0,0 +1,153 @@
+package com.moneytransfer.domain.repository;
+
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.TransactionDirection;
+import com.moneytransfer.domain.request.TransactionQuery;
+import com.moneytransfer.domain.response.TransactionSummary;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static java.util.Collections.singletonList;
+
+public class InMemoryTransactionDao implements BaseDao<Transaction>, InMemoryStore<Transaction>,
+    TransactionHistoryDao {
+
+    private final InMemoryAccountDao accountDao;
+    private final ConcurrentMap<String, Transaction> transactions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableSet<TransactionSummary>> outgoing = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableSet<TransactionSummary>> incoming = new ConcurrentHashMap<>();
+    private final NavigableSet<TransactionSummary> ledger =
+        new ConcurrentSkipListSet<>(TransactionSummary.OLDEST_FIRST);
+
+    public InMemoryTransactionDao(@NonNull final InMemoryAccountDao accountDao) {
+        this.accountDao = accountDao;
+    }
+
+    @Override
+    public Transaction save(@NonNull final Transaction transaction) throws Exception {
+        if (!this.accountDao.exists(transaction.getOrigin().getNumber())
+            || !this.accountDao.exists(transaction.getDestination().getNumber())) {
+            throw new NoSuchElementException("Object with given identifier does not exist");
+        }
+
+        final Optional<List<Transaction>> pending = InMemoryUnitOfWork.pending(this);
+
+        if (pending.isPresent()) {
+            pending.get().add(transaction);
+        } else {
+            commit(singletonList(transaction));
+        }
+
+        return transaction;
+    }
+
+    @Override
+    public Transaction findById(@NonNull final String id) throws Exception {
+        final Optional<Transaction> pending = InMemoryUnitOfWork.pending(this)
+            .flatMap(transactions -> transactions.stream().filter(t -> t.getId().equals(id)).findFirst());
+        final Transaction transaction = pending.orElseGet(() -> this.transactions.get(id));
+
+        if (transaction == null) {
+            throw new NoSuchElementException("No information found for given identifier");
+        }
+
+        return transaction;
+    }
+
+    @Override
+    public List<TransactionSummary> findByAccount(@NonNull final TransactionQuery query,
+                                                  @NonNull final TransactionDirection direction,
+                                                  final int limit) {
+        NavigableSet<TransactionSummary> history = (direction == TransactionDirection.OUTGOING
+            ? this.outgoing : this.incoming).get(query.getAccountNumber());
+        final List<TransactionSummary> page = new ArrayList<>(Math.min(limit, 1024));
+
+        if (history == null) {
+            return page;
+        }
+
+        TransactionSummary start = query.getAfter() == null
+            ? null : bound(query.getAfter().getDate(), query.getAfter().getId());
+
+        if (query.getTo() != null) {
+            final TransactionSummary to = bound(query.getTo(), "");
+            start = start == null || TransactionSummary.NEWEST_FIRST.compare(to, start) > 0 ? to : start;
+        }
+
+        if (start != null) {
+            history = history.tailSet(start, false);
+        }
+
+        for (final TransactionSummary transaction : history) {
+            if (page.size() == limit || query.getFrom() != null && transaction.getDate().isBefore(query.getFrom())) {
+                break;
+            }
+
+            if ((query.getMinAmount() == null || transaction.getAmount().compareTo(query.getMinAmount()) >= 0)
+                && (query.getMaxAmount() == null || transaction.getAmount().compareTo(query.getMaxAmount()) <= 0)) {
+                page.add(transaction);
+            }
+        }
+
+        return page;
+    }
+
+    @Override
+    public long export(final LocalDateTime from,
+                       final LocalDateTime to,
+                       @NonNull final Sink sink) throws IOException {
+        NavigableSet<TransactionSummary> range = this.ledger;
+
+        if (from != null && to != null) {
+            range = range.subSet(bound(from, ""), true, bound(to, ""), false);
+        } else if (from != null) {
+            range = range.tailSet(bound(from, ""), true);
+        } else if (to != null) {
+            range = range.headSet(bound(to, ""), false);
+        }
+
+        long count = 0;
+
+        for (final TransactionSummary transaction : range) {
+            sink.accept(transaction);
+            count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public void commit(final List<Transaction> pending) {
+        pending.forEach(transaction -> {
+            this.transactions.put(transaction.getId(), transaction);
+
+            final TransactionSummary summary = new TransactionSummary(transaction.getId(),
+                transaction.getOrigin().getNumber(), transaction.getDestination().getNumber(),
+                transaction.getAmount(), transaction.getDate());
+            this.outgoing.computeIfAbsent(summary.getOriginAccountNumber(), number -> newHistory()).add(summary);
+            this.incoming.computeIfAbsent(summary.getDestinationAccountNumber(), number -> newHistory()).add(summary);
+            this.ledger.add(summary);
+        });
+    }
+
+    private static NavigableSet<TransactionSummary> newHistory() {
+        return new ConcurrentSkipListSet<>(TransactionSummary.NEWEST_FIRST);
+    }
+
+    /**
+     * A probe sorting right before the transactions older than the given date and id.
+     */
+    private static TransactionSummary bound(final LocalDateTime date, final String id) {
+        return new TransactionSummary(id, null, null, null, date);
+    }
+}
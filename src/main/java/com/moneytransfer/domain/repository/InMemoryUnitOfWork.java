@@ -0,0 +1,51 @@
+package com.moneytransfer.domain.repository;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+public class InMemoryUnitOfWork implements UnitOfWork {
+
+    private static final ThreadLocal<Map<InMemoryStore<?>, List<?>>> CURRENT_CHANGES = new ThreadLocal<>();
+
+    @Override
+    public <R> R execute(@NonNull final Callable<R> work) throws Exception {
+        if (CURRENT_CHANGES.get() != null) {
+            return work.call();
+        }
+
+        final Map<InMemoryStore<?>, List<?>> changes = new LinkedHashMap<>();
+        CURRENT_CHANGES.set(changes);
+
+        try {
+            final R result = work.call();
+
+            for (final Map.Entry<InMemoryStore<?>, List<?>> entry : changes.entrySet()) {
+                commit(entry.getKey(), entry.getValue());
+            }
+
+            return result;
+        } finally {
+            CURRENT_CHANGES.remove();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Optional<List<T>> pending(final InMemoryStore<T> store) {
+        final Map<InMemoryStore<?>, List<?>> changes = CURRENT_CHANGES.get();
+
+        return changes == null
+            ? Optional.empty()
+            : Optional.of((List<T>) changes.computeIfAbsent(store, key -> new ArrayList<T>()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void commit(final InMemoryStore<T> store, final List<?> pending) {
+        store.commit((List<T>) pending);
+    }
+}
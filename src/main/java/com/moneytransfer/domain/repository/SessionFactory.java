@@ -3,4 +3,6 @@ package com.moneytransfer.domain.repository;
 public interface SessionFactory<T extends Object> {
 
     T getSessionFactory();
+
+    void close();
 }
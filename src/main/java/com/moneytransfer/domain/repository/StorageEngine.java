@@ -0,0 +1,6 @@
+package com.moneytransfer.domain.repository;
+
+public enum StorageEngine {
+    HIBERNATE,
+    MEMORY
+}
@@ -1,5 +1,252 @@
 package com.moneytransfer.domain.repository;
 
+import com.moneytransfer.domain.entities.Money;
 import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.TransactionDirection;
+import com.moneytransfer.domain.request.TransactionQuery;
+import com.moneytransfer.domain.response.TransactionSummary;
+import com.moneytransfer.utils.Identifiers;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.QueryProducer;
 
-public class TransactionDao extends HibernateDao<Transaction> { }
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class TransactionDao extends HibernateDao<Transaction> implements TransactionHistoryDao {
+
+    private static final String HISTORY = "select id, origin_number, destination_number, amount, date "
+        + "from Transaction where ";
+    private static final String LEDGER = "select id, origin_number, destination_number, amount, date "
+        + "from Transaction";
+    private static final String FIND = "select t from Transaction t join fetch t.origin join fetch t.destination "
+        + "where t.id = :id";
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    public TransactionDao() {
+        super();
+    }
+
+    public TransactionDao(@NonNull final SessionFactory sessionFactory) {
+        super(sessionFactory);
+    }
+
+    /**
+     * Transactions are never updated, and saveOrUpdate would first query whether the assigned id is new.
+     */
+    @Override
+    protected void write(final Session session, final Transaction transaction) {
+        session.persist(transaction);
+    }
+
+    @Override
+    public Transaction findById(@NonNull final String id) throws Exception {
+        if (!isIdentifier(id)) {
+            throw new NoSuchElementException("No information found for given identifier");
+        }
+
+        final List<Transaction> found = execute("Error retrieving information from database", session ->
+            session.createQuery(FIND, Transaction.class).setParameter("id", id).getResultList());
+
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("No information found for given identifier");
+        }
+
+        return found.get(0);
+    }
+
+    @Override
+    protected boolean isIdentifier(final String id) {
+        return Identifiers.isValid(id);
+    }
+
+    /**
+     * Seeks past the cursor on (date, id). The plain bound on the date lets H2 read the index as a
+     * range and stop after the limit.
+     */
+    @Override
+    public List<TransactionSummary> findByAccount(@NonNull final TransactionQuery query,
+                                                  @NonNull final TransactionDirection direction,
+                                                  final int limit) throws Exception {
+        final String sql = historySql(query, direction);
+
+        return execute("Error retrieving information from database", session ->
+            historyStatement(session, sql, query).setMaxResults(limit).getResultList().stream()
+                .map(row -> summary((Object[]) row))
+                .collect(Collectors.toList()));
+    }
+
+    static String historySql(final TransactionQuery query, final TransactionDirection direction) {
+        final String column = direction == TransactionDirection.OUTGOING ? "origin_number" : "destination_number";
+        final StringBuilder sql = new StringBuilder(HISTORY).append(column).append(" = :number");
+
+        if (query.getFrom() != null) {
+            sql.append(" and date >= :from");
+        }
+
+        if (query.getTo() != null) {
+            sql.append(" and date < :to");
+        }
+
+        if (query.getMinAmount() != null) {
+            sql.append(" and amount >= :minAmount");
+        }
+
+        if (query.getMaxAmount() != null) {
+            sql.append(" and amount <= :maxAmount");
+        }
+
+        if (query.getAfter() != null) {
+            sql.append(" and date <= :afterDate and (date < :afterDate or id < :afterId)");
+        }
+
+        return sql.append(" order by ").append(column).append(", date desc, id desc").toString();
+    }
+
+    static NativeQuery<?> historyStatement(final Session session, final String sql, final TransactionQuery query) {
+        final NativeQuery<?> statement = session.createNativeQuery(sql)
+            .setParameter("number", Identifiers.toBytes(query.getAccountNumber()));
+
+        if (query.getFrom() != null) {
+            statement.setParameter("from", Timestamp.valueOf(query.getFrom()));
+        }
+
+        if (query.getTo() != null) {
+            statement.setParameter("to", Timestamp.valueOf(query.getTo()));
+        }
+
+        if (query.getMinAmount() != null) {
+            statement.setParameter("minAmount", query.getMinAmount().getCents());
+        }
+
+        if (query.getMaxAmount() != null) {
+            statement.setParameter("maxAmount", query.getMaxAmount().getCents());
+        }
+
+        if (query.getAfter() != null) {
+            statement.setParameter("afterDate", Timestamp.valueOf(query.getAfter().getDate()))
+                .setParameter("afterId", afterId(query));
+        }
+
+        return statement;
+    }
+
+    /**
+     * H2 computes the whole result before its first row unless the query runs lazily.
+     */
+    @Override
+    public long export(final LocalDateTime from,
+                       final LocalDateTime to,
+                       @NonNull final Sink sink) throws Exception {
+        final StatelessSession session = getSessionFactory().openStatelessSession();
+
+        try {
+            session.beginTransaction();
+            final long count;
+
+            lazyQueryExecution(session, true);
+
+            try (ScrollableResults rows = ledgerStatement(session, ledgerSql(from, to), from, to)
+                .setFetchSize(EXPORT_FETCH_SIZE)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+                count = export(rows, sink);
+            } finally {
+                lazyQueryExecution(session, false);
+            }
+
+            session.getTransaction().commit();
+
+            return count;
+        } catch (IOException e) {
+            rollback(session);
+            throw e;
+        } catch (Exception e) {
+            log.error("Error exporting transactions", e.getMessage());
+            rollback(session);
+            throw translate(e, "Error retrieving information from database");
+        } finally {
+            session.close();
+        }
+    }
+
+    static String ledgerSql(final LocalDateTime from, final LocalDateTime to) {
+        final StringBuilder sql = new StringBuilder(LEDGER);
+
+        if (from != null) {
+            sql.append(" where date >= :from");
+        }
+
+        if (to != null) {
+            sql.append(from == null ? " where" : " and").append(" date < :to");
+        }
+
+        return sql.append(" order by date, id").toString();
+    }
+
+    static NativeQuery<?> ledgerStatement(final QueryProducer session,
+                                          final String sql,
+                                          final LocalDateTime from,
+                                          final LocalDateTime to) {
+        final NativeQuery<?> statement = session.createNativeQuery(sql);
+
+        if (from != null) {
+            statement.setParameter("from", Timestamp.valueOf(from));
+        }
+
+        if (to != null) {
+            statement.setParameter("to", Timestamp.valueOf(to));
+        }
+
+        return statement;
+    }
+
+    private static long export(final ScrollableResults rows, final Sink sink) throws IOException {
+        long count = 0;
+
+        while (rows.next()) {
+            sink.accept(summary(rows.get()));
+            count++;
+        }
+
+        return count;
+    }
+
+    private static void lazyQueryExecution(final StatelessSession session, final boolean lazy) {
+        try {
+            session.createNativeQuery("set lazy_query_execution " + lazy).executeUpdate();
+        } catch (Exception e) {
+            log.warn("Error setting lazy query execution", e.getMessage());
+        }
+    }
+
+    private static void rollback(final StatelessSession session) {
+        if (session.getTransaction().getStatus().canRollback()) {
+            session.getTransaction().rollback();
+        }
+    }
+
+    private static byte[] afterId(final TransactionQuery query) {
+        try {
+            return Identifiers.toBytes(query.getAfter().getId());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor is not valid");
+        }
+    }
+
+    private static TransactionSummary summary(final Object[] row) {
+        return new TransactionSummary(Identifiers.fromBytes((byte[]) row[0]),
+            Identifiers.fromBytes((byte[]) row[1]), Identifiers.fromBytes((byte[]) row[2]),
+            Money.ofCents(((Number) row[3]).longValue()), ((Timestamp) row[4]).toLocalDateTime());
+    }
+}
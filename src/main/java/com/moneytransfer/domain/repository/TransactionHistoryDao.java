@@ -0,0 +1,30 @@
+package com.moneytransfer.domain.repository;
+
+import com.moneytransfer.domain.request.TransactionDirection;
+import com.moneytransfer.domain.request.TransactionQuery;
+import com.moneytransfer.domain.response.TransactionSummary;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TransactionHistoryDao {
+
+    List<TransactionSummary> findByAccount(TransactionQuery query,
+                                           TransactionDirection direction,
+                                           int limit) throws Exception;
+
+    /**
+     * Hands the transactions dated from {@code from} (inclusive) to {@code to} (exclusive) to the
+     * sink, oldest first. Either bound may be null.
+     *
+     * @return the number of transactions handed to the sink
+     */
+    long export(LocalDateTime from, LocalDateTime to, Sink sink) throws Exception;
+
+    @FunctionalInterface
+    interface Sink {
+
+        void accept(TransactionSummary transaction) throws IOException;
+    }
+}
@@ -0,0 +1,8 @@
+package com.moneytransfer.domain.repository;
+
+import java.util.concurrent.Callable;
+
+public interface UnitOfWork {
+
+    <R> R execute(Callable<R> work) throws Exception;
+}
@@ -1,10 +1,12 @@
 package com.moneytransfer.domain.request;
 
+import com.google.gson.annotations.JsonAdapter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 @Data
 @AllArgsConstructor
+@JsonAdapter(AccountRequestTypeAdapter.class)
 public class AccountRequest {
 
     private String owner;
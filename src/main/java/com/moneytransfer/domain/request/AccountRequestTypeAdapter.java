@@ -0,0 +1,49 @@
+package com.moneytransfer.domain.request;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import static com.moneytransfer.utils.JsonValues.nextString;
+
+class AccountRequestTypeAdapter extends TypeAdapter<AccountRequest> {
+
+    @Override
+    public void write(final JsonWriter out, final AccountRequest request) throws IOException {
+        if (request == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("owner").value(request.getOwner());
+        out.endObject();
+    }
+
+    @Override
+    public AccountRequest read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String owner = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            if ("owner".equals(in.nextName())) {
+                owner = nextString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return new AccountRequest(owner);
+    }
+}
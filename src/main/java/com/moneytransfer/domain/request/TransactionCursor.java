@@ -0,0 +1,39 @@
+package com.moneytransfer.domain.request;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Value
+public class TransactionCursor {
+
+    private static final char SEPARATOR = '|';
+
+    @NonNull
+    private LocalDateTime date;
+
+    @NonNull
+    private String id;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((this.date.toString() + SEPARATOR + this.id)
+            .getBytes(UTF_8));
+    }
+
+    public static TransactionCursor decode(@NonNull final String cursor) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+            final int separator = value.indexOf(SEPARATOR);
+
+            return new TransactionCursor(LocalDateTime.parse(value.substring(0, separator)),
+                value.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor is not valid");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.moneytransfer.domain.request;
+
+public enum TransactionDirection {
+
+    INCOMING,
+    OUTGOING
+}
@@ -0,0 +1,31 @@
+package com.moneytransfer.domain.request;
+
+import com.moneytransfer.domain.entities.Money;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@code from} and the amounts are inclusive, {@code to} is exclusive.
+ */
+@Value
+public class TransactionQuery {
+
+    @NonNull
+    private String accountNumber;
+
+    private TransactionDirection direction;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private Money minAmount;
+
+    private Money maxAmount;
+
+    private TransactionCursor after;
+
+    private int limit;
+}
@@ -1,5 +1,6 @@
 package com.moneytransfer.domain.request;
 
+import com.google.gson.annotations.JsonAdapter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,6 +8,7 @@ import java.math.BigDecimal;
 
 @Data
 @AllArgsConstructor
+@JsonAdapter(TransferRequestTypeAdapter.class)
 public class TransferRequest {
 
     private String originAccountNumber;
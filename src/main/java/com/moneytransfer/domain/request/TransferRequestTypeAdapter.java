@@ -0,0 +1,63 @@
+package com.moneytransfer.domain.request;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static com.moneytransfer.utils.JsonValues.nextBigDecimal;
+import static com.moneytransfer.utils.JsonValues.nextString;
+
+class TransferRequestTypeAdapter extends TypeAdapter<TransferRequest> {
+
+    @Override
+    public void write(final JsonWriter out, final TransferRequest request) throws IOException {
+        if (request == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("originAccountNumber").value(request.getOriginAccountNumber());
+        out.name("destinationAccountNumber").value(request.getDestinationAccountNumber());
+        out.name("amount").value(request.getAmount());
+        out.endObject();
+    }
+
+    @Override
+    public TransferRequest read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String originAccountNumber = null;
+        String destinationAccountNumber = null;
+        BigDecimal amount = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "originAccountNumber":
+                    originAccountNumber = nextString(in);
+                    break;
+                case "destinationAccountNumber":
+                    destinationAccountNumber = nextString(in);
+                    break;
+                case "amount":
+                    amount = nextBigDecimal(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return new TransferRequest(originAccountNumber, destinationAccountNumber, amount);
+    }
+}
@@ -0,0 +1,50 @@
+package com.moneytransfer.domain.request;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static com.moneytransfer.utils.JsonValues.nextBigDecimal;
+
+class UpdateBalanceRequestTypeAdapter extends TypeAdapter<UpdateBalanceRequest> {
+
+    @Override
+    public void write(final JsonWriter out, final UpdateBalanceRequest request) throws IOException {
+        if (request == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("amount").value(request.getAmount());
+        out.endObject();
+    }
+
+    @Override
+    public UpdateBalanceRequest read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        BigDecimal amount = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            if ("amount".equals(in.nextName())) {
+                amount = nextBigDecimal(in);
+            } else {
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return new UpdateBalanceRequest(amount);
+    }
+}
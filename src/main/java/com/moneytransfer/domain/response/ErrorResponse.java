@@ -1,10 +1,12 @@
 package com.moneytransfer.domain.response;
 
+import com.google.gson.annotations.JsonAdapter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 @Data
 @AllArgsConstructor
+@JsonAdapter(ErrorResponseTypeAdapter.class)
 public class ErrorResponse {
 
     private String message;
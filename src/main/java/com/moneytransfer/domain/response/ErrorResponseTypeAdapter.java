@@ -0,0 +1,49 @@
+package com.moneytransfer.domain.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import static com.moneytransfer.utils.JsonValues.nextString;
+
+class ErrorResponseTypeAdapter extends TypeAdapter<ErrorResponse> {
+
+    @Override
+    public void write(final JsonWriter out, final ErrorResponse response) throws IOException {
+        if (response == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("message").value(response.getMessage());
+        out.endObject();
+    }
+
+    @Override
+    public ErrorResponse read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String message = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            if ("message".equals(in.nextName())) {
+                message = nextString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return new ErrorResponse(message);
+    }
+}
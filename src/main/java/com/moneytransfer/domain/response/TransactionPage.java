@@ -0,0 +1,13 @@
+package com.moneytransfer.domain.response;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class TransactionPage {
+
+    private List<TransactionSummary> transactions;
+
+    private String next;
+}
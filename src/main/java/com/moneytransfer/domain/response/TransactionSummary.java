@@ -0,0 +1,33 @@
+package com.moneytransfer.domain.response;
+
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.request.TransactionCursor;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+@Value
+public class TransactionSummary {
+
+    public static final Comparator<TransactionSummary> NEWEST_FIRST = Comparator
+        .comparing(TransactionSummary::getDate)
+        .thenComparing(TransactionSummary::getId)
+        .reversed();
+
+    public static final Comparator<TransactionSummary> OLDEST_FIRST = NEWEST_FIRST.reversed();
+
+    private String id;
+
+    private String originAccountNumber;
+
+    private String destinationAccountNumber;
+
+    private Money amount;
+
+    private LocalDateTime date;
+
+    public TransactionCursor cursor() {
+        return new TransactionCursor(this.date, this.id);
+    }
+}
@@ -0,0 +1,37 @@
+package com.moneytransfer.domain.response;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@JsonAdapter(TransferReceiptTypeAdapter.class)
+public class TransferReceipt {
+
+    private String id;
+
+    private String originAccountNumber;
+
+    private String destinationAccountNumber;
+
+    private Money amount;
+
+    private LocalDateTime date;
+
+    private Money balance;
+
+    public static TransferReceipt of(@NonNull final Transaction transaction) {
+        return new TransferReceipt(transaction.getId(), transaction.getOrigin().getNumber(),
+            transaction.getDestination().getNumber(), transaction.getAmount(), transaction.getDate(),
+            transaction.getOrigin().getBalance());
+    }
+
+    public static TransferReceipt withoutBalance(@NonNull final Transaction transaction) {
+        return new TransferReceipt(transaction.getId(), transaction.getOrigin().getNumber(),
+            transaction.getDestination().getNumber(), transaction.getAmount(), transaction.getDate(), null);
+    }
+}
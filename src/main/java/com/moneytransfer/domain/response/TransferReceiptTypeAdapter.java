@@ -0,0 +1,94 @@
+package com.moneytransfer.domain.response;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.moneytransfer.domain.entities.Money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.moneytransfer.utils.JsonValues.nextBigDecimal;
+import static com.moneytransfer.utils.JsonValues.nextDate;
+import static com.moneytransfer.utils.JsonValues.nextString;
+import static com.moneytransfer.utils.JsonValues.writeDate;
+
+class TransferReceiptTypeAdapter extends TypeAdapter<TransferReceipt> {
+
+    @Override
+    public void write(final JsonWriter out, final TransferReceipt receipt) throws IOException {
+        if (receipt == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("id").value(receipt.getId());
+        out.name("originAccountNumber").value(receipt.getOriginAccountNumber());
+        out.name("destinationAccountNumber").value(receipt.getDestinationAccountNumber());
+        out.name("amount").value(receipt.getAmount().toBigDecimal());
+        out.name("date");
+        writeDate(out, receipt.getDate());
+
+        if (receipt.getBalance() != null) {
+            out.name("balance").value(receipt.getBalance().toBigDecimal());
+        }
+
+        out.endObject();
+    }
+
+    @Override
+    public TransferReceipt read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String id = null;
+        String originAccountNumber = null;
+        String destinationAccountNumber = null;
+        BigDecimal amount = null;
+        LocalDateTime date = null;
+        BigDecimal balance = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    id = nextString(in);
+                    break;
+                case "originAccountNumber":
+                    originAccountNumber = nextString(in);
+                    break;
+                case "destinationAccountNumber":
+                    destinationAccountNumber = nextString(in);
+                    break;
+                case "amount":
+                    amount = nextBigDecimal(in);
+                    break;
+                case "date":
+                    date = nextDate(in);
+                    break;
+                case "balance":
+                    balance = nextBigDecimal(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        if (id == null || originAccountNumber == null || destinationAccountNumber == null || amount == null
+            || date == null) {
+            throw new JsonSyntaxException("Transfer receipt should have an id, accounts, an amount and a date");
+        }
+
+        return new TransferReceipt(id, originAccountNumber, destinationAccountNumber, Money.of(amount), date,
+            balance == null ? null : Money.of(balance));
+    }
+}
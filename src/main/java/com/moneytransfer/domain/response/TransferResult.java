@@ -0,0 +1,29 @@
+package com.moneytransfer.domain.response;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.moneytransfer.domain.entities.Transaction;
+import lombok.NonNull;
+import lombok.Value;
+
+@Value
+public class TransferResult {
+
+    private TransferStatus status;
+
+    @JsonAdapter(TransferResultTransactionSerializer.class)
+    private Transaction transaction;
+
+    private String message;
+
+    public static TransferResult completed(@NonNull final Transaction transaction) {
+        return new TransferResult(TransferStatus.COMPLETED, transaction, null);
+    }
+
+    public static TransferResult failed(@NonNull final TransferStatus status, final String message) {
+        return new TransferResult(status, null, message);
+    }
+
+    public boolean isCompleted() {
+        return this.status == TransferStatus.COMPLETED;
+    }
+}
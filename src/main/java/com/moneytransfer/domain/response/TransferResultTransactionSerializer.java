@@ -0,0 +1,18 @@
+package com.moneytransfer.domain.response;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.moneytransfer.domain.entities.Transaction;
+
+import java.lang.reflect.Type;
+
+class TransferResultTransactionSerializer implements JsonSerializer<Transaction> {
+
+    @Override
+    public JsonElement serialize(final Transaction transaction,
+                                 final Type type,
+                                 final JsonSerializationContext context) {
+        return context.serialize(TransferReceipt.withoutBalance(transaction));
+    }
+}
@@ -0,0 +1,16 @@
+package com.moneytransfer.domain.response;
+
+public enum TransferStatus {
+
+    COMPLETED,
+
+    INSUFFICIENT_FUNDS,
+
+    UNKNOWN_ACCOUNT,
+
+    SAME_ACCOUNT,
+
+    INVALID_REQUEST,
+
+    ROLLED_BACK
+}
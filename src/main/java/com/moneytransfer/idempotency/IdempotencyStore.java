@@ -0,0 +1,232 @@
+package com.moneytransfer.idempotency;
+
+import com.moneytransfer.domain.entities.IdempotencyRecord;
+import com.moneytransfer.domain.repository.BaseDao;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Remembers the first response given to each idempotency key, bounded by count and age. A request
+ * that fails with an exception is forgotten and may be retried.
+ */
+@Slf4j
+public class IdempotencyStore {
+
+    public static final int DEFAULT_CAPACITY = 100_000;
+    public static final long DEFAULT_TTL_SECONDS = TimeUnit.HOURS.toSeconds(24);
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final int capacity;
+    private final long ttlMillis;
+    private final BaseDao<IdempotencyRecord> dao;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public IdempotencyStore(final int capacity, final long ttlSeconds) {
+        this(capacity, ttlSeconds, null);
+    }
+
+    public IdempotencyStore(final int capacity, final long ttlSeconds, final BaseDao<IdempotencyRecord> dao) {
+        this(capacity, ttlSeconds, dao, System::currentTimeMillis);
+    }
+
+    IdempotencyStore(final int capacity, final long ttlSeconds, final BaseDao<IdempotencyRecord> dao,
+                     @NonNull final LongSupplier clock) {
+        if (capacity <= 0 || ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Idempotency capacity and time to live should be greater than zero");
+        }
+
+        this.capacity = capacity;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.dao = dao;
+        this.clock = clock;
+    }
+
+    /**
+     * @param scope the operation the key was sent to; the same key may be used for other ones
+     * @param request the request payload; reusing a key with a different payload is refused
+     */
+    public IdempotentResponse execute(@NonNull final String scope,
+                                      @NonNull final String idempotencyKey,
+                                      final String request,
+                                      @NonNull final Callable<IdempotentResponse> work) throws Exception {
+        if (idempotencyKey.trim().isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                "Idempotency key should have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        final String key = scope + " " + idempotencyKey;
+
+        final long now = this.clock.getAsLong();
+        final String fingerprint = fingerprint(request == null ? "" : request);
+        final Entry created = new Entry(key, fingerprint, now + this.ttlMillis);
+        Entry existing = this.entries.get(key);
+
+        if (existing != null && existing.expiresAt <= now) {
+            this.entries.remove(key, existing);
+            existing = null;
+        }
+
+        if (existing == null) {
+            existing = this.entries.putIfAbsent(key, created);
+        }
+
+        if (existing != null) {
+            return replay(existing, fingerprint);
+        }
+
+        this.order.add(created);
+        this.queued.incrementAndGet();
+        evict(now);
+
+        return executeOnce(created, work);
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    int queued() {
+        return this.queued.get();
+    }
+
+    private IdempotentResponse executeOnce(final Entry entry, final Callable<IdempotentResponse> work)
+        throws Exception {
+        try {
+            final IdempotencyRecord stored = findStored(entry);
+
+            if (stored != null) {
+                entry.fingerprint = stored.getFingerprint();
+                entry.result.complete(IdempotentResponse.of(stored.getStatus(), stored.getBody()));
+
+                return replay(entry, entry.requestFingerprint);
+            }
+
+            final IdempotentResponse response = work.call();
+            store(entry, response);
+            entry.result.complete(response);
+
+            return response;
+        } catch (final Throwable e) {
+            this.entries.remove(entry.key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private IdempotentResponse replay(final Entry entry, final String fingerprint) throws Exception {
+        final IdempotentResponse response;
+
+        try {
+            response = entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+
+            throw e;
+        }
+
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency key was already used for a different request");
+        }
+
+        return response.replay();
+    }
+
+    private IdempotencyRecord findStored(final Entry entry) throws Exception {
+        if (this.dao == null) {
+            return null;
+        }
+
+        try {
+            final IdempotencyRecord record = this.dao.findById(recordId(entry.key));
+
+            return record.getExpiresAt() > this.clock.getAsLong() ? record : null;
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    private void store(final Entry entry, final IdempotentResponse response) {
+        if (this.dao == null) {
+            return;
+        }
+
+        if (response.getBody().length() > IdempotencyRecord.MAX_BODY_LENGTH) {
+            log.warn("Response for idempotency key {} is too long to be stored", entry.key);
+            return;
+        }
+
+        try {
+            this.dao.save(new IdempotencyRecord(recordId(entry.key), entry.fingerprint, response.getStatus(),
+                response.getBody(), entry.expiresAt));
+        } catch (Exception e) {
+            log.warn("Error storing response for idempotency key {}", entry.key, e);
+        }
+    }
+
+    /**
+     * Keys are queued in creation order, which with a fixed time to live is also the order they expire in.
+     */
+    private void evict(final long now) {
+        if (!this.evictionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            Entry oldest;
+
+            while ((oldest = this.order.peek()) != null
+                && (this.queued.get() > this.capacity || oldest.expiresAt <= now)) {
+                this.order.poll();
+                this.queued.decrementAndGet();
+                this.entries.remove(oldest.key, oldest);
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private static String recordId(final String key) {
+        return UUID.nameUUIDFromBytes(key.getBytes(UTF_8)).toString();
+    }
+
+    private static String fingerprint(final String request) {
+        return UUID.nameUUIDFromBytes(request.getBytes(UTF_8)).toString();
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final String requestFingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<IdempotentResponse> result = new CompletableFuture<>();
+        private volatile String fingerprint;
+
+        private Entry(final String key, final String fingerprint, final long expiresAt) {
+            this.key = key;
+            this.requestFingerprint = fingerprint;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
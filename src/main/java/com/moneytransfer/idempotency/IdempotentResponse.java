@@ -0,0 +1,23 @@
+package com.moneytransfer.idempotency;
+
+import lombok.NonNull;
+import lombok.Value;
+
+@Value
+public class IdempotentResponse {
+
+    private int status;
+
+    @NonNull
+    private String body;
+
+    private boolean replayed;
+
+    public static IdempotentResponse of(final int status, @NonNull final String body) {
+        return new IdempotentResponse(status, body, false);
+    }
+
+    IdempotentResponse replay() {
+        return this.replayed ? this : new IdempotentResponse(this.status, this.body, true);
+    }
+}
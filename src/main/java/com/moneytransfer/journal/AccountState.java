@@ -0,0 +1,38 @@
+package com.moneytransfer.journal;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import lombok.NonNull;
+import lombok.Value;
+
+@Value
+public class AccountState {
+
+    private String number;
+
+    private String owner;
+
+    private long balance;
+
+    private long version;
+
+    public static AccountState of(@NonNull final Account account) {
+        return new AccountState(account.getNumber(), account.getOwner(), account.getBalance().getCents(),
+            account.getVersion() == null ? 0 : account.getVersion());
+    }
+
+    /**
+     * Records of concurrent operations can reach the journal out of order.
+     */
+    public boolean isNewerThan(final AccountState other) {
+        return other == null || this.version > other.version;
+    }
+
+    public AccountState withVersion(final long version) {
+        return new AccountState(this.number, this.owner, this.balance, version);
+    }
+
+    public Account toAccount() {
+        return new Account(this.number, this.owner, Money.ofCents(this.balance), null);
+    }
+}
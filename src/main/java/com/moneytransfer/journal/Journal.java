@@ -0,0 +1,371 @@
+package com.moneytransfer.journal;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only log kept in memory-mapped segments. A record is framed as its length, a CRC32C, its
+ * sequence and its payload; a zero length ends a segment.
+ */
+@Slf4j
+public class Journal implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    public static final int DEFAULT_FLUSH_BATCH = 256;
+    public static final long DEFAULT_FLUSH_WINDOW_MILLIS = 0;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int MAX_BODY_SIZE = 64 << 10;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{20})\\.log");
+    private static final ThreadLocal<ByteBuffer> BODY = ThreadLocal.withInitial(() -> ByteBuffer.allocate(MAX_BODY_SIZE));
+    private static final ThreadLocal<CRC32C> CHECKSUM = ThreadLocal.withInitial(CRC32C::new);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int flushBatch;
+    private final long flushWindowNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = this.lock.newCondition();
+    private final Condition flushed = this.lock.newCondition();
+    private final List<MappedByteBuffer> unflushedSegments = new ArrayList<>();
+    private final Thread flusher;
+    private Path currentPath;
+    private MappedByteBuffer current;
+    private long appendedSequence;
+    private volatile long durableSequence;
+    private boolean closed;
+    private RuntimeException failure;
+
+    public Journal(@NonNull final Path directory, final long firstSequence) throws IOException {
+        this(directory, firstSequence, DEFAULT_SEGMENT_SIZE, DEFAULT_FLUSH_BATCH, DEFAULT_FLUSH_WINDOW_MILLIS);
+    }
+
+    public Journal(@NonNull final Path directory,
+                   final long firstSequence,
+                   final int segmentSize,
+                   final int flushBatch,
+                   final long flushWindowMillis) throws IOException {
+
+        if (firstSequence <= 0) {
+            throw new IllegalArgumentException("First journal sequence should be greater than zero");
+        }
+
+        if (segmentSize <= HEADER_SIZE + Long.BYTES || flushBatch <= 0 || flushWindowMillis < 0) {
+            throw new IllegalArgumentException("Journal segment size and flush batch should be positive");
+        }
+
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.flushBatch = flushBatch;
+        this.flushWindowNanos = TimeUnit.MILLISECONDS.toNanos(flushWindowMillis);
+        this.appendedSequence = firstSequence - 1;
+        this.durableSequence = firstSequence - 1;
+
+        openSegment(firstSequence);
+
+        this.flusher = new Thread(this::flush, "journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * The record is not durable before {@link #awaitDurable} returns for the returned sequence.
+     */
+    public long append(@NonNull final JournalRecord record) throws IOException {
+        final ByteBuffer body = BODY.get();
+        body.clear().position(Long.BYTES);
+
+        try {
+            JournalCodec.encode(record, body);
+        } catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("Journal record is too large");
+        }
+
+        body.flip();
+        final int length = body.remaining();
+
+        if (HEADER_SIZE + length > this.segmentSize) {
+            throw new IllegalArgumentException("Journal record is too large");
+        }
+
+        final CRC32C checksum = CHECKSUM.get();
+
+        this.lock.lock();
+
+        try {
+            checkWritable();
+
+            final long sequence = this.appendedSequence + 1;
+
+            if (this.current.remaining() < HEADER_SIZE + length) {
+                this.unflushedSegments.add(this.current);
+                openSegment(sequence);
+            }
+
+            body.putLong(0, sequence);
+            checksum.reset();
+            checksum.update(body);
+            body.rewind();
+
+            this.current.putInt(length).putInt((int) checksum.getValue()).put(body);
+            this.appendedSequence = sequence;
+
+            if (sequence - this.durableSequence == 1 || sequence - this.durableSequence >= this.flushBatch) {
+                this.pending.signal();
+            }
+
+            return sequence;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void awaitDurable(final long sequence) throws InterruptedException {
+        if (sequence <= this.durableSequence) {
+            return;
+        }
+
+        this.lock.lock();
+
+        try {
+            while (sequence > this.durableSequence) {
+                if (this.failure != null) {
+                    throw new IllegalStateException("Journal could not be written", this.failure);
+                }
+
+                this.flushed.await();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public long getDurableSequence() {
+        return this.durableSequence;
+    }
+
+    public void truncate(final long sequence) throws IOException {
+        final Path active;
+
+        this.lock.lock();
+
+        try {
+            active = this.currentPath;
+        } finally {
+            this.lock.unlock();
+        }
+
+        final List<Path> segments = segments(this.directory);
+
+        for (int i = 0; i < segments.size() - 1 && !segments.get(i).equals(active); i++) {
+            if (firstSequence(segments.get(i + 1)) - 1 <= sequence) {
+                Files.delete(segments.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        this.lock.lock();
+
+        try {
+            this.closed = true;
+            this.pending.signal();
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.flusher.join();
+    }
+
+    /**
+     * Reading stops at the first damaged record, which is how a write torn by a crash shows up.
+     */
+    public static long replay(@NonNull final Path directory,
+                              final long afterSequence,
+                              final long upToSequence,
+                              @NonNull final Consumer<JournalRecord> consumer) throws IOException {
+
+        final List<Path> segments = segments(directory);
+        final CRC32C checksum = new CRC32C();
+        long lastSequence = afterSequence;
+
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= afterSequence + 1) {
+                continue;
+            }
+
+            final ByteBuffer segment;
+
+            try (FileChannel channel = FileChannel.open(segments.get(i), READ)) {
+                segment = channel.map(READ_ONLY, 0, channel.size());
+            }
+
+            while (segment.remaining() >= HEADER_SIZE) {
+                final int length = segment.getInt();
+
+                if (length == 0) {
+                    break;
+                }
+
+                final int expectedChecksum = segment.getInt();
+
+                if (length < Long.BYTES || length > segment.remaining()) {
+                    log.warn("Journal is damaged in {}, ignoring records after {}", segments.get(i), lastSequence);
+                    return lastSequence;
+                }
+
+                final ByteBuffer body = segment.slice().limit(length);
+                segment.position(segment.position() + length);
+
+                checksum.reset();
+                checksum.update(body.duplicate());
+
+                if ((int) checksum.getValue() != expectedChecksum) {
+                    log.warn("Journal is damaged in {}, ignoring records after {}", segments.get(i), lastSequence);
+                    return lastSequence;
+                }
+
+                final long sequence = body.getLong();
+
+                if (sequence > upToSequence) {
+                    return lastSequence;
+                }
+
+                if (sequence > afterSequence) {
+                    consumer.accept(JournalCodec.decode(body));
+                    lastSequence = sequence;
+                }
+            }
+        }
+
+        return lastSequence;
+    }
+
+    static List<Path> segments(final Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static long firstSequence(final Path segment) {
+        final Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a journal segment: " + segment);
+        }
+
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private void openSegment(final long firstSequence) throws IOException {
+        final Path path = this.directory.resolve(String.format("journal-%020d.log", firstSequence));
+
+        try (FileChannel channel = FileChannel.open(path, CREATE_NEW, READ, WRITE)) {
+            this.current = channel.map(READ_WRITE, 0, this.segmentSize);
+            this.currentPath = path;
+        }
+    }
+
+    private void checkWritable() {
+        if (this.closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+
+        if (this.failure != null) {
+            throw new IllegalStateException("Journal could not be written", this.failure);
+        }
+    }
+
+    private void flush() {
+        try {
+            while (true) {
+                final long sequence;
+                final List<MappedByteBuffer> segments = new ArrayList<>();
+
+                this.lock.lock();
+
+                try {
+                    while (!this.closed && this.appendedSequence == this.durableSequence) {
+                        this.pending.await();
+                    }
+
+                    if (this.appendedSequence == this.durableSequence) {
+                        return;
+                    }
+
+                    final long deadline = System.nanoTime() + this.flushWindowNanos;
+                    long remaining = this.flushWindowNanos;
+
+                    while (!this.closed && this.appendedSequence - this.durableSequence < this.flushBatch
+                        && remaining > 0) {
+                        this.pending.awaitNanos(remaining);
+                        remaining = deadline - System.nanoTime();
+                    }
+
+                    sequence = this.appendedSequence;
+                    segments.addAll(this.unflushedSegments);
+                    segments.add(this.current);
+                    this.unflushedSegments.clear();
+                } finally {
+                    this.lock.unlock();
+                }
+
+                segments.forEach(MappedByteBuffer::force);
+
+                this.lock.lock();
+
+                try {
+                    this.durableSequence = sequence;
+                    this.flushed.signalAll();
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Error flushing journal", e);
+
+            this.lock.lock();
+
+            try {
+                this.failure = e;
+                this.flushed.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.moneytransfer.journal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Record layout: type, accounts (number, owner, balance, version) and, for transfers, the transaction id, amount
+ * and date.
+ */
+final class JournalCodec {
+
+    private static final RecordType[] TYPES = RecordType.values();
+
+    private JournalCodec() { }
+
+    static void encode(final JournalRecord record, final ByteBuffer buffer) {
+        buffer.put((byte) record.getType().ordinal());
+        buffer.put((byte) record.getAccounts().size());
+
+        for (final AccountState account : record.getAccounts()) {
+            putString(buffer, account.getNumber());
+            putString(buffer, account.getOwner());
+            buffer.putLong(account.getBalance());
+            buffer.putLong(account.getVersion());
+        }
+
+        final TransferState transfer = record.getTransfer();
+
+        if (transfer == null) {
+            buffer.put((byte) 0);
+        } else {
+            buffer.put((byte) 1);
+            putString(buffer, transfer.getId());
+            buffer.putLong(transfer.getAmount());
+            buffer.putLong(transfer.getDate());
+        }
+    }
+
+    static JournalRecord decode(final ByteBuffer buffer) {
+        final RecordType type = TYPES[buffer.get()];
+        final int size = buffer.get();
+        final List<AccountState> accounts = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            accounts.add(new AccountState(getString(buffer), getString(buffer), buffer.getLong(), buffer.getLong()));
+        }
+
+        final TransferState transfer = buffer.get() == 0 ? null : new TransferState(getString(buffer),
+            accounts.get(0).getNumber(), accounts.get(1).getNumber(), buffer.getLong(), buffer.getLong());
+
+        return new JournalRecord(type, accounts, transfer);
+    }
+
+    private static void putString(final ByteBuffer buffer, final String value) {
+        final byte[] bytes = value.getBytes(UTF_8);
+
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Journal record is too large");
+        }
+
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+
+        return new String(bytes, UTF_8);
+    }
+}
@@ -0,0 +1,252 @@
+package com.moneytransfer.journal;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Restores the stores from the latest snapshot and the journal tail at startup, and compacts the journal into
+ * snapshots of account states. Recovery ends with a new snapshot and an empty journal, since account versions start
+ * over when the stores are rebuilt.
+ */
+@Slf4j
+public class JournalManager implements AutoCloseable {
+
+    public static final long DEFAULT_SNAPSHOT_INTERVAL_SECONDS = 300;
+
+    private static final int RESTORE_BATCH = 1000;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int flushBatch;
+    private final long flushWindowMillis;
+    private final long snapshotIntervalSeconds;
+    private ScheduledExecutorService snapshots;
+    private Journal journal;
+
+    public JournalManager(@NonNull final Path directory) {
+        this(directory, Journal.DEFAULT_SEGMENT_SIZE, Journal.DEFAULT_FLUSH_BATCH,
+            Journal.DEFAULT_FLUSH_WINDOW_MILLIS, DEFAULT_SNAPSHOT_INTERVAL_SECONDS);
+    }
+
+    public JournalManager(@NonNull final Path directory,
+                          final int segmentSize,
+                          final int flushBatch,
+                          final long flushWindowMillis,
+                          final long snapshotIntervalSeconds) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushBatch = flushBatch;
+        this.flushWindowMillis = flushWindowMillis;
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+    }
+
+    public synchronized void recover(@NonNull final BaseDao<Account> accountDao,
+                                     @NonNull final BaseDao<Transaction> transactionDao,
+                                     @NonNull final UnitOfWork unitOfWork) throws Exception {
+        if (this.journal != null) {
+            throw new IllegalStateException("Journal was already recovered");
+        }
+
+        final long start = System.nanoTime();
+        final Optional<Path> previous = Snapshot.latest(this.directory);
+        final long snapshotSequence = previous.map(Snapshot::sequence).orElse(0L);
+        final Map<String, AccountState> accounts = readAccounts(previous);
+        final long lastSequence = Journal.replay(this.directory, snapshotSequence, Long.MAX_VALUE,
+            record -> apply(accounts, record));
+
+        final Map<String, Account> restoredAccounts = new HashMap<>();
+        final Batch<Account> accountBatch = new Batch<>(unitOfWork, account ->
+            restoredAccounts.put(account.getNumber(), accountDao.save(account)));
+        accounts.values().forEach(account -> accountBatch.add(account.toAccount()));
+        accountBatch.flush();
+
+        long transfers = 0;
+
+        if (lastSequence > 0) {
+            final Batch<Transaction> transferBatch = new Batch<>(unitOfWork, transactionDao::save);
+            final Consumer<TransferState> restore = transfer -> transferBatch.add(transfer.toTransaction(
+                restoredAccounts.get(transfer.getOrigin()), restoredAccounts.get(transfer.getDestination())));
+
+            if (previous.isPresent()) {
+                Snapshot.read(previous.get(), account -> { }, restore);
+            }
+
+            Journal.replay(this.directory, snapshotSequence, lastSequence, record -> {
+                if (record.getTransfer() != null) {
+                    restore.accept(record.getTransfer());
+                }
+            });
+            transferBatch.flush();
+            transfers = transferBatch.getCount();
+
+            final List<AccountState> restartedAccounts = accounts.values().stream()
+                .map(account -> account.withVersion(0))
+                .collect(Collectors.toList());
+
+            Snapshot.deleteOlderThan(writeSnapshot(lastSequence, restartedAccounts));
+        }
+
+        for (final Path segment : Journal.segments(this.directory)) {
+            Files.delete(segment);
+        }
+
+        log.info("Recovered {} accounts and {} transfers up to journal sequence {} in {} ms",
+            restoredAccounts.size(), transfers, lastSequence, (System.nanoTime() - start) / 1_000_000);
+
+        this.journal = new Journal(this.directory, lastSequence + 1, this.segmentSize, this.flushBatch,
+            this.flushWindowMillis);
+
+        if (this.snapshotIntervalSeconds > 0) {
+            this.snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "journal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.snapshots.scheduleWithFixedDelay(this::scheduledSnapshot, this.snapshotIntervalSeconds,
+                this.snapshotIntervalSeconds, SECONDS);
+        }
+    }
+
+    public Journal getJournal() {
+        if (this.journal == null) {
+            throw new IllegalStateException("Journal was not recovered yet");
+        }
+
+        return this.journal;
+    }
+
+    public synchronized Optional<Path> snapshot() throws IOException {
+        final Journal journal = getJournal();
+        final Optional<Path> previous = Snapshot.latest(this.directory);
+        final long snapshotSequence = previous.map(Snapshot::sequence).orElse(0L);
+        final long durableSequence = journal.getDurableSequence();
+
+        if (durableSequence <= snapshotSequence) {
+            return previous;
+        }
+
+        final Map<String, AccountState> accounts = readAccounts(previous);
+        Journal.replay(this.directory, snapshotSequence, durableSequence, record -> apply(accounts, record));
+
+        final Path snapshot = writeSnapshot(durableSequence, accounts.values());
+
+        Snapshot.deleteOlderThan(snapshot);
+        journal.truncate(durableSequence);
+
+        return Optional.of(snapshot);
+    }
+
+    @Override
+    public synchronized void close() throws InterruptedException {
+        if (this.snapshots != null) {
+            this.snapshots.shutdownNow();
+            this.snapshots.awaitTermination(10, SECONDS);
+        }
+
+        if (this.journal != null) {
+            this.journal.close();
+        }
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot().ifPresent(snapshot -> log.info("Journal compacted into {}", snapshot));
+        } catch (Exception e) {
+            log.error("Error writing journal snapshot", e);
+        }
+    }
+
+    private Path writeSnapshot(final long sequence, final Collection<AccountState> accounts) throws IOException {
+        try (Snapshot snapshot = new Snapshot(this.directory, sequence)) {
+            snapshot.writeAccounts(accounts);
+
+            return snapshot.commit();
+        }
+    }
+
+    private static Map<String, AccountState> readAccounts(final Optional<Path> snapshot) throws IOException {
+        final Map<String, AccountState> accounts = new LinkedHashMap<>();
+
+        if (snapshot.isPresent()) {
+            Snapshot.read(snapshot.get(), account -> accounts.put(account.getNumber(), account), transfer -> { });
+        }
+
+        return accounts;
+    }
+
+    private static void apply(final Map<String, AccountState> accounts, final JournalRecord record) {
+        for (final AccountState account : record.getAccounts()) {
+            if (account.isNewerThan(accounts.get(account.getNumber()))) {
+                accounts.put(account.getNumber(), account);
+            }
+        }
+    }
+
+    private static class Batch<T> {
+
+        private final UnitOfWork unitOfWork;
+        private final Store<T> store;
+        private final List<T> pending = new ArrayList<>(RESTORE_BATCH);
+        private long count;
+
+        Batch(final UnitOfWork unitOfWork, final Store<T> store) {
+            this.unitOfWork = unitOfWork;
+            this.store = store;
+        }
+
+        void add(final T object) {
+            this.pending.add(object);
+
+            if (this.pending.size() >= RESTORE_BATCH) {
+                flush();
+            }
+        }
+
+        void flush() {
+            try {
+                this.unitOfWork.execute(() -> {
+                    for (final T object : this.pending) {
+                        this.store.save(object);
+                    }
+
+                    return null;
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException("Error restoring journal", e);
+            }
+
+            this.count += this.pending.size();
+            this.pending.clear();
+        }
+
+        long getCount() {
+            return this.count;
+        }
+    }
+
+    private interface Store<T> {
+
+        void save(T object) throws Exception;
+    }
+}
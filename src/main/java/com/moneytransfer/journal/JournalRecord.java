@@ -0,0 +1,43 @@
+package com.moneytransfer.journal;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Records carry the account states after the operation, so replaying them never depends on their order.
+ */
+@Value
+public class JournalRecord {
+
+    private RecordType type;
+
+    private List<AccountState> accounts;
+
+    private TransferState transfer;
+
+    public static JournalRecord created(@NonNull final Account account) {
+        return new JournalRecord(RecordType.ACCOUNT_CREATED, singletonList(AccountState.of(account)), null);
+    }
+
+    public static JournalRecord deposit(@NonNull final Account account) {
+        return new JournalRecord(RecordType.DEPOSIT, singletonList(AccountState.of(account)), null);
+    }
+
+    public static JournalRecord withdrawal(@NonNull final Account account) {
+        return new JournalRecord(RecordType.WITHDRAWAL, singletonList(AccountState.of(account)), null);
+    }
+
+    public static JournalRecord transfer(@NonNull final Transaction transaction,
+                                         @NonNull final Account origin,
+                                         @NonNull final Account destination) {
+        return new JournalRecord(RecordType.TRANSFER,
+            asList(AccountState.of(origin), AccountState.of(destination)), TransferState.of(transaction));
+    }
+}
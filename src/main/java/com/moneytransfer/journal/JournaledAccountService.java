@@ -0,0 +1,61 @@
+package com.moneytransfer.journal;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.service.AccountService;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+
+/**
+ * Only returns once the operation is durable in the journal. The record is appended after the operation was
+ * committed, so other requests may see its result before the next flush, and a crash in that window loses an
+ * operation that was never answered.
+ */
+public class JournaledAccountService implements AccountService {
+
+    private final AccountService delegate;
+    private final BaseDao<Account> accountDao;
+    private final Journal journal;
+
+    public JournaledAccountService(@NonNull final AccountService delegate,
+                                   @NonNull final BaseDao<Account> accountDao,
+                                   @NonNull final Journal journal) {
+        this.delegate = delegate;
+        this.accountDao = accountDao;
+        this.journal = journal;
+    }
+
+    @Override
+    public Account create(@NonNull final String owner) throws Exception {
+        final Account account = this.delegate.create(owner);
+        this.journal.awaitDurable(this.journal.append(JournalRecord.created(account)));
+
+        return account;
+    }
+
+    @Override
+    public Account find(@NonNull final String accountNumber) throws Exception {
+        return this.delegate.find(accountNumber);
+    }
+
+    @Override
+    public Account deposit(@NonNull final String accountNumber,
+                           @NonNull final BigDecimal amount) throws Exception {
+        final Account account = this.delegate.deposit(accountNumber, amount);
+        this.journal.awaitDurable(this.journal.append(
+            JournalRecord.deposit(this.accountDao.findById(accountNumber))));
+
+        return account;
+    }
+
+    @Override
+    public Account withdraw(@NonNull final String accountNumber,
+                            @NonNull final BigDecimal amount) throws Exception {
+        final Account account = this.delegate.withdraw(accountNumber, amount);
+        this.journal.awaitDurable(this.journal.append(
+            JournalRecord.withdrawal(this.accountDao.findById(accountNumber))));
+
+        return account;
+    }
+}
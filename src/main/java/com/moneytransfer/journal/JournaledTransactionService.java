@@ -0,0 +1,76 @@
+package com.moneytransfer.journal;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.service.BatchMode;
+import com.moneytransfer.service.TransactionService;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JournaledTransactionService implements TransactionService {
+
+    private final TransactionService delegate;
+    private final BaseDao<Account> accountDao;
+    private final Journal journal;
+
+    public JournaledTransactionService(@NonNull final TransactionService delegate,
+                                       @NonNull final BaseDao<Account> accountDao,
+                                       @NonNull final Journal journal) {
+        this.delegate = delegate;
+        this.accountDao = accountDao;
+        this.journal = journal;
+    }
+
+    @Override
+    public Transaction transfer(@NonNull final String originAccountNumber,
+                                @NonNull final String destinationAccountNumber,
+                                @NonNull final BigDecimal amount) throws Exception {
+        final Transaction transaction = this.delegate.transfer(originAccountNumber, destinationAccountNumber, amount);
+        this.journal.awaitDurable(this.journal.append(JournalRecord.transfer(transaction,
+            this.accountDao.findById(originAccountNumber), this.accountDao.findById(destinationAccountNumber))));
+
+        return transaction;
+    }
+
+    /**
+     * Records become durable in sequence order, so only the last one is waited for.
+     */
+    @Override
+    public List<TransferResult> transfer(@NonNull final List<TransferRequest> transfers,
+                                         @NonNull final BatchMode mode) throws Exception {
+        final List<TransferResult> results = this.delegate.transfer(transfers, mode);
+        final Map<String, Account> accounts = new HashMap<>();
+        long sequence = 0;
+
+        for (final TransferResult result : results) {
+            if (result.isCompleted()) {
+                final Transaction transaction = result.getTransaction();
+                sequence = this.journal.append(JournalRecord.transfer(transaction,
+                    findAccount(accounts, transaction.getOrigin().getNumber()),
+                    findAccount(accounts, transaction.getDestination().getNumber())));
+            }
+        }
+
+        this.journal.awaitDurable(sequence);
+
+        return results;
+    }
+
+    private Account findAccount(final Map<String, Account> accounts, final String accountNumber) throws Exception {
+        Account account = accounts.get(accountNumber);
+
+        if (account == null) {
+            account = this.accountDao.findById(accountNumber);
+            accounts.put(accountNumber, account);
+        }
+
+        return account;
+    }
+}
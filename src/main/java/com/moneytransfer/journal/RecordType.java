@@ -0,0 +1,12 @@
+package com.moneytransfer.journal;
+
+public enum RecordType {
+
+    ACCOUNT_CREATED,
+
+    DEPOSIT,
+
+    WITHDRAWAL,
+
+    TRANSFER
+}
@@ -0,0 +1,189 @@
+package com.moneytransfer.journal;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.Comparator.reverseOrder;
+
+/**
+ * Last state of every account up to a sequence, written under a temporary name and renamed once synced. Snapshots
+ * of earlier versions end with transfers, which are still read.
+ */
+@Slf4j
+public class Snapshot implements AutoCloseable {
+
+    private static final int MAGIC = 0x4D54534E;
+    private static final int FORMAT = 1;
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{20})\\.bin");
+
+    private final Path file;
+    private final Path temporaryFile;
+    private final FileOutputStream output;
+    private final CheckedOutputStream checkedOutput;
+    private final DataOutputStream data;
+    private boolean committed;
+
+    public Snapshot(@NonNull final Path directory, final long sequence) throws IOException {
+        this.file = Files.createDirectories(directory).resolve(String.format("snapshot-%020d.bin", sequence));
+        this.temporaryFile = directory.resolve(this.file.getFileName() + ".tmp");
+        this.output = new FileOutputStream(this.temporaryFile.toFile());
+        this.checkedOutput = new CheckedOutputStream(new BufferedOutputStream(this.output, 1 << 16), new CRC32C());
+        this.data = new DataOutputStream(this.checkedOutput);
+
+        this.data.writeInt(MAGIC);
+        this.data.writeInt(FORMAT);
+        this.data.writeLong(sequence);
+    }
+
+    public void writeAccounts(@NonNull final Collection<AccountState> accounts) throws IOException {
+        this.data.writeInt(accounts.size());
+
+        for (final AccountState account : accounts) {
+            this.data.writeUTF(account.getNumber());
+            this.data.writeUTF(account.getOwner());
+            this.data.writeLong(account.getBalance());
+            this.data.writeLong(account.getVersion());
+        }
+    }
+
+    public Path commit() throws IOException {
+        this.data.writeBoolean(false);
+        this.data.writeLong(this.checkedOutput.getChecksum().getValue());
+        this.data.flush();
+        this.output.getFD().sync();
+        this.output.close();
+
+        Files.move(this.temporaryFile, this.file, ATOMIC_MOVE);
+        this.committed = true;
+
+        return this.file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.committed) {
+            this.output.close();
+            Files.deleteIfExists(this.temporaryFile);
+        }
+    }
+
+    public static Optional<Path> latest(@NonNull final Path directory) throws IOException {
+        for (final Path snapshot : snapshots(directory)) {
+            if (isValid(snapshot)) {
+                return Optional.of(snapshot);
+            }
+
+            log.warn("Ignoring damaged snapshot {}", snapshot);
+        }
+
+        return Optional.empty();
+    }
+
+    public static long sequence(@NonNull final Path snapshot) {
+        final Matcher matcher = SNAPSHOT_NAME.matcher(snapshot.getFileName().toString());
+
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a snapshot: " + snapshot);
+        }
+
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * Streams the accounts and then the transfers of a snapshot, returning its sequence.
+     */
+    public static long read(@NonNull final Path snapshot,
+                            @NonNull final Consumer<AccountState> accounts,
+                            @NonNull final Consumer<TransferState> transfers) throws IOException {
+
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+            if (data.readInt() != MAGIC || data.readInt() != FORMAT) {
+                throw new IOException("Unknown snapshot format: " + snapshot);
+            }
+
+            final long sequence = data.readLong();
+
+            for (int i = data.readInt(); i > 0; i--) {
+                accounts.accept(new AccountState(data.readUTF(), data.readUTF(), data.readLong(), data.readLong()));
+            }
+
+            while (data.readBoolean()) {
+                transfers.accept(new TransferState(data.readUTF(), data.readUTF(), data.readUTF(),
+                    data.readLong(), data.readLong()));
+            }
+
+            return sequence;
+        }
+    }
+
+    public static void deleteOlderThan(@NonNull final Path snapshot) throws IOException {
+        for (final Path other : snapshots(snapshot.getParent())) {
+            if (sequence(other) < sequence(snapshot)) {
+                Files.delete(other);
+            }
+        }
+    }
+
+    private static List<Path> snapshots(final Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SNAPSHOT_NAME.matcher(file.getFileName().toString()).matches())
+                .sorted(reverseOrder())
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isValid(final Path snapshot) throws IOException {
+        final long size = Files.size(snapshot);
+
+        if (size < Long.BYTES) {
+            return false;
+        }
+
+        final CRC32C checksum = new CRC32C();
+
+        try (InputStream input = new CheckedInputStream(Files.newInputStream(snapshot), checksum)) {
+            final byte[] buffer = new byte[1 << 16];
+            long remaining = size - Long.BYTES;
+
+            while (remaining > 0) {
+                final int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+
+                if (read < 0) {
+                    return false;
+                }
+
+                remaining -= read;
+            }
+
+            final long expectedChecksum = checksum.getValue();
+
+            return new DataInputStream(input).readLong() == expectedChecksum;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.moneytransfer.journal;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+import static java.time.ZoneOffset.UTC;
+
+@Value
+public class TransferState {
+
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    private String id;
+
+    private String origin;
+
+    private String destination;
+
+    private long amount;
+
+    private long date;
+
+    public static TransferState of(@NonNull final Transaction transaction) {
+        final LocalDateTime date = transaction.getDate();
+
+        return new TransferState(transaction.getId(), transaction.getOrigin().getNumber(),
+            transaction.getDestination().getNumber(), transaction.getAmount().getCents(),
+            date.toEpochSecond(UTC) * MICROS_PER_SECOND + date.getNano() / 1000);
+    }
+
+    public Transaction toTransaction(@NonNull final Account origin, @NonNull final Account destination) {
+        final LocalDateTime date = LocalDateTime.ofEpochSecond(Math.floorDiv(this.date, MICROS_PER_SECOND),
+            (int) Math.floorMod(this.date, MICROS_PER_SECOND) * 1000, UTC);
+
+        return new Transaction(this.id, origin, destination, Money.ofCents(this.amount), date);
+    }
+}
@@ -0,0 +1,57 @@
+package com.moneytransfer.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class LatencyHistogram {
+
+    static final long[] BOUNDS = {
+        MICROSECONDS.toNanos(100), MICROSECONDS.toNanos(250), MICROSECONDS.toNanos(500),
+        MILLISECONDS.toNanos(1), MICROSECONDS.toNanos(2500), MILLISECONDS.toNanos(5),
+        MILLISECONDS.toNanos(10), MILLISECONDS.toNanos(25), MILLISECONDS.toNanos(50),
+        MILLISECONDS.toNanos(100), MILLISECONDS.toNanos(250), MILLISECONDS.toNanos(500),
+        SECONDS.toNanos(1), MILLISECONDS.toNanos(2500), SECONDS.toNanos(5), SECONDS.toNanos(10)
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(final long nanos) {
+        int bucket = 0;
+
+        while (bucket < BOUNDS.length && nanos > BOUNDS[bucket]) {
+            bucket++;
+        }
+
+        this.buckets[bucket].increment();
+        this.sumNanos.add(nanos);
+    }
+
+    /**
+     * Returns the number of latencies up to each bound, the last one being the total count.
+     */
+    public long[] cumulativeCounts() {
+        final long[] counts = new long[this.buckets.length];
+        long count = 0;
+
+        for (int i = 0; i < this.buckets.length; i++) {
+            count += this.buckets[i].sum();
+            counts[i] = count;
+        }
+
+        return counts;
+    }
+
+    public long getSumNanos() {
+        return this.sumNanos.sum();
+    }
+}
@@ -0,0 +1,169 @@
+package com.moneytransfer.metrics;
+
+import spark.Route;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+public class Metrics {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String[] BUCKET_LABELS = new String[LatencyHistogram.BOUNDS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            BUCKET_LABELS[i] = "le=\"" + BigDecimal.valueOf(LatencyHistogram.BOUNDS[i], 9)
+                .stripTrailingZeros().toPlainString() + "\"";
+        }
+    }
+
+    private final List<RouteMetrics> routes = new CopyOnWriteArrayList<>();
+    private final RouteMetrics unmatched = new RouteMetrics("ANY", "unmatched");
+    private final List<Value> values = new CopyOnWriteArrayList<>();
+
+    public Route instrument(final String method, final String route, final Route handler) {
+        final RouteMetrics metrics = new RouteMetrics(method, route);
+        this.routes.add(metrics);
+
+        return (req, res) -> {
+            final long start = System.nanoTime();
+
+            try {
+                return handler.handle(req, res);
+            } finally {
+                RequestTimer.current().handled(metrics, System.nanoTime() - start);
+            }
+        };
+    }
+
+    public void counter(final String name, final String help, final LongSupplier value) {
+        register(name, "counter", help, value);
+    }
+
+    public void gauge(final String name, final String help, final LongSupplier value) {
+        register(name, "gauge", help, value);
+    }
+
+    private void register(final String name, final String type, final String help, final LongSupplier value) {
+        this.values.add(new Value("# HELP " + name + " " + help + "\n# TYPE " + name + " " + type + "\n" + name + " ",
+            value));
+    }
+
+    public void begin() {
+        RequestTimer.current().begin();
+    }
+
+    public void end(final int status) {
+        RequestTimer.current().end(status, this.unmatched);
+    }
+
+    public String render() {
+        final StringBuilder text = new StringBuilder(16 * 1024);
+
+        text.append("# HELP moneytransfer_http_requests_total Requests handled by route.\n")
+            .append("# TYPE moneytransfer_http_requests_total counter\n");
+        forEachRoute(route -> line(text, "moneytransfer_http_requests_total", route, null, null,
+            route.getRequests().sum()));
+
+        text.append("# HELP moneytransfer_http_errors_total Requests answered with an error status, by route.\n")
+            .append("# TYPE moneytransfer_http_errors_total counter\n");
+        forEachRoute(route -> {
+            for (int status = RouteMetrics.MIN_ERROR_STATUS; status <= RouteMetrics.MAX_ERROR_STATUS; status++) {
+                final long errors = route.getErrors(status);
+
+                if (errors > 0) {
+                    line(text, "moneytransfer_http_errors_total", route, "status=\"" + status + "\"", null, errors);
+                }
+            }
+        });
+
+        text.append("# HELP moneytransfer_http_request_duration_seconds Latency of requests by route and phase.\n")
+            .append("# TYPE moneytransfer_http_request_duration_seconds histogram\n");
+        forEachRoute(route -> {
+            histogram(text, route, "total", route.getTotal());
+
+            for (final Phase phase : Phase.values()) {
+                histogram(text, route, phase.name().toLowerCase(Locale.ROOT), route.getPhase(phase));
+            }
+        });
+
+        for (final Value value : this.values) {
+            text.append(value.header).append(value.supplier.getAsLong()).append('\n');
+        }
+
+        return text.toString();
+    }
+
+    private void forEachRoute(final Consumer<RouteMetrics> action) {
+        this.routes.forEach(action);
+        action.accept(this.unmatched);
+    }
+
+    private static void histogram(final StringBuilder text,
+                                  final RouteMetrics route,
+                                  final String phase,
+                                  final LatencyHistogram histogram) {
+
+        final String phaseLabel = "phase=\"" + phase + "\"";
+        final long[] counts = histogram.cumulativeCounts();
+
+        for (int i = 0; i < LatencyHistogram.BOUNDS.length; i++) {
+            line(text, "moneytransfer_http_request_duration_seconds_bucket", route, phaseLabel,
+                BUCKET_LABELS[i], counts[i]);
+        }
+
+        line(text, "moneytransfer_http_request_duration_seconds_bucket", route, phaseLabel, "le=\"+Inf\"",
+            counts[counts.length - 1]);
+        text.append("moneytransfer_http_request_duration_seconds_sum");
+        labels(text, route, phaseLabel, null);
+        text.append(' ').append(histogram.getSumNanos() / NANOS_PER_SECOND).append('\n');
+        line(text, "moneytransfer_http_request_duration_seconds_count", route, phaseLabel, null,
+            counts[counts.length - 1]);
+    }
+
+    private static void line(final StringBuilder text,
+                             final String name,
+                             final RouteMetrics route,
+                             final String label,
+                             final String extraLabel,
+                             final long value) {
+
+        text.append(name);
+        labels(text, route, label, extraLabel);
+        text.append(' ').append(value).append('\n');
+    }
+
+    private static void labels(final StringBuilder text,
+                               final RouteMetrics route,
+                               final String label,
+                               final String extraLabel) {
+
+        text.append("{method=\"").append(route.getMethod()).append("\",route=\"").append(route.getRoute()).append('"');
+
+        if (label != null) {
+            text.append(',').append(label);
+        }
+
+        if (extraLabel != null) {
+            text.append(',').append(extraLabel);
+        }
+
+        text.append('}');
+    }
+
+    private static final class Value {
+
+        private final String header;
+        private final LongSupplier supplier;
+
+        private Value(final String header, final LongSupplier supplier) {
+            this.header = header;
+            this.supplier = supplier;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.moneytransfer.metrics;
+
+/**
+ * {@link #SERVICE} is the time spent in the route handler outside parsing and database work.
+ */
+public enum Phase {
+    PARSE, SERVICE, DB, SERIALIZATION
+}
@@ -0,0 +1,61 @@
+package com.moneytransfer.metrics;
+
+/**
+ * Each thread reuses one timer. Outside a timed request the phases are ignored.
+ */
+public final class RequestTimer {
+
+    private static final ThreadLocal<RequestTimer> CURRENT = ThreadLocal.withInitial(RequestTimer::new);
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private boolean active;
+    private long start;
+    private long handlerNanos;
+    private RouteMetrics route;
+    private final long[] phaseNanos = new long[PHASES.length];
+
+    private RequestTimer() { }
+
+    public static void record(final Phase phase, final long startNanos) {
+        final RequestTimer timer = CURRENT.get();
+
+        if (timer.active) {
+            timer.phaseNanos[phase.ordinal()] += System.nanoTime() - startNanos;
+        }
+    }
+
+    static RequestTimer current() {
+        return CURRENT.get();
+    }
+
+    void begin() {
+        this.active = true;
+        this.start = System.nanoTime();
+        this.handlerNanos = 0;
+        this.route = null;
+
+        for (int i = 0; i < this.phaseNanos.length; i++) {
+            this.phaseNanos[i] = 0;
+        }
+    }
+
+    void handled(final RouteMetrics route, final long handlerNanos) {
+        this.route = route;
+        this.handlerNanos += handlerNanos;
+    }
+
+    void end(final int status, final RouteMetrics fallback) {
+        if (!this.active) {
+            return;
+        }
+
+        this.active = false;
+
+        final long service = this.handlerNanos - this.phaseNanos[Phase.PARSE.ordinal()]
+            - this.phaseNanos[Phase.DB.ordinal()];
+        this.phaseNanos[Phase.SERVICE.ordinal()] = Math.max(0, service);
+
+        (this.route != null ? this.route : fallback).record(status, System.nanoTime() - this.start, this.phaseNanos);
+    }
+}
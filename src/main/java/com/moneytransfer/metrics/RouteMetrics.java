@@ -0,0 +1,58 @@
+package com.moneytransfer.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+@Getter
+public class RouteMetrics {
+
+    static final int MIN_ERROR_STATUS = 400;
+    static final int MAX_ERROR_STATUS = 599;
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final String method;
+    private final String route;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder[] errors = new LongAdder[MAX_ERROR_STATUS - MIN_ERROR_STATUS + 1];
+    private final LatencyHistogram total = new LatencyHistogram();
+    @Getter(AccessLevel.NONE)
+    private final LatencyHistogram[] phases = new LatencyHistogram[PHASES.length];
+
+    RouteMetrics(final String method, final String route) {
+        this.method = method;
+        this.route = route;
+
+        for (int i = 0; i < this.errors.length; i++) {
+            this.errors[i] = new LongAdder();
+        }
+
+        for (int i = 0; i < this.phases.length; i++) {
+            this.phases[i] = new LatencyHistogram();
+        }
+    }
+
+    void record(final int status, final long totalNanos, final long[] phaseNanos) {
+        this.requests.increment();
+
+        if (status >= MIN_ERROR_STATUS && status <= MAX_ERROR_STATUS) {
+            this.errors[status - MIN_ERROR_STATUS].increment();
+        }
+
+        this.total.record(totalNanos);
+
+        for (int i = 0; i < this.phases.length; i++) {
+            this.phases[i].record(phaseNanos[i]);
+        }
+    }
+
+    LatencyHistogram getPhase(final Phase phase) {
+        return this.phases[phase.ordinal()];
+    }
+
+    long getErrors(final int status) {
+        return this.errors[status - MIN_ERROR_STATUS].sum();
+    }
+}
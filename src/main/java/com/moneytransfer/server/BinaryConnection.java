@@ -0,0 +1,199 @@
+package com.moneytransfer.server;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.moneytransfer.server.BinaryProtocol.COMMAND_HEADER_SIZE;
+import static com.moneytransfer.server.BinaryProtocol.LENGTH_SIZE;
+import static com.moneytransfer.server.BinaryProtocol.MAX_COMMAND_SIZE;
+
+/**
+ * Everything but {@link #complete} runs on the selector thread. The connection is not read from while too many of
+ * its commands are in progress.
+ */
+@Slf4j
+final class BinaryConnection {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BinaryServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final ByteBuffer input = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer output = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final Queue<ByteBuffer> responses = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private ByteBuffer response;
+    private int inFlight;
+
+    BinaryConnection(final BinaryServer server, final SocketChannel channel, final SelectionKey key) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+        this.key.attach(this);
+    }
+
+    /**
+     * Called by the workers.
+     */
+    void complete(final ByteBuffer response) {
+        this.responses.add(response);
+
+        if (this.scheduled.compareAndSet(false, true)) {
+            this.server.schedule(this);
+        }
+    }
+
+    void handle(final SelectionKey key) {
+        try {
+            if (key.isWritable()) {
+                write();
+            }
+
+            if (key.isValid() && key.isReadable()) {
+                read();
+            }
+        } catch (ProtocolException e) {
+            log.warn("Closing binary connection from {}: {}", remoteAddress(), e.getMessage());
+            close();
+        } catch (IOException e) {
+            log.debug("Closing binary connection from {}", remoteAddress(), e);
+            close();
+        }
+    }
+
+    void flush() {
+        this.scheduled.set(false);
+
+        if (!this.key.isValid()) {
+            return;
+        }
+
+        try {
+            write();
+        } catch (IOException e) {
+            log.debug("Closing binary connection from {}", remoteAddress(), e);
+            close();
+        }
+    }
+
+    void close() {
+        if (this.channel.isOpen()) {
+            close(this.channel);
+            this.server.closed();
+        }
+    }
+
+    static void close(final SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Error closing binary connection", e);
+        }
+    }
+
+    private void read() throws IOException {
+        if (this.channel.read(this.input) < 0) {
+            close();
+            return;
+        }
+
+        dispatch();
+    }
+
+    private void dispatch() throws ProtocolException {
+        this.input.flip();
+
+        try {
+            while (this.inFlight < this.server.getMaxInFlight() && this.input.remaining() >= LENGTH_SIZE) {
+                final int length = this.input.getInt(this.input.position());
+
+                if (length < COMMAND_HEADER_SIZE || length > MAX_COMMAND_SIZE) {
+                    throw new ProtocolException("Command length " + length + " is not valid");
+                }
+
+                if (this.input.remaining() < LENGTH_SIZE + length) {
+                    break;
+                }
+
+                final byte[] command = new byte[length];
+                this.input.position(this.input.position() + LENGTH_SIZE);
+                this.input.get(command);
+                this.inFlight++;
+                this.server.execute(this, command);
+            }
+        } finally {
+            this.input.compact();
+        }
+
+        interest(SelectionKey.OP_READ, this.inFlight < this.server.getMaxInFlight());
+    }
+
+    private void write() throws IOException {
+        final boolean paused = this.inFlight >= this.server.getMaxInFlight();
+
+        fill();
+        this.output.flip();
+        this.channel.write(this.output);
+        this.output.compact();
+
+        interest(SelectionKey.OP_WRITE,
+            this.output.position() > 0 || this.response != null || !this.responses.isEmpty());
+
+        if (paused && this.inFlight < this.server.getMaxInFlight()) {
+            dispatch();
+        }
+    }
+
+    /**
+     * A response that does not fit is copied in part.
+     */
+    private void fill() {
+        while (this.output.hasRemaining()) {
+            if (this.response == null) {
+                this.response = this.responses.poll();
+
+                if (this.response == null) {
+                    return;
+                }
+
+                this.inFlight--;
+            }
+
+            if (this.response.remaining() <= this.output.remaining()) {
+                this.output.put(this.response);
+                this.response = null;
+            } else {
+                final int limit = this.response.limit();
+                this.response.limit(this.response.position() + this.output.remaining());
+                this.output.put(this.response);
+                this.response.limit(limit);
+            }
+        }
+    }
+
+    private void interest(final int operation, final boolean enabled) {
+        final int operations = this.key.interestOps();
+        final int changed = enabled ? operations | operation : operations & ~operation;
+
+        if (changed != operations) {
+            this.key.interestOps(changed);
+        }
+    }
+
+    private Object remoteAddress() {
+        try {
+            return this.channel.getRemoteAddress();
+        } catch (IOException e) {
+            return "unknown address";
+        }
+    }
+}
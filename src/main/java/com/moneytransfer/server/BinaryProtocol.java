@@ -0,0 +1,123 @@
+package com.moneytransfer.server;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.response.TransferReceipt;
+import com.moneytransfer.utils.Identifiers;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+import static com.moneytransfer.utils.Constants.DECIMAL_PLACES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
+import static org.eclipse.jetty.http.HttpStatus.OK_200;
+
+/**
+ * Frames of the binary endpoint served by {@link BinaryServer}. Every frame starts with its length,
+ * not counting the length itself, and numbers are big-endian.
+ *
+ * <p>A command is {@code int length, long correlationId, byte command} followed by its fields:
+ * a transfer has the origin and destination account numbers and the amount, a deposit or a
+ * withdrawal has the account number and the amount. Account numbers are their 16 UUID bytes and
+ * amounts are numbers of cents, as in the protobuf payloads of the REST API.
+ *
+ * <p>A response is {@code int length, long correlationId, short status} followed by its body. The
+ * status is the one the REST API answers with (see {@link ErrorStatus}). A completed transfer has
+ * the transaction id, its date in microseconds since the epoch and the balance left in the origin
+ * account in cents; a completed deposit or withdrawal has the new balance of the account in cents;
+ * an error has its message in UTF-8.
+ */
+public final class BinaryProtocol {
+
+    public static final byte TRANSFER = 1;
+    public static final byte DEPOSIT = 2;
+    public static final byte WITHDRAW = 3;
+
+    public static final int LENGTH_SIZE = Integer.BYTES;
+    public static final int COMMAND_HEADER_SIZE = Long.BYTES + Byte.BYTES;
+    public static final int RESPONSE_HEADER_SIZE = Long.BYTES + Short.BYTES;
+    public static final int TRANSFER_SIZE = COMMAND_HEADER_SIZE + 2 * Identifiers.SIZE + Long.BYTES;
+    public static final int BALANCE_UPDATE_SIZE = COMMAND_HEADER_SIZE + Identifiers.SIZE + Long.BYTES;
+
+    public static final int MAX_COMMAND_SIZE = TRANSFER_SIZE;
+
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    private BinaryProtocol() { }
+
+    public static void writeTransfer(final ByteBuffer buffer, final long correlationId,
+                                     @NonNull final String originAccountNumber,
+                                     @NonNull final String destinationAccountNumber, final long cents) {
+        buffer.putInt(TRANSFER_SIZE).putLong(correlationId).put(TRANSFER)
+            .put(Identifiers.toBytes(originAccountNumber))
+            .put(Identifiers.toBytes(destinationAccountNumber))
+            .putLong(cents);
+    }
+
+    public static void writeDeposit(final ByteBuffer buffer, final long correlationId,
+                                    @NonNull final String accountNumber, final long cents) {
+        writeBalanceUpdate(buffer, correlationId, DEPOSIT, accountNumber, cents);
+    }
+
+    public static void writeWithdraw(final ByteBuffer buffer, final long correlationId,
+                                     @NonNull final String accountNumber, final long cents) {
+        writeBalanceUpdate(buffer, correlationId, WITHDRAW, accountNumber, cents);
+    }
+
+    static ByteBuffer transferred(final long correlationId, final TransferReceipt receipt) {
+        final ByteBuffer response = response(correlationId, OK_200, Identifiers.SIZE + 2 * Long.BYTES);
+        response.put(Identifiers.toBytes(receipt.getId()))
+            .putLong(micros(receipt.getDate()))
+            .putLong(receipt.getBalance().getCents());
+
+        return response.flip();
+    }
+
+    static ByteBuffer updated(final long correlationId, final Account account) {
+        final ByteBuffer response = response(correlationId, OK_200, Long.BYTES);
+        response.putLong(account.getBalance().getCents());
+
+        return response.flip();
+    }
+
+    static ByteBuffer failed(final long correlationId, final int status, final String message) {
+        final byte[] body = message == null ? new byte[0] : message.getBytes(UTF_8);
+        final ByteBuffer response = response(correlationId, status, body.length);
+        response.put(body);
+
+        return response.flip();
+    }
+
+    static String accountNumber(final ByteBuffer command) {
+        final byte[] bytes = new byte[Identifiers.SIZE];
+        command.get(bytes);
+
+        return Identifiers.fromBytes(bytes);
+    }
+
+    static BigDecimal amount(final ByteBuffer command) {
+        return BigDecimal.valueOf(command.getLong(), DECIMAL_PLACES);
+    }
+
+    private static void writeBalanceUpdate(final ByteBuffer buffer, final long correlationId, final byte command,
+                                           final String accountNumber, final long cents) {
+        buffer.putInt(BALANCE_UPDATE_SIZE).putLong(correlationId).put(command)
+            .put(Identifiers.toBytes(accountNumber))
+            .putLong(cents);
+    }
+
+    private static ByteBuffer response(final long correlationId, final int status, final int bodySize) {
+        final int length = RESPONSE_HEADER_SIZE + bodySize;
+
+        return ByteBuffer.allocate(LENGTH_SIZE + length)
+            .putInt(length)
+            .putLong(correlationId)
+            .putShort((short) status);
+    }
+
+    private static long micros(final LocalDateTime date) {
+        return date.toEpochSecond(UTC) * MICROS_PER_SECOND + date.getNano() / 1000;
+    }
+}
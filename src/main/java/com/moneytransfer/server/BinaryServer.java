@@ -0,0 +1,281 @@
+package com.moneytransfer.server;
+
+import com.moneytransfer.domain.response.TransferReceipt;
+import com.moneytransfer.service.AccountService;
+import com.moneytransfer.service.TransactionService;
+import com.moneytransfer.utils.Configuration;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.moneytransfer.server.BinaryProtocol.BALANCE_UPDATE_SIZE;
+import static com.moneytransfer.server.BinaryProtocol.DEPOSIT;
+import static com.moneytransfer.server.BinaryProtocol.TRANSFER;
+import static com.moneytransfer.server.BinaryProtocol.TRANSFER_SIZE;
+import static com.moneytransfer.server.BinaryProtocol.WITHDRAW;
+import static com.moneytransfer.server.BinaryProtocol.accountNumber;
+import static com.moneytransfer.server.BinaryProtocol.amount;
+import static com.moneytransfer.server.BinaryProtocol.failed;
+import static com.moneytransfer.server.BinaryProtocol.transferred;
+import static com.moneytransfer.server.BinaryProtocol.updated;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.jetty.http.HttpStatus.INTERNAL_SERVER_ERROR_500;
+
+/**
+ * Serves transfers, deposits and withdrawals over plain TCP in the frames of {@link BinaryProtocol}. One selector
+ * thread does the I/O and a pool of workers runs the commands, whose responses are written as they complete.
+ */
+@Slf4j
+public class BinaryServer implements AutoCloseable {
+
+    public static final int DEFAULT_WORKERS = 32;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 30_000;
+
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final int maxInFlight;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final ExecutorService workers;
+    private final Queue<BinaryConnection> ready = new ConcurrentLinkedQueue<>();
+    private final LongAdder commands = new LongAdder();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public BinaryServer(final int port,
+                        final int workers,
+                        final int maxInFlight,
+                        @NonNull final AccountService accountService,
+                        @NonNull final TransactionService transactionService) throws IOException {
+        if (port < 0 || workers <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException(
+                "Binary server port should not be negative, workers and commands in flight greater than zero");
+        }
+
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.maxInFlight = maxInFlight;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+
+        try {
+            this.serverChannel.bind(new InetSocketAddress(port));
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            this.serverChannel.close();
+            this.selector.close();
+            throw e;
+        }
+
+        final AtomicInteger workerCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workers, task -> {
+            final Thread worker = new Thread(task, "binary-server-worker-" + workerCount.incrementAndGet());
+            worker.setDaemon(true);
+
+            return worker;
+        });
+        this.thread = new Thread(this::run, "binary-server-selector");
+        this.thread.setDaemon(true);
+        this.thread.start();
+
+        log.info("Binary server listening on port {}", getPort());
+    }
+
+    public static Optional<BinaryServer> fromConfiguration(@NonNull final AccountService accountService,
+                                                           @NonNull final TransactionService transactionService)
+        throws IOException {
+        if (!Configuration.get("moneytransfer.binary.port").isPresent()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new BinaryServer(
+            Configuration.getInt("moneytransfer.binary.port", 0),
+            Configuration.getInt("moneytransfer.binary.workers", DEFAULT_WORKERS),
+            Configuration.getInt("moneytransfer.binary.inflight", DEFAULT_MAX_IN_FLIGHT),
+            accountService,
+            transactionService));
+    }
+
+    public int getPort() {
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    public long getCommands() {
+        return this.commands.sum();
+    }
+
+    public int getConnections() {
+        return this.connections.get();
+    }
+
+    /**
+     * The responses of the commands in progress are not sent.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        this.selector.wakeup();
+
+        try {
+            this.thread.join(CLOSE_TIMEOUT_MILLIS);
+            this.workers.shutdown();
+            this.workers.awaitTermination(CLOSE_TIMEOUT_MILLIS, MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            this.selector.close();
+        } catch (IOException e) {
+            log.warn("Error closing binary server selector", e);
+        }
+    }
+
+    int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    void execute(final BinaryConnection connection, final byte[] command) {
+        this.workers.execute(() -> connection.complete(handle(command)));
+    }
+
+    void closed() {
+        this.connections.decrementAndGet();
+    }
+
+    void schedule(final BinaryConnection connection) {
+        if (this.running) {
+            this.ready.add(connection);
+            this.selector.wakeup();
+        }
+    }
+
+    private ByteBuffer handle(final byte[] frame) {
+        final ByteBuffer command = ByteBuffer.wrap(frame);
+        final long correlationId = command.getLong();
+        final byte type = command.get();
+
+        this.commands.increment();
+
+        try {
+            switch (type) {
+                case TRANSFER:
+                    checkSize(frame, TRANSFER_SIZE);
+                    return transferred(correlationId, TransferReceipt.of(this.transactionService.transfer(
+                        accountNumber(command), accountNumber(command), amount(command))));
+                case DEPOSIT:
+                    checkSize(frame, BALANCE_UPDATE_SIZE);
+                    return updated(correlationId, this.accountService.deposit(
+                        accountNumber(command), amount(command)));
+                case WITHDRAW:
+                    checkSize(frame, BALANCE_UPDATE_SIZE);
+                    return updated(correlationId, this.accountService.withdraw(
+                        accountNumber(command), amount(command)));
+                default:
+                    throw new IllegalArgumentException("Command " + type + " is not known");
+            }
+        } catch (Exception e) {
+            final int status = ErrorStatus.of(e);
+
+            if (status == INTERNAL_SERVER_ERROR_500) {
+                log.error("Error handling binary command", e);
+                return failed(correlationId, status, "Unexpected error");
+            }
+
+            return failed(correlationId, status, e.getMessage());
+        }
+    }
+
+    private void run() {
+        while (this.running) {
+            try {
+                this.selector.select();
+            } catch (IOException e) {
+                log.error("Error waiting for binary connections", e);
+                break;
+            }
+
+            BinaryConnection connection;
+
+            while ((connection = this.ready.poll()) != null) {
+                connection.flush();
+            }
+
+            final Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+
+            while (keys.hasNext()) {
+                final SelectionKey key = keys.next();
+                keys.remove();
+
+                if (key.isValid() && key.isAcceptable()) {
+                    accept();
+                } else if (key.isValid()) {
+                    ((BinaryConnection) key.attachment()).handle(key);
+                }
+            }
+        }
+
+        for (final SelectionKey key : this.selector.keys()) {
+            if (key.attachment() instanceof BinaryConnection) {
+                ((BinaryConnection) key.attachment()).close();
+            }
+        }
+
+        try {
+            this.serverChannel.close();
+        } catch (IOException e) {
+            log.warn("Error closing binary server channel", e);
+        }
+    }
+
+    private void accept() {
+        final SocketChannel channel;
+
+        try {
+            channel = this.serverChannel.accept();
+        } catch (IOException e) {
+            log.warn("Error accepting binary connection", e);
+            return;
+        }
+
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            new BinaryConnection(this, channel, channel.register(this.selector, SelectionKey.OP_READ));
+            this.connections.incrementAndGet();
+        } catch (IOException e) {
+            log.warn("Error setting up binary connection", e);
+            BinaryConnection.close(channel);
+        }
+    }
+
+    private static void checkSize(final byte[] frame, final int size) {
+        if (frame.length != size) {
+            throw new IllegalArgumentException("Command should be " + size + " bytes long");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.moneytransfer.server;
+
+import com.moneytransfer.utils.Configuration;
+import lombok.Getter;
+import lombok.NonNull;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import spark.embeddedserver.jetty.JettyServerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Spark sets the connector and the handler after creating the server, so the server replaces the connector with one
+ * of the configured sizes and wraps the handler.
+ */
+@Getter
+public class ConfiguredJettyServerFactory implements JettyServerFactory {
+
+    public static final int DEFAULT_MAX_THREADS = 200;
+    public static final int DEFAULT_MIN_THREADS = 8;
+    public static final int DEFAULT_IDLE_TIMEOUT = 60_000;
+
+    private final int maxThreads;
+    private final int minThreads;
+    private final int idleTimeout;
+    private final int acceptors;
+    private final int selectors;
+    private final boolean virtualThreads;
+    private final int virtualConcurrency;
+
+    public ConfiguredJettyServerFactory(final int maxThreads,
+                                        final int minThreads,
+                                        final int idleTimeout,
+                                        final int acceptors,
+                                        final int selectors,
+                                        final boolean virtualThreads,
+                                        final int virtualConcurrency) {
+        if (minThreads <= 0 || maxThreads < minThreads || idleTimeout <= 0) {
+            throw new IllegalArgumentException(
+                "Server threads should be greater than zero, with a maximum no lower than the minimum");
+        }
+
+        if (virtualConcurrency <= 0) {
+            throw new IllegalArgumentException("Maximum concurrent requests should be greater than zero");
+        }
+
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("Server threads can only be virtual on Java 21 or later");
+        }
+
+        this.maxThreads = maxThreads;
+        this.minThreads = minThreads;
+        this.idleTimeout = idleTimeout;
+        this.acceptors = acceptors;
+        this.selectors = selectors;
+        this.virtualThreads = virtualThreads;
+        this.virtualConcurrency = virtualConcurrency;
+    }
+
+    public static ConfiguredJettyServerFactory fromConfiguration() {
+        final int maxThreads = Configuration.getInt("moneytransfer.server.threads.max", DEFAULT_MAX_THREADS);
+
+        return new ConfiguredJettyServerFactory(
+            maxThreads,
+            Configuration.getInt("moneytransfer.server.threads.min", DEFAULT_MIN_THREADS),
+            Configuration.getInt("moneytransfer.server.threads.idle", DEFAULT_IDLE_TIMEOUT),
+            Configuration.getInt("moneytransfer.server.acceptors", -1),
+            Configuration.getInt("moneytransfer.server.selectors", -1),
+            Configuration.getBoolean("moneytransfer.server.threads.virtual", false),
+            Configuration.getInt("moneytransfer.server.threads.virtual.concurrency", maxThreads));
+    }
+
+    /**
+     * Ignores the sizes given by Spark, which are its own defaults unless set through its API.
+     */
+    @Override
+    public Server create(final int maxThreads, final int minThreads, final int threadTimeoutMillis) {
+        final QueuedThreadPool threadPool = new QueuedThreadPool(this.maxThreads, this.minThreads, this.idleTimeout);
+        threadPool.setName("http");
+
+        return create(threadPool);
+    }
+
+    @Override
+    public Server create(@NonNull final ThreadPool threadPool) {
+        return new ConfiguredServer(threadPool, this);
+    }
+
+    private static final class ConfiguredServer extends Server {
+
+        private final ConfiguredJettyServerFactory factory;
+
+        private ConfiguredServer(final ThreadPool threadPool, final ConfiguredJettyServerFactory factory) {
+            super(threadPool);
+            this.factory = factory;
+        }
+
+        @Override
+        public void setConnectors(final Connector[] connectors) {
+            if (connectors == null || this.factory.acceptors < 0 && this.factory.selectors < 0) {
+                super.setConnectors(connectors);
+                return;
+            }
+
+            super.setConnectors(Arrays.stream(connectors).map(this::resize).toArray(Connector[]::new));
+        }
+
+        @Override
+        public void setHandler(final Handler handler) {
+            if (handler == null || !this.factory.virtualThreads) {
+                super.setHandler(handler);
+                return;
+            }
+
+            final VirtualThreadHandler virtualThreadHandler = new VirtualThreadHandler(VirtualThreads.newExecutor(),
+                this.factory.virtualConcurrency);
+            virtualThreadHandler.setHandler(handler);
+            super.setHandler(virtualThreadHandler);
+        }
+
+        private Connector resize(final Connector connector) {
+            if (!(connector instanceof ServerConnector)) {
+                return connector;
+            }
+
+            final ServerConnector original = (ServerConnector) connector;
+            final ServerConnector resized = new ServerConnector(this, this.factory.acceptors, this.factory.selectors,
+                original.getConnectionFactories().toArray(new ConnectionFactory[0]));
+            resized.setHost(original.getHost());
+            resized.setPort(original.getPort());
+            resized.setIdleTimeout(original.getIdleTimeout());
+
+            return resized;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.moneytransfer.server;
+
+import com.moneytransfer.service.lock.LockTimeoutException;
+import com.moneytransfer.service.pipeline.PipelineFullException;
+import com.moneytransfer.service.shard.MailboxFullException;
+import lombok.NonNull;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import static org.eclipse.jetty.http.HttpStatus.BAD_REQUEST_400;
+import static org.eclipse.jetty.http.HttpStatus.CONFLICT_409;
+import static org.eclipse.jetty.http.HttpStatus.INTERNAL_SERVER_ERROR_500;
+import static org.eclipse.jetty.http.HttpStatus.NOT_FOUND_404;
+import static org.eclipse.jetty.http.HttpStatus.SERVICE_UNAVAILABLE_503;
+
+public final class ErrorStatus {
+
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    private ErrorStatus() { }
+
+    public static int of(@NonNull final Throwable error) {
+        if (error instanceof NoSuchElementException) {
+            return NOT_FOUND_404;
+        }
+
+        if (error instanceof IllegalArgumentException) {
+            return BAD_REQUEST_400;
+        }
+
+        if (error instanceof ConcurrentModificationException) {
+            return CONFLICT_409;
+        }
+
+        if (error instanceof LockTimeoutException || error instanceof PipelineFullException
+            || error instanceof MailboxFullException) {
+            return SERVICE_UNAVAILABLE_503;
+        }
+
+        return INTERNAL_SERVER_ERROR_500;
+    }
+
+    /**
+     * Whether the error rejects the request itself, which sending it again would not change.
+     */
+    public static boolean isFinal(final int status) {
+        return status == BAD_REQUEST_400 || status == NOT_FOUND_404;
+    }
+}
@@ -0,0 +1,87 @@
+package com.moneytransfer.server;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+
+/**
+ * Hands each request to a thread of the executor and gives the Jetty thread back. A number of permits bounds the
+ * requests handled at once.
+ */
+@Slf4j
+public class VirtualThreadHandler extends HandlerWrapper {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    public VirtualThreadHandler(@NonNull final ExecutorService executor, final int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Maximum concurrent requests should be greater than zero");
+        }
+
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public void handle(final String target,
+                       final Request baseRequest,
+                       final HttpServletRequest request,
+                       final HttpServletResponse response) {
+        final AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        baseRequest.setHandled(true);
+
+        try {
+            this.executor.execute(() -> {
+                try {
+                    this.permits.acquire();
+
+                    try {
+                        super.handle(target, baseRequest, request, response);
+                    } finally {
+                        this.permits.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    sendError(response, SC_SERVICE_UNAVAILABLE);
+                } catch (Throwable e) {
+                    log.error("Error handling request", e);
+                    sendError(response, SC_INTERNAL_SERVER_ERROR);
+                } finally {
+                    async.complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sendError(response, SC_SERVICE_UNAVAILABLE);
+            async.complete();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        this.executor.shutdown();
+    }
+
+    private static void sendError(final HttpServletResponse response, final int status) {
+        if (!response.isCommitted()) {
+            try {
+                response.sendError(status);
+            } catch (Exception e) {
+                log.warn("Error sending error response", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.moneytransfer.server;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * The sources are built for Java 11, so the executor is looked up at runtime.
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle NEW_EXECUTOR = findNewExecutor();
+
+    private VirtualThreads() { }
+
+    public static boolean isSupported() {
+        return NEW_EXECUTOR != null;
+    }
+
+    public static ExecutorService newExecutor() {
+        if (NEW_EXECUTOR == null) {
+            throw new IllegalStateException("Virtual threads need Java 21 or later, running on Java "
+                + System.getProperty("java.specification.version"));
+        }
+
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error creating virtual thread executor", e);
+        }
+    }
+
+    private static MethodHandle findNewExecutor() {
+        try {
+            return MethodHandles.publicLookup()
+                .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
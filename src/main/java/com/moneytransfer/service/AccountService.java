@@ -9,6 +9,8 @@ public interface AccountService {
 
     Account create(@NonNull final String owner) throws Exception;
 
+    Account find(@NonNull final String accountNumber) throws Exception;
+
     Account deposit(@NonNull final String accountNumber,
                     @NonNull final BigDecimal amount) throws Exception;
 
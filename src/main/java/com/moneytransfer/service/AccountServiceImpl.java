@@ -2,6 +2,11 @@ package com.moneytransfer.service;
 
 import com.moneytransfer.domain.entities.Account;
 import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.DirectUnitOfWork;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.service.lock.LockManager;
+import com.moneytransfer.service.lock.StripedLockManager;
+import com.moneytransfer.service.retry.RetryExecutor;
 import lombok.NonNull;
 
 import java.math.BigDecimal;
@@ -9,9 +14,22 @@ import java.math.BigDecimal;
 public class AccountServiceImpl implements AccountService {
 
     private BaseDao<Account> accountDao;
+    private UnitOfWork unitOfWork;
+    private LockManager lockManager;
+    private RetryExecutor retryExecutor;
 
     public AccountServiceImpl(@NonNull final BaseDao<Account> accountDao) {
+        this(accountDao, new DirectUnitOfWork(), new StripedLockManager(), new RetryExecutor());
+    }
+
+    public AccountServiceImpl(@NonNull final BaseDao<Account> accountDao,
+                              @NonNull final UnitOfWork unitOfWork,
+                              @NonNull final LockManager lockManager,
+                              @NonNull final RetryExecutor retryExecutor) {
         this.accountDao = accountDao;
+        this.unitOfWork = unitOfWork;
+        this.lockManager = lockManager;
+        this.retryExecutor = retryExecutor;
     }
 
     @Override
@@ -20,22 +38,33 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public synchronized Account deposit(@NonNull final String accountNumber,
-                                        @NonNull final BigDecimal amount) throws Exception {
+    public Account find(@NonNull final String accountNumber) throws Exception {
+        return this.accountDao.findById(accountNumber);
+    }
+
+    @Override
+    public Account deposit(@NonNull final String accountNumber,
+                           @NonNull final BigDecimal amount) throws Exception {
 
-        final Account account = this.accountDao.findById(accountNumber);
-        account.deposit(amount);
+        return this.retryExecutor.execute(() -> this.lockManager.execute(accountNumber,
+            () -> this.unitOfWork.execute(() -> {
+                final Account account = this.accountDao.findById(accountNumber);
+                account.deposit(amount);
 
-        return this.accountDao.save(account);
+                return this.accountDao.save(account);
+            })));
     }
 
     @Override
-    public synchronized Account withdraw(@NonNull final String accountNumber,
-                                         @NonNull final BigDecimal amount) throws Exception {
+    public Account withdraw(@NonNull final String accountNumber,
+                            @NonNull final BigDecimal amount) throws Exception {
 
-        final Account account = this.accountDao.findById(accountNumber);
-        account.withdraw(amount);
+        return this.retryExecutor.execute(() -> this.lockManager.execute(accountNumber,
+            () -> this.unitOfWork.execute(() -> {
+                final Account account = this.accountDao.findById(accountNumber);
+                account.withdraw(amount);
 
-        return this.accountDao.save(account);
+                return this.accountDao.save(account);
+            })));
     }
 }
@@ -0,0 +1,6 @@
+package com.moneytransfer.service;
+
+public enum BatchMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
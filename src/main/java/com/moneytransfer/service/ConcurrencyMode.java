@@ -0,0 +1,29 @@
+package com.moneytransfer.service;
+
+public enum ConcurrencyMode {
+
+    /**
+     * Account locks are held from the first read until the commit.
+     */
+    PESSIMISTIC,
+
+    /**
+     * Stale updates are detected through the account version at commit and retried.
+     */
+    OPTIMISTIC,
+
+    /**
+     * Guarded UPDATE statements check and change the balance in the database.
+     */
+    CONDITIONAL_UPDATE,
+
+    /**
+     * One thread owns the balances in memory and applies every change.
+     */
+    SINGLE_WRITER,
+
+    /**
+     * Accounts are split by number among threads that each own their balances.
+     */
+    SHARDED
+}
@@ -0,0 +1,66 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.repository.BalanceDao;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.service.retry.RetryExecutor;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+
+import static com.moneytransfer.domain.entities.Account.checkAmount;
+
+public class ConditionalUpdateAccountServiceImpl implements AccountService {
+
+    private BaseDao<Account> accountDao;
+    private BalanceDao balanceDao;
+    private UnitOfWork unitOfWork;
+    private RetryExecutor retryExecutor;
+
+    public ConditionalUpdateAccountServiceImpl(@NonNull final BaseDao<Account> accountDao,
+                                               @NonNull final BalanceDao balanceDao,
+                                               @NonNull final UnitOfWork unitOfWork,
+                                               @NonNull final RetryExecutor retryExecutor) {
+        this.accountDao = accountDao;
+        this.balanceDao = balanceDao;
+        this.unitOfWork = unitOfWork;
+        this.retryExecutor = retryExecutor;
+    }
+
+    @Override
+    public Account create(@NonNull final String owner) throws Exception {
+        return this.accountDao.save(new Account(owner));
+    }
+
+    @Override
+    public Account find(@NonNull final String accountNumber) throws Exception {
+        return this.accountDao.findById(accountNumber);
+    }
+
+    @Override
+    public Account deposit(@NonNull final String accountNumber,
+                           @NonNull final BigDecimal amount) throws Exception {
+
+        final BigDecimal value = checkAmount(amount, "deposit");
+
+        return this.retryExecutor.execute(() -> this.unitOfWork.execute(() -> {
+            this.balanceDao.credit(accountNumber, value);
+
+            return this.accountDao.findById(accountNumber);
+        }));
+    }
+
+    @Override
+    public Account withdraw(@NonNull final String accountNumber,
+                            @NonNull final BigDecimal amount) throws Exception {
+
+        final BigDecimal value = checkAmount(amount, "withdraw");
+
+        return this.retryExecutor.execute(() -> this.unitOfWork.execute(() -> {
+            this.balanceDao.debit(accountNumber, value);
+
+            return this.accountDao.findById(accountNumber);
+        }));
+    }
+}
@@ -0,0 +1,139 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.exceptions.SameAccountTransferException;
+import com.moneytransfer.domain.repository.BalanceDao;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.service.retry.RetryExecutor;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.moneytransfer.domain.entities.Account.checkAmount;
+
+/**
+ * Rows are updated in account number order, so opposite transfers cannot deadlock.
+ */
+public class ConditionalUpdateTransactionServiceImpl implements TransactionService {
+
+    private BaseDao<Account> accountDao;
+    private BalanceDao balanceDao;
+    private BaseDao<Transaction> transactionDao;
+    private UnitOfWork unitOfWork;
+    private RetryExecutor retryExecutor;
+
+    public ConditionalUpdateTransactionServiceImpl(@NonNull final BaseDao<Account> accountDao,
+                                                   @NonNull final BalanceDao balanceDao,
+                                                   @NonNull final BaseDao<Transaction> transactionDao,
+                                                   @NonNull final UnitOfWork unitOfWork,
+                                                   @NonNull final RetryExecutor retryExecutor) {
+        this.accountDao = accountDao;
+        this.balanceDao = balanceDao;
+        this.transactionDao = transactionDao;
+        this.unitOfWork = unitOfWork;
+        this.retryExecutor = retryExecutor;
+    }
+
+    @Override
+    public Transaction transfer(@NonNull final String originAccountNumber,
+                                @NonNull final String destinationAccountNumber,
+                                @NonNull final BigDecimal amount) throws Exception {
+
+        if (originAccountNumber.equals(destinationAccountNumber)) {
+            throw new SameAccountTransferException();
+        }
+
+        final BigDecimal value = checkAmount(amount, "withdraw");
+
+        return this.retryExecutor.execute(() -> this.unitOfWork.execute(() -> {
+            if (originAccountNumber.compareTo(destinationAccountNumber) < 0) {
+                try {
+                    this.balanceDao.debit(originAccountNumber, value);
+                } catch (IllegalArgumentException e) {
+                    // an unknown destination is reported before the origin balance, as in TransactionServiceImpl
+                    this.accountDao.findById(destinationAccountNumber);
+                    throw e;
+                }
+
+                this.balanceDao.credit(destinationAccountNumber, value);
+            } else {
+                this.balanceDao.credit(destinationAccountNumber, value);
+                this.balanceDao.debit(originAccountNumber, value);
+            }
+
+            final Account origin = this.accountDao.findById(originAccountNumber);
+            final Account destination = this.accountDao.findById(destinationAccountNumber);
+
+            return this.transactionDao.save(new Transaction(origin, destination, value));
+        }));
+    }
+
+    /**
+     * The destination is credited first, so an unknown destination is reported before the origin balance.
+     */
+    @Override
+    public List<TransferResult> transfer(@NonNull final List<TransferRequest> transfers,
+                                         @NonNull final BatchMode mode) throws Exception {
+
+        return TransferBatch.execute(transfers, mode, chunk -> this.retryExecutor.execute(() ->
+            this.unitOfWork.execute(() -> {
+                final List<TransferResult> results = new ArrayList<>(chunk.size());
+                final List<Integer> applied = new ArrayList<>(chunk.size());
+
+                for (int i = 0; i < chunk.size(); i++) {
+                    final TransferRequest transfer = chunk.get(i);
+                    final BigDecimal value = checkAmount(transfer.getAmount(), "withdraw");
+
+                    try {
+                        this.balanceDao.credit(transfer.getDestinationAccountNumber(), value);
+
+                        try {
+                            this.balanceDao.debit(transfer.getOriginAccountNumber(), value);
+                        } catch (IllegalArgumentException | NoSuchElementException e) {
+                            this.balanceDao.debit(transfer.getDestinationAccountNumber(), value);
+                            throw e;
+                        }
+
+                        results.add(null);
+                        applied.add(i);
+                    } catch (IllegalArgumentException | NoSuchElementException e) {
+                        results.add(TransferBatch.failure(e, mode, i));
+                    }
+                }
+
+                final Map<String, Account> accounts = new HashMap<>();
+
+                for (final Integer i : applied) {
+                    final TransferRequest transfer = chunk.get(i);
+                    final Transaction transaction = new Transaction(
+                        findAccount(accounts, transfer.getOriginAccountNumber()),
+                        findAccount(accounts, transfer.getDestinationAccountNumber()),
+                        transfer.getAmount());
+
+                    results.set(i, TransferResult.completed(this.transactionDao.save(transaction)));
+                }
+
+                return results;
+            })));
+    }
+
+    private Account findAccount(final Map<String, Account> accounts, final String accountNumber) throws Exception {
+        Account account = accounts.get(accountNumber);
+
+        if (account == null) {
+            account = this.accountDao.findById(accountNumber);
+            accounts.put(accountNumber, account);
+        }
+
+        return account;
+    }
+}
@@ -0,0 +1,92 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.TransactionHistoryDao;
+import com.moneytransfer.domain.request.TransactionDirection;
+import com.moneytransfer.domain.request.TransactionQuery;
+import com.moneytransfer.domain.response.TransactionPage;
+import com.moneytransfer.domain.response.TransactionSummary;
+import lombok.NonNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TransactionHistoryService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 1000;
+
+    private final BaseDao<Account> accountDao;
+    private final TransactionHistoryDao historyDao;
+
+    public TransactionHistoryService(@NonNull final BaseDao<Account> accountDao,
+                                     @NonNull final TransactionHistoryDao historyDao) {
+        this.accountDao = accountDao;
+        this.historyDao = historyDao;
+    }
+
+    public TransactionPage find(@NonNull final TransactionQuery query) throws Exception {
+        if (query.getLimit() <= 0 || query.getLimit() > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit should be between 1 and " + MAX_LIMIT);
+        }
+
+        checkDates(query.getFrom(), query.getTo());
+
+        if (query.getMinAmount() != null && query.getMaxAmount() != null
+            && query.getMinAmount().compareTo(query.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("Minimum amount should not be greater than maximum amount");
+        }
+
+        this.accountDao.findById(query.getAccountNumber());
+
+        final int limit = query.getLimit();
+        final List<TransactionSummary> transactions = query.getDirection() != null
+            ? this.historyDao.findByAccount(query, query.getDirection(), limit + 1)
+            : merge(this.historyDao.findByAccount(query, TransactionDirection.OUTGOING, limit + 1),
+                this.historyDao.findByAccount(query, TransactionDirection.INCOMING, limit + 1), limit + 1);
+
+        if (transactions.size() <= limit) {
+            return new TransactionPage(transactions, null);
+        }
+
+        return new TransactionPage(new ArrayList<>(transactions.subList(0, limit)),
+            transactions.get(limit - 1).cursor().encode());
+    }
+
+    public long export(final LocalDateTime from,
+                       final LocalDateTime to,
+                       @NonNull final TransactionHistoryDao.Sink sink) throws Exception {
+        checkDates(from, to);
+
+        return this.historyDao.export(from, to, sink);
+    }
+
+    private static void checkDates(final LocalDateTime from, final LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("Start date should be before end date");
+        }
+    }
+
+    private static List<TransactionSummary> merge(final List<TransactionSummary> outgoing,
+                                                  final List<TransactionSummary> incoming,
+                                                  final int limit) {
+        final List<TransactionSummary> merged = new ArrayList<>(Math.min(limit, outgoing.size() + incoming.size()));
+        int o = 0;
+        int i = 0;
+
+        while (merged.size() < limit && (o < outgoing.size() || i < incoming.size())) {
+            final boolean takeOutgoing = i == incoming.size() || o < outgoing.size()
+                && TransactionSummary.NEWEST_FIRST.compare(outgoing.get(o), incoming.get(i)) <= 0;
+
+            if (takeOutgoing) {
+                merged.add(outgoing.get(o++));
+            } else {
+                merged.add(incoming.get(i++));
+            }
+        }
+
+        return merged;
+    }
+}
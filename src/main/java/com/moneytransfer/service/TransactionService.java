@@ -1,13 +1,22 @@
 package com.moneytransfer.service;
 
 import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
 import lombok.NonNull;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public interface TransactionService {
 
     Transaction transfer(@NonNull final String originAccountNumber,
                          @NonNull final String destinationAccountNumber,
                          @NonNull final BigDecimal amount) throws Exception;
+
+    /**
+     * Returns one result per transfer, in the order of the request.
+     */
+    List<TransferResult> transfer(@NonNull final List<TransferRequest> transfers,
+                                  @NonNull final BatchMode mode) throws Exception;
 }
@@ -1,37 +1,120 @@
 package com.moneytransfer.service;
 
 import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
 import com.moneytransfer.domain.entities.Transaction;
 import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.DirectUnitOfWork;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.service.lock.LockManager;
+import com.moneytransfer.service.lock.StripedLockManager;
+import com.moneytransfer.service.retry.RetryExecutor;
 import lombok.NonNull;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
 
 public class TransactionServiceImpl implements TransactionService {
 
     private BaseDao<Account> accountDao;
     private BaseDao<Transaction> transactionDao;
+    private UnitOfWork unitOfWork;
+    private LockManager lockManager;
+    private RetryExecutor retryExecutor;
 
     public TransactionServiceImpl(@NonNull final BaseDao<Account> accountDao,
                                   @NonNull final BaseDao<Transaction> transactionDao) {
+        this(accountDao, transactionDao, new DirectUnitOfWork(), new StripedLockManager(), new RetryExecutor());
+    }
+
+    public TransactionServiceImpl(@NonNull final BaseDao<Account> accountDao,
+                                  @NonNull final BaseDao<Transaction> transactionDao,
+                                  @NonNull final UnitOfWork unitOfWork,
+                                  @NonNull final LockManager lockManager,
+                                  @NonNull final RetryExecutor retryExecutor) {
         this.accountDao = accountDao;
         this.transactionDao = transactionDao;
+        this.unitOfWork = unitOfWork;
+        this.lockManager = lockManager;
+        this.retryExecutor = retryExecutor;
     }
 
     @Override
-    public synchronized Transaction transfer(@NonNull final String originAccountNumber,
-                                             @NonNull final String destinationAccountNumber,
-                                             @NonNull final BigDecimal amount) throws Exception {
+    public Transaction transfer(@NonNull final String originAccountNumber,
+                                @NonNull final String destinationAccountNumber,
+                                @NonNull final BigDecimal amount) throws Exception {
+
+        return this.retryExecutor.execute(() -> this.lockManager.execute(
+            asList(originAccountNumber, destinationAccountNumber), () -> this.unitOfWork.execute(() -> {
+                final Account origin = this.accountDao.findById(originAccountNumber);
+                final Account destination = this.accountDao.findById(destinationAccountNumber);
 
-        final Account origin = this.accountDao.findById(originAccountNumber);
-        final Account destination = this.accountDao.findById(destinationAccountNumber);
+                final Transaction transaction = new Transaction(origin, destination, amount);
+                transaction.transfer();
+
+                this.accountDao.save(origin);
+                this.accountDao.save(destination);
+
+                return this.transactionDao.save(transaction);
+            })));
+    }
+
+    /**
+     * Each account is written once per chunk, however many transfers touch it.
+     */
+    @Override
+    public List<TransferResult> transfer(@NonNull final List<TransferRequest> transfers,
+                                         @NonNull final BatchMode mode) throws Exception {
+
+        return TransferBatch.execute(transfers, mode, chunk -> this.retryExecutor.execute(() ->
+            this.lockManager.execute(TransferBatch.accountNumbers(chunk), () -> this.unitOfWork.execute(() -> {
+                final Map<String, Account> accounts = new HashMap<>();
+                final TransferNetting netting = new TransferNetting(
+                    accountNumber -> findAccount(accounts, accountNumber).getBalance());
+
+                final List<TransferResult> results = TransferBatch.apply(chunk, mode, transfer -> {
+                    netting.add(transfer);
+
+                    return new Transaction(accounts.get(transfer.getOriginAccountNumber()),
+                        accounts.get(transfer.getDestinationAccountNumber()), transfer.getAmount());
+                });
+
+                for (final Map.Entry<String, Money> delta : netting.getDeltas().entrySet()) {
+                    final Account account = accounts.get(delta.getKey());
+
+                    if (delta.getValue().signum() > 0) {
+                        account.deposit(delta.getValue());
+                    } else {
+                        account.withdraw(delta.getValue().negate());
+                    }
+
+                    this.accountDao.save(account);
+                }
+
+                for (final TransferResult result : results) {
+                    if (result.isCompleted()) {
+                        this.transactionDao.save(result.getTransaction());
+                    }
+                }
+
+                return results;
+            }))));
+    }
 
-        final Transaction transaction = new Transaction(origin, destination, amount);
-        transaction.transfer();
+    private Account findAccount(final Map<String, Account> accounts, final String accountNumber) throws Exception {
+        Account account = accounts.get(accountNumber);
 
-        this.accountDao.save(origin);
-        this.accountDao.save(destination);
+        if (account == null) {
+            account = this.accountDao.findById(accountNumber);
+            accounts.put(accountNumber, account);
+        }
 
-        return this.transactionDao.save(transaction);
+        return account;
     }
 }
@@ -0,0 +1,183 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.exceptions.InsufficientFundsException;
+import com.moneytransfer.domain.exceptions.SameAccountTransferException;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.domain.response.TransferStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.moneytransfer.domain.entities.Account.checkAmount;
+
+/**
+ * An all-or-nothing batch runs as a single chunk; a best-effort batch runs in chunks of {@link #CHUNK_SIZE} transfers.
+ */
+public final class TransferBatch {
+
+    static final int MAX_SIZE = 10_000;
+    static final int CHUNK_SIZE = 1_000;
+
+    private TransferBatch() { }
+
+    public static List<TransferResult> execute(final List<TransferRequest> transfers,
+                                               final BatchMode mode,
+                                               final ChunkWork work) throws Exception {
+
+        if (transfers.isEmpty() || transfers.size() > MAX_SIZE) {
+            throw new IllegalArgumentException("Batch should contain between 1 and " + MAX_SIZE + " transfers");
+        }
+
+        final TransferResult[] results = new TransferResult[transfers.size()];
+        final List<Integer> valid = new ArrayList<>(transfers.size());
+
+        for (int i = 0; i < transfers.size(); i++) {
+            results[i] = validate(transfers.get(i));
+
+            if (results[i] == null) {
+                valid.add(i);
+            }
+        }
+
+        if (mode == BatchMode.ALL_OR_NOTHING && valid.size() < transfers.size()) {
+            return rollBack(results);
+        }
+
+        final int chunkSize = mode == BatchMode.ALL_OR_NOTHING ? valid.size() : CHUNK_SIZE;
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            final List<Integer> indexes = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            final List<TransferRequest> chunk = indexes.stream().map(transfers::get).collect(Collectors.toList());
+
+            try {
+                final List<TransferResult> chunkResults = work.execute(chunk);
+
+                for (int i = 0; i < indexes.size(); i++) {
+                    results[indexes.get(i)] = chunkResults.get(i);
+                }
+            } catch (AbortedException e) {
+                results[indexes.get(e.position)] = e.result;
+                return rollBack(results);
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    public static List<TransferResult> apply(final List<TransferRequest> chunk,
+                                             final BatchMode mode,
+                                             final TransferWork work) throws Exception {
+
+        final List<TransferResult> results = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                results.add(TransferResult.completed(work.execute(chunk.get(i))));
+            } catch (IllegalArgumentException | NoSuchElementException e) {
+                results.add(failure(e, mode, i));
+            }
+        }
+
+        return results;
+    }
+
+    static TransferResult failure(final RuntimeException e, final BatchMode mode, final int position)
+        throws AbortedException {
+
+        final TransferResult failure = TransferResult.failed(status(e), e.getMessage());
+
+        if (mode == BatchMode.ALL_OR_NOTHING) {
+            throw new AbortedException(position, failure);
+        }
+
+        return failure;
+    }
+
+    static Set<String> accountNumbers(final List<TransferRequest> chunk) {
+        final Set<String> accountNumbers = new LinkedHashSet<>();
+
+        for (final TransferRequest transfer : chunk) {
+            accountNumbers.add(transfer.getOriginAccountNumber());
+            accountNumbers.add(transfer.getDestinationAccountNumber());
+        }
+
+        return accountNumbers;
+    }
+
+    private static TransferResult validate(final TransferRequest transfer) {
+        if (transfer == null || transfer.getOriginAccountNumber() == null
+            || transfer.getDestinationAccountNumber() == null || transfer.getAmount() == null) {
+            return TransferResult.failed(TransferStatus.INVALID_REQUEST,
+                "Transfer should contain origin account, destination account and amount");
+        }
+
+        if (transfer.getOriginAccountNumber().equals(transfer.getDestinationAccountNumber())) {
+            return TransferResult.failed(TransferStatus.SAME_ACCOUNT, new SameAccountTransferException().getMessage());
+        }
+
+        try {
+            checkAmount(transfer.getAmount(), "withdraw");
+        } catch (IllegalArgumentException e) {
+            return TransferResult.failed(TransferStatus.INVALID_REQUEST, e.getMessage());
+        }
+
+        return null;
+    }
+
+    private static TransferStatus status(final RuntimeException e) {
+        if (e instanceof InsufficientFundsException) {
+            return TransferStatus.INSUFFICIENT_FUNDS;
+        }
+
+        if (e instanceof SameAccountTransferException) {
+            return TransferStatus.SAME_ACCOUNT;
+        }
+
+        if (e instanceof NoSuchElementException) {
+            return TransferStatus.UNKNOWN_ACCOUNT;
+        }
+
+        return TransferStatus.INVALID_REQUEST;
+    }
+
+    private static List<TransferResult> rollBack(final TransferResult[] results) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = TransferResult.failed(TransferStatus.ROLLED_BACK, null);
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    public interface ChunkWork {
+
+        List<TransferResult> execute(List<TransferRequest> chunk) throws Exception;
+    }
+
+    public interface TransferWork {
+
+        Transaction execute(TransferRequest transfer) throws Exception;
+    }
+
+    static class AbortedException extends Exception {
+
+        private static final long serialVersionUID = 4185340113460279628L;
+
+        private final int position;
+        private final TransferResult result;
+
+        AbortedException(final int position, final TransferResult result) {
+            super(null, null, false, false);
+            this.position = position;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.exceptions.InsufficientFundsException;
+import com.moneytransfer.domain.request.TransferRequest;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.moneytransfer.domain.entities.Account.checkAmount;
+
+/**
+ * Transfers are checked in request order against the balances changed by the transfers accepted before them.
+ */
+public final class TransferNetting {
+
+    private final BalanceLookup lookup;
+    private final Map<String, Money> balances = new HashMap<>();
+    private final Map<String, Money> deltas = new LinkedHashMap<>();
+
+    public TransferNetting(final BalanceLookup lookup) {
+        this.lookup = lookup;
+    }
+
+    public void add(final TransferRequest transfer) throws Exception {
+        final Money amount = Money.of(checkAmount(transfer.getAmount(), "withdraw"));
+        final Money originBalance = balanceOf(transfer.getOriginAccountNumber());
+        final Money destinationBalance = balanceOf(transfer.getDestinationAccountNumber());
+
+        if (originBalance.compareTo(amount) < 0) {
+            throw new InsufficientFundsException();
+        }
+
+        final Money originChanged = originBalance.minus(amount);
+        final Money destinationChanged = destinationBalance.plus(amount);
+
+        change(transfer.getOriginAccountNumber(), originChanged, amount.negate());
+        change(transfer.getDestinationAccountNumber(), destinationChanged, amount);
+    }
+
+    /**
+     * Accounts whose changes cancel out are left out.
+     */
+    public Map<String, Money> getDeltas() {
+        final Map<String, Money> deltas = new LinkedHashMap<>();
+
+        this.deltas.forEach((accountNumber, delta) -> {
+            if (delta.signum() != 0) {
+                deltas.put(accountNumber, delta);
+            }
+        });
+
+        return deltas;
+    }
+
+    private Money balanceOf(final String accountNumber) throws Exception {
+        Money balance = this.balances.get(accountNumber);
+
+        if (balance == null) {
+            balance = this.lookup.balanceOf(accountNumber);
+            this.balances.put(accountNumber, balance);
+        }
+
+        return balance;
+    }
+
+    private void change(final String accountNumber, final Money balance, final Money delta) {
+        this.balances.put(accountNumber, balance);
+        this.deltas.merge(accountNumber, delta, Money::plus);
+    }
+
+    public interface BalanceLookup {
+
+        Money balanceOf(String accountNumber) throws Exception;
+    }
+}
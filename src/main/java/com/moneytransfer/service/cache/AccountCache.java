@@ -0,0 +1,167 @@
+package com.moneytransfer.service.cache;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.utils.Identifiers;
+import lombok.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An account loaded while an invalidation happened in its segment is not cached, since it may have been read before
+ * the change was committed.
+ */
+public class AccountCache {
+
+    public static final int DEFAULT_CAPACITY = 100_000;
+    public static final int DEFAULT_SEGMENTS = 64;
+
+    private final Segment[] segments;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AccountCache(final int capacity) {
+        this(capacity, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * @param capacity maximum number of accounts, shared evenly by the segments
+     * @param segments number of segments, rounded up to the next power of two and down to the capacity
+     */
+    public AccountCache(final int capacity, final int segments) {
+        if (capacity <= 0 || segments <= 0) {
+            throw new IllegalArgumentException("Account cache capacity and segments should be greater than zero");
+        }
+
+        int size = segments == 1 ? 1 : Integer.highestOneBit(segments - 1) << 1;
+
+        while (size > capacity) {
+            size >>= 1;
+        }
+
+        this.segments = new Segment[size];
+
+        for (int i = 0; i < size; i++) {
+            this.segments[i] = new Segment((capacity + size - 1) / size);
+        }
+
+        this.mask = size - 1;
+    }
+
+    public Account get(@NonNull final String accountNumber, @NonNull final Loader loader) throws Exception {
+        if (!Identifiers.isValid(accountNumber)) {
+            this.misses.increment();
+
+            return loader.load(accountNumber);
+        }
+
+        final Segment segment = segmentOf(accountNumber);
+        final long invalidations;
+
+        synchronized (segment) {
+            final Account account = segment.accounts.get(accountNumber);
+
+            if (account != null) {
+                this.hits.increment();
+
+                return account;
+            }
+
+            invalidations = segment.invalidations;
+        }
+
+        this.misses.increment();
+        final Account account = loader.load(accountNumber);
+
+        synchronized (segment) {
+            if (segment.invalidations == invalidations && accountNumber.equals(account.getNumber())) {
+                segment.accounts.put(accountNumber, account);
+            }
+        }
+
+        return account;
+    }
+
+    public void invalidate(@NonNull final String accountNumber) {
+        final String key = canonical(accountNumber);
+        final Segment segment = segmentOf(key);
+
+        synchronized (segment) {
+            segment.invalidations++;
+            segment.accounts.remove(key);
+        }
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.accounts.size();
+            }
+        }
+
+        return size;
+    }
+
+    private static String canonical(final String accountNumber) {
+        if (Identifiers.isValid(accountNumber)) {
+            return accountNumber;
+        }
+
+        try {
+            return UUID.fromString(accountNumber).toString();
+        } catch (IllegalArgumentException e) {
+            return accountNumber;
+        }
+    }
+
+    private Segment segmentOf(final String accountNumber) {
+        final int hash = accountNumber.hashCode();
+
+        return this.segments[(hash ^ (hash >>> 16)) & this.mask];
+    }
+
+    public interface Loader {
+
+        Account load(String accountNumber) throws Exception;
+    }
+
+    private final class Segment {
+
+        private final Map<String, Account> accounts;
+        private long invalidations;
+
+        private Segment(final int capacity) {
+            this.accounts = new LinkedHashMap<String, Account>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Account> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+
+                    return false;
+                }
+            };
+        }
+    }
+}
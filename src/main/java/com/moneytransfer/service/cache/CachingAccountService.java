@@ -0,0 +1,51 @@
+package com.moneytransfer.service.cache;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.service.AccountService;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+
+/**
+ * The account is invalidated whether the change succeeded or not.
+ */
+public class CachingAccountService implements AccountService {
+
+    private final AccountService delegate;
+    private final AccountCache cache;
+
+    public CachingAccountService(@NonNull final AccountService delegate, @NonNull final AccountCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Account create(@NonNull final String owner) throws Exception {
+        return this.delegate.create(owner);
+    }
+
+    @Override
+    public Account find(@NonNull final String accountNumber) throws Exception {
+        return this.cache.get(accountNumber, this.delegate::find);
+    }
+
+    @Override
+    public Account deposit(@NonNull final String accountNumber,
+                           @NonNull final BigDecimal amount) throws Exception {
+        try {
+            return this.delegate.deposit(accountNumber, amount);
+        } finally {
+            this.cache.invalidate(accountNumber);
+        }
+    }
+
+    @Override
+    public Account withdraw(@NonNull final String accountNumber,
+                            @NonNull final BigDecimal amount) throws Exception {
+        try {
+            return this.delegate.withdraw(accountNumber, amount);
+        } finally {
+            this.cache.invalidate(accountNumber);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.moneytransfer.service.cache;
+
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.service.BatchMode;
+import com.moneytransfer.service.TransactionService;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CachingTransactionService implements TransactionService {
+
+    private final TransactionService delegate;
+    private final AccountCache cache;
+
+    public CachingTransactionService(@NonNull final TransactionService delegate, @NonNull final AccountCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Transaction transfer(@NonNull final String originAccountNumber,
+                                @NonNull final String destinationAccountNumber,
+                                @NonNull final BigDecimal amount) throws Exception {
+        try {
+            return this.delegate.transfer(originAccountNumber, destinationAccountNumber, amount);
+        } finally {
+            this.cache.invalidate(originAccountNumber);
+            this.cache.invalidate(destinationAccountNumber);
+        }
+    }
+
+    @Override
+    public List<TransferResult> transfer(@NonNull final List<TransferRequest> transfers,
+                                         @NonNull final BatchMode mode) throws Exception {
+        try {
+            return this.delegate.transfer(transfers, mode);
+        } finally {
+            for (final TransferRequest transfer : transfers) {
+                if (transfer != null) {
+                    invalidate(transfer.getOriginAccountNumber());
+                    invalidate(transfer.getDestinationAccountNumber());
+                }
+            }
+        }
+    }
+
+    private void invalidate(final String accountNumber) {
+        if (accountNumber != null) {
+            this.cache.invalidate(accountNumber);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.moneytransfer.service.lock;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+import static java.util.Collections.singletonList;
+
+public interface LockManager {
+
+    <R> R execute(Collection<String> accountNumbers, Callable<R> work) throws Exception;
+
+    default <R> R execute(final String accountNumber, final Callable<R> work) throws Exception {
+        return execute(singletonList(accountNumber), work);
+    }
+}
@@ -0,0 +1,17 @@
+package com.moneytransfer.service.lock;
+
+import lombok.Value;
+
+@Value
+public class LockStripeStatistics {
+
+    private int stripe;
+
+    private long acquisitions;
+
+    private long contentions;
+
+    private long timeouts;
+
+    private long waitNanos;
+}
@@ -0,0 +1,10 @@
+package com.moneytransfer.service.lock;
+
+public class LockTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 2630361460924818514L;
+
+    public LockTimeoutException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,190 @@
+package com.moneytransfer.service.lock;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stripes are acquired in ascending index order, which keeps multi-account operations free of deadlocks.
+ */
+public class StripedLockManager implements LockManager {
+
+    public static final int DEFAULT_STRIPES = 1024;
+
+    private final ReentrantLock[] locks;
+    private final LongAdder[] acquisitions;
+    private final LongAdder[] contentions;
+    private final LongAdder[] timeouts;
+    private final LongAdder[] waitNanos;
+    private final int mask;
+    private final long timeoutNanos;
+
+    public StripedLockManager() {
+        this(DEFAULT_STRIPES, 0);
+    }
+
+    /**
+     * @param stripes       number of stripes, rounded up to the next power of two
+     * @param timeoutMillis maximum time to wait for all locks of an operation, or zero to wait forever
+     */
+    public StripedLockManager(final int stripes, final long timeoutMillis) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Number of lock stripes should be greater than zero");
+        }
+
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Lock timeout should not be negative");
+        }
+
+        final int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        this.acquisitions = new LongAdder[size];
+        this.contentions = new LongAdder[size];
+        this.timeouts = new LongAdder[size];
+        this.waitNanos = new LongAdder[size];
+
+        for (int i = 0; i < size; i++) {
+            this.locks[i] = new ReentrantLock();
+            this.acquisitions[i] = new LongAdder();
+            this.contentions[i] = new LongAdder();
+            this.timeouts[i] = new LongAdder();
+            this.waitNanos[i] = new LongAdder();
+        }
+
+        this.mask = size - 1;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    @Override
+    public <R> R execute(@NonNull final Collection<String> accountNumbers,
+                         @NonNull final Callable<R> work) throws Exception {
+
+        final int[] stripes = stripesOf(accountNumbers);
+        final long deadline = System.nanoTime() + this.timeoutNanos;
+        int acquired = 0;
+
+        try {
+            for (final int stripe : stripes) {
+                acquire(stripe, deadline);
+                acquired++;
+            }
+
+            return work.call();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                this.locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    public int getStripes() {
+        return this.locks.length;
+    }
+
+    public List<LockStripeStatistics> getStatistics() {
+        final List<LockStripeStatistics> statistics = new ArrayList<>(this.locks.length);
+
+        for (int i = 0; i < this.locks.length; i++) {
+            statistics.add(new LockStripeStatistics(i, this.acquisitions[i].sum(), this.contentions[i].sum(),
+                this.timeouts[i].sum(), this.waitNanos[i].sum()));
+        }
+
+        return statistics;
+    }
+
+    public long getAcquisitions() {
+        return sum(this.acquisitions);
+    }
+
+    public long getContentions() {
+        return sum(this.contentions);
+    }
+
+    public long getTimeouts() {
+        return sum(this.timeouts);
+    }
+
+    public long getWaitNanos() {
+        return sum(this.waitNanos);
+    }
+
+    public long getMaxStripeContentions() {
+        long max = 0;
+
+        for (final LongAdder contentions : this.contentions) {
+            max = Math.max(max, contentions.sum());
+        }
+
+        return max;
+    }
+
+    int stripeOf(final String accountNumber) {
+        final int hash = accountNumber.hashCode();
+
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+
+    private int[] stripesOf(final Collection<String> accountNumbers) {
+        final int[] stripes = new int[accountNumbers.size()];
+        int size = 0;
+
+        for (final String accountNumber : accountNumbers) {
+            if (accountNumber == null) {
+                throw new IllegalArgumentException("Account number should not be null");
+            }
+
+            stripes[size++] = stripeOf(accountNumber);
+        }
+
+        Arrays.sort(stripes, 0, size);
+
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || stripes[distinct - 1] != stripes[i]) {
+                stripes[distinct++] = stripes[i];
+            }
+        }
+
+        return distinct == stripes.length ? stripes : Arrays.copyOf(stripes, distinct);
+    }
+
+    private static long sum(final LongAdder[] counters) {
+        long sum = 0;
+
+        for (final LongAdder counter : counters) {
+            sum += counter.sum();
+        }
+
+        return sum;
+    }
+
+    private void acquire(final int stripe, final long deadline) throws InterruptedException {
+        final ReentrantLock lock = this.locks[stripe];
+        this.acquisitions[stripe].increment();
+
+        if (lock.tryLock()) {
+            return;
+        }
+
+        this.contentions[stripe].increment();
+        final long start = System.nanoTime();
+
+        try {
+            if (this.timeoutNanos == 0) {
+                lock.lockInterruptibly();
+            } else if (!lock.tryLock(deadline - start, TimeUnit.NANOSECONDS)) {
+                this.timeouts[stripe].increment();
+                throw new LockTimeoutException("Timed out waiting for account lock");
+            }
+        } finally {
+            this.waitNanos[stripe].add(System.nanoTime() - start);
+        }
+    }
+}
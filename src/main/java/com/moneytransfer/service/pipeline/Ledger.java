@@ -0,0 +1,181 @@
+package com.moneytransfer.service.pipeline;
+
+import com.lmax.disruptor.EventHandler;
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.exceptions.SameAccountTransferException;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.service.TransferBatch;
+import com.moneytransfer.service.TransferNetting;
+import com.moneytransfer.utils.Identifiers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.moneytransfer.domain.entities.Account.checkAmount;
+
+/**
+ * Runs on the pipeline thread and keeps every account it touched in memory. When the writer fails to store a batch,
+ * the accounts are dropped and read again (see {@link LedgerWriter#getEpoch}).
+ */
+final class Ledger implements EventHandler<TransferCommand> {
+
+    private final BaseDao<Account> accountDao;
+    private final LedgerWriter writer;
+    private final Map<String, Account> accounts = new HashMap<>();
+    private long epoch;
+
+    Ledger(final BaseDao<Account> accountDao, final LedgerWriter writer) {
+        this.accountDao = accountDao;
+        this.writer = writer;
+    }
+
+    @Override
+    public void onEvent(final TransferCommand command, final long sequence, final boolean endOfBatch) {
+        final long writerEpoch = this.writer.getEpoch();
+
+        if (writerEpoch != this.epoch) {
+            this.accounts.clear();
+            this.epoch = writerEpoch;
+        }
+
+        command.epoch = writerEpoch;
+
+        try {
+            switch (command.type) {
+                case TRANSFER:
+                    command.result = transfer(command);
+                    break;
+                case TRANSFER_BATCH:
+                    command.result = transferBatch(command);
+                    break;
+                case DEPOSIT:
+                    command.result = deposit(command);
+                    break;
+                case WITHDRAW:
+                    command.result = withdraw(command);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown command " + command.type);
+            }
+        } catch (Exception e) {
+            command.fail(e);
+        }
+    }
+
+    private Transaction transfer(final TransferCommand command) throws Exception {
+        final Account origin = account(command.accountNumber);
+        final Account destination = account(command.destinationAccountNumber);
+
+        if (origin.getNumber().equals(destination.getNumber())) {
+            throw new SameAccountTransferException();
+        }
+
+        final Money amount = Money.of(checkAmount(command.amount, "withdraw"));
+        final Account debited = copy(origin);
+        final Account credited = copy(destination);
+        debited.withdraw(amount);
+        credited.deposit(amount);
+
+        this.accounts.put(debited.getNumber(), debited);
+        this.accounts.put(credited.getNumber(), credited);
+        command.deltas.put(debited.getNumber(), amount.negate());
+        command.deltas.put(credited.getNumber(), amount);
+
+        final Transaction transaction = new Transaction(copy(debited), copy(credited), command.amount);
+        command.transactions.add(transaction);
+
+        return transaction;
+    }
+
+    /**
+     * An all-or-nothing chunk that fails leaves the balances kept here unchanged.
+     */
+    private List<TransferResult> transferBatch(final TransferCommand command) throws Exception {
+        final TransferNetting netting = new TransferNetting(accountNumber -> account(accountNumber).getBalance());
+        final Map<String, Account> copies = new HashMap<>();
+
+        final List<TransferResult> results = TransferBatch.apply(command.transfers, command.mode, transfer -> {
+            netting.add(transfer);
+
+            return new Transaction(copy(copies, transfer.getOriginAccountNumber()),
+                copy(copies, transfer.getDestinationAccountNumber()), transfer.getAmount());
+        });
+
+        for (final Map.Entry<String, Money> delta : netting.getDeltas().entrySet()) {
+            change(this.accounts.get(delta.getKey()), delta.getValue());
+            change(copies.get(delta.getKey()), delta.getValue());
+            command.deltas.put(delta.getKey(), delta.getValue());
+        }
+
+        for (final TransferResult result : results) {
+            if (result.isCompleted()) {
+                command.transactions.add(result.getTransaction());
+            }
+        }
+
+        return results;
+    }
+
+    private Account deposit(final TransferCommand command) throws Exception {
+        final Account account = account(command.accountNumber);
+        final Money amount = Money.of(checkAmount(command.amount, "deposit"));
+        account.deposit(amount);
+
+        command.deltas.put(account.getNumber(), amount);
+
+        return copy(account);
+    }
+
+    private Account withdraw(final TransferCommand command) throws Exception {
+        final Account account = account(command.accountNumber);
+        final Money amount = Money.of(checkAmount(command.amount, "withdraw"));
+        account.withdraw(amount);
+
+        command.deltas.put(account.getNumber(), amount.negate());
+
+        return copy(account);
+    }
+
+    private Account account(final String accountNumber) throws Exception {
+        if (!Identifiers.isValid(accountNumber)) {
+            throw new NoSuchElementException("No information found for given identifier");
+        }
+
+        Account account = this.accounts.get(accountNumber);
+
+        if (account == null) {
+            account = this.accountDao.findById(accountNumber);
+            this.accounts.put(account.getNumber(), account);
+        }
+
+        return account;
+    }
+
+    private Account copy(final Map<String, Account> copies, final String accountNumber) throws Exception {
+        Account copy = copies.get(accountNumber);
+
+        if (copy == null) {
+            copy = copy(account(accountNumber));
+            copies.put(accountNumber, copy);
+        }
+
+        return copy;
+    }
+
+    private static Account copy(final Account account) {
+        return new Account(account.getNumber(), account.getOwner(), account.getBalance(), account.getVersion());
+    }
+
+    private static void change(final Account account, final Money delta) {
+        if (delta.signum() > 0) {
+            account.deposit(delta);
+        } else {
+            account.withdraw(delta.negate());
+        }
+    }
+}
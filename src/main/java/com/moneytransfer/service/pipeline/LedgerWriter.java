@@ -0,0 +1,108 @@
+package com.moneytransfer.service.pipeline;
+
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceReportingEventHandler;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.repository.BalanceDao;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the changes of the commands available at once in one unit of work. When that fails, the writer moves to a
+ * new epoch and the commands applied on the balances of the failed batch are failed too.
+ */
+@Slf4j
+final class LedgerWriter implements SequenceReportingEventHandler<TransferCommand> {
+
+    static final int MAX_BATCH_SIZE = 1_000;
+
+    private final BalanceDao balanceDao;
+    private final BaseDao<Transaction> transactionDao;
+    private final UnitOfWork unitOfWork;
+    private final List<TransferCommand> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    private final Map<String, Money> deltas = new HashMap<>();
+    private final List<Transaction> transactions = new ArrayList<>();
+    private Sequence sequenceCallback;
+    private volatile long epoch;
+
+    LedgerWriter(final BalanceDao balanceDao,
+                 final BaseDao<Transaction> transactionDao,
+                 final UnitOfWork unitOfWork) {
+        this.balanceDao = balanceDao;
+        this.transactionDao = transactionDao;
+        this.unitOfWork = unitOfWork;
+    }
+
+    @Override
+    public void setSequenceCallback(final Sequence sequenceCallback) {
+        this.sequenceCallback = sequenceCallback;
+    }
+
+    @Override
+    public void onEvent(final TransferCommand command, final long sequence, final boolean endOfBatch) {
+        if (command.error == null && command.epoch != this.epoch) {
+            command.fail(new ConcurrentModificationException(
+                "Balances were read again after a storage error, please retry"));
+        }
+
+        if (command.error == null) {
+            this.batch.add(command);
+            command.deltas.forEach((accountNumber, delta) -> this.deltas.merge(accountNumber, delta, Money::plus));
+            this.transactions.addAll(command.transactions);
+        }
+
+        if (endOfBatch || this.batch.size() >= MAX_BATCH_SIZE) {
+            flush();
+            this.sequenceCallback.set(sequence);
+        }
+    }
+
+    /**
+     * Number of batches that could not be stored.
+     */
+    long getEpoch() {
+        return this.epoch;
+    }
+
+    private void flush() {
+        if (!this.deltas.isEmpty() || !this.transactions.isEmpty()) {
+            try {
+                this.unitOfWork.execute(() -> {
+                    for (final Map.Entry<String, Money> delta : this.deltas.entrySet()) {
+                        if (delta.getValue().signum() > 0) {
+                            this.balanceDao.credit(delta.getKey(), delta.getValue().toBigDecimal());
+                        } else if (delta.getValue().signum() < 0) {
+                            this.balanceDao.debit(delta.getKey(), delta.getValue().negate().toBigDecimal());
+                        }
+                    }
+
+                    for (final Transaction transaction : this.transactions) {
+                        this.transactionDao.save(transaction);
+                    }
+
+                    return null;
+                });
+            } catch (Exception e) {
+                log.error("Error storing {} commands, reading the balances of the transfer pipeline again",
+                    this.batch.size(), e);
+                this.epoch++;
+
+                for (final TransferCommand command : this.batch) {
+                    command.fail(new IllegalStateException("Transfer pipeline could not store the command", e));
+                }
+            }
+        }
+
+        this.batch.clear();
+        this.deltas.clear();
+        this.transactions.clear();
+    }
+}
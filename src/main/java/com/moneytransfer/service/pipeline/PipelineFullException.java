@@ -0,0 +1,10 @@
+package com.moneytransfer.service.pipeline;
+
+public class PipelineFullException extends RuntimeException {
+
+    private static final long serialVersionUID = -3176502291845934261L;
+
+    public PipelineFullException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.moneytransfer.service.pipeline;
+
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+
+import java.util.function.Supplier;
+
+/**
+ * Strategies lower in the list answer sooner but keep more CPU busy while the pipeline is idle.
+ */
+public enum PipelineWaitStrategy {
+
+    SLEEPING(SleepingWaitStrategy::new),
+    YIELDING(YieldingWaitStrategy::new),
+    BUSY_SPIN(BusySpinWaitStrategy::new);
+
+    private final Supplier<WaitStrategy> factory;
+
+    PipelineWaitStrategy(final Supplier<WaitStrategy> factory) {
+        this.factory = factory;
+    }
+
+    WaitStrategy create() {
+        return this.factory.get();
+    }
+}
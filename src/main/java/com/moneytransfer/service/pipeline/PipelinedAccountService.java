@@ -0,0 +1,40 @@
+package com.moneytransfer.service.pipeline;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.service.AccountService;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+
+public class PipelinedAccountService implements AccountService {
+
+    private final AccountService delegate;
+    private final TransferPipeline pipeline;
+
+    public PipelinedAccountService(@NonNull final AccountService delegate, @NonNull final TransferPipeline pipeline) {
+        this.delegate = delegate;
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public Account create(@NonNull final String owner) throws Exception {
+        return this.delegate.create(owner);
+    }
+
+    @Override
+    public Account find(@NonNull final String accountNumber) throws Exception {
+        return this.delegate.find(accountNumber);
+    }
+
+    @Override
+    public Account deposit(@NonNull final String accountNumber,
+                           @NonNull final BigDecimal amount) throws Exception {
+        return this.pipeline.deposit(accountNumber, amount);
+    }
+
+    @Override
+    public Account withdraw(@NonNull final String accountNumber,
+                            @NonNull final BigDecimal amount) throws Exception {
+        return this.pipeline.withdraw(accountNumber, amount);
+    }
+}
@@ -0,0 +1,65 @@
+package com.moneytransfer.service.pipeline;
+
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.service.BatchMode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A reused slot of the ring buffer, cleared by the replier once it answered the caller.
+ */
+final class TransferCommand {
+
+    enum Type {
+        TRANSFER,
+        TRANSFER_BATCH,
+        DEPOSIT,
+        WITHDRAW
+    }
+
+    Type type;
+    String accountNumber;
+    String destinationAccountNumber;
+    BigDecimal amount;
+    List<TransferRequest> transfers;
+    BatchMode mode;
+    CompletableFuture<Object> reply;
+
+    Object result;
+    Exception error;
+    long epoch;
+    final Map<String, Money> deltas = new HashMap<>();
+    final List<Transaction> transactions = new ArrayList<>();
+
+    void fail(final Exception error) {
+        this.result = null;
+        this.error = error;
+        this.deltas.clear();
+        this.transactions.clear();
+    }
+
+    void complete() {
+        if (this.error == null) {
+            this.reply.complete(this.result);
+        } else {
+            this.reply.completeExceptionally(this.error);
+        }
+
+        this.accountNumber = null;
+        this.destinationAccountNumber = null;
+        this.amount = null;
+        this.transfers = null;
+        this.reply = null;
+        this.result = null;
+        this.error = null;
+        this.deltas.clear();
+        this.transactions.clear();
+    }
+}
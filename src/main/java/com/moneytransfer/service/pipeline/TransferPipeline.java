@@ -0,0 +1,184 @@
+package com.moneytransfer.service.pipeline;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.repository.BalanceDao;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.service.BatchMode;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Applies balance changes with a single writer: the {@link Ledger} applies each command in memory, the {@link
+ * LedgerWriter} stores them in batches and the replier answers the callers.
+ */
+@Slf4j
+public class TransferPipeline implements AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Disruptor<TransferCommand> disruptor;
+    private final RingBuffer<TransferCommand> ringBuffer;
+    private final LedgerWriter writer;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public TransferPipeline(@NonNull final BaseDao<Account> accountDao,
+                            @NonNull final BalanceDao balanceDao,
+                            @NonNull final BaseDao<Transaction> transactionDao,
+                            @NonNull final UnitOfWork unitOfWork,
+                            final int bufferSize,
+                            @NonNull final PipelineWaitStrategy waitStrategy) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Size of transfer pipeline buffer should be a power of two");
+        }
+
+        this.writer = new LedgerWriter(balanceDao, transactionDao, unitOfWork);
+        this.disruptor = new Disruptor<>(TransferCommand::new, bufferSize, threadFactory(),
+            ProducerType.MULTI, waitStrategy.create());
+        this.disruptor.setDefaultExceptionHandler(new CommandExceptionHandler());
+
+        final EventHandler<TransferCommand> replier = (command, sequence, endOfBatch) -> command.complete();
+        this.disruptor.handleEventsWith(new Ledger(accountDao, this.writer)).then(this.writer).then(replier);
+        this.ringBuffer = this.disruptor.start();
+    }
+
+    public Transaction transfer(@NonNull final String originAccountNumber,
+                                @NonNull final String destinationAccountNumber,
+                                @NonNull final BigDecimal amount) throws Exception {
+        return execute(command -> {
+            command.type = TransferCommand.Type.TRANSFER;
+            command.accountNumber = originAccountNumber;
+            command.destinationAccountNumber = destinationAccountNumber;
+            command.amount = amount;
+        });
+    }
+
+    public List<TransferResult> transfer(@NonNull final List<TransferRequest> chunk,
+                                         @NonNull final BatchMode mode) throws Exception {
+        return execute(command -> {
+            command.type = TransferCommand.Type.TRANSFER_BATCH;
+            command.transfers = chunk;
+            command.mode = mode;
+        });
+    }
+
+    public Account deposit(@NonNull final String accountNumber, @NonNull final BigDecimal amount) throws Exception {
+        return execute(command -> {
+            command.type = TransferCommand.Type.DEPOSIT;
+            command.accountNumber = accountNumber;
+            command.amount = amount;
+        });
+    }
+
+    public Account withdraw(@NonNull final String accountNumber, @NonNull final BigDecimal amount) throws Exception {
+        return execute(command -> {
+            command.type = TransferCommand.Type.WITHDRAW;
+            command.accountNumber = accountNumber;
+            command.amount = amount;
+        });
+    }
+
+    public long getBacklog() {
+        return this.ringBuffer.getBufferSize() - this.ringBuffer.remainingCapacity();
+    }
+
+    public long getRejected() {
+        return this.rejected.get();
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.disruptor.shutdown(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Transfer pipeline did not drain in {} seconds, halting it", SHUTDOWN_TIMEOUT_SECONDS);
+            this.disruptor.halt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T execute(final Consumer<TransferCommand> request) throws Exception {
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        final long sequence;
+
+        try {
+            sequence = this.ringBuffer.tryNext();
+        } catch (InsufficientCapacityException e) {
+            this.rejected.incrementAndGet();
+            throw new PipelineFullException("Too many transfers in progress, please retry");
+        }
+
+        try {
+            final TransferCommand command = this.ringBuffer.get(sequence);
+            request.accept(command);
+            command.reply = reply;
+        } finally {
+            this.ringBuffer.publish(sequence);
+        }
+
+        try {
+            return (T) reply.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        final AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "transfer-pipeline-" + count.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+
+    private static final class CommandExceptionHandler implements ExceptionHandler<TransferCommand> {
+
+        @Override
+        public void handleEventException(final Throwable ex, final long sequence, final TransferCommand command) {
+            log.error("Error handling transfer pipeline command {}", sequence, ex);
+
+            if (command != null && command.reply != null) {
+                command.reply.completeExceptionally(ex);
+            }
+        }
+
+        @Override
+        public void handleOnStartException(final Throwable ex) {
+            log.error("Error starting transfer pipeline", ex);
+        }
+
+        @Override
+        public void handleOnShutdownException(final Throwable ex) {
+            log.error("Error stopping transfer pipeline", ex);
+        }
+    }
+}
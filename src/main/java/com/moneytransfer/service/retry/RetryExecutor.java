@@ -0,0 +1,73 @@
+package com.moneytransfer.service.retry;
+
+import lombok.NonNull;
+
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Waits a full jitter exponential backoff between attempts.
+ */
+public class RetryExecutor {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 2;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 100;
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder giveUps = new LongAdder();
+
+    public RetryExecutor() {
+        this(DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    public RetryExecutor(final int maxAttempts, final long baseDelayMillis, final long maxDelayMillis) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Number of attempts should be greater than zero");
+        }
+
+        if (baseDelayMillis < 0 || maxDelayMillis < baseDelayMillis) {
+            throw new IllegalArgumentException("Retry delays should be positive and ordered");
+        }
+
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(baseDelayMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    }
+
+    public <R> R execute(@NonNull final Callable<R> work) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.call();
+            } catch (ConcurrentModificationException e) {
+                if (attempt >= this.maxAttempts) {
+                    this.giveUps.increment();
+                    throw e;
+                }
+
+                this.retries.increment();
+                TimeUnit.NANOSECONDS.sleep(backoff(attempt));
+            }
+        }
+    }
+
+    public long getRetries() {
+        return this.retries.sum();
+    }
+
+    public long getGiveUps() {
+        return this.giveUps.sum();
+    }
+
+    private long backoff(final int attempt) {
+        final long ceiling = Math.min(this.maxDelayNanos, this.baseDelayNanos << Math.min(attempt - 1, 20));
+
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
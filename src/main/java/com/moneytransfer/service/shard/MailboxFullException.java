@@ -0,0 +1,10 @@
+package com.moneytransfer.service.shard;
+
+public class MailboxFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 7719240968411527388L;
+
+    public MailboxFullException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,259 @@
+package com.moneytransfer.service.shard;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.repository.BalanceDao;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.service.retry.RetryExecutor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static com.moneytransfer.domain.entities.Account.checkAmount;
+
+/**
+ * Owns the accounts whose numbers hash to it, which only its own thread reads and changes. Balances are stored as
+ * guarded credits and debits, since another shard may store a change to one of them too.
+ */
+@Slf4j
+final class Shard {
+
+    private static final Runnable STOP = () -> { };
+
+    private final BaseDao<Account> accountDao;
+    private final BalanceDao balanceDao;
+    private final BaseDao<Transaction> transactionDao;
+    private final UnitOfWork unitOfWork;
+    private final RetryExecutor retryExecutor;
+    private final BlockingQueue<Runnable> mailbox;
+    private final Map<String, Account> accounts = new HashMap<>();
+    private final Thread thread;
+
+    Shard(final int index,
+          final BaseDao<Account> accountDao,
+          final BalanceDao balanceDao,
+          final BaseDao<Transaction> transactionDao,
+          final UnitOfWork unitOfWork,
+          final RetryExecutor retryExecutor,
+          final int mailboxCapacity) {
+        this.accountDao = accountDao;
+        this.balanceDao = balanceDao;
+        this.transactionDao = transactionDao;
+        this.unitOfWork = unitOfWork;
+        this.retryExecutor = retryExecutor;
+        this.mailbox = new LinkedBlockingQueue<>(mailboxCapacity);
+        this.thread = new Thread(this::run, "account-shard-" + index);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    <T> CompletableFuture<T> submit(final Callable<T> work) {
+        final CompletableFuture<T> reply = new CompletableFuture<>();
+
+        if (!this.mailbox.offer(() -> run(work, reply))) {
+            throw new MailboxFullException("Too many operations in progress, please retry");
+        }
+
+        return reply;
+    }
+
+    /**
+     * Waits for room in the mailbox, for messages that must not be lost.
+     */
+    <T> CompletableFuture<T> send(final Callable<T> work) throws InterruptedException {
+        final CompletableFuture<T> reply = new CompletableFuture<>();
+        this.mailbox.put(() -> run(work, reply));
+
+        return reply;
+    }
+
+    /**
+     * Parks the shard thread until {@code resume} is opened.
+     */
+    CompletableFuture<Void> pause(final CountDownLatch resume) throws InterruptedException {
+        final CompletableFuture<Void> paused = new CompletableFuture<>();
+
+        this.mailbox.put(() -> {
+            paused.complete(null);
+            await(resume);
+        });
+
+        return paused;
+    }
+
+    int getQueued() {
+        return this.mailbox.size();
+    }
+
+    void close(final long timeoutMillis) throws InterruptedException {
+        this.mailbox.put(STOP);
+        this.thread.join(timeoutMillis);
+    }
+
+    Account account(final String accountNumber) throws Exception {
+        Account account = this.accounts.get(accountNumber);
+
+        if (account == null) {
+            account = this.accountDao.findById(accountNumber);
+            this.accounts.put(account.getNumber(), account);
+        }
+
+        return account;
+    }
+
+    void change(final String accountNumber, final Money delta) {
+        final Account account = copy(this.accounts.get(accountNumber));
+        change(account, delta);
+
+        this.accounts.put(account.getNumber(), account);
+    }
+
+    Account deposit(final String accountNumber, final BigDecimal amount) throws Exception {
+        final Account account = copy(account(accountNumber));
+        final Money value = Money.of(checkAmount(amount, "deposit"));
+        account.deposit(value);
+
+        store(() -> this.balanceDao.credit(account.getNumber(), value.toBigDecimal()));
+        this.accounts.put(account.getNumber(), account);
+
+        return account;
+    }
+
+    Account withdraw(final String accountNumber, final BigDecimal amount) throws Exception {
+        final Account account = copy(account(accountNumber));
+        final Money value = Money.of(checkAmount(amount, "withdraw"));
+        account.withdraw(value);
+
+        store(() -> this.balanceDao.debit(account.getNumber(), value.toBigDecimal()));
+        this.accounts.put(account.getNumber(), account);
+
+        return account;
+    }
+
+    Transaction transfer(final String originAccountNumber,
+                         final String destinationAccountNumber,
+                         final BigDecimal amount) throws Exception {
+        final Account origin = copy(account(originAccountNumber));
+        final Account destination = copy(account(destinationAccountNumber));
+
+        final Transaction transaction = new Transaction(origin, destination, amount);
+        transaction.transfer();
+
+        store(transaction);
+        this.accounts.put(origin.getNumber(), origin);
+        this.accounts.put(destination.getNumber(), destination);
+
+        return transaction;
+    }
+
+    /**
+     * Takes the amount out of the origin balance kept here without storing it. The destination shard stores it with
+     * the credit, or {@link #release} gives it back.
+     */
+    Account reserve(final String originAccountNumber, final Money amount) throws Exception {
+        final Account origin = copy(account(originAccountNumber));
+        origin.withdraw(amount);
+        this.accounts.put(origin.getNumber(), origin);
+
+        return origin;
+    }
+
+    /**
+     * Stores the whole transfer, debit of the origin included, in one unit of work.
+     */
+    Transaction credit(final Account origin,
+                       final String destinationAccountNumber,
+                       final BigDecimal amount) throws Exception {
+        final Account destination = copy(account(destinationAccountNumber));
+        final Transaction transaction = new Transaction(origin, destination, amount);
+        destination.deposit(transaction.getAmount());
+
+        store(transaction);
+        this.accounts.put(destination.getNumber(), destination);
+
+        return transaction;
+    }
+
+    Void release(final String originAccountNumber, final Money amount) {
+        change(originAccountNumber, amount);
+
+        return null;
+    }
+
+    static void change(final Account account, final Money delta) {
+        if (delta.signum() > 0) {
+            account.deposit(delta);
+        } else {
+            account.withdraw(delta.negate());
+        }
+    }
+
+    static Account copy(final Account account) {
+        return new Account(account.getNumber(), account.getOwner(), account.getBalance(), account.getVersion());
+    }
+
+    private void store(final Transaction transaction) throws Exception {
+        store(() -> {
+            this.balanceDao.debit(transaction.getOrigin().getNumber(), transaction.getAmount().toBigDecimal());
+            this.balanceDao.credit(transaction.getDestination().getNumber(), transaction.getAmount().toBigDecimal());
+            this.transactionDao.save(transaction);
+        });
+    }
+
+    private void store(final StorageWork work) throws Exception {
+        this.retryExecutor.execute(() -> this.unitOfWork.execute(() -> {
+            work.execute();
+
+            return null;
+        }));
+    }
+
+    private void run() {
+        while (true) {
+            final Runnable message;
+
+            try {
+                message = this.mailbox.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (message == STOP) {
+                return;
+            }
+
+            message.run();
+        }
+    }
+
+    private static <T> void run(final Callable<T> work, final CompletableFuture<T> reply) {
+        try {
+            reply.complete(work.call());
+        } catch (Throwable e) {
+            reply.completeExceptionally(e);
+        }
+    }
+
+    private static void await(final CountDownLatch resume) {
+        try {
+            resume.await();
+        } catch (InterruptedException e) {
+            log.warn("Shard was interrupted while paused");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface StorageWork {
+
+        void execute() throws Exception;
+    }
+}
@@ -0,0 +1,40 @@
+package com.moneytransfer.service.shard;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.service.AccountService;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+
+public class ShardedAccountService implements AccountService {
+
+    private final AccountService delegate;
+    private final ShardedLedger ledger;
+
+    public ShardedAccountService(@NonNull final AccountService delegate, @NonNull final ShardedLedger ledger) {
+        this.delegate = delegate;
+        this.ledger = ledger;
+    }
+
+    @Override
+    public Account create(@NonNull final String owner) throws Exception {
+        return this.delegate.create(owner);
+    }
+
+    @Override
+    public Account find(@NonNull final String accountNumber) throws Exception {
+        return this.delegate.find(accountNumber);
+    }
+
+    @Override
+    public Account deposit(@NonNull final String accountNumber,
+                           @NonNull final BigDecimal amount) throws Exception {
+        return this.ledger.deposit(accountNumber, amount);
+    }
+
+    @Override
+    public Account withdraw(@NonNull final String accountNumber,
+                            @NonNull final BigDecimal amount) throws Exception {
+        return this.ledger.withdraw(accountNumber, amount);
+    }
+}
@@ -0,0 +1,237 @@
+package com.moneytransfer.service.shard;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.repository.BalanceDao;
+import com.moneytransfer.domain.repository.BaseDao;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.service.BatchMode;
+import com.moneytransfer.service.TransferBatch;
+import com.moneytransfer.service.TransferNetting;
+import com.moneytransfer.service.retry.RetryExecutor;
+import com.moneytransfer.utils.Identifiers;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.moneytransfer.domain.entities.Account.checkAmount;
+
+/**
+ * A transfer between shards is reserved on the origin shard and stored with the credit by the destination shard. A
+ * batch is applied while every shard is paused.
+ */
+public class ShardedLedger implements AutoCloseable {
+
+    public static final int DEFAULT_MAILBOX_CAPACITY = 1 << 16;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 30_000;
+
+    private final Shard[] shards;
+    private final BalanceDao balanceDao;
+    private final BaseDao<Transaction> transactionDao;
+    private final UnitOfWork unitOfWork;
+    private final RetryExecutor retryExecutor;
+    private final ReentrantLock batchLock = new ReentrantLock();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong compensations = new AtomicLong();
+
+    public ShardedLedger(@NonNull final BaseDao<Account> accountDao,
+                         @NonNull final BalanceDao balanceDao,
+                         @NonNull final BaseDao<Transaction> transactionDao,
+                         @NonNull final UnitOfWork unitOfWork,
+                         @NonNull final RetryExecutor retryExecutor,
+                         final int shardCount,
+                         final int mailboxCapacity) {
+        if (shardCount <= 0 || mailboxCapacity <= 0) {
+            throw new IllegalArgumentException("Number of shards and mailbox capacity should be greater than zero");
+        }
+
+        this.balanceDao = balanceDao;
+        this.transactionDao = transactionDao;
+        this.unitOfWork = unitOfWork;
+        this.retryExecutor = retryExecutor;
+        this.shards = new Shard[shardCount];
+
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard(i, accountDao, balanceDao, transactionDao, unitOfWork, retryExecutor,
+                mailboxCapacity);
+        }
+    }
+
+    public Account deposit(@NonNull final String accountNumber, @NonNull final BigDecimal amount) throws Exception {
+        final Shard shard = shardOf(accountNumber);
+
+        return await(submit(shard, () -> shard.deposit(accountNumber, amount)));
+    }
+
+    public Account withdraw(@NonNull final String accountNumber, @NonNull final BigDecimal amount) throws Exception {
+        final Shard shard = shardOf(accountNumber);
+
+        return await(submit(shard, () -> shard.withdraw(accountNumber, amount)));
+    }
+
+    public Transaction transfer(@NonNull final String originAccountNumber,
+                                @NonNull final String destinationAccountNumber,
+                                @NonNull final BigDecimal amount) throws Exception {
+        final Shard origin = shardOf(originAccountNumber);
+        final Shard destination = shardOf(destinationAccountNumber);
+
+        if (origin == destination) {
+            return await(submit(origin, () -> origin.transfer(originAccountNumber, destinationAccountNumber, amount)));
+        }
+
+        final Money value = Money.of(checkAmount(amount, "withdraw"));
+        final Account reserved = await(submit(origin, () -> origin.reserve(originAccountNumber, value)));
+
+        try {
+            return await(destination.send(() -> destination.credit(reserved, destinationAccountNumber, amount)));
+        } catch (Exception e) {
+            this.compensations.incrementAndGet();
+            await(origin.send(() -> origin.release(originAccountNumber, value)));
+            throw e;
+        }
+    }
+
+    public List<TransferResult> transfer(@NonNull final List<TransferRequest> chunk,
+                                         @NonNull final BatchMode mode) throws Exception {
+        this.batchLock.lock();
+
+        final CountDownLatch resume = new CountDownLatch(1);
+
+        try {
+            for (final Shard shard : this.shards) {
+                await(shard.pause(resume));
+            }
+
+            final Map<String, Account> copies = new HashMap<>();
+            final TransferNetting netting = new TransferNetting(
+                accountNumber -> shardOf(accountNumber).account(accountNumber).getBalance());
+
+            final List<TransferResult> results = TransferBatch.apply(chunk, mode, transfer -> {
+                netting.add(transfer);
+
+                return new Transaction(copy(copies, transfer.getOriginAccountNumber()),
+                    copy(copies, transfer.getDestinationAccountNumber()), transfer.getAmount());
+            });
+            final Map<String, Money> deltas = netting.getDeltas();
+
+            this.retryExecutor.execute(() -> this.unitOfWork.execute(() -> {
+                for (final Map.Entry<String, Money> delta : deltas.entrySet()) {
+                    if (delta.getValue().signum() > 0) {
+                        this.balanceDao.credit(delta.getKey(), delta.getValue().toBigDecimal());
+                    } else {
+                        this.balanceDao.debit(delta.getKey(), delta.getValue().negate().toBigDecimal());
+                    }
+                }
+
+                for (final TransferResult result : results) {
+                    if (result.isCompleted()) {
+                        this.transactionDao.save(result.getTransaction());
+                    }
+                }
+
+                return null;
+            }));
+
+            for (final Map.Entry<String, Money> delta : deltas.entrySet()) {
+                shardOf(delta.getKey()).change(delta.getKey(), delta.getValue());
+                Shard.change(copies.get(delta.getKey()), delta.getValue());
+            }
+
+            return results;
+        } finally {
+            resume.countDown();
+            this.batchLock.unlock();
+        }
+    }
+
+    public int getShardCount() {
+        return this.shards.length;
+    }
+
+    public long getQueued() {
+        long queued = 0;
+
+        for (final Shard shard : this.shards) {
+            queued += shard.getQueued();
+        }
+
+        return queued;
+    }
+
+    public long getRejected() {
+        return this.rejected.get();
+    }
+
+    public long getCompensations() {
+        return this.compensations.get();
+    }
+
+    @Override
+    public void close() {
+        for (final Shard shard : this.shards) {
+            try {
+                shard.close(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    Shard shardOf(final String accountNumber) {
+        if (!Identifiers.isValid(accountNumber)) {
+            throw new NoSuchElementException("No information found for given identifier");
+        }
+
+        int hash = accountNumber.hashCode();
+        hash ^= hash >>> 16;
+
+        return this.shards[Math.floorMod(hash, this.shards.length)];
+    }
+
+    private <T> CompletableFuture<T> submit(final Shard shard, final Callable<T> work) {
+        try {
+            return shard.submit(work);
+        } catch (MailboxFullException e) {
+            this.rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private Account copy(final Map<String, Account> copies, final String accountNumber) throws Exception {
+        Account copy = copies.get(accountNumber);
+
+        if (copy == null) {
+            copy = Shard.copy(shardOf(accountNumber).account(accountNumber));
+            copies.put(accountNumber, copy);
+        }
+
+        return copy;
+    }
+
+    private static <T> T await(final CompletableFuture<T> reply) throws Exception {
+        try {
+            return reply.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+}
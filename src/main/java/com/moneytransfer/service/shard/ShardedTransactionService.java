@@ -0,0 +1,34 @@
+package com.moneytransfer.service.shard;
+
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.service.BatchMode;
+import com.moneytransfer.service.TransactionService;
+import com.moneytransfer.service.TransferBatch;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ShardedTransactionService implements TransactionService {
+
+    private final ShardedLedger ledger;
+
+    public ShardedTransactionService(@NonNull final ShardedLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @Override
+    public Transaction transfer(@NonNull final String originAccountNumber,
+                                @NonNull final String destinationAccountNumber,
+                                @NonNull final BigDecimal amount) throws Exception {
+        return this.ledger.transfer(originAccountNumber, destinationAccountNumber, amount);
+    }
+
+    @Override
+    public List<TransferResult> transfer(@NonNull final List<TransferRequest> transfers,
+                                         @NonNull final BatchMode mode) throws Exception {
+        return TransferBatch.execute(transfers, mode, chunk -> this.ledger.transfer(chunk, mode));
+    }
+}
@@ -0,0 +1,33 @@
+package com.moneytransfer.utils;
+
+import java.util.Optional;
+
+/**
+ * Startup options, read from system properties (e.g. {@code -Dmoneytransfer.locks.stripes=512})
+ * or from the matching environment variable (e.g. {@code MONEYTRANSFER_LOCKS_STRIPES=512}).
+ */
+public class Configuration {
+
+    public static Optional<String> get(final String key) {
+        final String value = Optional.ofNullable(System.getProperty(key))
+            .orElseGet(() -> System.getenv(key.toUpperCase().replace('.', '_')));
+
+        return Optional.ofNullable(value).map(String::trim).filter(v -> !v.isEmpty());
+    }
+
+    public static String getString(final String key, final String defaultValue) {
+        return get(key).orElse(defaultValue);
+    }
+
+    public static int getInt(final String key, final int defaultValue) {
+        return get(key).map(Integer::parseInt).orElse(defaultValue);
+    }
+
+    public static long getLong(final String key, final long defaultValue) {
+        return get(key).map(Long::parseLong).orElse(defaultValue);
+    }
+
+    public static boolean getBoolean(final String key, final boolean defaultValue) {
+        return get(key).map(Boolean::parseBoolean).orElse(defaultValue);
+    }
+}
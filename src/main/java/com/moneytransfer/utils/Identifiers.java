@@ -0,0 +1,145 @@
+package com.moneytransfer.utils;
+
+import lombok.NonNull;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Version 7 UUIDs, whose leading timestamp keeps consecutive identifiers next to each other in an index. Only the
+ * canonical lowercase text form is valid, so an account cannot be known under several numbers.
+ */
+public final class Identifiers {
+
+    public static final int SIZE = 16;
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION = 7L << COUNTER_BITS;
+    private static final long VARIANT = 1L << 63;
+    private static final long RANDOM_MASK = -1L >>> 2;
+    private static final int RANDOM_BLOCK_SIZE = 512;
+    private static final int TEXT_LENGTH = 36;
+
+    private static final ThreadLocal<Generator> GENERATOR = ThreadLocal.withInitial(Generator::new);
+
+    private Identifiers() { }
+
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    public static UUID nextUuid() {
+        return GENERATOR.get().next();
+    }
+
+    public static boolean isValid(final String id) {
+        if (id == null || id.length() != TEXT_LENGTH) {
+            return false;
+        }
+
+        for (int i = 0; i < TEXT_LENGTH; i++) {
+            final char c = id.charAt(i);
+            final boolean valid = i == 8 || i == 13 || i == 18 || i == 23
+                ? c == '-'
+                : c >= '0' && c <= '9' || c >= 'a' && c <= 'f';
+
+            if (!valid) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Most significant byte first, so bytes and text sort alike.
+     */
+    public static byte[] toBytes(@NonNull final String id) {
+        if (!isValid(id)) {
+            throw new IllegalArgumentException("Identifier is not valid");
+        }
+
+        final UUID uuid = UUID.fromString(id);
+        final byte[] bytes = new byte[SIZE];
+        putLong(bytes, 0, uuid.getMostSignificantBits());
+        putLong(bytes, Long.BYTES, uuid.getLeastSignificantBits());
+
+        return bytes;
+    }
+
+    public static String fromBytes(@NonNull final byte[] bytes) {
+        if (bytes.length != SIZE) {
+            throw new IllegalArgumentException("Identifiers should have " + SIZE + " bytes");
+        }
+
+        return new UUID(getLong(bytes, 0), getLong(bytes, Long.BYTES)).toString();
+    }
+
+    private static void putLong(final byte[] bytes, final int offset, final long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            bytes[offset + i] = (byte) (value >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+        }
+    }
+
+    private static long getLong(final byte[] bytes, final int offset) {
+        long value = 0;
+
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << Byte.SIZE) | (bytes[offset + i] & 0xFF);
+        }
+
+        return value;
+    }
+
+    private static final class Generator {
+
+        private final SecureRandom random = secureRandom();
+        private final byte[] block = new byte[RANDOM_BLOCK_SIZE];
+        private int position = RANDOM_BLOCK_SIZE;
+        private long millis;
+        private long counter;
+
+        /**
+         * Past the end of the counter, or if the clock went back, the next millisecond is borrowed.
+         */
+        UUID next() {
+            final long now = System.currentTimeMillis();
+
+            if (now > this.millis) {
+                this.millis = now;
+                this.counter = randomBits() & (COUNTER_MASK >>> 1);
+            } else if (++this.counter > COUNTER_MASK) {
+                this.millis++;
+                this.counter = 0;
+            }
+
+            return new UUID(this.millis << (Long.SIZE - 48) | VERSION | this.counter,
+                VARIANT | (randomBits() & RANDOM_MASK));
+        }
+
+        private long randomBits() {
+            if (this.position == this.block.length) {
+                this.random.nextBytes(this.block);
+                this.position = 0;
+            }
+
+            final long bits = getLong(this.block, this.position);
+            this.position += Long.BYTES;
+
+            return bits;
+        }
+
+        /**
+         * A DRBG instance does not share the lock of the default source.
+         */
+        private static SecureRandom secureRandom() {
+            try {
+                return SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                return new SecureRandom();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.moneytransfer.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import lombok.NonNull;
+
+import java.io.InputStream;
+import java.io.Writer;
+
+/**
+ * The buffers of a thread are used by one call at a time: adapters must not call back into the codec.
+ */
+public class JsonCodec {
+
+    static final int MAX_RETAINED_CHARS = 16 * 1024;
+
+    private static final int INITIAL_CHARS = 512;
+
+    private final Gson gson;
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    public JsonCodec() {
+        this(new GsonBuilder().setExclusionStrategies(new VersionExclusionStrategy()).create());
+    }
+
+    public JsonCodec(@NonNull final Gson gson) {
+        this.gson = gson;
+    }
+
+    public Gson getGson() {
+        return this.gson;
+    }
+
+    public <T> T read(@NonNull final InputStream in, @NonNull final Class<T> type) {
+        final Utf8Reader reader = this.buffers.get().reader.reset(in);
+
+        try {
+            return this.gson.fromJson(reader, type);
+        } finally {
+            reader.reset(null);
+        }
+    }
+
+    public <T> T read(final String json, @NonNull final Class<T> type) {
+        return this.gson.fromJson(json, type);
+    }
+
+    public String write(final Object object) {
+        final Buffers buffers = this.buffers.get();
+        final StringBuilderWriter writer = buffers.writer;
+
+        try {
+            this.gson.toJson(object, writer);
+
+            return writer.builder.toString();
+        } finally {
+            if (writer.builder.capacity() > MAX_RETAINED_CHARS) {
+                buffers.writer = new StringBuilderWriter();
+            } else {
+                writer.builder.setLength(0);
+            }
+        }
+    }
+
+    private static final class Buffers {
+
+        private final Utf8Reader reader = new Utf8Reader();
+        private StringBuilderWriter writer = new StringBuilderWriter();
+    }
+
+    private static final class StringBuilderWriter extends Writer {
+
+        private final StringBuilder builder = new StringBuilder(INITIAL_CHARS);
+
+        @Override
+        public void write(final int c) {
+            this.builder.append((char) c);
+        }
+
+        @Override
+        public void write(final char[] chars, final int offset, final int length) {
+            this.builder.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(final String string, final int offset, final int length) {
+            this.builder.append(string, offset, offset + length);
+        }
+
+        @Override
+        public Writer append(final CharSequence chars) {
+            this.builder.append(chars);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+            // nothing is buffered outside the builder
+        }
+
+        @Override
+        public void close() {
+            // the builder is kept for the next payload
+        }
+    }
+}
@@ -1,14 +1,35 @@
 package com.moneytransfer.utils;
 
 import com.google.gson.Gson;
+import com.moneytransfer.metrics.Phase;
+import com.moneytransfer.metrics.RequestTimer;
+import lombok.NonNull;
 import spark.ResponseTransformer;
 
 public class JsonTransformer implements ResponseTransformer {
 
-    private Gson gson = new Gson();
+    private final JsonCodec codec;
+
+    public JsonTransformer() {
+        this(new Gson());
+    }
+
+    public JsonTransformer(@NonNull final Gson gson) {
+        this(new JsonCodec(gson));
+    }
+
+    public JsonTransformer(@NonNull final JsonCodec codec) {
+        this.codec = codec;
+    }
 
     @Override
     public String render(Object object) {
-        return gson.toJson(object);
+        final long start = System.nanoTime();
+
+        try {
+            return this.codec.write(object);
+        } finally {
+            RequestTimer.record(Phase.SERIALIZATION, start);
+        }
     }
 }
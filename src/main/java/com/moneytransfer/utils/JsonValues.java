@@ -0,0 +1,123 @@
+package com.moneytransfer.utils;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public final class JsonValues {
+
+    private JsonValues() { }
+
+    public static String nextString(@NonNull final JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+
+        return in.nextString();
+    }
+
+    public static BigDecimal nextBigDecimal(@NonNull final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        try {
+            return new BigDecimal(in.nextString());
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Writes a date the way Gson writes it by reflection.
+     */
+    public static void writeDate(@NonNull final JsonWriter out, final LocalDateTime date) throws IOException {
+        if (date == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("date").beginObject();
+        out.name("year").value(date.getYear());
+        out.name("month").value(date.getMonthValue());
+        out.name("day").value(date.getDayOfMonth());
+        out.endObject();
+        out.name("time").beginObject();
+        out.name("hour").value(date.getHour());
+        out.name("minute").value(date.getMinute());
+        out.name("second").value(date.getSecond());
+        out.name("nano").value(date.getNano());
+        out.endObject();
+        out.endObject();
+    }
+
+    public static LocalDateTime nextDate(@NonNull final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        final int[] fields = new int[7];
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            final String part = in.nextName();
+
+            if ("date".equals(part)) {
+                readFields(in, fields, 0, "year", "month", "day");
+            } else if ("time".equals(part)) {
+                readFields(in, fields, 3, "hour", "minute", "second", "nano");
+            } else {
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        try {
+            return LocalDateTime.of(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]);
+        } catch (RuntimeException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static void readFields(final JsonReader in, final int[] fields, final int offset, final String... names)
+        throws IOException {
+        in.beginObject();
+
+        while (in.hasNext()) {
+            final String name = in.nextName();
+            int slot = -1;
+
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    slot = offset + i;
+                }
+            }
+
+            if (slot < 0) {
+                in.skipValue();
+            } else {
+                fields[slot] = in.nextInt();
+            }
+        }
+
+        in.endObject();
+    }
+}
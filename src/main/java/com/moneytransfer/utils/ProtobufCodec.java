@@ -0,0 +1,354 @@
+package com.moneytransfer.utils;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.request.AccountRequest;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.request.UpdateBalanceRequest;
+import com.moneytransfer.domain.response.TransferReceipt;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.ZoneOffset.UTC;
+
+/**
+ * Messages follow {@code moneytransfer.proto}.
+ */
+public class ProtobufCodec {
+
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    private final Map<Class<?>, MessageType<?>> types = new HashMap<>();
+
+    public ProtobufCodec() {
+        this.types.put(AccountRequest.class, new AccountRequestType());
+        this.types.put(UpdateBalanceRequest.class, new UpdateBalanceRequestType());
+        this.types.put(TransferRequest.class, new TransferRequestType());
+        this.types.put(TransferRequest[].class, new TransferBatchType());
+        this.types.put(Account.class, new AccountType());
+        this.types.put(TransferReceipt.class, new TransferReceiptType());
+    }
+
+    public boolean supports(@NonNull final Class<?> type) {
+        return this.types.containsKey(type);
+    }
+
+    public byte[] write(@NonNull final Object message) {
+        final MessageType<Object> type = typeOf(message.getClass());
+        final ProtobufWriter writer = new ProtobufWriter(type.size(message));
+        type.write(message, writer);
+
+        return writer.toByteArray();
+    }
+
+    public <T> T read(@NonNull final byte[] bytes, @NonNull final Class<T> type) {
+        return type.cast(typeOf(type).read(new ProtobufReader(bytes)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private MessageType<Object> typeOf(final Class<?> type) {
+        final MessageType<?> messageType = this.types.get(type);
+
+        if (messageType == null) {
+            throw new IllegalArgumentException("No protobuf message for " + type.getSimpleName());
+        }
+
+        return (MessageType<Object>) messageType;
+    }
+
+    private static long cents(final BigDecimal amount) {
+        return Money.of(amount).getCents();
+    }
+
+    private static long micros(final LocalDateTime date) {
+        return date.toEpochSecond(UTC) * MICROS_PER_SECOND + date.getNano() / 1000;
+    }
+
+    private static LocalDateTime date(final long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+            (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1000, UTC);
+    }
+
+    private static <T> T required(final T value, final String message) {
+        if (value == null) {
+            throw new IllegalArgumentException(message);
+        }
+
+        return value;
+    }
+
+    private interface MessageType<T> {
+
+        int size(T message);
+
+        void write(T message, ProtobufWriter writer);
+
+        T read(ProtobufReader reader);
+    }
+
+    private static final class AccountRequestType implements MessageType<AccountRequest> {
+
+        @Override
+        public int size(final AccountRequest request) {
+            return request.getOwner() == null ? 0 : ProtobufWriter.stringSize(1, request.getOwner());
+        }
+
+        @Override
+        public void write(final AccountRequest request, final ProtobufWriter writer) {
+            if (request.getOwner() != null) {
+                writer.writeString(1, request.getOwner());
+            }
+        }
+
+        @Override
+        public AccountRequest read(final ProtobufReader reader) {
+            String owner = null;
+
+            for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+                if (field == 1) {
+                    owner = reader.readString();
+                } else {
+                    reader.skipField();
+                }
+            }
+
+            return new AccountRequest(owner);
+        }
+    }
+
+    private static final class UpdateBalanceRequestType implements MessageType<UpdateBalanceRequest> {
+
+        @Override
+        public int size(final UpdateBalanceRequest request) {
+            return request.getAmount() == null ? 0 : ProtobufWriter.sInt64Size(1, cents(request.getAmount()));
+        }
+
+        @Override
+        public void write(final UpdateBalanceRequest request, final ProtobufWriter writer) {
+            if (request.getAmount() != null) {
+                writer.writeSInt64(1, cents(request.getAmount()));
+            }
+        }
+
+        @Override
+        public UpdateBalanceRequest read(final ProtobufReader reader) {
+            BigDecimal amount = null;
+
+            for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+                if (field == 1) {
+                    amount = reader.readAmount();
+                } else {
+                    reader.skipField();
+                }
+            }
+
+            return new UpdateBalanceRequest(amount);
+        }
+    }
+
+    private static final class TransferRequestType implements MessageType<TransferRequest> {
+
+        @Override
+        public int size(final TransferRequest request) {
+            return (request.getOriginAccountNumber() == null ? 0 : ProtobufWriter.uuidSize(1))
+                + (request.getDestinationAccountNumber() == null ? 0 : ProtobufWriter.uuidSize(2))
+                + (request.getAmount() == null ? 0 : ProtobufWriter.sInt64Size(3, cents(request.getAmount())));
+        }
+
+        @Override
+        public void write(final TransferRequest request, final ProtobufWriter writer) {
+            if (request.getOriginAccountNumber() != null) {
+                writer.writeUuid(1, request.getOriginAccountNumber());
+            }
+
+            if (request.getDestinationAccountNumber() != null) {
+                writer.writeUuid(2, request.getDestinationAccountNumber());
+            }
+
+            if (request.getAmount() != null) {
+                writer.writeSInt64(3, cents(request.getAmount()));
+            }
+        }
+
+        @Override
+        public TransferRequest read(final ProtobufReader reader) {
+            String originAccountNumber = null;
+            String destinationAccountNumber = null;
+            BigDecimal amount = null;
+
+            for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+                switch (field) {
+                    case 1:
+                        originAccountNumber = reader.readUuid();
+                        break;
+                    case 2:
+                        destinationAccountNumber = reader.readUuid();
+                        break;
+                    case 3:
+                        amount = reader.readAmount();
+                        break;
+                    default:
+                        reader.skipField();
+                }
+            }
+
+            return new TransferRequest(originAccountNumber, destinationAccountNumber, amount);
+        }
+    }
+
+    private static final class TransferBatchType implements MessageType<TransferRequest[]> {
+
+        private final TransferRequestType transfer = new TransferRequestType();
+
+        @Override
+        public int size(final TransferRequest[] transfers) {
+            int size = 0;
+
+            for (final TransferRequest request : transfers) {
+                size += ProtobufWriter.messageSize(1, this.transfer.size(request));
+            }
+
+            return size;
+        }
+
+        @Override
+        public void write(final TransferRequest[] transfers, final ProtobufWriter writer) {
+            for (final TransferRequest request : transfers) {
+                writer.writeMessage(1, this.transfer.size(request));
+                this.transfer.write(request, writer);
+            }
+        }
+
+        @Override
+        public TransferRequest[] read(final ProtobufReader reader) {
+            final List<TransferRequest> transfers = new ArrayList<>();
+
+            for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+                if (field == 1) {
+                    final int outer = reader.beginMessage();
+                    transfers.add(this.transfer.read(reader));
+                    reader.endMessage(outer);
+                } else {
+                    reader.skipField();
+                }
+            }
+
+            return transfers.toArray(new TransferRequest[0]);
+        }
+    }
+
+    private static final class AccountType implements MessageType<Account> {
+
+        @Override
+        public int size(final Account account) {
+            return ProtobufWriter.uuidSize(1)
+                + ProtobufWriter.stringSize(2, account.getOwner())
+                + ProtobufWriter.sInt64Size(3, account.getBalance().getCents());
+        }
+
+        @Override
+        public void write(final Account account, final ProtobufWriter writer) {
+            writer.writeUuid(1, account.getNumber());
+            writer.writeString(2, account.getOwner());
+            writer.writeSInt64(3, account.getBalance().getCents());
+        }
+
+        @Override
+        public Account read(final ProtobufReader reader) {
+            String number = null;
+            String owner = null;
+            long balance = 0;
+
+            for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+                switch (field) {
+                    case 1:
+                        number = reader.readUuid();
+                        break;
+                    case 2:
+                        owner = reader.readString();
+                        break;
+                    case 3:
+                        balance = reader.readSInt64();
+                        break;
+                    default:
+                        reader.skipField();
+                }
+            }
+
+            return new Account(required(number, "Account should have a number"),
+                required(owner, "Account should have an owner"), Money.ofCents(balance), null);
+        }
+    }
+
+    private static final class TransferReceiptType implements MessageType<TransferReceipt> {
+
+        @Override
+        public int size(final TransferReceipt receipt) {
+            return ProtobufWriter.uuidSize(1) + ProtobufWriter.uuidSize(2) + ProtobufWriter.uuidSize(3)
+                + ProtobufWriter.sInt64Size(4, receipt.getAmount().getCents())
+                + ProtobufWriter.sInt64Size(5, micros(receipt.getDate()))
+                + (receipt.getBalance() == null ? 0 : ProtobufWriter.sInt64Size(6, receipt.getBalance().getCents()));
+        }
+
+        @Override
+        public void write(final TransferReceipt receipt, final ProtobufWriter writer) {
+            writer.writeUuid(1, receipt.getId());
+            writer.writeUuid(2, receipt.getOriginAccountNumber());
+            writer.writeUuid(3, receipt.getDestinationAccountNumber());
+            writer.writeSInt64(4, receipt.getAmount().getCents());
+            writer.writeSInt64(5, micros(receipt.getDate()));
+
+            if (receipt.getBalance() != null) {
+                writer.writeSInt64(6, receipt.getBalance().getCents());
+            }
+        }
+
+        @Override
+        public TransferReceipt read(final ProtobufReader reader) {
+            String id = null;
+            String originAccountNumber = null;
+            String destinationAccountNumber = null;
+            long amount = 0;
+            long date = 0;
+            Money balance = null;
+
+            for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+                switch (field) {
+                    case 1:
+                        id = reader.readUuid();
+                        break;
+                    case 2:
+                        originAccountNumber = reader.readUuid();
+                        break;
+                    case 3:
+                        destinationAccountNumber = reader.readUuid();
+                        break;
+                    case 4:
+                        amount = reader.readSInt64();
+                        break;
+                    case 5:
+                        date = reader.readSInt64();
+                        break;
+                    case 6:
+                        balance = Money.ofCents(reader.readSInt64());
+                        break;
+                    default:
+                        reader.skipField();
+                }
+            }
+
+            return new TransferReceipt(required(id, "Transfer receipt should have an id"),
+                required(originAccountNumber, "Transfer receipt should have an origin"),
+                required(destinationAccountNumber, "Transfer receipt should have a destination"),
+                Money.ofCents(amount), date(date), balance);
+        }
+    }
+}
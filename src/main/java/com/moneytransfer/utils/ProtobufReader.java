@@ -0,0 +1,170 @@
+package com.moneytransfer.utils;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.moneytransfer.utils.Constants.DECIMAL_PLACES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Malformed input is refused with an IllegalArgumentException, like any other invalid request.
+ */
+final class ProtobufReader {
+
+    private static final int FIXED_64 = 1;
+    private static final int FIXED_32 = 5;
+
+    private final byte[] bytes;
+    private int position;
+    private int limit;
+    private int tag;
+
+    ProtobufReader(final byte[] bytes) {
+        this.bytes = bytes;
+        this.limit = bytes.length;
+    }
+
+    /**
+     * Returns the number of the next field, or 0 at the end of the message.
+     */
+    int nextField() {
+        if (this.position >= this.limit) {
+            return 0;
+        }
+
+        this.tag = (int) readVarint();
+
+        if (this.tag >>> 3 == 0) {
+            throw malformed();
+        }
+
+        return this.tag >>> 3;
+    }
+
+    long readSInt64() {
+        expect(ProtobufWriter.VARINT);
+
+        final long value = readVarint();
+
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    BigDecimal readAmount() {
+        return BigDecimal.valueOf(readSInt64(), DECIMAL_PLACES);
+    }
+
+    String readUuid() {
+        final int length = readLength();
+
+        if (length != ProtobufWriter.UUID_SIZE) {
+            throw new IllegalArgumentException("Identifiers should have " + ProtobufWriter.UUID_SIZE + " bytes");
+        }
+
+        return new UUID(readLong(), readLong()).toString();
+    }
+
+    String readString() {
+        final int length = readLength();
+        final String value = new String(this.bytes, this.position, length, UTF_8);
+        this.position += length;
+
+        return value;
+    }
+
+    /**
+     * Returns the limit to give back to {@link #endMessage(int)}.
+     */
+    int beginMessage() {
+        final int length = readLength();
+        final int outer = this.limit;
+        this.limit = this.position + length;
+
+        return outer;
+    }
+
+    void endMessage(final int outer) {
+        if (this.position != this.limit) {
+            throw malformed();
+        }
+
+        this.limit = outer;
+    }
+
+    void skipField() {
+        switch (this.tag & 7) {
+            case ProtobufWriter.VARINT:
+                readVarint();
+                break;
+            case FIXED_64:
+                skip(8);
+                break;
+            case ProtobufWriter.LENGTH_DELIMITED:
+                skip(readLength());
+                break;
+            case FIXED_32:
+                skip(4);
+                break;
+            default:
+                throw malformed();
+        }
+    }
+
+    private int readLength() {
+        expect(ProtobufWriter.LENGTH_DELIMITED);
+
+        final long length = readVarint();
+
+        if (length < 0 || length > this.limit - this.position) {
+            throw malformed();
+        }
+
+        return (int) length;
+    }
+
+    private long readVarint() {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (this.position >= this.limit) {
+                throw malformed();
+            }
+
+            final byte b = this.bytes[this.position++];
+            value |= (long) (b & 0x7F) << shift;
+
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw malformed();
+    }
+
+    private long readLong() {
+        long value = 0;
+
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | this.bytes[this.position++] & 0xFF;
+        }
+
+        return value;
+    }
+
+    private void skip(final int length) {
+        if (length < 0 || length > this.limit - this.position) {
+            throw malformed();
+        }
+
+        this.position += length;
+    }
+
+    private void expect(final int wireType) {
+        if ((this.tag & 7) != wireType) {
+            throw malformed();
+        }
+    }
+
+    private static IllegalArgumentException malformed() {
+        return new IllegalArgumentException("Malformed protobuf payload");
+    }
+}
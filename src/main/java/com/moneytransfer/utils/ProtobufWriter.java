@@ -0,0 +1,153 @@
+package com.moneytransfer.utils;
+
+import java.util.UUID;
+
+/**
+ * Writes into an array sized beforehand with the {@code size} methods.
+ */
+final class ProtobufWriter {
+
+    static final int VARINT = 0;
+    static final int LENGTH_DELIMITED = 2;
+
+    static final int UUID_SIZE = 16;
+
+    private final byte[] bytes;
+    private int position;
+
+    ProtobufWriter(final int size) {
+        this.bytes = new byte[size];
+    }
+
+    byte[] toByteArray() {
+        if (this.position != this.bytes.length) {
+            throw new IllegalStateException("Message size was " + this.position + ", expected " + this.bytes.length);
+        }
+
+        return this.bytes;
+    }
+
+    void writeSInt64(final int field, final long value) {
+        writeTag(field, VARINT);
+        writeVarint(zigZag(value));
+    }
+
+    void writeUuid(final int field, final String value) {
+        final UUID uuid = UUID.fromString(value);
+
+        writeTag(field, LENGTH_DELIMITED);
+        writeVarint(UUID_SIZE);
+        writeLong(uuid.getMostSignificantBits());
+        writeLong(uuid.getLeastSignificantBits());
+    }
+
+    void writeString(final int field, final String value) {
+        writeTag(field, LENGTH_DELIMITED);
+        writeVarint(utf8Length(value));
+
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+
+            if (c < 0x80) {
+                this.bytes[this.position++] = (byte) c;
+            } else if (c < 0x800) {
+                this.bytes[this.position++] = (byte) (0xC0 | c >>> 6);
+                this.bytes[this.position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                this.bytes[this.position++] = (byte) (0xF0 | codePoint >>> 18);
+                this.bytes[this.position++] = (byte) (0x80 | codePoint >>> 12 & 0x3F);
+                this.bytes[this.position++] = (byte) (0x80 | codePoint >>> 6 & 0x3F);
+                this.bytes[this.position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                this.bytes[this.position++] = '?';
+            } else {
+                this.bytes[this.position++] = (byte) (0xE0 | c >>> 12);
+                this.bytes[this.position++] = (byte) (0x80 | c >>> 6 & 0x3F);
+                this.bytes[this.position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+    }
+
+    void writeMessage(final int field, final int size) {
+        writeTag(field, LENGTH_DELIMITED);
+        writeVarint(size);
+    }
+
+    static int sInt64Size(final int field, final long value) {
+        return tagSize(field) + varintSize(zigZag(value));
+    }
+
+    static int uuidSize(final int field) {
+        return tagSize(field) + 1 + UUID_SIZE;
+    }
+
+    static int stringSize(final int field, final String value) {
+        final int length = utf8Length(value);
+
+        return tagSize(field) + varintSize(length) + length;
+    }
+
+    static int messageSize(final int field, final int size) {
+        return tagSize(field) + varintSize(size) + size;
+    }
+
+    private void writeTag(final int field, final int wireType) {
+        writeVarint((long) field << 3 | wireType);
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            this.bytes[this.position++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+
+        this.bytes[this.position++] = (byte) value;
+    }
+
+    private void writeLong(final long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            this.bytes[this.position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private static int tagSize(final int field) {
+        return varintSize((long) field << 3);
+    }
+
+    private static int varintSize(final long value) {
+        return value == 0 ? 1 : (70 - Long.numberOfLeadingZeros(value)) / 7;
+    }
+
+    private static long zigZag(final long value) {
+        return value << 1 ^ value >> 63;
+    }
+
+    /**
+     * An unpaired surrogate counts as the '?' it is written as.
+     */
+    private static int utf8Length(final String value) {
+        int length = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+}
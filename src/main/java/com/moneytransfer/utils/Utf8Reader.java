@@ -0,0 +1,89 @@
+package com.moneytransfer.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Like an InputStreamReader, but can be used again with another stream.
+ */
+final class Utf8Reader extends Reader {
+
+    private static final int BUFFER_SIZE = 2048;
+
+    private final CharsetDecoder decoder = UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private InputStream in;
+    private boolean endOfInput;
+    private boolean flushed;
+
+    Utf8Reader reset(final InputStream in) {
+        this.in = in;
+        this.decoder.reset();
+        this.bytes.clear().flip();
+        this.endOfInput = false;
+        this.flushed = false;
+
+        return this;
+    }
+
+    @Override
+    public int read(final char[] chars, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (this.flushed) {
+            return -1;
+        }
+
+        final CharBuffer out = CharBuffer.wrap(chars, offset, length);
+
+        while (true) {
+            final CoderResult result = this.decoder.decode(this.bytes, out, this.endOfInput);
+
+            if (result.isUnderflow() && this.endOfInput) {
+                this.decoder.flush(out);
+                this.flushed = true;
+            }
+
+            if (out.position() > offset) {
+                return out.position() - offset;
+            }
+
+            if (this.flushed) {
+                return -1;
+            }
+
+            fill();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.in = null;
+    }
+
+    private void fill() throws IOException {
+        this.bytes.compact();
+
+        final int read = this.in.read(this.bytes.array(), this.bytes.position(), this.bytes.remaining());
+
+        if (read < 0) {
+            this.endOfInput = true;
+        } else {
+            this.bytes.position(this.bytes.position() + read);
+        }
+
+        this.bytes.flip();
+    }
+}
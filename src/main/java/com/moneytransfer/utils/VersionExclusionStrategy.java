@@ -0,0 +1,19 @@
+package com.moneytransfer.utils;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+
+import javax.persistence.Version;
+
+public class VersionExclusionStrategy implements ExclusionStrategy {
+
+    @Override
+    public boolean shouldSkipField(final FieldAttributes field) {
+        return field.getAnnotation(Version.class) != null;
+    }
+
+    @Override
+    public boolean shouldSkipClass(final Class<?> clazz) {
+        return false;
+    }
+}
@@ -1,34 +1,60 @@
 package com.moneytransfer;
 
+import com.despegar.http.client.GetMethod;
 import com.despegar.http.client.HttpClientException;
 import com.despegar.http.client.HttpResponse;
 import com.despegar.http.client.PostMethod;
 import com.despegar.http.client.PutMethod;
 import com.despegar.sparkjava.test.SparkServer;
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import com.moneytransfer.domain.entities.Account;
 import com.moneytransfer.domain.request.AccountRequest;
 import com.moneytransfer.domain.request.TransferRequest;
 import com.moneytransfer.domain.request.UpdateBalanceRequest;
+import com.moneytransfer.domain.response.TransferReceipt;
+import com.moneytransfer.server.BinaryProtocol;
+import com.moneytransfer.utils.Identifiers;
+import com.moneytransfer.utils.ProtobufCodec;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import spark.servlet.SparkApplication;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static com.moneytransfer.ApiServer.initialize;
+import static com.moneytransfer.ApiServer.shutdown;
 import static java.math.BigDecimal.ONE;
 import static java.math.BigDecimal.TEN;
 import static java.math.BigDecimal.ZERO;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static java.util.UUID.randomUUID;
 import static org.eclipse.jetty.http.HttpStatus.BAD_REQUEST_400;
 import static org.eclipse.jetty.http.HttpStatus.OK_200;
 import static org.eclipse.jetty.http.HttpStatus.NOT_FOUND_404;
+import static org.eclipse.jetty.http.HttpStatus.NOT_MODIFIED_304;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static spark.Spark.awaitInitialization;
-import static spark.Spark.stop;
 
 public class ApiServerTest {
 
@@ -43,6 +69,7 @@ public class ApiServerTest {
 
     @BeforeAll
     static void setUp() {
+        System.setProperty("moneytransfer.binary.port", "0");
         initialize();
         awaitInitialization();
         testServer = new SparkServer<>(ApiServerTest.ApiServerTestApplication.class, 4567);
@@ -50,7 +77,8 @@ public class ApiServerTest {
 
     @AfterAll
     static void tearDown() {
-        stop();
+        shutdown();
+        System.clearProperty("moneytransfer.binary.port");
     }
 
     @Test
@@ -70,6 +98,156 @@ public class ApiServerTest {
         assertEquals(OK_200, createAccountResponse.code());
     }
 
+    @Test
+    public void testGetAccountShouldReturnNotModifiedIfBalanceDidNotChange() throws HttpClientException {
+        final PostMethod createAccount = testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest("John Doe")), false);
+        final HttpResponse createAccountResponse = testServer.execute(createAccount);
+
+        final Account account = new Gson().fromJson(
+            new String(createAccountResponse.body(), UTF_8), Account.class);
+
+        final HttpResponse getResponse = testServer.execute(
+            testServer.get("/api/accounts/" + account.getNumber(), false));
+        final String etag = getResponse.headers().get("ETag").get(0);
+
+        assertEquals(OK_200, getResponse.code());
+        assertEquals(account, new Gson().fromJson(new String(getResponse.body(), UTF_8), Account.class));
+
+        final GetMethod revalidate = testServer.get("/api/accounts/" + account.getNumber(), false);
+        revalidate.addHeader("If-None-Match", etag);
+
+        assertEquals(NOT_MODIFIED_304, testServer.execute(revalidate).code());
+
+        testServer.execute(testServer.put("/api/accounts/" + account.getNumber() + "/deposit",
+            new Gson().toJson(new UpdateBalanceRequest(TEN)), false));
+        final GetMethod changed = testServer.get("/api/accounts/" + account.getNumber(), false);
+        changed.addHeader("If-None-Match", etag);
+        final HttpResponse changedResponse = testServer.execute(changed);
+
+        assertEquals(OK_200, changedResponse.code(), "Deposit must invalidate the cached account");
+        assertEquals(0, TEN.compareTo(new Gson().fromJson(
+            new String(changedResponse.body(), UTF_8), Account.class).getBalance().toBigDecimal()));
+    }
+
+    @Test
+    public void testGetAccountShouldReturnNotFoundIfAccountDoesNotExist() throws HttpClientException {
+        final HttpResponse getResponse = testServer.execute(
+            testServer.get("/api/accounts/" + randomUUID().toString(), false));
+
+        assertEquals(NOT_FOUND_404, getResponse.code());
+    }
+
+    @Test
+    public void testAccountsShouldOnlyBeFoundByTheirCanonicalNumber() throws HttpClientException {
+        final Account account = createAccount("John Doe");
+        final String alias = account.getNumber().toUpperCase();
+
+        assertEquals(NOT_FOUND_404, testServer.execute(testServer.put("/api/accounts/" + alias + "/deposit",
+            new Gson().toJson(new UpdateBalanceRequest(TEN)), false)).code());
+        assertEquals(NOT_FOUND_404, testServer.execute(testServer.get("/api/accounts/" + alias, false)).code());
+
+        testServer.execute(testServer.put("/api/accounts/" + account.getNumber() + "/deposit",
+            new Gson().toJson(new UpdateBalanceRequest(TEN)), false));
+
+        assertEquals(NOT_FOUND_404, testServer.execute(testServer.post("/api/transfers",
+            new Gson().toJson(new TransferRequest(account.getNumber(), alias, TEN)), false)).code());
+    }
+
+    @Test
+    public void testTransactionHistoryShouldReturnPagesNewestFirst() throws HttpClientException {
+        final PostMethod createOriginAccount = testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest("John Doe")), false);
+        final HttpResponse createOriginAccountResponse = testServer.execute(createOriginAccount);
+
+        final PostMethod createDestinationAccount = testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest("Joseph Doe")), false);
+        final HttpResponse createDestinationAccountResponse = testServer.execute(createDestinationAccount);
+
+        final Account originAccount = new Gson().fromJson(
+            new String(createOriginAccountResponse.body(), UTF_8), Account.class);
+        final Account destinationAccount = new Gson().fromJson(
+            new String(createDestinationAccountResponse.body(), UTF_8), Account.class);
+
+        testServer.execute(testServer.put("/api/accounts/" + originAccount.getNumber() + "/deposit",
+            new Gson().toJson(new UpdateBalanceRequest(TEN)), false));
+
+        for (int i = 1; i <= 3; i++) {
+            testServer.execute(testServer.post("/api/transfers", new Gson().toJson(new TransferRequest(
+                originAccount.getNumber(), destinationAccount.getNumber(), BigDecimal.valueOf(i))), false));
+        }
+
+        final String history = "/api/accounts/" + destinationAccount.getNumber() + "/transactions";
+        final HttpResponse firstResponse = testServer.execute(
+            testServer.get(history + "?direction=incoming&limit=2", false));
+        final JsonObject firstPage = new Gson().fromJson(new String(firstResponse.body(), UTF_8), JsonObject.class);
+        final HttpResponse secondResponse = testServer.execute(testServer.get(
+            history + "?limit=2&after=" + firstPage.get("next").getAsString(), false));
+        final JsonObject secondPage = new Gson().fromJson(new String(secondResponse.body(), UTF_8), JsonObject.class);
+
+        assertEquals(OK_200, firstResponse.code());
+        assertEquals(2, firstPage.getAsJsonArray("transactions").size());
+        assertEquals(0, new BigDecimal("3.00").compareTo(firstPage.getAsJsonArray("transactions").get(0)
+            .getAsJsonObject().get("amount").getAsBigDecimal()), "Newest transaction must come first");
+        assertEquals(1, secondPage.getAsJsonArray("transactions").size());
+        assertTrue(secondPage.get("next") == null || secondPage.get("next").isJsonNull());
+        assertEquals(BAD_REQUEST_400, testServer.execute(
+            testServer.get(history + "?direction=sideways", false)).code());
+        assertEquals(NOT_FOUND_404, testServer.execute(
+            testServer.get("/api/accounts/" + randomUUID() + "/transactions", false)).code());
+    }
+
+    @Test
+    public void testExportShouldStreamLedgerAsNdjson() throws Exception {
+        final PostMethod createOriginAccount = testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest("John Doe")), false);
+        final HttpResponse createOriginAccountResponse = testServer.execute(createOriginAccount);
+
+        final PostMethod createDestinationAccount = testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest("Joseph Doe")), false);
+        final HttpResponse createDestinationAccountResponse = testServer.execute(createDestinationAccount);
+
+        final Account originAccount = new Gson().fromJson(
+            new String(createOriginAccountResponse.body(), UTF_8), Account.class);
+        final Account destinationAccount = new Gson().fromJson(
+            new String(createDestinationAccountResponse.body(), UTF_8), Account.class);
+
+        testServer.execute(testServer.put("/api/accounts/" + originAccount.getNumber() + "/deposit",
+            new Gson().toJson(new UpdateBalanceRequest(TEN)), false));
+
+        for (int i = 1; i <= 2; i++) {
+            testServer.execute(testServer.post("/api/transfers", new Gson().toJson(new TransferRequest(
+                originAccount.getNumber(), destinationAccount.getNumber(), BigDecimal.valueOf(i))), false));
+        }
+
+        final GetMethod export = testServer.get("/api/transactions/export", false);
+        export.addHeader("Accept-Encoding", "gzip");
+        final HttpResponse exportResponse = testServer.execute(export);
+        final List<JsonObject> exported = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(new ByteArrayInputStream(exportResponse.body())), UTF_8))) {
+            reader.lines()
+                .map(line -> new Gson().fromJson(line, JsonObject.class))
+                .filter(line -> line.get("originAccountNumber").getAsString().equals(originAccount.getNumber()))
+                .forEach(exported::add);
+        }
+
+        assertEquals(OK_200, exportResponse.code());
+        assertEquals(asList("gzip"), exportResponse.headers().get("Content-Encoding"));
+        assertEquals(2, exported.size());
+        assertEquals(0, ONE.compareTo(exported.get(0).get("amount").getAsBigDecimal()), "Oldest must come first");
+
+        final HttpResponse plainResponse = testServer.execute(testServer.get("/api/transactions/export", false));
+
+        assertEquals(OK_200, plainResponse.code());
+        assertTrue(new String(plainResponse.body(), UTF_8).contains(destinationAccount.getNumber()));
+        assertEquals(BAD_REQUEST_400, testServer.execute(testServer.get(
+            "/api/transactions/export?from=2020-01-02T00:00:00&to=2020-01-01T00:00:00", false)).code());
+        assertEquals(BAD_REQUEST_400, testServer.execute(
+            testServer.get("/api/transactions/export?from=yesterday", false)).code());
+    }
+
     @Test
     public void testDepositShouldReturnNotFoundIfAccountDoesNotExist() throws HttpClientException {
         final String depositBody = new Gson().toJson(new UpdateBalanceRequest(TEN));
@@ -416,4 +594,256 @@ public class ApiServerTest {
 
         assertEquals(OK_200, transferResponse.code());
     }
+
+    @Test
+    public void testTransferShouldBeExecutedOnceForSameIdempotencyKey() throws HttpClientException {
+        final PostMethod createOriginAccount = testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest("John Doe")), false);
+        final HttpResponse createOriginAccountResponse = testServer.execute(createOriginAccount);
+
+        final PostMethod createDestinationAccount = testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest("Joseph Doe")), false);
+        final HttpResponse createDestinationAccountResponse = testServer.execute(createDestinationAccount);
+
+        final Account originAccount = new Gson().fromJson(
+            new String(createOriginAccountResponse.body(), UTF_8), Account.class);
+        final Account destinationAccount = new Gson().fromJson(
+            new String(createDestinationAccountResponse.body(), UTF_8), Account.class);
+
+        final String depositBody = new Gson().toJson(new UpdateBalanceRequest(ONE));
+        final PutMethod deposit = testServer.put(
+            "/api/accounts/" + originAccount.getNumber() + "/deposit", depositBody, false);
+        testServer.execute(deposit);
+
+        final String key = randomUUID().toString();
+        final String transferBody = new Gson().toJson(
+            new TransferRequest(originAccount.getNumber(), destinationAccount.getNumber(), ONE));
+        final PostMethod transfer = testServer.post("/api/transfers", transferBody, false);
+        transfer.addHeader("Idempotency-Key", key);
+        final PostMethod retry = testServer.post("/api/transfers", transferBody, false);
+        retry.addHeader("Idempotency-Key", key);
+
+        final HttpResponse transferResponse = testServer.execute(transfer);
+        final HttpResponse retryResponse = testServer.execute(retry);
+
+        assertEquals(OK_200, transferResponse.code());
+        assertEquals(OK_200, retryResponse.code(), "Retry must be answered with the first response");
+        assertEquals(new String(transferResponse.body(), UTF_8), new String(retryResponse.body(), UTF_8));
+        assertEquals(asList("true"), retryResponse.headers().get("Idempotent-Replayed"));
+
+        final PostMethod otherTransfer = testServer.post("/api/transfers", transferBody, false);
+        otherTransfer.addHeader("Idempotency-Key", randomUUID().toString());
+
+        assertEquals(BAD_REQUEST_400, testServer.execute(otherTransfer).code(),
+            "Origin balance must have been debited only once");
+    }
+
+    @Test
+    public void testEmptyIdempotencyKeyShouldBeRefused() throws HttpClientException {
+        final Account account = createAccount("John Doe");
+        final PutMethod deposit = testServer.put("/api/accounts/" + account.getNumber() + "/deposit",
+            new Gson().toJson(new UpdateBalanceRequest(ONE)), false);
+        deposit.addHeader("Idempotency-Key", " ");
+
+        assertEquals(BAD_REQUEST_400, testServer.execute(deposit).code());
+        assertEquals(0, new Gson().fromJson(new String(testServer.execute(testServer.get(
+            "/api/accounts/" + account.getNumber(), false)).body(), UTF_8), Account.class)
+            .getBalance().toBigDecimal().signum(), "Deposit must not be executed");
+    }
+
+    @Test
+    public void testBatchTransferShouldReturnBadRequestIfModeIsInvalid() throws HttpClientException {
+        final String transferBody = new Gson().toJson(asList(
+            new TransferRequest(randomUUID().toString(), randomUUID().toString(), ONE)));
+        final PostMethod transfer = testServer.post("/api/transfers/batch?mode=sometimes", transferBody, false);
+        final HttpResponse transferResponse = testServer.execute(transfer);
+
+        assertEquals(BAD_REQUEST_400, transferResponse.code());
+    }
+
+    @Test
+    public void testBatchTransferShouldReturnResultOfEachTransfer() throws HttpClientException {
+        final PostMethod createOriginAccount = testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest("John Doe")), false);
+        final HttpResponse createOriginAccountResponse = testServer.execute(createOriginAccount);
+
+        final PostMethod createDestinationAccount = testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest("Joseph Doe")), false);
+        final HttpResponse createDestinationAccountResponse = testServer.execute(createDestinationAccount);
+
+        final Account originAccount = new Gson().fromJson(
+            new String(createOriginAccountResponse.body(), UTF_8), Account.class);
+        final Account destinationAccount = new Gson().fromJson(
+            new String(createDestinationAccountResponse.body(), UTF_8), Account.class);
+
+        final String depositBody = new Gson().toJson(new UpdateBalanceRequest(ONE));
+        final PutMethod deposit = testServer.put(
+            "/api/accounts/" + originAccount.getNumber() + "/deposit", depositBody, false);
+        testServer.execute(deposit);
+
+        final String transferBody = new Gson().toJson(asList(
+            new TransferRequest(originAccount.getNumber(), destinationAccount.getNumber(), ONE),
+            new TransferRequest(originAccount.getNumber(), destinationAccount.getNumber(), ONE)));
+
+        final HttpResponse allOrNothingResponse = testServer.execute(
+            testServer.post("/api/transfers/batch?mode=all_or_nothing", transferBody, false));
+        final JsonArray allOrNothingResults = new Gson().fromJson(
+            new String(allOrNothingResponse.body(), UTF_8), JsonArray.class);
+
+        assertEquals(OK_200, allOrNothingResponse.code());
+        assertEquals("ROLLED_BACK", allOrNothingResults.get(0).getAsJsonObject().get("status").getAsString());
+        assertEquals("INSUFFICIENT_FUNDS", allOrNothingResults.get(1).getAsJsonObject().get("status").getAsString());
+
+        final HttpResponse bestEffortResponse = testServer.execute(
+            testServer.post("/api/transfers/batch?mode=best_effort", transferBody, false));
+        final JsonArray bestEffortResults = new Gson().fromJson(
+            new String(bestEffortResponse.body(), UTF_8), JsonArray.class);
+
+        assertEquals(OK_200, bestEffortResponse.code());
+        assertEquals("COMPLETED", bestEffortResults.get(0).getAsJsonObject().get("status").getAsString());
+        final JsonObject receipt = bestEffortResults.get(0).getAsJsonObject().getAsJsonObject("transaction");
+        assertEquals(originAccount.getNumber(), receipt.get("originAccountNumber").getAsString());
+        assertFalse(receipt.has("balance"), "Batch receipts must not have a balance");
+        assertFalse(bestEffortResults.get(1).getAsJsonObject().has("transaction"));
+        assertEquals("INSUFFICIENT_FUNDS", bestEffortResults.get(1).getAsJsonObject().get("status").getAsString());
+    }
+
+    @Test
+    public void testPayloadsShouldBeNegotiatedAsProtobuf() throws Exception {
+        final ProtobufCodec codec = new ProtobufCodec();
+        final Account origin = new Gson().fromJson(new String(testServer.execute(testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest("John Doe")), false)).body(), UTF_8), Account.class);
+        final Account destination = new Gson().fromJson(new String(testServer.execute(testServer.post(
+            "/api/accounts", new Gson().toJson(new AccountRequest("Joseph Doe")), false)).body(), UTF_8),
+            Account.class);
+
+        final String key = randomUUID().toString();
+        final byte[] depositBody = codec.write(new UpdateBalanceRequest(TEN));
+        final HttpURLConnection deposit = protobuf("PUT", "/api/accounts/" + origin.getNumber() + "/deposit",
+            depositBody, ProtobufCodec.MEDIA_TYPE, key);
+        final HttpURLConnection retry = protobuf("PUT", "/api/accounts/" + origin.getNumber() + "/deposit",
+            depositBody, ProtobufCodec.MEDIA_TYPE, key);
+
+        assertEquals(OK_200, deposit.getResponseCode());
+        assertEquals(ProtobufCodec.MEDIA_TYPE, deposit.getContentType());
+        assertEquals(0, TEN.compareTo(codec.read(deposit.getInputStream().readAllBytes(), Account.class)
+            .getBalance().toBigDecimal()));
+        assertEquals(OK_200, retry.getResponseCode());
+        assertEquals("true", retry.getHeaderField("Idempotent-Replayed"));
+        assertEquals(0, TEN.compareTo(codec.read(retry.getInputStream().readAllBytes(), Account.class)
+            .getBalance().toBigDecimal()), "Replay must be encoded as protobuf too");
+
+        final HttpURLConnection transfer = protobuf("POST", "/api/transfers",
+            codec.write(new TransferRequest(origin.getNumber(), destination.getNumber(), ONE)),
+            ProtobufCodec.MEDIA_TYPE + ", */*", null);
+        final TransferReceipt receipt = codec.read(transfer.getInputStream().readAllBytes(), TransferReceipt.class);
+
+        assertEquals(OK_200, transfer.getResponseCode());
+        assertEquals(origin.getNumber(), receipt.getOriginAccountNumber());
+        assertEquals(0, ONE.compareTo(receipt.getAmount().toBigDecimal()));
+        assertEquals(0, new BigDecimal("9").compareTo(receipt.getBalance().toBigDecimal()));
+
+        final HttpURLConnection json = protobuf("POST", "/api/transfers",
+            codec.write(new TransferRequest(origin.getNumber(), destination.getNumber(), ONE)),
+            ProtobufCodec.MEDIA_TYPE + ";q=0.5, application/json", null);
+
+        assertEquals(OK_200, json.getResponseCode());
+        assertTrue(json.getContentType().startsWith("application/json"), "JSON must be preferred when asked to");
+        assertEquals(origin.getNumber(), new Gson().fromJson(new String(json.getInputStream().readAllBytes(), UTF_8),
+            TransferReceipt.class).getOriginAccountNumber());
+    }
+
+    @Test
+    public void testMetricsShouldReturnRequestCountsInPrometheusFormat() throws HttpClientException {
+        testServer.execute(testServer.put("/api/accounts/" + randomUUID() + "/deposit",
+            new Gson().toJson(new UpdateBalanceRequest(TEN)), false));
+
+        final HttpResponse metricsResponse = testServer.execute(testServer.get("/metrics", false));
+        final String metrics = new String(metricsResponse.body(), UTF_8);
+
+        assertEquals(OK_200, metricsResponse.code());
+        assertTrue(metrics.contains("# TYPE moneytransfer_http_request_duration_seconds histogram"));
+        assertTrue(metrics.contains("# TYPE moneytransfer_retries_total counter"));
+        assertTrue(metrics.contains(
+            "moneytransfer_http_errors_total{method=\"PUT\",route=\"/api/accounts/:id/deposit\",status=\"404\"}"));
+    }
+
+    @Test
+    public void testBinaryEndpointShouldShareTheServicesOfTheRestApi() throws Exception {
+        final Account origin = createAccount("John Doe");
+        final Account destination = createAccount("Jane Doe");
+
+        try (Socket socket = new Socket("localhost", ApiServer.getBinaryServer().getPort())) {
+            socket.setSoTimeout(10_000);
+
+            final ByteBuffer deposit = ByteBuffer.allocate(64);
+            BinaryProtocol.writeDeposit(deposit, 1, origin.getNumber(), 100_00);
+            socket.getOutputStream().write(deposit.array(), 0, deposit.position());
+
+            final Map<Long, ByteBuffer> deposited = receive(socket, 1);
+            assertEquals(OK_200, deposited.get(1L).getShort());
+            assertEquals(100_00, deposited.get(1L).getLong());
+
+            final ByteBuffer transfers = ByteBuffer.allocate(128);
+            BinaryProtocol.writeTransfer(transfers, 2, origin.getNumber(), destination.getNumber(), 30_00);
+            BinaryProtocol.writeTransfer(transfers, 3, Identifiers.next(), destination.getNumber(), 30_00);
+            socket.getOutputStream().write(transfers.array(), 0, transfers.position());
+
+            final Map<Long, ByteBuffer> transferred = receive(socket, 2);
+            assertEquals(OK_200, transferred.get(2L).getShort());
+            assertEquals(NOT_FOUND_404, transferred.get(3L).getShort());
+        }
+
+        final HttpResponse getResponse = testServer.execute(
+            testServer.get("/api/accounts/" + destination.getNumber(), false));
+
+        assertEquals(0, new BigDecimal("30.00").compareTo(new Gson().fromJson(
+            new String(getResponse.body(), UTF_8), Account.class).getBalance().toBigDecimal()));
+    }
+
+    private static Account createAccount(final String owner) throws HttpClientException {
+        final HttpResponse createAccountResponse = testServer.execute(testServer.post("/api/accounts",
+            new Gson().toJson(new AccountRequest(owner)), false));
+
+        return new Gson().fromJson(new String(createAccountResponse.body(), UTF_8), Account.class);
+    }
+
+    private static Map<Long, ByteBuffer> receive(final Socket socket, final int count) throws IOException {
+        final DataInputStream input = new DataInputStream(socket.getInputStream());
+        final Map<Long, ByteBuffer> responses = new HashMap<>();
+
+        for (int i = 0; i < count; i++) {
+            final byte[] response = new byte[input.readInt()];
+            input.readFully(response);
+
+            final ByteBuffer buffer = ByteBuffer.wrap(response);
+            responses.put(buffer.getLong(), buffer);
+        }
+
+        return responses;
+    }
+
+    /**
+     * The client of spark-test writes bodies as text.
+     */
+    private static HttpURLConnection protobuf(final String method, final String path, final byte[] body,
+                                              final String accept, final String idempotencyKey) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:4567" + path)
+            .openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Content-Type", ProtobufCodec.MEDIA_TYPE);
+        connection.setRequestProperty("Accept", accept);
+
+        if (idempotencyKey != null) {
+            connection.setRequestProperty("Idempotency-Key", idempotencyKey);
+        }
+
+        connection.setDoOutput(true);
+
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(body);
+        }
+
+        return connection;
+    }
 }
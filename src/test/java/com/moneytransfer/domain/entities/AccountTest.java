@@ -36,7 +36,7 @@ public class AccountTest {
         final Account account = new Account("John Doe");
 
         assertNotNull(account.getNumber(), "Account must have a number");
-        assertEquals(ZERO.setScale(DECIMAL_PLACES), account.getBalance(),
+        assertEquals(ZERO.setScale(DECIMAL_PLACES), account.getBalance().toBigDecimal(),
             "Account must be initialized with a balance of zero");
     }
 
@@ -51,7 +51,7 @@ public class AccountTest {
     @Test
     public void testErrorShouldBeRaisedIfDepositIsEqualToNull() {
         assertThrows(IllegalArgumentException.class,
-            () -> new Account("John Doe").deposit(null),
+            () -> new Account("John Doe").deposit((BigDecimal) null),
             "Deposit must contain a non-null value");
     }
 
@@ -72,9 +72,9 @@ public class AccountTest {
     @Test
     public void testDepositShouldIncreaseBalance() {
         final Account account = new Account("John Doe");
-        final BigDecimal previousBalance = account.getBalance();
+        final BigDecimal previousBalance = account.getBalance().toBigDecimal();
         account.deposit(TEN);
-        final BigDecimal newBalance = account.getBalance();
+        final BigDecimal newBalance = account.getBalance().toBigDecimal();
 
         assertTrue(newBalance.compareTo(previousBalance) > 0,
             "Deposit must increase balance");
@@ -83,15 +83,15 @@ public class AccountTest {
     @Test
     public void testBalanceShouldAlwaysHaveTwoDecimalPlaces() {
         final Account account = new Account("John Doe");
-        assertEquals(DECIMAL_PLACES, account.getBalance().scale(),
+        assertEquals(DECIMAL_PLACES, account.getBalance().toBigDecimal().scale(),
             "Balance must have two decimal places");
 
         account.deposit(new BigDecimal(5.376d));
-        assertEquals(DECIMAL_PLACES, account.getBalance().scale(),
+        assertEquals(DECIMAL_PLACES, account.getBalance().toBigDecimal().scale(),
             "Balance must have two decimal places");
 
         account.withdraw(new BigDecimal(2.5d));
-        assertEquals(DECIMAL_PLACES, account.getBalance().scale(),
+        assertEquals(DECIMAL_PLACES, account.getBalance().toBigDecimal().scale(),
             "Balance must have two decimal places");
     }
 
@@ -101,7 +101,7 @@ public class AccountTest {
         account.deposit(new BigDecimal(5.375d));
 
         assertEquals(new BigDecimal(5.38d).setScale(DECIMAL_PLACES, HALF_UP),
-            account.getBalance(),
+            account.getBalance().toBigDecimal(),
             "Balance must be rounded up");
     }
 
@@ -111,7 +111,7 @@ public class AccountTest {
         account.deposit(new BigDecimal(5.374d));
 
         assertEquals(new BigDecimal(5.37d).setScale(DECIMAL_PLACES, HALF_UP),
-            account.getBalance(),
+            account.getBalance().toBigDecimal(),
             "Balance must be rounded down");
     }
 
@@ -120,7 +120,7 @@ public class AccountTest {
         final Account account = new Account("John Doe");
 
         assertThrows(IllegalArgumentException.class,
-            () -> account.withdraw(null),
+            () -> account.withdraw((BigDecimal) null),
             "Withdraw must contain a non-null value");
     }
 
@@ -155,9 +155,9 @@ public class AccountTest {
     public void testWithdrawShouldDecreaseBalance() {
         final Account account = new Account("John Doe");
         account.deposit(TEN);
-        final BigDecimal previousBalance = account.getBalance();
+        final BigDecimal previousBalance = account.getBalance().toBigDecimal();
         account.withdraw(ONE);
-        final BigDecimal newBalance = account.getBalance();
+        final BigDecimal newBalance = account.getBalance().toBigDecimal();
 
         assertTrue(newBalance.compareTo(previousBalance) < 0,
             "Withdraw must decrease balance");
@@ -0,0 +1,52 @@
+package com.moneytransfer.domain.entities;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MoneyTest {
+
+    @Test
+    public void testMoneyShouldRoundAmountToTwoDecimalPlacesHalfUp() {
+        assertEquals(1235L, Money.of(new BigDecimal("12.345")).getCents());
+        assertEquals(1234L, Money.of(new BigDecimal("12.344")).getCents());
+        assertEquals(-1235L, Money.of(new BigDecimal("-12.345")).getCents());
+        assertEquals(new BigDecimal("12.30"), Money.of(new BigDecimal("12.3")).toBigDecimal());
+    }
+
+    @Test
+    public void testMoneyShouldRaiseErrorIfAmountIsOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+            () -> Money.of(BigDecimal.valueOf(Long.MAX_VALUE)),
+            "Amount must fit in a long number of cents");
+        assertThrows(IllegalArgumentException.class,
+            () -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)),
+            "Sum must not overflow");
+        assertThrows(IllegalArgumentException.class,
+            () -> Money.ofCents(Long.MIN_VALUE).minus(Money.ofCents(1)),
+            "Difference must not overflow");
+    }
+
+    @Test
+    public void testMoneyShouldAddAndSubtractCents() {
+        final Money amount = Money.ofCents(1050);
+
+        assertEquals(Money.ofCents(1100), amount.plus(Money.ofCents(50)));
+        assertEquals(Money.ofCents(-50), Money.ofCents(1000).minus(amount));
+        assertEquals(Money.ofCents(-1050), amount.negate());
+        assertEquals(Money.ZERO, amount.minus(amount));
+    }
+
+    @Test
+    public void testMoneyShouldBeWrittenToJsonAsDecimalNumber() {
+        final Gson gson = new Gson();
+
+        assertEquals("10.50", gson.toJson(Money.ofCents(1050)));
+        assertEquals(Money.ofCents(1050), gson.fromJson("10.5", Money.class));
+        assertEquals(Money.ofCents(1050), gson.fromJson("\"10.50\"", Money.class));
+    }
+}
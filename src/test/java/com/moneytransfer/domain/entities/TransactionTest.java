@@ -82,9 +82,9 @@ public class TransactionTest {
 
         new Transaction(origin, destination, ONE).transfer();
 
-        assertEquals(TEN.subtract(ONE).setScale(DECIMAL_PLACES, HALF_UP), origin.getBalance(),
+        assertEquals(TEN.subtract(ONE).setScale(DECIMAL_PLACES, HALF_UP), origin.getBalance().toBigDecimal(),
             "Origin account balance should be decreased by amount");
-        assertEquals(ZERO.add(ONE).setScale(DECIMAL_PLACES, HALF_UP), destination.getBalance(),
+        assertEquals(ZERO.add(ONE).setScale(DECIMAL_PLACES, HALF_UP), destination.getBalance().toBigDecimal(),
             "Destination account balance should be increased by amount");
     }
 }
@@ -4,8 +4,11 @@ import com.moneytransfer.domain.entities.Account;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.TEN;
 import static java.util.UUID.randomUUID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -37,6 +40,17 @@ public class AccountDaoTest {
             "Account must not be found for nonexistent number");
     }
 
+    @Test
+    public void testAliasesOfAnAccountNumberShouldNotBeFound() throws Exception {
+        final Account newAccount = this.accountDao.save(new Account("John Doe"));
+        final String alias = newAccount.getNumber().toUpperCase();
+
+        assertThrows(NoSuchElementException.class, () -> this.accountDao.findById(alias),
+            "Account must only be found by its canonical number");
+        assertThrows(NoSuchElementException.class, () -> this.accountDao.credit(alias, TEN),
+            "Balance must only be changed through the canonical number");
+    }
+
     @Test
     public void testGetAccountByNumberShouldRetrieveAccount() throws Exception {
         final Account newAccount1 = new Account("John Doe");
@@ -49,4 +63,64 @@ public class AccountDaoTest {
         assertEquals(newAccount1, retrievedAccount, "Accounts must be the same");
         assertNotEquals(newAccount2, retrievedAccount, "Accounts must be different");
     }
+
+    @Test
+    public void testSaveAccountShouldRaiseErrorIfAccountWasUpdatedConcurrently() throws Exception {
+        final Account newAccount = this.accountDao.save(new Account("John Doe"));
+        final Account firstCopy = this.accountDao.findById(newAccount.getNumber());
+        final Account secondCopy = this.accountDao.findById(newAccount.getNumber());
+
+        firstCopy.deposit(ONE);
+        this.accountDao.save(firstCopy);
+        secondCopy.deposit(ONE);
+
+        assertThrows(ConcurrentModificationException.class,
+            () -> this.accountDao.save(secondCopy),
+            "Stale account must not overwrite a newer version");
+    }
+
+    @Test
+    public void testCreditShouldIncreaseAccountBalance() throws Exception {
+        final Account newAccount = this.accountDao.save(new Account("John Doe"));
+        this.accountDao.credit(newAccount.getNumber(), TEN);
+
+        assertEquals(0, TEN.compareTo(this.accountDao.findById(newAccount.getNumber()).getBalance().toBigDecimal()),
+            "Account balance must be increased by given amount");
+    }
+
+    @Test
+    public void testCreditShouldRaiseErrorIfAccountDoesNotExist() {
+        assertThrows(NoSuchElementException.class,
+            () -> this.accountDao.credit(randomUUID().toString(), TEN),
+            "Account must exist");
+    }
+
+    @Test
+    public void testDebitShouldDecreaseAccountBalance() throws Exception {
+        final Account newAccount = this.accountDao.save(new Account("John Doe"));
+        this.accountDao.credit(newAccount.getNumber(), TEN);
+        this.accountDao.debit(newAccount.getNumber(), ONE);
+
+        assertEquals(0, TEN.subtract(ONE).compareTo(
+            this.accountDao.findById(newAccount.getNumber()).getBalance().toBigDecimal()),
+            "Account balance must be decreased by given amount");
+    }
+
+    @Test
+    public void testDebitShouldRaiseErrorIfAccountHasInsufficientBalance() throws Exception {
+        final Account newAccount = this.accountDao.save(new Account("John Doe"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> this.accountDao.debit(newAccount.getNumber(), ONE),
+            "Account must have sufficient balance");
+        assertEquals(0, this.accountDao.findById(newAccount.getNumber()).getBalance().toBigDecimal().signum(),
+            "Account balance must not be changed");
+    }
+
+    @Test
+    public void testDebitShouldRaiseErrorIfAccountDoesNotExist() {
+        assertThrows(NoSuchElementException.class,
+            () -> this.accountDao.debit(randomUUID().toString(), ONE),
+            "Account must exist");
+    }
 }
@@ -0,0 +1,87 @@
+package com.moneytransfer.domain.repository;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.TEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HibernateUnitOfWorkTest {
+
+    private static SessionFactory sessionFactory;
+    private static AccountDao accountDao;
+    private static TransactionDao transactionDao;
+    private static UnitOfWork unitOfWork;
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = new HibernateSessionFactory();
+        accountDao = new AccountDao(sessionFactory);
+        transactionDao = new TransactionDao(sessionFactory);
+        unitOfWork = new HibernateUnitOfWork(sessionFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void testUnitOfWorkShouldCommitAllChangesTogether() throws Exception {
+        final Account origin = accountDao.save(new Account("John Doe"));
+        final Account destination = accountDao.save(new Account("Joseph Doe"));
+        origin.deposit(TEN);
+        accountDao.save(origin);
+
+        final Transaction transaction = unitOfWork.execute(() -> {
+            final Account loadedOrigin = accountDao.findById(origin.getNumber());
+            final Account loadedDestination = accountDao.findById(destination.getNumber());
+            final Transaction newTransaction = new Transaction(loadedOrigin, loadedDestination, ONE);
+            newTransaction.transfer();
+
+            accountDao.save(loadedOrigin);
+            accountDao.save(loadedDestination);
+
+            return transactionDao.save(newTransaction);
+        });
+
+        assertNotNull(transactionDao.findById(transaction.getId()), "Transaction must be committed");
+        assertEquals(TEN.subtract(ONE),
+            accountDao.findById(origin.getNumber()).getBalance().toBigDecimal().stripTrailingZeros(),
+            "Origin account balance must be committed");
+        assertEquals(ONE,
+            accountDao.findById(destination.getNumber()).getBalance().toBigDecimal().stripTrailingZeros(),
+            "Destination account balance must be committed");
+    }
+
+    @Test
+    public void testUnitOfWorkShouldRollbackAllChangesOnError() throws Exception {
+        final Account account = accountDao.save(new Account("John Doe"));
+
+        assertThrows(IllegalStateException.class, () -> unitOfWork.execute(() -> {
+            final Account loadedAccount = accountDao.findById(account.getNumber());
+            loadedAccount.deposit(TEN);
+            accountDao.save(loadedAccount);
+
+            throw new IllegalStateException("Failure after changing balance");
+        }), "Error must be propagated");
+
+        assertEquals(0, accountDao.findById(account.getNumber()).getBalance().toBigDecimal().signum(),
+            "Account balance must not be changed");
+    }
+
+    @Test
+    public void testUnitOfWorkShouldTranslateConstraintViolationOnCommit() {
+        assertThrows(NoSuchElementException.class, () -> unitOfWork.execute(() ->
+                transactionDao.save(new Transaction(new Account("John Doe"), new Account("Joseph Doe"), ONE))),
+            "Accounts must exist when the unit of work is committed");
+    }
+}
@@ -0,0 +1,206 @@
+package com.moneytransfer.domain.repository;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.TEN;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InMemoryAccountDaoTest {
+
+    private InMemoryAccountDao accountDao;
+    private InMemoryTransactionDao transactionDao;
+    private InMemoryUnitOfWork unitOfWork;
+
+    @BeforeEach
+    void setUp() {
+        this.accountDao = new InMemoryAccountDao(1024);
+        this.transactionDao = new InMemoryTransactionDao(this.accountDao);
+        this.unitOfWork = new InMemoryUnitOfWork();
+    }
+
+    @Test
+    public void testSaveAccountShouldCreateAccount() throws Exception {
+        final Account newAccount = new Account("John Doe");
+        this.accountDao.save(newAccount);
+        final Account savedAccount = this.accountDao.findById(newAccount.getNumber());
+
+        assertNotNull(savedAccount, "Saved account must be retrieved from store");
+        assertEquals(1, this.accountDao.getSize());
+    }
+
+    @Test
+    public void testGetAccountByNumberShouldRaiseErrorIfNotFound() {
+        assertThrows(NoSuchElementException.class,
+            () -> this.accountDao.findById(randomUUID().toString()),
+            "Account must not be found for nonexistent number");
+        assertThrows(NoSuchElementException.class,
+            () -> this.accountDao.findById("not-an-account-number"),
+            "Account must not be found for invalid number");
+    }
+
+    @Test
+    public void testAliasesOfAnAccountNumberShouldNotBeFound() throws Exception {
+        final Account newAccount = this.accountDao.save(new Account("John Doe"));
+        final String alias = newAccount.getNumber().toUpperCase();
+
+        assertFalse(this.accountDao.exists(alias), "Account must only be known by its canonical number");
+        assertThrows(NoSuchElementException.class, () -> this.accountDao.findById(alias));
+        assertThrows(NoSuchElementException.class, () -> this.accountDao.credit(alias, TEN));
+    }
+
+    @Test
+    public void testGetAccountByNumberShouldRetrieveAccount() throws Exception {
+        final Account newAccount1 = new Account("John Doe");
+        final Account newAccount2 = new Account("Joseph Doe");
+        this.accountDao.save(newAccount1);
+        this.accountDao.save(newAccount2);
+        final Account retrievedAccount = this.accountDao.findById(newAccount1.getNumber());
+
+        assertEquals(newAccount1, retrievedAccount, "Accounts must be the same");
+        assertNotEquals(newAccount2, retrievedAccount, "Accounts must be different");
+    }
+
+    @Test
+    public void testSaveAccountShouldRaiseErrorIfAccountWasUpdatedConcurrently() throws Exception {
+        final Account newAccount = this.accountDao.save(new Account("John Doe"));
+        final Account firstCopy = this.accountDao.findById(newAccount.getNumber());
+        final Account secondCopy = this.accountDao.findById(newAccount.getNumber());
+
+        firstCopy.deposit(ONE);
+        this.accountDao.save(firstCopy);
+        secondCopy.deposit(ONE);
+
+        assertThrows(ConcurrentModificationException.class,
+            () -> this.accountDao.save(secondCopy),
+            "Stale account must not overwrite a newer version");
+        assertEquals(1L, this.accountDao.findById(newAccount.getNumber()).getVersion());
+    }
+
+    @Test
+    public void testCreditShouldIncreaseAccountBalance() throws Exception {
+        final Account newAccount = this.accountDao.save(new Account("John Doe"));
+        this.accountDao.credit(newAccount.getNumber(), TEN);
+
+        assertEquals(0, TEN.compareTo(this.accountDao.findById(newAccount.getNumber()).getBalance().toBigDecimal()),
+            "Account balance must be increased by given amount");
+    }
+
+    @Test
+    public void testCreditShouldRaiseErrorIfAccountDoesNotExist() {
+        assertThrows(NoSuchElementException.class,
+            () -> this.accountDao.credit(randomUUID().toString(), TEN),
+            "Account must exist");
+    }
+
+    @Test
+    public void testDebitShouldRaiseErrorIfAccountHasInsufficientBalance() throws Exception {
+        final Account newAccount = this.accountDao.save(new Account("John Doe"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> this.accountDao.debit(newAccount.getNumber(), ONE),
+            "Account must have sufficient balance");
+        assertEquals(0, this.accountDao.findById(newAccount.getNumber()).getBalance().toBigDecimal().signum(),
+            "Account balance must not be changed");
+    }
+
+    @Test
+    public void testConcurrentCreditsShouldNotLoseUpdates() throws Exception {
+        final Account newAccount = this.accountDao.save(new Account("John Doe"));
+        final ExecutorService executor = newFixedThreadPool(4);
+
+        try {
+            final Future<?>[] futures = new Future<?>[4];
+
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        this.accountDao.credit(newAccount.getNumber(), ONE);
+                    }
+
+                    return null;
+                });
+            }
+
+            for (final Future<?> future : futures) {
+                future.get(10, SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final Account account = this.accountDao.findById(newAccount.getNumber());
+        assertEquals(0, BigDecimal.valueOf(4000).compareTo(account.getBalance().toBigDecimal()),
+            "No credit must be lost");
+        assertEquals(4000L, account.getVersion());
+    }
+
+    @Test
+    public void testUnitOfWorkShouldApplyNothingIfWorkFails() throws Exception {
+        final Account origin = this.accountDao.save(new Account("John Doe"));
+        final Account destination = this.accountDao.save(new Account("Joseph Doe"));
+        this.accountDao.credit(origin.getNumber(), TEN);
+
+        assertThrows(NoSuchElementException.class, () -> this.unitOfWork.execute(() -> {
+            this.accountDao.debit(origin.getNumber(), ONE);
+            this.accountDao.credit(destination.getNumber(), ONE);
+
+            assertEquals(0, TEN.subtract(ONE).compareTo(
+                this.accountDao.findById(origin.getNumber()).getBalance().toBigDecimal()),
+                "Pending change must be visible inside the unit of work");
+
+            return this.transactionDao.save(new Transaction(origin, new Account("Unknown"), ONE));
+        }));
+
+        assertEquals(0, TEN.compareTo(this.accountDao.findById(origin.getNumber()).getBalance().toBigDecimal()),
+            "Origin balance must not be changed");
+        assertEquals(0, this.accountDao.findById(destination.getNumber()).getBalance().toBigDecimal().signum(),
+            "Destination balance must not be changed");
+    }
+
+    @Test
+    public void testUnitOfWorkShouldApplyAllChangesOnSuccess() throws Exception {
+        final Account origin = this.accountDao.save(new Account("John Doe"));
+        final Account destination = this.accountDao.save(new Account("Joseph Doe"));
+        this.accountDao.credit(origin.getNumber(), TEN);
+
+        final Transaction transaction = this.unitOfWork.execute(() -> {
+            this.accountDao.debit(origin.getNumber(), ONE);
+            this.accountDao.credit(destination.getNumber(), ONE);
+
+            return this.transactionDao.save(new Transaction(this.accountDao.findById(origin.getNumber()),
+                this.accountDao.findById(destination.getNumber()), ONE));
+        });
+
+        assertEquals(0, TEN.subtract(ONE).compareTo(
+            this.accountDao.findById(origin.getNumber()).getBalance().toBigDecimal()));
+        assertEquals(0, ONE.compareTo(this.accountDao.findById(destination.getNumber()).getBalance().toBigDecimal()));
+        assertEquals(transaction, this.transactionDao.findById(transaction.getId()));
+    }
+
+    @Test
+    public void testSaveAccountShouldRaiseErrorIfStoreIsFull() throws Exception {
+        final InMemoryAccountDao smallDao = new InMemoryAccountDao(1);
+        smallDao.save(new Account("John Doe"));
+        final Account rejected = new Account("Joseph Doe");
+
+        assertThrows(IllegalStateException.class, () -> smallDao.save(rejected), "Store must be full");
+        assertFalse(smallDao.exists(rejected.getNumber()), "Rejected account must not be indexed");
+    }
+}
@@ -0,0 +1,105 @@
+package com.moneytransfer.domain.repository;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.TransactionCursor;
+import com.moneytransfer.domain.request.TransactionDirection;
+import com.moneytransfer.domain.request.TransactionQuery;
+import com.moneytransfer.domain.response.TransactionSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static java.math.BigDecimal.ONE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryTransactionDaoTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 1, 1, 12, 0);
+
+    private InMemoryTransactionDao transactionDao;
+    private Account origin;
+    private Account destination;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final InMemoryAccountDao accountDao = new InMemoryAccountDao(16);
+        this.transactionDao = new InMemoryTransactionDao(accountDao);
+        this.origin = accountDao.save(new Account("John Doe"));
+        this.destination = accountDao.save(new Account("Joseph Doe"));
+
+        for (int i = 0; i < 5; i++) {
+            this.transactionDao.save(new Transaction("t" + i, this.origin, this.destination,
+                Money.ofCents(100 * (i + 1)), DATE.plusMinutes(i)));
+        }
+    }
+
+    @Test
+    public void testSaveTransactionShouldRaiseErrorIfAccountDoesNotExist() {
+        assertThrows(NoSuchElementException.class,
+            () -> this.transactionDao.save(new Transaction(this.origin, new Account("Unknown"), ONE)),
+            "Destination account must exist");
+    }
+
+    @Test
+    public void testFindByAccountShouldSeekPastCursorNewestFirst() {
+        final List<TransactionSummary> firstPage = this.transactionDao.findByAccount(
+            query(this.origin, null, null, null, null), TransactionDirection.OUTGOING, 2);
+        final List<TransactionSummary> secondPage = this.transactionDao.findByAccount(
+            query(this.origin, null, null, null, firstPage.get(1).cursor()), TransactionDirection.OUTGOING, 2);
+
+        assertEquals("t4", firstPage.get(0).getId());
+        assertEquals("t3", firstPage.get(1).getId());
+        assertEquals("t2", secondPage.get(0).getId());
+        assertEquals("t1", secondPage.get(1).getId());
+        assertTrue(this.transactionDao.findByAccount(query(this.origin, null, null, null, null),
+            TransactionDirection.INCOMING, 10).isEmpty(), "Origin must have no incoming transactions");
+    }
+
+    @Test
+    public void testFindByAccountShouldFilterByDateAndAmount() {
+        final List<TransactionSummary> transactions = this.transactionDao.findByAccount(
+            query(this.destination, DATE.plusMinutes(1), DATE.plusMinutes(4), Money.ofCents(300), null),
+            TransactionDirection.INCOMING, 10);
+
+        assertEquals(2, transactions.size());
+        assertEquals(Money.ofCents(400), transactions.get(0).getAmount());
+        assertEquals(Money.ofCents(300), transactions.get(1).getAmount());
+    }
+
+    @Test
+    public void testFindByAccountShouldApplyEarlierOfCursorAndEndDate() {
+        final TransactionCursor cursor = new TransactionCursor(DATE.plusMinutes(3), "t3");
+
+        assertEquals("t1", this.transactionDao.findByAccount(query(this.origin, null, DATE.plusMinutes(2), null,
+            cursor), TransactionDirection.OUTGOING, 10).get(0).getId());
+        assertEquals("t2", this.transactionDao.findByAccount(query(this.origin, null, DATE.plusMinutes(4), null,
+            cursor), TransactionDirection.OUTGOING, 10).get(0).getId());
+    }
+
+    @Test
+    public void testExportShouldReturnDateRangeOldestFirst() throws Exception {
+        final List<TransactionSummary> exported = new ArrayList<>();
+
+        assertEquals(3, this.transactionDao.export(DATE.plusMinutes(1), DATE.plusMinutes(4), exported::add));
+        assertEquals("t1", exported.get(0).getId());
+        assertEquals("t3", exported.get(2).getId());
+        assertEquals(2, this.transactionDao.export(DATE.plusMinutes(3), null, transaction -> { }));
+        assertEquals(1, this.transactionDao.export(null, DATE.plusMinutes(1), transaction -> { }));
+    }
+
+    private static TransactionQuery query(final Account account,
+                                          final LocalDateTime from,
+                                          final LocalDateTime to,
+                                          final Money minAmount,
+                                          final TransactionCursor after) {
+        return new TransactionQuery(account.getNumber(), null, from, to, minAmount, null, after, 10);
+    }
+}
@@ -1,10 +1,19 @@
 package com.moneytransfer.domain.repository;
 
 import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
 import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.TransactionCursor;
+import com.moneytransfer.domain.request.TransactionDirection;
+import com.moneytransfer.domain.request.TransactionQuery;
+import com.moneytransfer.domain.response.TransactionSummary;
+import com.moneytransfer.utils.Identifiers;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static java.math.BigDecimal.ONE;
@@ -14,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TransactionDaoTest {
 
@@ -70,6 +80,24 @@ public class TransactionDaoTest {
             "Transaction must not be found for nonexistent identifier");
     }
 
+    @Test
+    public void testIdentifiersShouldBeStoredAsSixteenBytes() throws Exception {
+        final List<?> columns = transactionDao.execute("Error reading schema", session -> session.createNativeQuery(
+            "select column_name, type_name, character_maximum_length from information_schema.columns "
+                + "where table_name = 'TRANSACTION' and column_name in ('ID', 'ORIGIN_NUMBER', 'DESTINATION_NUMBER')")
+            .getResultList());
+
+        assertEquals(3, columns.size());
+
+        for (final Object column : columns) {
+            assertEquals("VARBINARY", ((Object[]) column)[1], ((Object[]) column)[0] + " must be binary");
+            assertEquals(16, ((Number) ((Object[]) column)[2]).intValue(),
+                ((Object[]) column)[0] + " must be 16 bytes");
+        }
+
+        assertThrows(NoSuchElementException.class, () -> transactionDao.findById("not an identifier"));
+    }
+
     @Test
     public void testGetTransactionByIdentifierShouldRetrieveData() throws Exception {
         final AccountDao accountDao = new AccountDao();
@@ -86,4 +114,104 @@ public class TransactionDaoTest {
         assertEquals(newTransaction1, retrievedTransaction, "Transactions must be the same");
         assertNotEquals(newTransaction2, retrievedTransaction, "Transactions must be different");
     }
+
+    @Test
+    public void testFindByAccountShouldSeekPastCursorNewestFirst() throws Exception {
+        final AccountDao accountDao = new AccountDao();
+        final Account origin = accountDao.save(new Account("John Doe"));
+        final Account destination = accountDao.save(new Account("Joseph Doe"));
+        final LocalDateTime date = LocalDateTime.of(2020, 1, 1, 12, 0);
+        final String[] ids = new String[5];
+
+        for (int i = 0; i < 5; i++) {
+            ids[i] = Identifiers.next();
+            transactionDao.save(new Transaction(ids[i], origin, destination, Money.ofCents(100 * (i + 1)),
+                date.plusMinutes(i)));
+        }
+
+        final List<TransactionSummary> firstPage = transactionDao.findByAccount(
+            new TransactionQuery(origin.getNumber(), null, null, null, null, null, null, 2),
+            TransactionDirection.OUTGOING, 2);
+        final List<TransactionSummary> secondPage = transactionDao.findByAccount(
+            new TransactionQuery(origin.getNumber(), null, null, null, null, null, firstPage.get(1).cursor(), 2),
+            TransactionDirection.OUTGOING, 2);
+
+        assertEquals(ids[4], firstPage.get(0).getId());
+        assertEquals(ids[3], firstPage.get(1).getId());
+        assertEquals(ids[2], secondPage.get(0).getId());
+        assertEquals(destination.getNumber(), secondPage.get(0).getDestinationAccountNumber());
+        assertEquals(Money.ofCents(300), secondPage.get(0).getAmount());
+        assertEquals(date.plusMinutes(2), secondPage.get(0).getDate());
+        assertEquals(0, transactionDao.findByAccount(
+            new TransactionQuery(origin.getNumber(), null, null, null, null, null, null, 10),
+            TransactionDirection.INCOMING, 10).size(), "Origin must have no incoming transactions");
+    }
+
+    @Test
+    public void testFindByAccountShouldFilterByDateAndAmount() throws Exception {
+        final AccountDao accountDao = new AccountDao();
+        final Account origin = accountDao.save(new Account("John Doe"));
+        final Account destination = accountDao.save(new Account("Joseph Doe"));
+        final LocalDateTime date = LocalDateTime.of(2020, 1, 1, 12, 0);
+
+        for (int i = 0; i < 5; i++) {
+            transactionDao.save(new Transaction(randomUUID().toString(), origin, destination,
+                Money.ofCents(100 * (i + 1)), date.plusMinutes(i)));
+        }
+
+        final List<TransactionSummary> transactions = transactionDao.findByAccount(
+            new TransactionQuery(destination.getNumber(), null, date.plusMinutes(1), date.plusMinutes(4),
+                Money.ofCents(300), null, null, 10), TransactionDirection.INCOMING, 10);
+
+        assertEquals(2, transactions.size());
+        assertEquals(Money.ofCents(400), transactions.get(0).getAmount());
+        assertEquals(Money.ofCents(300), transactions.get(1).getAmount());
+    }
+
+    @Test
+    public void testHistoryQueryShouldReadAccountAndDateIndexInOrder() throws Exception {
+        final TransactionQuery query = new TransactionQuery(Identifiers.next(), null, null, null, null, null,
+            new TransactionCursor(LocalDateTime.of(2020, 1, 1, 12, 0), Identifiers.next()), 10);
+        final String plan = transactionDao.execute("Error explaining query", session -> String.valueOf(
+            TransactionDao.historyStatement(session,
+                "explain " + TransactionDao.historySql(query, TransactionDirection.OUTGOING), query)
+                .setMaxResults(10).getSingleResult()));
+
+        assertTrue(plan.toUpperCase().contains("IDX_TRANSACTION_ORIGIN_DATE"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    public void testExportShouldStreamDateRangeOldestFirst() throws Exception {
+        final AccountDao accountDao = new AccountDao();
+        final Account origin = accountDao.save(new Account("John Doe"));
+        final Account destination = accountDao.save(new Account("Joseph Doe"));
+        final LocalDateTime date = LocalDateTime.of(1999, 1, 1, 12, 0);
+
+        for (int i = 4; i >= 0; i--) {
+            transactionDao.save(new Transaction(randomUUID().toString(), origin, destination,
+                Money.ofCents(100 * (i + 1)), date.plusMinutes(i)));
+        }
+
+        final List<TransactionSummary> exported = new ArrayList<>();
+        final long count = transactionDao.export(date.plusMinutes(1), date.plusMinutes(4), exported::add);
+
+        assertEquals(3, count);
+        assertEquals(3, exported.size());
+        assertEquals(date.plusMinutes(1), exported.get(0).getDate());
+        assertEquals(Money.ofCents(300), exported.get(1).getAmount());
+        assertEquals(date.plusMinutes(3), exported.get(2).getDate());
+        assertEquals(origin.getNumber(), exported.get(2).getOriginAccountNumber());
+    }
+
+    @Test
+    public void testExportQueryShouldReadDateIndexInOrder() throws Exception {
+        final LocalDateTime from = LocalDateTime.of(2020, 1, 1, 12, 0);
+        final String plan = transactionDao.execute("Error explaining query", session -> String.valueOf(
+            TransactionDao.ledgerStatement(session, "explain " + TransactionDao.ledgerSql(from, from.plusDays(1)),
+                from, from.plusDays(1)).getSingleResult()));
+
+        assertTrue(plan.toUpperCase().contains("IDX_TRANSACTION_DATE"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
 }
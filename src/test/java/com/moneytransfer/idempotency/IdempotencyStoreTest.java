@@ -0,0 +1,181 @@
+package com.moneytransfer.idempotency;
+
+import com.moneytransfer.domain.entities.IdempotencyRecord;
+import com.moneytransfer.domain.repository.BaseDao;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.UUID.nameUUIDFromBytes;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IdempotencyStoreTest {
+
+    private static final String SCOPE = "POST /api/transfers";
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    public void testExecuteShouldReplayFirstResponseWithoutExecutingAgain() throws Exception {
+        final IdempotencyStore store = new IdempotencyStore(10, 60, null, this.now::get);
+        final AtomicInteger executions = new AtomicInteger();
+
+        final IdempotentResponse first = store.execute(SCOPE, "key", "{}",
+            () -> IdempotentResponse.of(400, "error " + executions.incrementAndGet()));
+        final IdempotentResponse retry = store.execute(SCOPE, "key", "{}",
+            () -> IdempotentResponse.of(200, "ok " + executions.incrementAndGet()));
+
+        assertEquals(1, executions.get(), "Retry must not be executed");
+        assertFalse(first.isReplayed());
+        assertTrue(retry.isReplayed(), "Retry must be answered with the stored response");
+        assertEquals(400, retry.getStatus());
+        assertEquals("error 1", retry.getBody());
+    }
+
+    @Test
+    public void testExecuteShouldRaiseErrorIfKeyIsReusedForDifferentRequest() throws Exception {
+        final IdempotencyStore store = new IdempotencyStore(10, 60, null, this.now::get);
+        store.execute(SCOPE, "key", "{\"amount\": 1}", () -> IdempotentResponse.of(200, "ok"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> store.execute(SCOPE, "key", "{\"amount\": 2}", () -> IdempotentResponse.of(200, "ok")),
+            "Key must not be reused for a different request");
+    }
+
+    @Test
+    public void testExecuteShouldValidateKeyAsGivenByTheClient() throws Exception {
+        final IdempotencyStore store = new IdempotencyStore(10, 60, null, this.now::get);
+        final String longest = String.join("", Collections.nCopies(IdempotencyStore.MAX_KEY_LENGTH, "k"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> store.execute(SCOPE, "", "{}", () -> IdempotentResponse.of(200, "ok")));
+        assertThrows(IllegalArgumentException.class,
+            () -> store.execute(SCOPE, "  ", "{}", () -> IdempotentResponse.of(200, "ok")));
+        assertThrows(IllegalArgumentException.class,
+            () -> store.execute(SCOPE, longest + "k", "{}", () -> IdempotentResponse.of(200, "ok")));
+        assertEquals("ok", store.execute(SCOPE, longest, "{}", () -> IdempotentResponse.of(200, "ok")).getBody(),
+            "Scope must not count against the length of the key");
+        assertFalse(store.execute("PUT /api/accounts", longest, "{}", () -> IdempotentResponse.of(200, "ok"))
+            .isReplayed(), "Key must be scoped to its operation");
+    }
+
+    @Test
+    public void testExecuteShouldForgetKeyIfExecutionFails() throws Exception {
+        final IdempotencyStore store = new IdempotencyStore(10, 60, null, this.now::get);
+
+        assertThrows(ConcurrentModificationException.class, () -> store.execute(SCOPE, "key", "{}", () -> {
+            throw new ConcurrentModificationException();
+        }));
+
+        final IdempotentResponse retry = store.execute(SCOPE, "key", "{}", () -> IdempotentResponse.of(200, "ok"));
+
+        assertFalse(retry.isReplayed(), "Failed execution must not be replayed");
+        assertEquals("ok", retry.getBody());
+    }
+
+    @Test
+    public void testRepeatedFailuresShouldNotGrowEvictionQueueBeyondCapacity() throws Exception {
+        final IdempotencyStore store = new IdempotencyStore(2, 60, null, this.now::get);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThrows(ConcurrentModificationException.class, () -> store.execute(SCOPE, "key", "{}", () -> {
+                throw new ConcurrentModificationException();
+            }));
+        }
+
+        assertEquals(0, store.size());
+        assertEquals(2, store.queued(), "Forgotten keys must be evicted beyond capacity");
+
+        store.execute(SCOPE, "a", "{}", () -> IdempotentResponse.of(200, "a"));
+        store.execute(SCOPE, "b", "{}", () -> IdempotentResponse.of(200, "b"));
+
+        assertEquals(2, store.queued());
+        assertTrue(store.execute(SCOPE, "a", "{}", () -> IdempotentResponse.of(200, "a")).isReplayed(),
+            "Keys must not be evicted for forgotten ones");
+        assertTrue(store.execute(SCOPE, "b", "{}", () -> IdempotentResponse.of(200, "b")).isReplayed());
+    }
+
+    @Test
+    public void testExecuteShouldRunConcurrentDuplicatesOnce() throws Exception {
+        final IdempotencyStore store = new IdempotencyStore(10, 60, null, this.now::get);
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = newFixedThreadPool(2);
+
+        try {
+            final Future<IdempotentResponse> first = executor.submit(() -> store.execute(SCOPE, "key", "{}", () -> {
+                started.countDown();
+                release.await();
+                return IdempotentResponse.of(200, "ok " + executions.incrementAndGet());
+            }));
+            started.await(10, SECONDS);
+            final Future<IdempotentResponse> duplicate = executor.submit(() -> store.execute(SCOPE, "key", "{}",
+                () -> IdempotentResponse.of(200, "ok " + executions.incrementAndGet())));
+            release.countDown();
+
+            assertEquals("ok 1", first.get(10, SECONDS).getBody());
+            assertEquals("ok 1", duplicate.get(10, SECONDS).getBody());
+            assertEquals(1, executions.get(), "Duplicate must wait for the execution in flight");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExecuteShouldForgetKeysAfterTimeToLiveOrBeyondCapacity() throws Exception {
+        final IdempotencyStore store = new IdempotencyStore(2, 60, null, this.now::get);
+        store.execute(SCOPE, "a", "{}", () -> IdempotentResponse.of(200, "a"));
+        store.execute(SCOPE, "b", "{}", () -> IdempotentResponse.of(200, "b"));
+        store.execute(SCOPE, "c", "{}", () -> IdempotentResponse.of(200, "c"));
+
+        assertEquals(2, store.size(), "Oldest key must be evicted beyond capacity");
+        assertFalse(store.execute(SCOPE, "a", "{}", () -> IdempotentResponse.of(200, "a")).isReplayed());
+
+        this.now.addAndGet(SECONDS.toMillis(61));
+
+        assertFalse(store.execute(SCOPE, "c", "{}", () -> IdempotentResponse.of(200, "c")).isReplayed(),
+            "Expired key must be executed again");
+    }
+
+    @Test
+    public void testExecuteShouldReplayResponseStoredInDatabase() throws Exception {
+        @SuppressWarnings("unchecked")
+        final BaseDao<IdempotencyRecord> dao = mock(BaseDao.class);
+        final IdempotencyStore store = new IdempotencyStore(10, 60, dao, this.now::get);
+        when(dao.findById(anyString())).thenThrow(new NoSuchElementException());
+
+        store.execute(SCOPE, "key", "{}", () -> IdempotentResponse.of(200, "ok"));
+
+        verify(dao).save(any(IdempotencyRecord.class));
+
+        final IdempotencyRecord record = new IdempotencyRecord("id",
+            nameUUIDFromBytes("{}".getBytes(UTF_8)).toString(), 200, "ok", this.now.get() + 1000);
+        final IdempotencyStore restarted = new IdempotencyStore(10, 60, dao, this.now::get);
+        doReturn(record).when(dao).findById(anyString());
+
+        final IdempotentResponse retry = restarted.execute(SCOPE, "key", "{}", () -> IdempotentResponse.of(200, "again"));
+
+        assertTrue(retry.isReplayed(), "Response stored before a restart must be replayed");
+        assertEquals("ok", retry.getBody());
+    }
+}
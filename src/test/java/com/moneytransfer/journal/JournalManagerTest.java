@@ -0,0 +1,173 @@
+package com.moneytransfer.journal;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.repository.InMemoryAccountDao;
+import com.moneytransfer.domain.repository.InMemoryTransactionDao;
+import com.moneytransfer.domain.repository.InMemoryUnitOfWork;
+import com.moneytransfer.service.AccountService;
+import com.moneytransfer.service.AccountServiceImpl;
+import com.moneytransfer.service.TransactionService;
+import com.moneytransfer.service.TransactionServiceImpl;
+import com.moneytransfer.service.lock.StripedLockManager;
+import com.moneytransfer.service.retry.RetryExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.TEN;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JournalManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private Node node;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        this.node = new Node(this.directory);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        this.node.close();
+    }
+
+    @Test
+    public void testRecoverShouldRestoreAccountsAndTransfersFromJournal() throws Exception {
+        final Account origin = this.node.accountService.create("John Doe");
+        final Account destination = this.node.accountService.create("Joseph Doe");
+        this.node.accountService.deposit(origin.getNumber(), TEN);
+        this.node.accountService.withdraw(origin.getNumber(), ONE);
+        final Transaction transaction = this.node.transactionService.transfer(
+            origin.getNumber(), destination.getNumber(), ONE);
+
+        this.node = restart(this.node);
+
+        assertBalance(TEN.subtract(ONE).subtract(ONE), origin.getNumber());
+        assertBalance(ONE, destination.getNumber());
+        assertEquals(TransferState.of(transaction),
+            TransferState.of(this.node.transactionDao.findById(transaction.getId())), "Transfer must be restored");
+    }
+
+    @Test
+    public void testRecoverShouldRestoreStateFromSnapshotAndJournalTail() throws Exception {
+        final Account origin = this.node.accountService.create("John Doe");
+        final Account destination = this.node.accountService.create("Joseph Doe");
+        this.node.accountService.deposit(origin.getNumber(), TEN);
+        final Transaction first = this.node.transactionService.transfer(
+            origin.getNumber(), destination.getNumber(), ONE);
+
+        assertTrue(this.node.journalManager.snapshot().isPresent(), "Snapshot must be written");
+
+        final Transaction second = this.node.transactionService.transfer(
+            destination.getNumber(), origin.getNumber(), ONE);
+        this.node.accountService.deposit(destination.getNumber(), TEN);
+
+        this.node = restart(this.node);
+
+        assertBalance(TEN, origin.getNumber());
+        assertBalance(TEN, destination.getNumber());
+        assertThrows(NoSuchElementException.class, () -> this.node.transactionDao.findById(first.getId()),
+            "Transfer older than the snapshot must be dropped from it");
+        assertEquals(TransferState.of(second), TransferState.of(this.node.transactionDao.findById(second.getId())),
+            "Transfer of the journal tail must be restored");
+    }
+
+    @Test
+    public void testRecoverShouldKeepRecordingAfterRestart() throws Exception {
+        final Account account = this.node.accountService.create("John Doe");
+        this.node.accountService.deposit(account.getNumber(), TEN);
+
+        this.node = restart(this.node);
+        this.node.accountService.withdraw(account.getNumber(), ONE);
+        this.node.accountService.withdraw(account.getNumber(), ONE);
+
+        this.node = restart(this.node);
+
+        assertBalance(TEN.subtract(ONE).subtract(ONE), account.getNumber());
+    }
+
+    @Test
+    public void testOperationShouldOnlyBeAnsweredOnceDurableButBeVisibleBefore() throws Exception {
+        final Account account = this.node.accountService.create("John Doe");
+        this.node.close();
+
+        final Node slow = new Node(this.directory, 2000);
+        final ExecutorService executor = newSingleThreadExecutor();
+
+        try {
+            final Future<Account> deposit = executor.submit(
+                () -> slow.accountService.deposit(account.getNumber(), TEN));
+
+            while (slow.accountDao.findById(account.getNumber()).getBalance().signum() == 0) {
+                Thread.sleep(1);
+            }
+
+            assertFalse(deposit.isDone(), "Committed deposit must not be answered before its record is durable");
+            assertEquals(0, TEN.compareTo(deposit.get(10, SECONDS).getBalance().toBigDecimal()));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        this.node = restart(slow);
+
+        assertBalance(TEN, account.getNumber());
+    }
+
+    private void assertBalance(final BigDecimal expected, final String accountNumber) throws Exception {
+        assertEquals(0, expected.compareTo(this.node.accountDao.findById(accountNumber).getBalance().toBigDecimal()),
+            "Balance must be restored");
+    }
+
+    private Node restart(final Node node) throws Exception {
+        node.close();
+
+        return new Node(this.directory);
+    }
+
+    private static class Node implements AutoCloseable {
+
+        private final InMemoryAccountDao accountDao = new InMemoryAccountDao(1024);
+        private final InMemoryTransactionDao transactionDao = new InMemoryTransactionDao(this.accountDao);
+        private final JournalManager journalManager;
+        private final AccountService accountService;
+        private final TransactionService transactionService;
+
+        Node(final Path directory) throws Exception {
+            this(directory, 1);
+        }
+
+        Node(final Path directory, final long flushWindowMillis) throws Exception {
+            final InMemoryUnitOfWork unitOfWork = new InMemoryUnitOfWork();
+
+            this.journalManager = new JournalManager(directory, 1 << 20, 16, flushWindowMillis, 0);
+            this.journalManager.recover(this.accountDao, this.transactionDao, unitOfWork);
+            this.accountService = new JournaledAccountService(new AccountServiceImpl(this.accountDao, unitOfWork,
+                new StripedLockManager(), new RetryExecutor()), this.accountDao, this.journalManager.getJournal());
+            this.transactionService = new JournaledTransactionService(new TransactionServiceImpl(this.accountDao,
+                this.transactionDao, unitOfWork, new StripedLockManager(), new RetryExecutor()), this.accountDao,
+                this.journalManager.getJournal());
+        }
+
+        @Override
+        public void close() throws Exception {
+            this.journalManager.close();
+        }
+    }
+}
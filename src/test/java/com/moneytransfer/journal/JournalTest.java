@@ -0,0 +1,109 @@
+package com.moneytransfer.journal;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.TEN;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testReplayShouldReturnAppendedRecordsInOrder() throws Exception {
+        final Account origin = new Account("John Doe");
+        final Account destination = new Account("Joseph Doe");
+        origin.deposit(TEN);
+        final Transaction transaction = new Transaction(origin, destination, ONE);
+        final List<JournalRecord> records = new ArrayList<>();
+
+        try (Journal journal = new Journal(this.directory, 1)) {
+            journal.append(JournalRecord.created(origin));
+            journal.append(JournalRecord.deposit(origin));
+            journal.awaitDurable(journal.append(JournalRecord.transfer(transaction, origin, destination)));
+        }
+
+        final long lastSequence = Journal.replay(this.directory, 0, Long.MAX_VALUE, records::add);
+
+        assertEquals(3, lastSequence);
+        assertEquals(RecordType.ACCOUNT_CREATED, records.get(0).getType());
+        assertEquals(AccountState.of(origin), records.get(1).getAccounts().get(0));
+        assertEquals(TransferState.of(transaction), records.get(2).getTransfer());
+        assertEquals(transaction, records.get(2).getTransfer().toTransaction(origin, destination),
+            "Transfer must be restored with the same id, amount and date");
+    }
+
+    @Test
+    public void testReplayShouldSkipRecordsUpToGivenSequence() throws Exception {
+        final List<JournalRecord> records = new ArrayList<>();
+
+        try (Journal journal = new Journal(this.directory, 1)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(JournalRecord.created(new Account("John Doe")));
+            }
+        }
+
+        assertEquals(8, Journal.replay(this.directory, 5, 8, records::add));
+        assertEquals(3, records.size());
+    }
+
+    @Test
+    public void testAppendShouldRollOverToNewSegment() throws Exception {
+        try (Journal journal = new Journal(this.directory, 1, 100, 1, 0)) {
+            for (int i = 0; i < 20; i++) {
+                journal.awaitDurable(journal.append(JournalRecord.created(new Account("John Doe"))));
+            }
+
+            assertEquals(20, Journal.segments(this.directory).size(), "Each record must fill a segment");
+
+            journal.truncate(10);
+
+            assertEquals(10, Journal.segments(this.directory).size(), "Segments up to sequence 10 must be deleted");
+        }
+
+        assertEquals(20, Journal.replay(this.directory, 10, Long.MAX_VALUE, record -> { }));
+    }
+
+    @Test
+    public void testReplayShouldStopAtDamagedRecord() throws Exception {
+        try (Journal journal = new Journal(this.directory, 1)) {
+            journal.append(JournalRecord.created(new Account("John Doe")));
+            journal.append(JournalRecord.created(new Account("Joseph Doe")));
+        }
+
+        final Path segment = Journal.segments(this.directory).get(0);
+
+        try (FileChannel channel = FileChannel.open(segment, READ, WRITE)) {
+            final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), 8 + length.flip().getInt() + 8 + 20);
+        }
+
+        assertEquals(1, Journal.replay(this.directory, 0, Long.MAX_VALUE, record -> { }),
+            "Replay must stop before the damaged record");
+    }
+
+    @Test
+    public void testAppendShouldRaiseErrorIfJournalIsClosed() throws Exception {
+        final Journal journal = new Journal(this.directory, 1);
+        journal.close();
+
+        assertThrows(IllegalStateException.class,
+            () -> journal.append(JournalRecord.created(new Account("John Doe"))),
+            "Closed journal must not accept records");
+    }
+}
@@ -0,0 +1,108 @@
+package com.moneytransfer.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spark.Route;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsTest {
+
+    private Metrics metrics;
+
+    @BeforeEach
+    void beforeEach() {
+        this.metrics = new Metrics();
+    }
+
+    @Test
+    public void testInstrumentedRouteShouldCountRequestsAndErrors() throws Exception {
+        final Route route = this.metrics.instrument("POST", "/api/transfers", (req, res) -> "ok");
+
+        for (int i = 0; i < 3; i++) {
+            this.metrics.begin();
+            route.handle(null, null);
+            this.metrics.end(i == 0 ? 404 : 200);
+        }
+
+        final String text = this.metrics.render();
+
+        assertTrue(text.contains("moneytransfer_http_requests_total{method=\"POST\",route=\"/api/transfers\"} 3\n"));
+        assertTrue(text.contains(
+            "moneytransfer_http_errors_total{method=\"POST\",route=\"/api/transfers\",status=\"404\"} 1\n"));
+        assertTrue(text.contains("moneytransfer_http_request_duration_seconds_count"
+            + "{method=\"POST\",route=\"/api/transfers\",phase=\"total\"} 3\n"));
+    }
+
+    @Test
+    public void testPhasesShouldBeRecordedOnlyDuringRequest() throws Exception {
+        final Route route = this.metrics.instrument("PUT", "/api/accounts/:id/deposit", (req, res) -> {
+            RequestTimer.record(Phase.DB, System.nanoTime() - 2_000_000);
+            return "ok";
+        });
+
+        RequestTimer.record(Phase.DB, System.nanoTime() - 60_000_000_000L);
+
+        this.metrics.begin();
+        route.handle(null, null);
+        this.metrics.end(200);
+
+        final String text = this.metrics.render();
+        final String labels = "{method=\"PUT\",route=\"/api/accounts/:id/deposit\",phase=\"db\"";
+
+        assertTrue(text.contains("moneytransfer_http_request_duration_seconds_bucket" + labels + ",le=\"0.001\"} 0\n"),
+            "Database time must be above 1 ms");
+        assertTrue(text.contains("moneytransfer_http_request_duration_seconds_bucket" + labels + ",le=\"0.0025\"} 1\n"),
+            "Database time outside the request must be ignored");
+    }
+
+    @Test
+    public void testRequestWithoutRouteShouldBeRecordedAsUnmatched() throws Exception {
+        final Route route = this.metrics.instrument("GET", "/metrics", (req, res) -> {
+            throw new IllegalArgumentException();
+        });
+
+        this.metrics.begin();
+        this.metrics.end(404);
+        this.metrics.begin();
+        assertThrows(IllegalArgumentException.class, () -> route.handle(null, null));
+        this.metrics.end(400);
+
+        final String text = this.metrics.render();
+
+        assertTrue(text.contains(
+            "moneytransfer_http_errors_total{method=\"ANY\",route=\"unmatched\",status=\"404\"} 1\n"));
+        assertTrue(text.contains(
+            "moneytransfer_http_errors_total{method=\"GET\",route=\"/metrics\",status=\"400\"} 1\n"));
+    }
+
+    @Test
+    public void testHistogramShouldCountLatenciesUpToEachBound() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(50_000);
+        histogram.record(100_000);
+        histogram.record(20_000_000_000L);
+
+        final long[] counts = histogram.cumulativeCounts();
+
+        assertEquals(2, counts[0]);
+        assertEquals(2, counts[LatencyHistogram.BOUNDS.length - 1]);
+        assertEquals(3, counts[LatencyHistogram.BOUNDS.length]);
+        assertEquals(20_000_150_000L, histogram.getSumNanos());
+    }
+
+    @Test
+    public void testRegisteredValuesShouldBeRenderedWithTheirType() {
+        this.metrics.counter("moneytransfer_account_cache_hits_total", "Account reads answered by the cache.", () -> 7);
+        this.metrics.gauge("moneytransfer_account_cache_size", "Accounts in the cache.", () -> 3);
+
+        final String text = this.metrics.render();
+
+        assertTrue(text.contains("# TYPE moneytransfer_account_cache_hits_total counter\n"
+            + "moneytransfer_account_cache_hits_total 7\n"));
+        assertTrue(text.contains("# TYPE moneytransfer_account_cache_size gauge\n"
+            + "moneytransfer_account_cache_size 3\n"));
+    }
+}
@@ -0,0 +1,188 @@
+package com.moneytransfer.server;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.exceptions.InsufficientFundsException;
+import com.moneytransfer.service.AccountService;
+import com.moneytransfer.service.TransactionService;
+import com.moneytransfer.service.lock.LockTimeoutException;
+import com.moneytransfer.utils.Identifiers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.jetty.http.HttpStatus.BAD_REQUEST_400;
+import static org.eclipse.jetty.http.HttpStatus.INTERNAL_SERVER_ERROR_500;
+import static org.eclipse.jetty.http.HttpStatus.NOT_FOUND_404;
+import static org.eclipse.jetty.http.HttpStatus.OK_200;
+import static org.eclipse.jetty.http.HttpStatus.SERVICE_UNAVAILABLE_503;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BinaryServerTest {
+
+    private final AccountService accountService = mock(AccountService.class);
+    private final TransactionService transactionService = mock(TransactionService.class);
+    private final Account origin = account(100_00);
+    private final Account destination = account(0);
+    private BinaryServer server;
+
+    @AfterEach
+    void tearDown() {
+        this.server.close();
+    }
+
+    @Test
+    public void testResponsesShouldBeWrittenAsCommandsComplete() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Transaction transaction = new Transaction(Identifiers.next(), account(75_00), this.destination,
+            Money.ofCents(25_00), LocalDateTime.of(2020, 3, 1, 12, 0, 0, 123_456_000));
+
+        when(this.transactionService.transfer(this.origin.getNumber(), this.destination.getNumber(),
+            new BigDecimal("25.00"))).thenAnswer(invocation -> {
+                release.await(10, SECONDS);
+                return transaction;
+            });
+        when(this.accountService.deposit(this.destination.getNumber(), new BigDecimal("0.10")))
+            .thenReturn(account(10));
+        this.server = new BinaryServer(0, 4, 16, this.accountService, this.transactionService);
+
+        try (Socket socket = connect()) {
+            final ByteBuffer commands = ByteBuffer.allocate(256);
+            BinaryProtocol.writeTransfer(commands, 1, this.origin.getNumber(), this.destination.getNumber(), 25_00);
+            BinaryProtocol.writeDeposit(commands, 2, this.destination.getNumber(), 10);
+            send(socket, commands);
+
+            final ByteBuffer deposited = receive(socket, 2, OK_200);
+            assertEquals(10, deposited.getLong());
+
+            release.countDown();
+
+            final ByteBuffer transferred = receive(socket, 1, OK_200);
+            final byte[] id = new byte[Identifiers.SIZE];
+            transferred.get(id);
+            assertArrayEquals(Identifiers.toBytes(transaction.getId()), id);
+            assertEquals(1_583_064_000_123_456L, transferred.getLong());
+            assertEquals(75_00, transferred.getLong());
+        }
+    }
+
+    @Test
+    public void testErrorsShouldHaveTheStatusesOfTheRestApi() throws Exception {
+        when(this.accountService.deposit(any(), any())).thenThrow(new NoSuchElementException("Account not found"));
+        when(this.accountService.withdraw(any(), any())).thenThrow(new InsufficientFundsException());
+        when(this.transactionService.transfer(eq(this.origin.getNumber()), any(), any()))
+            .thenThrow(new LockTimeoutException("Timed out waiting for account locks"));
+        when(this.transactionService.transfer(eq(this.destination.getNumber()), any(), any()))
+            .thenThrow(new IllegalStateException("Storage is down"));
+        this.server = new BinaryServer(0, 1, 16, this.accountService, this.transactionService);
+
+        try (Socket socket = connect()) {
+            final ByteBuffer commands = ByteBuffer.allocate(256);
+            BinaryProtocol.writeDeposit(commands, 1, this.origin.getNumber(), 10);
+            BinaryProtocol.writeWithdraw(commands, 2, this.origin.getNumber(), 10);
+            BinaryProtocol.writeTransfer(commands, 3, this.origin.getNumber(), this.destination.getNumber(), 10);
+            BinaryProtocol.writeTransfer(commands, 4, this.destination.getNumber(), this.origin.getNumber(), 10);
+            commands.putInt(BinaryProtocol.COMMAND_HEADER_SIZE).putLong(5).put((byte) 9);
+            commands.putInt(BinaryProtocol.COMMAND_HEADER_SIZE).putLong(6).put(BinaryProtocol.TRANSFER);
+            send(socket, commands);
+
+            assertEquals("Account not found", message(receive(socket, 1, NOT_FOUND_404)));
+            assertEquals(new InsufficientFundsException().getMessage(), message(receive(socket, 2, BAD_REQUEST_400)));
+            assertEquals("Timed out waiting for account locks", message(receive(socket, 3, SERVICE_UNAVAILABLE_503)));
+            assertEquals("Unexpected error", message(receive(socket, 4, INTERNAL_SERVER_ERROR_500)));
+            assertEquals("Command 9 is not known", message(receive(socket, 5, BAD_REQUEST_400)));
+            assertEquals("Command should be 49 bytes long", message(receive(socket, 6, BAD_REQUEST_400)));
+        }
+    }
+
+    @Test
+    public void testConnectionShouldNotBeReadWhileTooManyCommandsAreInProgress() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        when(this.accountService.withdraw(this.origin.getNumber(), new BigDecimal("0.01"))).thenAnswer(invocation -> {
+            release.await(10, SECONDS);
+            return account(99_99);
+        });
+        when(this.accountService.deposit(this.origin.getNumber(), new BigDecimal("0.01"))).thenReturn(account(100_00));
+        this.server = new BinaryServer(0, 2, 1, this.accountService, this.transactionService);
+
+        try (Socket socket = connect()) {
+            final ByteBuffer commands = ByteBuffer.allocate(256);
+            BinaryProtocol.writeWithdraw(commands, 1, this.origin.getNumber(), 1);
+            BinaryProtocol.writeDeposit(commands, 2, this.origin.getNumber(), 1);
+            send(socket, commands);
+
+            verify(this.accountService, timeout(5000)).withdraw(any(), any());
+            Thread.sleep(200);
+            verify(this.accountService, never()).deposit(any(), any());
+
+            release.countDown();
+
+            assertEquals(99_99, receive(socket, 1, OK_200).getLong());
+            assertEquals(100_00, receive(socket, 2, OK_200).getLong());
+        }
+    }
+
+    @Test
+    public void testConnectionShouldBeClosedWhenFramesCannotBeRead() throws Exception {
+        this.server = new BinaryServer(0, 1, 16, this.accountService, this.transactionService);
+
+        try (Socket socket = connect()) {
+            send(socket, ByteBuffer.allocate(12).putInt(1 << 20).putLong(1));
+
+            assertEquals(-1, socket.getInputStream().read());
+            verify(this.accountService, never()).deposit(any(), any());
+        }
+    }
+
+    private Socket connect() throws IOException {
+        final Socket socket = new Socket("localhost", this.server.getPort());
+        socket.setSoTimeout(10_000);
+
+        return socket;
+    }
+
+    private static void send(final Socket socket, final ByteBuffer commands) throws IOException {
+        socket.getOutputStream().write(commands.array(), 0, commands.position());
+    }
+
+    private static ByteBuffer receive(final Socket socket, final long correlationId, final int status)
+        throws IOException {
+        final DataInputStream input = new DataInputStream(socket.getInputStream());
+        final byte[] response = new byte[input.readInt()];
+        input.readFully(response);
+
+        final ByteBuffer buffer = ByteBuffer.wrap(response);
+        assertEquals(correlationId, buffer.getLong());
+        assertEquals(status, buffer.getShort());
+
+        return buffer;
+    }
+
+    private static String message(final ByteBuffer body) {
+        return new String(body.array(), body.position(), body.remaining(), UTF_8);
+    }
+
+    private static Account account(final long cents) {
+        return new Account(Identifiers.next(), "John Doe", Money.ofCents(cents), 0L);
+    }
+}
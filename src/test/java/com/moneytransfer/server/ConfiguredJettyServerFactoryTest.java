@@ -0,0 +1,79 @@
+package com.moneytransfer.server;
+
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.DefaultHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ConfiguredJettyServerFactoryTest {
+
+    @Test
+    public void testCreateShouldSizeThreadPoolFromOptions() {
+        final Server server = new ConfiguredJettyServerFactory(64, 4, 1000, -1, -1, false, 16).create(-1, -1, -1);
+        final QueuedThreadPool threadPool = (QueuedThreadPool) server.getThreadPool();
+
+        assertEquals(64, threadPool.getMaxThreads());
+        assertEquals(4, threadPool.getMinThreads());
+        assertEquals(1000, threadPool.getIdleTimeout());
+    }
+
+    @Test
+    public void testSetConnectorsShouldApplyAcceptorsAndSelectors() {
+        final Server server = new ConfiguredJettyServerFactory(64, 4, 1000, 1, 2, false, 16).create(-1, -1, -1);
+        final ServerConnector connector = new ServerConnector(server);
+        connector.setHost("localhost");
+        connector.setPort(4567);
+        connector.setIdleTimeout(5000);
+
+        server.setConnectors(new Connector[]{connector});
+        final ServerConnector resized = (ServerConnector) server.getConnectors()[0];
+
+        assertEquals(1, resized.getAcceptors());
+        assertEquals(2, resized.getSelectorManager().getSelectorCount());
+        assertEquals("localhost", resized.getHost());
+        assertEquals(4567, resized.getPort());
+        assertEquals(5000, resized.getIdleTimeout());
+    }
+
+    @Test
+    public void testSetHandlerShouldWrapHandlerOnlyForVirtualThreads() {
+        final DefaultHandler handler = new DefaultHandler();
+        final Server platform = new ConfiguredJettyServerFactory(64, 4, 1000, -1, -1, false, 16).create(-1, -1, -1);
+        platform.setHandler(handler);
+
+        assertSame(handler, platform.getHandler());
+
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads need Java 21");
+
+        final Server virtual = new ConfiguredJettyServerFactory(64, 4, 1000, -1, -1, true, 16).create(-1, -1, -1);
+        virtual.setHandler(handler);
+
+        assertTrue(virtual.getHandler() instanceof VirtualThreadHandler);
+        assertSame(handler, ((VirtualThreadHandler) virtual.getHandler()).getHandler());
+    }
+
+    @Test
+    public void testConstructorShouldRaiseErrorIfOptionsAreInvalid() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new ConfiguredJettyServerFactory(4, 8, 1000, -1, -1, false, 16),
+            "Maximum threads must not be lower than minimum");
+        assertThrows(IllegalArgumentException.class,
+            () -> new ConfiguredJettyServerFactory(64, 4, 1000, -1, -1, false, 0),
+            "Concurrent requests must be allowed");
+
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThrows(IllegalStateException.class,
+            () -> new ConfiguredJettyServerFactory(64, 4, 1000, -1, -1, true, 16),
+            "Virtual threads must not be enabled before Java 21");
+    }
+}
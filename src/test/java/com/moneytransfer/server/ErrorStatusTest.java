@@ -0,0 +1,42 @@
+package com.moneytransfer.server;
+
+import com.moneytransfer.domain.exceptions.InsufficientFundsException;
+import com.moneytransfer.service.lock.LockTimeoutException;
+import com.moneytransfer.service.pipeline.PipelineFullException;
+import com.moneytransfer.service.shard.MailboxFullException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import static org.eclipse.jetty.http.HttpStatus.BAD_REQUEST_400;
+import static org.eclipse.jetty.http.HttpStatus.CONFLICT_409;
+import static org.eclipse.jetty.http.HttpStatus.INTERNAL_SERVER_ERROR_500;
+import static org.eclipse.jetty.http.HttpStatus.NOT_FOUND_404;
+import static org.eclipse.jetty.http.HttpStatus.SERVICE_UNAVAILABLE_503;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ErrorStatusTest {
+
+    @Test
+    public void testErrorsShouldBeMappedToTheStatusesOfTheApi() {
+        assertEquals(NOT_FOUND_404, ErrorStatus.of(new NoSuchElementException("Account not found")));
+        assertEquals(BAD_REQUEST_400, ErrorStatus.of(new InsufficientFundsException()));
+        assertEquals(CONFLICT_409, ErrorStatus.of(new ConcurrentModificationException()));
+        assertEquals(SERVICE_UNAVAILABLE_503, ErrorStatus.of(new LockTimeoutException("Timed out")));
+        assertEquals(SERVICE_UNAVAILABLE_503, ErrorStatus.of(new PipelineFullException("Full")));
+        assertEquals(SERVICE_UNAVAILABLE_503, ErrorStatus.of(new MailboxFullException("Full")));
+        assertEquals(INTERNAL_SERVER_ERROR_500, ErrorStatus.of(new IllegalStateException("Storage is down")));
+    }
+
+    @Test
+    public void testOnlyRejectionsOfTheRequestShouldBeFinal() {
+        assertTrue(ErrorStatus.isFinal(BAD_REQUEST_400));
+        assertTrue(ErrorStatus.isFinal(NOT_FOUND_404));
+        assertFalse(ErrorStatus.isFinal(CONFLICT_409), "Conflicts may succeed when retried");
+        assertFalse(ErrorStatus.isFinal(SERVICE_UNAVAILABLE_503), "Busy servers may succeed when retried");
+        assertFalse(ErrorStatus.isFinal(INTERNAL_SERVER_ERROR_500));
+    }
+}
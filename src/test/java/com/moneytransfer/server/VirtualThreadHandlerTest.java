@@ -0,0 +1,157 @@
+package com.moneytransfer.server;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class VirtualThreadHandlerTest {
+
+    private Server server;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (this.server != null) {
+            this.server.stop();
+        }
+    }
+
+    @Test
+    public void testHandleShouldRunRequestOnExecutorThread() throws Exception {
+        final ExecutorService executor = newSingleThreadExecutor(task -> new Thread(task, "request-handler"));
+        start(executor, new AbstractHandler() {
+            @Override
+            public void handle(final String target,
+                               final Request baseRequest,
+                               final HttpServletRequest request,
+                               final HttpServletResponse response) throws IOException {
+                baseRequest.setHandled(true);
+                response.getWriter().write(Thread.currentThread().getName());
+            }
+        });
+
+        final HttpURLConnection connection = get();
+
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("request-handler", body(connection.getInputStream()), "Request must be handled by executor");
+    }
+
+    @Test
+    public void testHandleShouldAnswerServerErrorIfHandlerFails() throws Exception {
+        start(newSingleThreadExecutor(), new AbstractHandler() {
+            @Override
+            public void handle(final String target,
+                               final Request baseRequest,
+                               final HttpServletRequest request,
+                               final HttpServletResponse response) {
+                throw new IllegalStateException("Handler failed");
+            }
+        });
+
+        assertEquals(500, get().getResponseCode());
+    }
+
+    @Test
+    public void testHandleShouldAnswerUnavailableIfExecutorRejectsRequest() throws Exception {
+        final ExecutorService executor = newSingleThreadExecutor();
+        executor.shutdown();
+        start(executor, new AbstractHandler() {
+            @Override
+            public void handle(final String target,
+                               final Request baseRequest,
+                               final HttpServletRequest request,
+                               final HttpServletResponse response) {
+                baseRequest.setHandled(true);
+            }
+        });
+
+        assertEquals(503, get().getResponseCode());
+    }
+
+    @Test
+    public void testHandleShouldNotRunMoreRequestsAtOnceThanAllowed() throws Exception {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        start(newFixedThreadPool(4), 1, new AbstractHandler() {
+            @Override
+            public void handle(final String target,
+                               final Request baseRequest,
+                               final HttpServletRequest request,
+                               final HttpServletResponse response) {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    active.decrementAndGet();
+                }
+
+                baseRequest.setHandled(true);
+            }
+        });
+        final ExecutorService clients = newFixedThreadPool(3);
+
+        try {
+            final Future<?>[] requests = new Future<?>[3];
+
+            for (int i = 0; i < requests.length; i++) {
+                requests[i] = clients.submit(() -> get().getResponseCode());
+            }
+
+            for (final Future<?> request : requests) {
+                assertEquals(200, request.get(10, SECONDS));
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(1, maxActive.get(), "Requests beyond the permits must wait");
+    }
+
+    private void start(final ExecutorService executor, final AbstractHandler handler) throws Exception {
+        start(executor, 16, handler);
+    }
+
+    private void start(final ExecutorService executor,
+                       final int maxConcurrency,
+                       final AbstractHandler handler) throws Exception {
+        final VirtualThreadHandler virtualThreadHandler = new VirtualThreadHandler(executor, maxConcurrency);
+        virtualThreadHandler.setHandler(handler);
+
+        this.server = new Server(0);
+        this.server.setHandler(virtualThreadHandler);
+        this.server.start();
+    }
+
+    private HttpURLConnection get() throws IOException {
+        final int port = ((ServerConnector) this.server.getConnectors()[0]).getLocalPort();
+
+        return (HttpURLConnection) new URL("http://localhost:" + port + "/").openConnection();
+    }
+
+    private static String body(final InputStream stream) throws IOException {
+        try (InputStream input = stream) {
+            return new String(input.readAllBytes(), UTF_8);
+        }
+    }
+}
@@ -47,6 +47,14 @@ public class AccountServiceTest {
             "Account owner must be non-empty");
     }
 
+    @Test
+    public void testShouldFindAccount() throws Exception {
+        final Account account = new Account("John Doe");
+        when(this.accountDao.findById(account.getNumber())).thenReturn(account);
+
+        assertEquals(account, this.accountService.find(account.getNumber()), "Account must be found by number");
+    }
+
     @Test
     public void testShouldCreateAccount() throws Exception {
         final String owner = "John Doe";
@@ -56,7 +64,7 @@ public class AccountServiceTest {
         assertNotNull(savedAccount, "Account must be saved");
         assertEquals(owner, savedAccount.getOwner(), "Saved account must have provided owner");
         assertNotNull(savedAccount.getNumber(), "Saved account must have a number");
-        assertEquals(ZERO.setScale(DECIMAL_PLACES, HALF_UP), savedAccount.getBalance(),
+        assertEquals(ZERO.setScale(DECIMAL_PLACES, HALF_UP), savedAccount.getBalance().toBigDecimal(),
             "Saved account must have initial balance as zero");
     }
 
@@ -109,14 +117,14 @@ public class AccountServiceTest {
         final String accountNumber = randomUUID().toString();
         final BigDecimal amount = ONE;
         final Account account = new Account("John Doe");
-        final BigDecimal previousBalance = account.getBalance();
+        final BigDecimal previousBalance = account.getBalance().toBigDecimal();
         when(this.accountDao.findById(accountNumber)).thenReturn(account);
 
         this.accountService.deposit(accountNumber, amount);
 
-        assertTrue(account.getBalance().compareTo(previousBalance) > 0,
+        assertTrue(account.getBalance().toBigDecimal().compareTo(previousBalance) > 0,
             "Account balance must increase after deposit");
-        assertEquals(previousBalance.add(amount), account.getBalance(),
+        assertEquals(previousBalance.add(amount), account.getBalance().toBigDecimal(),
             "Account balance must increase by given amount");
     }
 
@@ -180,14 +188,14 @@ public class AccountServiceTest {
         final BigDecimal amount = ONE;
         final Account account = new Account("John Doe");
         account.deposit(TEN);
-        final BigDecimal previousBalance = account.getBalance();
+        final BigDecimal previousBalance = account.getBalance().toBigDecimal();
         when(this.accountDao.findById(accountNumber)).thenReturn(account);
 
         this.accountService.withdraw(accountNumber, amount);
 
-        assertTrue(account.getBalance().compareTo(previousBalance) < 0,
+        assertTrue(account.getBalance().toBigDecimal().compareTo(previousBalance) < 0,
             "Account balance must decrease after deposit");
-        assertEquals(previousBalance.subtract(amount), account.getBalance(),
+        assertEquals(previousBalance.subtract(amount), account.getBalance().toBigDecimal(),
             "Account balance must decrease by given amount");
     }
 }
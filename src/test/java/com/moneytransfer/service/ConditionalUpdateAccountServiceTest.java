@@ -0,0 +1,74 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.repository.AccountDao;
+import com.moneytransfer.domain.repository.DirectUnitOfWork;
+import com.moneytransfer.service.retry.RetryExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.NoSuchElementException;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.ZERO;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConditionalUpdateAccountServiceTest {
+
+    private AccountDao accountDao;
+    private AccountService accountService;
+
+    @BeforeEach
+    void beforeEach() {
+        this.accountDao = mock(AccountDao.class);
+        this.accountService = new ConditionalUpdateAccountServiceImpl(
+            this.accountDao, this.accountDao, new DirectUnitOfWork(), new RetryExecutor());
+    }
+
+    @Test
+    public void testShouldRaiseAnErrorIfAmountForDepositIsZero() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+            () -> this.accountService.deposit(randomUUID().toString(), ZERO),
+            "Amount for deposit must be greater than zero");
+        verify(this.accountDao, never()).credit(anyString(), any());
+    }
+
+    @Test
+    public void testShouldRaiseAnErrorIfAmountForWithdrawIsNegative() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+            () -> this.accountService.withdraw(randomUUID().toString(), new BigDecimal(-10d)),
+            "Amount for withdraw must be greater than zero");
+        verify(this.accountDao, never()).debit(anyString(), any());
+    }
+
+    @Test
+    public void testShouldCreditScaledAmountAndReturnUpdatedAccount() throws Exception {
+        final Account account = new Account("John Doe");
+        when(this.accountDao.findById(account.getNumber())).thenReturn(account);
+
+        final Account result = this.accountService.deposit(account.getNumber(), new BigDecimal("1.005"));
+
+        verify(this.accountDao).credit(account.getNumber(), new BigDecimal("1.01"));
+        assertSame(account, result, "Updated account must be returned");
+    }
+
+    @Test
+    public void testShouldRaiseAnErrorIfAccountForWithdrawIsNotFound() throws Exception {
+        final String accountNumber = randomUUID().toString();
+        doThrow(new NoSuchElementException()).when(this.accountDao).debit(accountNumber, ONE.setScale(2));
+
+        assertThrows(NoSuchElementException.class,
+            () -> this.accountService.withdraw(accountNumber, ONE),
+            "Account for withdraw must exist");
+    }
+}
@@ -0,0 +1,139 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.exceptions.InsufficientFundsException;
+import com.moneytransfer.domain.repository.AccountDao;
+import com.moneytransfer.domain.repository.DirectUnitOfWork;
+import com.moneytransfer.domain.repository.TransactionDao;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.domain.response.TransferStatus;
+import com.moneytransfer.service.retry.RetryExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.ZERO;
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConditionalUpdateTransactionServiceTest {
+
+    private AccountDao accountDao;
+    private TransactionDao transactionDao;
+    private TransactionService transactionService;
+
+    @BeforeEach
+    void beforeEach() {
+        this.accountDao = mock(AccountDao.class);
+        this.transactionDao = mock(TransactionDao.class);
+        this.transactionService = new ConditionalUpdateTransactionServiceImpl(
+            this.accountDao, this.accountDao, this.transactionDao, new DirectUnitOfWork(), new RetryExecutor());
+    }
+
+    @Test
+    public void testTransferShouldRaiseErrorIfOriginAndDestinationAccountsAreSame() throws Exception {
+        final String accountNumber = randomUUID().toString();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> this.transactionService.transfer(accountNumber, accountNumber, ONE),
+            "Accounts must be different");
+        verify(this.accountDao, never()).debit(anyString(), any());
+    }
+
+    @Test
+    public void testTransferShouldRaiseErrorIfAmountIsZero() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+            () -> this.transactionService.transfer(randomUUID().toString(), randomUUID().toString(), ZERO),
+            "Transfer amount must be greater than zero");
+        verify(this.accountDao, never()).debit(anyString(), any());
+    }
+
+    @Test
+    public void testTransferShouldRaiseErrorIfOriginAccountHasInsufficientBalance() throws Exception {
+        final String origin = "a" + randomUUID().toString();
+        final String destination = "b" + randomUUID().toString();
+        doThrow(new IllegalArgumentException()).when(this.accountDao).debit(origin, ONE.setScale(2));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> this.transactionService.transfer(origin, destination, ONE),
+            "Origin account must have sufficient balance");
+        verify(this.accountDao, never()).credit(anyString(), any());
+    }
+
+    @Test
+    public void testTransferShouldRaiseErrorIfDestinationAccountIsNotFound() throws Exception {
+        final String origin = "a" + randomUUID().toString();
+        final String destination = "b" + randomUUID().toString();
+        doThrow(new NoSuchElementException()).when(this.accountDao).credit(destination, ONE.setScale(2));
+
+        assertThrows(NoSuchElementException.class,
+            () -> this.transactionService.transfer(origin, destination, ONE),
+            "Destination account must exist");
+    }
+
+    @Test
+    public void testTransferShouldReportMissingDestinationBeforeInsufficientBalance() throws Exception {
+        final String origin = "a" + randomUUID().toString();
+        final String destination = "b" + randomUUID().toString();
+        doThrow(new IllegalArgumentException()).when(this.accountDao).debit(origin, ONE.setScale(2));
+        when(this.accountDao.findById(destination)).thenThrow(new NoSuchElementException());
+
+        assertThrows(NoSuchElementException.class,
+            () -> this.transactionService.transfer(origin, destination, ONE),
+            "Destination account must exist");
+    }
+
+    @Test
+    public void testTransferShouldMoveAmountAndSaveTransaction() throws Exception {
+        final Account origin = new Account("John Doe");
+        final Account destination = new Account("Joseph Doe");
+        when(this.accountDao.findById(origin.getNumber())).thenReturn(origin);
+        when(this.accountDao.findById(destination.getNumber())).thenReturn(destination);
+        when(this.transactionDao.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final Transaction transaction = this.transactionService.transfer(
+            origin.getNumber(), destination.getNumber(), ONE);
+
+        verify(this.accountDao).debit(origin.getNumber(), ONE.setScale(2));
+        verify(this.accountDao).credit(destination.getNumber(), ONE.setScale(2));
+        assertEquals(origin, transaction.getOrigin(), "Transaction must reference origin account");
+        assertEquals(destination, transaction.getDestination(), "Transaction must reference destination account");
+        assertEquals(ONE.setScale(2), transaction.getAmount().toBigDecimal(),
+            "Transaction must have transferred amount");
+    }
+
+    @Test
+    public void testBatchTransferShouldGiveCreditBackIfDebitFails() throws Exception {
+        final Account origin = new Account("John Doe");
+        final Account destination = new Account("Joseph Doe");
+        final Account other = new Account("Jane Doe");
+        when(this.accountDao.findById(origin.getNumber())).thenReturn(origin);
+        when(this.accountDao.findById(destination.getNumber())).thenReturn(destination);
+        when(this.accountDao.findById(other.getNumber())).thenReturn(other);
+        when(this.transactionDao.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new InsufficientFundsException()).when(this.accountDao).debit(origin.getNumber(), ONE.setScale(2));
+
+        final List<TransferResult> results = this.transactionService.transfer(asList(
+            new TransferRequest(origin.getNumber(), destination.getNumber(), ONE),
+            new TransferRequest(other.getNumber(), destination.getNumber(), ONE)), BatchMode.BEST_EFFORT);
+
+        assertEquals(TransferStatus.INSUFFICIENT_FUNDS, results.get(0).getStatus());
+        assertEquals(TransferStatus.COMPLETED, results.get(1).getStatus());
+        verify(this.accountDao).debit(destination.getNumber(), ONE.setScale(2));
+        verify(this.transactionDao).save(any());
+    }
+}
@@ -0,0 +1,118 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.repository.AccountDao;
+import com.moneytransfer.domain.repository.TransactionHistoryDao;
+import com.moneytransfer.domain.request.TransactionCursor;
+import com.moneytransfer.domain.request.TransactionDirection;
+import com.moneytransfer.domain.request.TransactionQuery;
+import com.moneytransfer.domain.response.TransactionPage;
+import com.moneytransfer.domain.response.TransactionSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransactionHistoryServiceTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 1, 1, 12, 0);
+
+    private AccountDao accountDao;
+    private TransactionHistoryDao historyDao;
+    private TransactionHistoryService historyService;
+    private Account account;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        this.accountDao = mock(AccountDao.class);
+        this.historyDao = mock(TransactionHistoryDao.class);
+        this.historyService = new TransactionHistoryService(this.accountDao, this.historyDao);
+        this.account = new Account("John Doe");
+        when(this.accountDao.findById(this.account.getNumber())).thenReturn(this.account);
+    }
+
+    @Test
+    public void testFindShouldMergeBothDirectionsNewestFirstAndReturnNextCursor() throws Exception {
+        when(this.historyDao.findByAccount(any(), eq(TransactionDirection.OUTGOING), eq(3)))
+            .thenReturn(asList(summary("t4", 4), summary("t1", 1)));
+        when(this.historyDao.findByAccount(any(), eq(TransactionDirection.INCOMING), eq(3)))
+            .thenReturn(asList(summary("t3", 3), summary("t2", 2)));
+
+        final TransactionPage page = this.historyService.find(query(null, 2));
+
+        assertEquals(2, page.getTransactions().size());
+        assertEquals("t4", page.getTransactions().get(0).getId());
+        assertEquals("t3", page.getTransactions().get(1).getId());
+        assertEquals(new TransactionCursor(DATE.plusMinutes(3), "t3"), TransactionCursor.decode(page.getNext()));
+    }
+
+    @Test
+    public void testFindShouldReadOneDirectionAndEndOnLastPage() throws Exception {
+        when(this.historyDao.findByAccount(any(), eq(TransactionDirection.INCOMING), anyInt()))
+            .thenReturn(asList(summary("t3", 3)));
+
+        final TransactionPage page = this.historyService.find(query(TransactionDirection.INCOMING, 2));
+
+        assertEquals(1, page.getTransactions().size());
+        assertNull(page.getNext(), "Last page must have no next cursor");
+        verify(this.historyDao, never()).findByAccount(any(), eq(TransactionDirection.OUTGOING), anyInt());
+    }
+
+    @Test
+    public void testFindShouldRaiseErrorIfAccountDoesNotExist() throws Exception {
+        when(this.accountDao.findById("unknown")).thenThrow(new NoSuchElementException());
+        when(this.historyDao.findByAccount(any(), any(), anyInt())).thenReturn(emptyList());
+
+        assertThrows(NoSuchElementException.class, () -> this.historyService.find(
+            new TransactionQuery("unknown", null, null, null, null, null, null, 10)));
+    }
+
+    @Test
+    public void testFindShouldRaiseErrorIfQueryIsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> this.historyService.find(query(null, 0)),
+            "Limit must be positive");
+        assertThrows(IllegalArgumentException.class, () -> this.historyService.find(
+            query(null, TransactionHistoryService.MAX_LIMIT + 1)), "Limit must be bounded");
+        assertThrows(IllegalArgumentException.class, () -> this.historyService.find(
+            new TransactionQuery(this.account.getNumber(), null, DATE, DATE, null, null, null, 10)),
+            "Date range must not be empty");
+        assertThrows(IllegalArgumentException.class, () -> this.historyService.find(
+            new TransactionQuery(this.account.getNumber(), null, null, null, Money.ofCents(2), Money.ofCents(1),
+                null, 10)), "Amount range must not be empty");
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("not a cursor"));
+    }
+
+    @Test
+    public void testExportShouldStreamFromDaoAndValidateDates() throws Exception {
+        final TransactionHistoryDao.Sink sink = transaction -> { };
+        when(this.historyDao.export(DATE, DATE.plusDays(1), sink)).thenReturn(2L);
+
+        assertEquals(2L, this.historyService.export(DATE, DATE.plusDays(1), sink));
+        assertThrows(IllegalArgumentException.class, () -> this.historyService.export(DATE, DATE, sink),
+            "Date range must not be empty");
+        verify(this.historyDao, never()).export(DATE, DATE, sink);
+    }
+
+    private TransactionQuery query(final TransactionDirection direction, final int limit) {
+        return new TransactionQuery(this.account.getNumber(), direction, null, null, null, null, null, limit);
+    }
+
+    private static TransactionSummary summary(final String id, final int minutes) {
+        return new TransactionSummary(id, "origin", "destination", Money.ofCents(100), DATE.plusMinutes(minutes));
+    }
+}
@@ -1,13 +1,19 @@
 package com.moneytransfer.service;
 
 import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
 import com.moneytransfer.domain.entities.Transaction;
 import com.moneytransfer.domain.repository.AccountDao;
 import com.moneytransfer.domain.repository.TransactionDao;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.domain.response.TransferStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static com.moneytransfer.utils.Constants.DECIMAL_PLACES;
@@ -15,10 +21,17 @@ import static java.math.BigDecimal.ONE;
 import static java.math.BigDecimal.TEN;
 import static java.math.BigDecimal.ZERO;
 import static java.math.RoundingMode.HALF_UP;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class TransactionServiceTest {
@@ -142,9 +155,125 @@ public class TransactionServiceTest {
 
         transaction.transfer();
 
-        assertEquals(TEN.subtract(ONE).setScale(DECIMAL_PLACES, HALF_UP), origin.getBalance(),
+        assertEquals(TEN.subtract(ONE).setScale(DECIMAL_PLACES, HALF_UP), origin.getBalance().toBigDecimal(),
             "Origin account balance should be decreased by amount");
-        assertEquals(ZERO.add(ONE).setScale(DECIMAL_PLACES, HALF_UP), destination.getBalance(),
+        assertEquals(ZERO.add(ONE).setScale(DECIMAL_PLACES, HALF_UP), destination.getBalance().toBigDecimal(),
             "Destination account balance should be increased by amount");
     }
+
+    @Test
+    public void testBatchTransferShouldReportResultOfEachTransferInBestEffortMode() throws Exception {
+        final Account origin = new Account("John Doe");
+        origin.deposit(TEN);
+        final Account destination = new Account("Joseph Doe");
+        final String unknownAccountNumber = randomUUID().toString();
+
+        when(this.accountDao.findById(origin.getNumber())).thenReturn(origin);
+        when(this.accountDao.findById(destination.getNumber())).thenReturn(destination);
+        when(this.accountDao.findById(unknownAccountNumber)).thenThrow(new NoSuchElementException());
+        when(this.transactionDao.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final List<TransferResult> results = this.transactionService.transfer(asList(
+            new TransferRequest(origin.getNumber(), destination.getNumber(), ONE),
+            new TransferRequest(destination.getNumber(), origin.getNumber(), TEN),
+            new TransferRequest(origin.getNumber(), unknownAccountNumber, ONE),
+            new TransferRequest(origin.getNumber(), origin.getNumber(), ONE),
+            new TransferRequest(origin.getNumber(), destination.getNumber(), null),
+            new TransferRequest(origin.getNumber(), destination.getNumber(), ONE)), BatchMode.BEST_EFFORT);
+
+        assertEquals(asList(TransferStatus.COMPLETED, TransferStatus.INSUFFICIENT_FUNDS, TransferStatus.UNKNOWN_ACCOUNT,
+            TransferStatus.SAME_ACCOUNT, TransferStatus.INVALID_REQUEST, TransferStatus.COMPLETED),
+            results.stream().map(TransferResult::getStatus).collect(toList()));
+        assertEquals(TEN.subtract(ONE).subtract(ONE).setScale(DECIMAL_PLACES, HALF_UP),
+            origin.getBalance().toBigDecimal(),
+            "Origin account balance should be decreased by completed transfers");
+        verify(this.accountDao, times(1)).save(origin);
+        verify(this.accountDao, times(1)).save(destination);
+        verify(this.transactionDao, times(2)).save(any());
+    }
+
+    @Test
+    public void testBatchTransferShouldNotDebitOriginIfDestinationOverflowsInBestEffortMode() throws Exception {
+        final Account origin = new Account("John Doe");
+        origin.deposit(TEN);
+        final Account full = new Account("Joseph Doe");
+        full.deposit(Money.ofCents(Long.MAX_VALUE));
+        final Account destination = new Account("Jane Doe");
+
+        when(this.accountDao.findById(origin.getNumber())).thenReturn(origin);
+        when(this.accountDao.findById(full.getNumber())).thenReturn(full);
+        when(this.accountDao.findById(destination.getNumber())).thenReturn(destination);
+        when(this.transactionDao.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final List<TransferResult> results = this.transactionService.transfer(asList(
+            new TransferRequest(origin.getNumber(), full.getNumber(), ONE),
+            new TransferRequest(origin.getNumber(), destination.getNumber(), ONE)), BatchMode.BEST_EFFORT);
+
+        assertEquals(asList(TransferStatus.INVALID_REQUEST, TransferStatus.COMPLETED),
+            results.stream().map(TransferResult::getStatus).collect(toList()));
+        assertEquals(TEN.subtract(ONE).setScale(DECIMAL_PLACES, HALF_UP), origin.getBalance().toBigDecimal(),
+            "Origin must only be debited by the completed transfer");
+        assertEquals(Money.ofCents(Long.MAX_VALUE), full.getBalance());
+        verify(this.accountDao, never()).save(full);
+    }
+
+    @Test
+    public void testBatchTransferShouldApplyNothingIfOneTransferFailsInAllOrNothingMode() throws Exception {
+        final Account origin = new Account("John Doe");
+        origin.deposit(ONE);
+        final Account destination = new Account("Joseph Doe");
+
+        when(this.accountDao.findById(origin.getNumber())).thenReturn(origin);
+        when(this.accountDao.findById(destination.getNumber())).thenReturn(destination);
+
+        final List<TransferResult> results = this.transactionService.transfer(asList(
+            new TransferRequest(origin.getNumber(), destination.getNumber(), ONE),
+            new TransferRequest(origin.getNumber(), destination.getNumber(), ONE)), BatchMode.ALL_OR_NOTHING);
+
+        assertEquals(asList(TransferStatus.ROLLED_BACK, TransferStatus.INSUFFICIENT_FUNDS),
+            results.stream().map(TransferResult::getStatus).collect(toList()));
+        verify(this.accountDao, never()).save(any());
+        verify(this.transactionDao, never()).save(any());
+    }
+
+    @Test
+    public void testBatchTransferShouldNotTouchAccountsIfOneTransferIsInvalidInAllOrNothingMode() throws Exception {
+        final List<TransferResult> results = this.transactionService.transfer(asList(
+            new TransferRequest(randomUUID().toString(), randomUUID().toString(), ONE),
+            new TransferRequest(randomUUID().toString(), randomUUID().toString(), ZERO)), BatchMode.ALL_OR_NOTHING);
+
+        assertEquals(asList(TransferStatus.ROLLED_BACK, TransferStatus.INVALID_REQUEST),
+            results.stream().map(TransferResult::getStatus).collect(toList()));
+        verify(this.accountDao, never()).findById(any());
+    }
+
+    @Test
+    public void testBatchTransferShouldRaiseErrorIfBatchIsEmpty() {
+        assertThrows(IllegalArgumentException.class,
+            () -> this.transactionService.transfer(emptyList(), BatchMode.BEST_EFFORT),
+            "Batch must contain transfers");
+    }
+
+    @Test
+    public void testBatchTransferShouldWriteEachAccountOnceAndRecordEachTransfer() throws Exception {
+        final Account merchant = new Account("John Doe");
+        final Account customer = new Account("Joseph Doe");
+        customer.deposit(TEN);
+
+        when(this.accountDao.findById(merchant.getNumber())).thenReturn(merchant);
+        when(this.accountDao.findById(customer.getNumber())).thenReturn(customer);
+
+        final List<TransferRequest> transfers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            transfers.add(new TransferRequest(customer.getNumber(), merchant.getNumber(), ONE));
+        }
+
+        this.transactionService.transfer(transfers, BatchMode.ALL_OR_NOTHING);
+
+        assertEquals(TEN.setScale(DECIMAL_PLACES, HALF_UP), merchant.getBalance().toBigDecimal());
+        assertEquals(ZERO.setScale(DECIMAL_PLACES, HALF_UP), customer.getBalance().toBigDecimal());
+        verify(this.accountDao, times(1)).save(merchant);
+        verify(this.accountDao, times(1)).save(customer);
+        verify(this.transactionDao, times(10)).save(any());
+    }
 }
@@ -0,0 +1,89 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.exceptions.InsufficientFundsException;
+import com.moneytransfer.domain.request.TransferRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.TEN;
+import static java.math.BigDecimal.ZERO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransferNettingTest {
+
+    private Map<String, BigDecimal> balances;
+    private TransferNetting netting;
+
+    @BeforeEach
+    void beforeEach() {
+        this.balances = new HashMap<>();
+        this.balances.put("a", TEN);
+        this.balances.put("b", ZERO);
+        this.balances.put("c", ZERO);
+        this.netting = new TransferNetting(accountNumber -> {
+            if (!this.balances.containsKey(accountNumber)) {
+                throw new NoSuchElementException();
+            }
+
+            return Money.of(this.balances.get(accountNumber));
+        });
+    }
+
+    @Test
+    public void testNettingShouldSumTransfersOfEachAccount() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            this.netting.add(new TransferRequest("a", "b", ONE));
+        }
+        this.netting.add(new TransferRequest("b", "c", ONE));
+
+        assertEquals(0, BigDecimal.valueOf(-5).compareTo(this.netting.getDeltas().get("a").toBigDecimal()));
+        assertEquals(0, BigDecimal.valueOf(4).compareTo(this.netting.getDeltas().get("b").toBigDecimal()));
+        assertEquals(0, ONE.compareTo(this.netting.getDeltas().get("c").toBigDecimal()));
+    }
+
+    @Test
+    public void testNettingShouldLetTransferSpendMoneyReceivedEarlier() throws Exception {
+        assertThrows(InsufficientFundsException.class, () -> this.netting.add(new TransferRequest("b", "c", ONE)),
+            "Account must not spend money it has not received yet");
+
+        this.netting.add(new TransferRequest("a", "b", ONE));
+        this.netting.add(new TransferRequest("b", "c", ONE));
+
+        assertEquals(0, BigDecimal.valueOf(-1).compareTo(this.netting.getDeltas().get("a").toBigDecimal()));
+        assertFalse(this.netting.getDeltas().containsKey("b"), "Account whose changes cancel out must be left out");
+        assertEquals(0, ONE.compareTo(this.netting.getDeltas().get("c").toBigDecimal()));
+    }
+
+    @Test
+    public void testNettingShouldNotChangeBalancesIfTransferIsRefused() throws Exception {
+        this.netting.add(new TransferRequest("a", "b", TEN));
+
+        assertThrows(InsufficientFundsException.class, () -> this.netting.add(new TransferRequest("a", "c", ONE)));
+        assertThrows(NoSuchElementException.class, () -> this.netting.add(new TransferRequest("b", "d", ONE)));
+
+        assertEquals(2, this.netting.getDeltas().size());
+        assertEquals(0, TEN.compareTo(this.netting.getDeltas().get("b").toBigDecimal()));
+    }
+
+    @Test
+    public void testNettingShouldNotDebitOriginIfDestinationOverflows() throws Exception {
+        this.balances.put("c", BigDecimal.valueOf(Long.MAX_VALUE, 2));
+
+        assertThrows(IllegalArgumentException.class, () -> this.netting.add(new TransferRequest("a", "c", ONE)));
+
+        assertTrue(this.netting.getDeltas().isEmpty(), "Refused transfer must not change any account");
+        this.netting.add(new TransferRequest("a", "b", TEN));
+        assertEquals(0, TEN.negate().compareTo(this.netting.getDeltas().get("a").toBigDecimal()),
+            "Origin balance must not be changed by the refused transfer");
+    }
+}
@@ -0,0 +1,100 @@
+package com.moneytransfer.service.cache;
+
+import com.moneytransfer.domain.entities.Account;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AccountCacheTest {
+
+    @Test
+    public void testGetShouldLoadAccountOnceAndCountHitsAndMisses() throws Exception {
+        final AccountCache cache = new AccountCache(10);
+        final Account account = new Account("John Doe");
+        final AtomicInteger loads = new AtomicInteger();
+
+        final Account first = cache.get(account.getNumber(), number -> {
+            loads.incrementAndGet();
+            return account;
+        });
+        final Account second = cache.get(account.getNumber(), number -> {
+            loads.incrementAndGet();
+            return new Account("Joseph Doe");
+        });
+
+        assertSame(account, first);
+        assertSame(account, second, "Second read must be answered by the cache");
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testGetShouldNotCacheMissingAccounts() throws Exception {
+        final AccountCache cache = new AccountCache(10);
+
+        assertThrows(NoSuchElementException.class, () -> cache.get("unknown", number -> {
+            throw new NoSuchElementException();
+        }));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testAccountsShouldOnlyBeCachedUnderTheirOwnNumber() throws Exception {
+        final AccountCache cache = new AccountCache(10);
+        final Account account = new Account("John Doe");
+        final String alias = account.getNumber().toUpperCase();
+
+        cache.get(alias, number -> account);
+
+        assertEquals(0, cache.size(), "Account read by another spelling of its number must not be cached");
+
+        cache.get(account.getNumber(), number -> account);
+        cache.invalidate(alias);
+
+        assertEquals(0, cache.size(), "Any spelling of the number must invalidate the account");
+    }
+
+    @Test
+    public void testGetShouldEvictLeastRecentlyReadAccount() throws Exception {
+        final AccountCache cache = new AccountCache(2, 1);
+        final Account first = new Account("John Doe");
+        final Account second = new Account("Joseph Doe");
+        final Account third = new Account("Jane Doe");
+
+        cache.get(first.getNumber(), number -> first);
+        cache.get(second.getNumber(), number -> second);
+        cache.get(first.getNumber(), number -> first);
+        cache.get(third.getNumber(), number -> third);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertSame(first, cache.get(first.getNumber(), number -> new Account("John Doe")),
+            "Recently read account must be kept");
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void testInvalidateShouldDropAccountAndAccountsLoadedMeanwhile() throws Exception {
+        final AccountCache cache = new AccountCache(10, 1);
+        final Account account = new Account("John Doe");
+        final Account changed = new Account("John Doe");
+
+        cache.get(account.getNumber(), number -> account);
+        cache.invalidate(account.getNumber());
+
+        final Account stale = cache.get(account.getNumber(), number -> {
+            cache.invalidate(number);
+            return account;
+        });
+
+        assertSame(account, stale);
+        assertSame(changed, cache.get(account.getNumber(), number -> changed),
+            "Account loaded while it was changed must not be cached");
+    }
+}
@@ -0,0 +1,76 @@
+package com.moneytransfer.service.cache;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.service.AccountService;
+import com.moneytransfer.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static java.math.BigDecimal.ONE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingAccountServiceTest {
+
+    private AccountService delegate;
+    private TransactionService transactionDelegate;
+    private AccountService accountService;
+    private TransactionService transactionService;
+    private Account account;
+    private Account other;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        final AccountCache cache = new AccountCache(10);
+        this.delegate = mock(AccountService.class);
+        this.transactionDelegate = mock(TransactionService.class);
+        this.accountService = new CachingAccountService(this.delegate, cache);
+        this.transactionService = new CachingTransactionService(this.transactionDelegate, cache);
+        this.account = new Account("John Doe");
+        this.other = new Account("Joseph Doe");
+        when(this.delegate.find(this.account.getNumber())).thenReturn(this.account);
+        when(this.delegate.find(this.other.getNumber())).thenReturn(this.other);
+    }
+
+    @Test
+    public void testFindShouldReadAccountThroughCache() throws Exception {
+        assertSame(this.account, this.accountService.find(this.account.getNumber()));
+        assertSame(this.account, this.accountService.find(this.account.getNumber()));
+
+        verify(this.delegate, times(1)).find(this.account.getNumber());
+    }
+
+    @Test
+    public void testDepositShouldInvalidateAccountEvenIfItFails() throws Exception {
+        this.accountService.find(this.account.getNumber());
+        this.accountService.deposit(this.account.getNumber(), ONE);
+        this.accountService.find(this.account.getNumber());
+
+        when(this.delegate.withdraw(this.account.getNumber(), ONE)).thenThrow(new NoSuchElementException());
+        assertThrows(NoSuchElementException.class,
+            () -> this.accountService.withdraw(this.account.getNumber(), ONE));
+        this.accountService.find(this.account.getNumber());
+
+        verify(this.delegate, times(3)).find(this.account.getNumber());
+    }
+
+    @Test
+    public void testTransferShouldInvalidateBothAccounts() throws Exception {
+        this.accountService.find(this.account.getNumber());
+        this.accountService.find(this.other.getNumber());
+        this.transactionService.transfer(this.account.getNumber(), this.other.getNumber(), ONE);
+        this.accountService.find(this.account.getNumber());
+        this.accountService.find(this.other.getNumber());
+
+        verify(this.delegate, times(2)).find(this.account.getNumber());
+        verify(this.delegate, times(2)).find(this.other.getNumber());
+        assertEquals(this.account, this.accountService.find(this.account.getNumber()));
+    }
+}
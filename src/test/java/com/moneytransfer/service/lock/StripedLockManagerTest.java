@@ -0,0 +1,110 @@
+package com.moneytransfer.service.lock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedLockManagerTest {
+
+    @Test
+    public void testShouldRaiseAnErrorIfNumberOfStripesIsNotPositive() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new StripedLockManager(0, 0),
+            "Number of stripes must be greater than zero");
+    }
+
+    @Test
+    public void testShouldRoundNumberOfStripesToPowerOfTwo() {
+        assertEquals(1, new StripedLockManager(1, 0).getStripes());
+        assertEquals(8, new StripedLockManager(5, 0).getStripes());
+        assertEquals(1024, new StripedLockManager(1024, 0).getStripes());
+    }
+
+    @Test
+    public void testShouldNotDeadlockWhenLockingAccountsInOppositeOrder() throws Exception {
+        final StripedLockManager lockManager = new StripedLockManager(16, 0);
+        final String first = randomUUID().toString();
+        final String second = randomUUID().toString();
+        final AtomicInteger counter = new AtomicInteger();
+        final ExecutorService executor = newFixedThreadPool(2);
+
+        try {
+            final Future<?> forward = executor.submit(() -> lockRepeatedly(lockManager, first, second, counter));
+            final Future<?> backward = executor.submit(() -> lockRepeatedly(lockManager, second, first, counter));
+
+            forward.get(10, SECONDS);
+            backward.get(10, SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(20000, counter.get(), "All locked operations must complete");
+    }
+
+    @Test
+    public void testShouldRaiseAnErrorIfLockIsNotAcquiredWithinTimeout() throws Exception {
+        final StripedLockManager lockManager = new StripedLockManager(1, 50);
+        final String accountNumber = randomUUID().toString();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = newFixedThreadPool(1);
+
+        try {
+            executor.submit(() -> lockManager.execute(accountNumber, () -> {
+                locked.countDown();
+                return release.await(10, SECONDS);
+            }));
+            locked.await(10, SECONDS);
+
+            assertThrows(LockTimeoutException.class,
+                () -> lockManager.execute(accountNumber, () -> null),
+                "Lock wait must time out");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        final LockStripeStatistics statistics = lockManager.getStatistics().get(0);
+        assertEquals(2, statistics.getAcquisitions(), "Both acquisition attempts must be counted");
+        assertEquals(1, statistics.getContentions(), "Contended acquisition must be counted");
+        assertEquals(1, statistics.getTimeouts(), "Timed out acquisition must be counted");
+        assertTrue(statistics.getWaitNanos() > 0, "Wait time must be recorded");
+        assertEquals(2, lockManager.getAcquisitions(), "Stripe statistics must be summed");
+        assertEquals(1, lockManager.getContentions());
+        assertEquals(1, lockManager.getTimeouts());
+        assertEquals(statistics.getWaitNanos(), lockManager.getWaitNanos());
+        assertEquals(1, lockManager.getMaxStripeContentions());
+    }
+
+    @Test
+    public void testShouldAcquireSharedStripeOnlyOnce() throws Exception {
+        final StripedLockManager lockManager = new StripedLockManager(1, 0);
+
+        final Integer result = lockManager.execute(asList(randomUUID().toString(), randomUUID().toString()),
+            () -> 42);
+
+        assertEquals(42, result);
+        assertEquals(1, lockManager.getStatistics().get(0).getAcquisitions(),
+            "Accounts sharing a stripe must lock it once");
+    }
+
+    private static Void lockRepeatedly(final LockManager lockManager, final String first, final String second,
+                                       final AtomicInteger counter) throws Exception {
+        for (int i = 0; i < 10000; i++) {
+            lockManager.execute(asList(first, second), counter::incrementAndGet);
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,279 @@
+package com.moneytransfer.service.pipeline;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.exceptions.InsufficientFundsException;
+import com.moneytransfer.domain.exceptions.SameAccountTransferException;
+import com.moneytransfer.domain.repository.InMemoryAccountDao;
+import com.moneytransfer.domain.repository.InMemoryTransactionDao;
+import com.moneytransfer.domain.repository.InMemoryUnitOfWork;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.domain.response.TransferStatus;
+import com.moneytransfer.service.BatchMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.TEN;
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransferPipelineTest {
+
+    private InMemoryAccountDao accountDao;
+    private InMemoryTransactionDao transactionDao;
+    private TransferPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        this.accountDao = new InMemoryAccountDao(1024);
+        this.transactionDao = new InMemoryTransactionDao(this.accountDao);
+        this.pipeline = pipeline(new InMemoryUnitOfWork(), 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.pipeline.close();
+    }
+
+    @Test
+    public void testTransferShouldBeStoredBeforeReplying() throws Exception {
+        final Account origin = this.accountDao.save(new Account("John Doe"));
+        final Account destination = this.accountDao.save(new Account("Joseph Doe"));
+
+        assertEquals(0, TEN.compareTo(this.pipeline.deposit(origin.getNumber(), TEN).getBalance().toBigDecimal()));
+
+        final Transaction transaction = this.pipeline.transfer(origin.getNumber(), destination.getNumber(), ONE);
+
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(transaction.getOrigin().getBalance().toBigDecimal()));
+        assertEquals(0, ONE.compareTo(transaction.getDestination().getBalance().toBigDecimal()));
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(balance(origin)), "Origin balance must be stored");
+        assertEquals(0, ONE.compareTo(balance(destination)), "Destination balance must be stored");
+        assertEquals(transaction, this.transactionDao.findById(transaction.getId()), "Transaction must be stored");
+    }
+
+    @Test
+    public void testTransferShouldRaiseErrorsWithoutChangingBalances() throws Exception {
+        final Account origin = this.accountDao.save(new Account("John Doe"));
+        final Account destination = this.accountDao.save(new Account("Joseph Doe"));
+        this.pipeline.deposit(origin.getNumber(), ONE);
+
+        assertThrows(NoSuchElementException.class,
+            () -> this.pipeline.transfer(origin.getNumber(), randomUUID().toString(), ONE),
+            "Destination account must exist");
+        assertThrows(SameAccountTransferException.class,
+            () -> this.pipeline.transfer(origin.getNumber(), origin.getNumber(), ONE),
+            "Accounts must be different");
+        assertThrows(InsufficientFundsException.class,
+            () -> this.pipeline.transfer(origin.getNumber(), destination.getNumber(), TEN),
+            "Origin must have sufficient balance");
+        assertThrows(IllegalArgumentException.class,
+            () -> this.pipeline.withdraw(origin.getNumber(), ONE.negate()),
+            "Amount must be greater than zero");
+
+        assertEquals(0, ONE.compareTo(balance(origin)), "Origin balance must not be changed");
+        assertEquals(0, balance(destination).signum(), "Destination balance must not be changed");
+        assertEquals(0, this.pipeline.withdraw(origin.getNumber(), ONE).getBalance().toBigDecimal().signum(),
+            "Ledger balance must not be changed");
+    }
+
+    @Test
+    public void testAllOrNothingBatchShouldLeaveBalancesUnchangedIfTransferFails() throws Exception {
+        final Account first = this.accountDao.save(new Account("John Doe"));
+        final Account second = this.accountDao.save(new Account("Joseph Doe"));
+        final Account third = this.accountDao.save(new Account("Jane Doe"));
+        this.pipeline.deposit(first.getNumber(), TEN);
+        final PipelinedTransactionService service = new PipelinedTransactionService(this.pipeline);
+
+        final List<TransferResult> rolledBack = service.transfer(asList(
+            new TransferRequest(first.getNumber(), second.getNumber(), TEN),
+            new TransferRequest(second.getNumber(), third.getNumber(), BigDecimal.valueOf(11))),
+            BatchMode.ALL_OR_NOTHING);
+
+        assertEquals(TransferStatus.ROLLED_BACK, rolledBack.get(0).getStatus());
+        assertEquals(TransferStatus.INSUFFICIENT_FUNDS, rolledBack.get(1).getStatus());
+
+        final List<TransferResult> completed = service.transfer(asList(
+            new TransferRequest(first.getNumber(), second.getNumber(), TEN),
+            new TransferRequest(second.getNumber(), third.getNumber(), ONE)),
+            BatchMode.ALL_OR_NOTHING);
+
+        assertTrue(completed.stream().allMatch(TransferResult::isCompleted), "Batch must be applied");
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(
+            completed.get(1).getTransaction().getOrigin().getBalance().toBigDecimal()),
+            "Transactions must show the balances after the batch");
+        assertEquals(0, balance(first).signum());
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(balance(second)));
+        assertEquals(0, ONE.compareTo(balance(third)));
+    }
+
+    @Test
+    public void testConcurrentTransfersShouldNotCreateOrLoseMoney() throws Exception {
+        final String[] accountNumbers = new String[10];
+
+        for (int i = 0; i < accountNumbers.length; i++) {
+            accountNumbers[i] = this.accountDao.save(new Account("Owner " + i)).getNumber();
+            this.pipeline.deposit(accountNumbers[i], TEN);
+        }
+
+        final ExecutorService executor = newFixedThreadPool(4);
+
+        try {
+            final Future<?>[] futures = new Future<?>[4];
+
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                    for (int j = 0; j < 1000; j++) {
+                        final int origin = random.nextInt(accountNumbers.length);
+                        final int destination = (origin + 1 + random.nextInt(accountNumbers.length - 1))
+                            % accountNumbers.length;
+
+                        try {
+                            this.pipeline.transfer(accountNumbers[origin], accountNumbers[destination], ONE);
+                        } catch (InsufficientFundsException e) {
+                            // expected once an account is drained
+                        }
+                    }
+
+                    return null;
+                });
+            }
+
+            for (final Future<?> future : futures) {
+                future.get(30, SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (final String accountNumber : accountNumbers) {
+            total = total.add(this.accountDao.findById(accountNumber).getBalance().toBigDecimal());
+        }
+
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(total), "No money must be created or lost");
+    }
+
+    @Test
+    public void testCommandShouldBeRefusedWhenRingIsFull() throws Exception {
+        final Account account = this.accountDao.save(new Account("John Doe"));
+        final CountDownLatch release = new CountDownLatch(1);
+        final TransferPipeline small = pipeline(new UnitOfWork() {
+            @Override
+            public <R> R execute(final Callable<R> work) throws Exception {
+                release.await();
+                return work.call();
+            }
+        }, 2);
+        final ExecutorService executor = newFixedThreadPool(2);
+
+        try {
+            final Future<Account> first = executor.submit(() -> small.deposit(account.getNumber(), ONE));
+            final Future<Account> second = executor.submit(() -> small.deposit(account.getNumber(), ONE));
+
+            while (small.getBacklog() < 2) {
+                Thread.sleep(10);
+            }
+
+            assertThrows(PipelineFullException.class, () -> small.deposit(account.getNumber(), ONE),
+                "Command must be refused while the ring is full");
+            assertEquals(1, small.getRejected());
+
+            release.countDown();
+            first.get(10, SECONDS);
+            second.get(10, SECONDS);
+
+            assertEquals(0, BigDecimal.valueOf(2).compareTo(balance(account)));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            small.close();
+        }
+    }
+
+    @Test
+    public void testTransferShouldNotDebitOriginIfDestinationCannotBeCredited() throws Exception {
+        final Account origin = this.accountDao.save(new Account("John Doe"));
+        final Account destination = this.accountDao.save(new Account("Joseph Doe"));
+        final BigDecimal largest = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+        this.pipeline.deposit(origin.getNumber(), ONE);
+        this.pipeline.deposit(destination.getNumber(), largest);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> this.pipeline.transfer(origin.getNumber(), destination.getNumber(), ONE),
+            "Destination balance must not overflow");
+        assertEquals(0, this.pipeline.withdraw(origin.getNumber(), ONE).getBalance().toBigDecimal().signum(),
+            "Origin must not be debited in the ledger");
+        assertEquals(0, largest.compareTo(balance(destination)), "Destination balance must not be changed");
+    }
+
+    @Test
+    public void testAccountsShouldOnlyBeFoundByTheirCanonicalNumber() throws Exception {
+        final Account account = this.accountDao.save(new Account("John Doe"));
+        this.pipeline.deposit(account.getNumber(), TEN);
+
+        assertThrows(NoSuchElementException.class,
+            () -> this.pipeline.withdraw(account.getNumber().toUpperCase(), ONE),
+            "Account must not be found by an alias of its number");
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(
+            this.pipeline.withdraw(account.getNumber(), ONE).getBalance().toBigDecimal()));
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(balance(account)));
+    }
+
+    @Test
+    public void testStorageErrorShouldOnlyFailCommandsItCouldNotStore() throws Exception {
+        final Account account = this.accountDao.save(new Account("John Doe"));
+        final AtomicInteger failures = new AtomicInteger(1);
+        final UnitOfWork storage = new InMemoryUnitOfWork();
+        final TransferPipeline failing = pipeline(new UnitOfWork() {
+            @Override
+            public <R> R execute(final Callable<R> work) throws Exception {
+                if (failures.getAndDecrement() > 0) {
+                    throw new Exception("Error saving");
+                }
+
+                return storage.execute(work);
+            }
+        }, 4);
+
+        try {
+            assertThrows(IllegalStateException.class, () -> failing.deposit(account.getNumber(), TEN),
+                "Command must fail if it cannot be stored");
+            assertEquals(0, ONE.compareTo(failing.deposit(account.getNumber(), ONE).getBalance().toBigDecimal()),
+                "Pipeline must read the balances again and keep accepting commands");
+            assertEquals(0, ONE.compareTo(balance(account)));
+        } finally {
+            failing.close();
+        }
+    }
+
+    private TransferPipeline pipeline(final UnitOfWork unitOfWork, final int bufferSize) {
+        return new TransferPipeline(this.accountDao, this.accountDao, this.transactionDao, unitOfWork,
+            bufferSize, PipelineWaitStrategy.SLEEPING);
+    }
+
+    private BigDecimal balance(final Account account) throws Exception {
+        return this.accountDao.findById(account.getNumber()).getBalance().toBigDecimal();
+    }
+}
@@ -0,0 +1,67 @@
+package com.moneytransfer.service.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RetryExecutorTest {
+
+    @Test
+    public void testShouldRaiseAnErrorIfNumberOfAttemptsIsNotPositive() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new RetryExecutor(0, 1, 1),
+            "Number of attempts must be greater than zero");
+    }
+
+    @Test
+    public void testShouldRetryConcurrentModificationUntilSuccess() throws Exception {
+        final RetryExecutor retryExecutor = new RetryExecutor(5, 0, 1);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final String result = retryExecutor.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ConcurrentModificationException();
+            }
+
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get(), "Operation must be attempted until it succeeds");
+        assertEquals(2, retryExecutor.getRetries(), "Retries must be counted");
+        assertEquals(0, retryExecutor.getGiveUps(), "No give-up must be counted");
+    }
+
+    @Test
+    public void testShouldGiveUpAfterMaximumNumberOfAttempts() {
+        final RetryExecutor retryExecutor = new RetryExecutor(3, 0, 1);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConcurrentModificationException.class, () -> retryExecutor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ConcurrentModificationException();
+        }), "Conflict must be raised after last attempt");
+
+        assertEquals(3, attempts.get(), "Operation must be attempted the maximum number of times");
+        assertEquals(2, retryExecutor.getRetries(), "Retries must be counted");
+        assertEquals(1, retryExecutor.getGiveUps(), "Give-up must be counted");
+    }
+
+    @Test
+    public void testShouldNotRetryOtherErrors() {
+        final RetryExecutor retryExecutor = new RetryExecutor(3, 0, 1);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(NoSuchElementException.class, () -> retryExecutor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new NoSuchElementException();
+        }), "Other errors must be raised immediately");
+
+        assertEquals(1, attempts.get(), "Operation must not be retried");
+    }
+}
@@ -0,0 +1,299 @@
+package com.moneytransfer.service.shard;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.exceptions.InsufficientFundsException;
+import com.moneytransfer.domain.exceptions.SameAccountTransferException;
+import com.moneytransfer.domain.repository.InMemoryAccountDao;
+import com.moneytransfer.domain.repository.InMemoryTransactionDao;
+import com.moneytransfer.domain.repository.InMemoryUnitOfWork;
+import com.moneytransfer.domain.repository.UnitOfWork;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.response.TransferResult;
+import com.moneytransfer.domain.response.TransferStatus;
+import com.moneytransfer.service.BatchMode;
+import com.moneytransfer.service.retry.RetryExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.TEN;
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardedLedgerTest {
+
+    private InMemoryAccountDao accountDao;
+    private InMemoryTransactionDao transactionDao;
+    private ShardedLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        this.accountDao = new InMemoryAccountDao(1024);
+        this.transactionDao = new InMemoryTransactionDao(this.accountDao);
+        this.ledger = ledger(new InMemoryUnitOfWork(), 4, 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.ledger.close();
+    }
+
+    @Test
+    public void testTransfersShouldBeStoredBeforeReplyingWithinAndAcrossShards() throws Exception {
+        final Account origin = this.accountDao.save(new Account("John Doe"));
+        final Account local = accountOnShard(origin, true);
+        final Account remote = accountOnShard(origin, false);
+
+        assertEquals(0, TEN.compareTo(this.ledger.deposit(origin.getNumber(), TEN).getBalance().toBigDecimal()));
+
+        final Transaction localTransaction = this.ledger.transfer(origin.getNumber(), local.getNumber(), ONE);
+        final Transaction remoteTransaction = this.ledger.transfer(origin.getNumber(), remote.getNumber(), ONE);
+
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(localTransaction.getOrigin().getBalance().toBigDecimal()));
+        assertEquals(0, BigDecimal.valueOf(8).compareTo(remoteTransaction.getOrigin().getBalance().toBigDecimal()));
+        assertEquals(0, ONE.compareTo(remoteTransaction.getDestination().getBalance().toBigDecimal()));
+        assertEquals(0, BigDecimal.valueOf(8).compareTo(balance(origin)), "Origin balance must be stored");
+        assertEquals(0, ONE.compareTo(balance(local)), "Destination balance must be stored");
+        assertEquals(0, ONE.compareTo(balance(remote)), "Destination balance must be stored");
+        assertEquals(remoteTransaction, this.transactionDao.findById(remoteTransaction.getId()),
+            "Transaction must be stored");
+    }
+
+    @Test
+    public void testFailedCreditShouldReleaseReservation() throws Exception {
+        final Account origin = this.accountDao.save(new Account("John Doe"));
+        final Account destination = this.accountDao.save(new Account("Joseph Doe"));
+        this.ledger.deposit(origin.getNumber(), ONE);
+
+        String unknown = randomUUID().toString();
+
+        while (this.ledger.shardOf(unknown) == this.ledger.shardOf(origin.getNumber())) {
+            unknown = randomUUID().toString();
+        }
+
+        final String missing = unknown;
+
+        assertThrows(NoSuchElementException.class,
+            () -> this.ledger.transfer(origin.getNumber(), missing, ONE),
+            "Destination account must exist");
+        assertEquals(1, this.ledger.getCompensations());
+        assertThrows(SameAccountTransferException.class,
+            () -> this.ledger.transfer(origin.getNumber(), origin.getNumber(), ONE),
+            "Accounts must be different");
+        assertThrows(InsufficientFundsException.class,
+            () -> this.ledger.transfer(origin.getNumber(), destination.getNumber(), TEN),
+            "Origin must have sufficient balance");
+        assertThrows(IllegalArgumentException.class,
+            () -> this.ledger.transfer(origin.getNumber(), destination.getNumber(), ONE.negate()),
+            "Amount must be greater than zero");
+
+        assertEquals(0, ONE.compareTo(balance(origin)), "Origin balance must not be changed");
+        assertEquals(0, balance(destination).signum(), "Destination balance must not be changed");
+        assertEquals(0, this.ledger.withdraw(origin.getNumber(), ONE).getBalance().toBigDecimal().signum(),
+            "Reserved amount must be given back");
+    }
+
+    @Test
+    public void testAccountsShouldOnlyBeFoundByTheirCanonicalNumber() throws Exception {
+        final Account account = this.accountDao.save(new Account("John Doe"));
+        final String alias = account.getNumber().toUpperCase();
+        this.ledger.deposit(account.getNumber(), TEN);
+
+        assertThrows(NoSuchElementException.class, () -> this.ledger.withdraw(alias, ONE),
+            "Account must not be found by an alias of its number");
+        assertThrows(NoSuchElementException.class, () -> this.ledger.transfer(account.getNumber(), alias, ONE),
+            "Account must not be found by an alias of its number");
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(
+            this.ledger.withdraw(account.getNumber(), ONE).getBalance().toBigDecimal()));
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(
+            this.accountDao.findById(account.getNumber()).getBalance().toBigDecimal()));
+    }
+
+    @Test
+    public void testStorageErrorShouldLeaveBalanceUnchanged() throws Exception {
+        final Account account = this.accountDao.save(new Account("John Doe"));
+        final ShardedLedger failing = ledger(new UnitOfWork() {
+            @Override
+            public <R> R execute(final Callable<R> work) throws Exception {
+                throw new Exception("Error saving");
+            }
+        }, 2, 4);
+
+        try {
+            assertThrows(Exception.class, () -> failing.deposit(account.getNumber(), ONE),
+                "Operation must fail if it cannot be stored");
+            assertThrows(InsufficientFundsException.class, () -> failing.withdraw(account.getNumber(), ONE),
+                "Balance kept by the shard must not be changed");
+            assertEquals(0, balance(account).signum());
+        } finally {
+            failing.close();
+        }
+    }
+
+    @Test
+    public void testAllOrNothingBatchShouldLeaveBalancesUnchangedIfTransferFails() throws Exception {
+        final Account first = this.accountDao.save(new Account("John Doe"));
+        final Account second = this.accountDao.save(new Account("Joseph Doe"));
+        final Account third = this.accountDao.save(new Account("Jane Doe"));
+        this.ledger.deposit(first.getNumber(), TEN);
+        final ShardedTransactionService service = new ShardedTransactionService(this.ledger);
+
+        final List<TransferResult> rolledBack = service.transfer(asList(
+            new TransferRequest(first.getNumber(), second.getNumber(), TEN),
+            new TransferRequest(second.getNumber(), third.getNumber(), BigDecimal.valueOf(11))),
+            BatchMode.ALL_OR_NOTHING);
+
+        assertEquals(TransferStatus.ROLLED_BACK, rolledBack.get(0).getStatus());
+        assertEquals(TransferStatus.INSUFFICIENT_FUNDS, rolledBack.get(1).getStatus());
+
+        final List<TransferResult> completed = service.transfer(asList(
+            new TransferRequest(first.getNumber(), second.getNumber(), TEN),
+            new TransferRequest(second.getNumber(), third.getNumber(), ONE)),
+            BatchMode.ALL_OR_NOTHING);
+
+        assertTrue(completed.stream().allMatch(TransferResult::isCompleted), "Batch must be applied");
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(
+            completed.get(1).getTransaction().getOrigin().getBalance().toBigDecimal()),
+            "Transactions must show the balances after the batch");
+        assertEquals(0, balance(first).signum());
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(balance(second)));
+        assertEquals(0, ONE.compareTo(balance(third)));
+        assertEquals(0, this.ledger.withdraw(second.getNumber(), BigDecimal.valueOf(9)).getBalance()
+            .toBigDecimal().signum(), "Shards must see the balances after the batch");
+    }
+
+    @Test
+    public void testConcurrentTransfersShouldNotCreateOrLoseMoney() throws Exception {
+        final String[] accountNumbers = new String[10];
+
+        for (int i = 0; i < accountNumbers.length; i++) {
+            accountNumbers[i] = this.accountDao.save(new Account("Owner " + i)).getNumber();
+            this.ledger.deposit(accountNumbers[i], TEN);
+        }
+
+        final ExecutorService executor = newFixedThreadPool(4);
+
+        try {
+            final Future<?>[] futures = new Future<?>[4];
+
+            for (int i = 0; i < futures.length; i++) {
+                final boolean batches = i == 0;
+
+                futures[i] = executor.submit(() -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                    for (int j = 0; j < 1000; j++) {
+                        final int origin = random.nextInt(accountNumbers.length);
+                        final int destination = (origin + 1 + random.nextInt(accountNumbers.length - 1))
+                            % accountNumbers.length;
+
+                        if (batches && j % 10 == 0) {
+                            this.ledger.transfer(asList(
+                                new TransferRequest(accountNumbers[origin], accountNumbers[destination], ONE)),
+                                BatchMode.BEST_EFFORT);
+                            continue;
+                        }
+
+                        try {
+                            this.ledger.transfer(accountNumbers[origin], accountNumbers[destination], ONE);
+                        } catch (InsufficientFundsException e) {
+                            // expected once an account is drained
+                        }
+                    }
+
+                    return null;
+                });
+            }
+
+            for (final Future<?> future : futures) {
+                future.get(30, SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (final String accountNumber : accountNumbers) {
+            total = total.add(this.accountDao.findById(accountNumber).getBalance().toBigDecimal());
+        }
+
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(total), "No money must be created or lost");
+    }
+
+    @Test
+    public void testOperationShouldBeRefusedWhenMailboxIsFull() throws Exception {
+        final Account account = this.accountDao.save(new Account("John Doe"));
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch storing = new CountDownLatch(1);
+        final ShardedLedger small = ledger(new UnitOfWork() {
+            @Override
+            public <R> R execute(final Callable<R> work) throws Exception {
+                storing.countDown();
+                release.await();
+                return work.call();
+            }
+        }, 1, 1);
+        final ExecutorService executor = newFixedThreadPool(2);
+
+        try {
+            final Future<Account> first = executor.submit(() -> small.deposit(account.getNumber(), ONE));
+            storing.await(10, SECONDS);
+            final Future<Account> second = executor.submit(() -> small.deposit(account.getNumber(), ONE));
+
+            while (small.getQueued() < 1) {
+                Thread.sleep(10);
+            }
+
+            assertThrows(MailboxFullException.class, () -> small.deposit(account.getNumber(), ONE),
+                "Operation must be refused while the mailbox is full");
+            assertEquals(1, small.getRejected());
+
+            release.countDown();
+            first.get(10, SECONDS);
+            second.get(10, SECONDS);
+
+            assertEquals(0, BigDecimal.valueOf(2).compareTo(balance(account)));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            small.close();
+        }
+    }
+
+    private ShardedLedger ledger(final UnitOfWork unitOfWork, final int shards, final int mailboxCapacity) {
+        return new ShardedLedger(this.accountDao, this.accountDao, this.transactionDao, unitOfWork,
+            new RetryExecutor(), shards, mailboxCapacity);
+    }
+
+    private Account accountOnShard(final Account other, final boolean same) throws Exception {
+        while (true) {
+            final Account account = this.accountDao.save(new Account("Joseph Doe"));
+            final Shard shard = this.ledger.shardOf(account.getNumber());
+
+            if ((shard == this.ledger.shardOf(other.getNumber())) == same) {
+                return account;
+            }
+        }
+    }
+
+    private BigDecimal balance(final Account account) throws Exception {
+        return this.accountDao.findById(account.getNumber()).getBalance().toBigDecimal();
+    }
+}
@@ -0,0 +1,64 @@
+package com.moneytransfer.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdentifiersTest {
+
+    @Test
+    public void testIdentifiersShouldBeTimeOrderedVersion7Uuids() {
+        final long before = System.currentTimeMillis();
+        String previous = Identifiers.next();
+
+        for (int i = 0; i < 100_000; i++) {
+            final String id = Identifiers.next();
+
+            assertTrue(id.compareTo(previous) > 0, "Identifiers of a thread must be increasing");
+            previous = id;
+        }
+
+        final UUID uuid = UUID.fromString(previous);
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue((uuid.getMostSignificantBits() >>> 16) >= before, "Identifier must start with its time");
+    }
+
+    @Test
+    public void testBytesShouldSortAsText() {
+        final String id = Identifiers.next();
+        final byte[] bytes = Identifiers.toBytes(id);
+
+        assertEquals(Identifiers.SIZE, bytes.length);
+        assertEquals(id, Identifiers.fromBytes(bytes));
+        assertArrayEquals(new byte[] {(byte) 0xff, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1},
+            Identifiers.toBytes("ff000000-0000-0000-0000-000000000001"));
+        assertTrue(Identifiers.isValid(UUID.randomUUID().toString()), "Random UUIDs must still be valid");
+        assertFalse(Identifiers.isValid("t1"));
+        assertThrows(IllegalArgumentException.class, () -> Identifiers.toBytes("t1"));
+        assertThrows(IllegalArgumentException.class, () -> Identifiers.fromBytes(new byte[15]));
+    }
+
+    @Test
+    public void testOnlyTheCanonicalTextShouldBeValid() {
+        final String id = Identifiers.next();
+        final UUID uuid = UUID.fromString(id);
+        final String unpadded = Long.toHexString(uuid.getMostSignificantBits() >>> 32) + "-0-0-0-1";
+
+        assertTrue(Identifiers.isValid(id));
+        assertEquals(UUID.fromString(unpadded), UUID.fromString(unpadded.toUpperCase()),
+            "The JDK parser takes other spellings of an identifier");
+
+        for (final String alias : new String[] {id.toUpperCase(), unpadded, " " + id.substring(1), id + "0"}) {
+            assertFalse(Identifiers.isValid(alias), alias + " must not be valid");
+            assertThrows(IllegalArgumentException.class, () -> Identifiers.toBytes(alias));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.moneytransfer.utils;
+
+import com.google.gson.JsonParseException;
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.AccountRequest;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.request.UpdateBalanceRequest;
+import com.moneytransfer.domain.response.ErrorResponse;
+import com.moneytransfer.domain.response.TransferReceipt;
+import com.moneytransfer.domain.response.TransferResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonCodecTest {
+
+    private final JsonCodec codec = new JsonCodec();
+
+    @Test
+    public void testPayloadsShouldKeepTheirFormat() {
+        final Account origin = new Account("origin", "John \"Doe\"", Money.ofCents(1050), 3L);
+        final Account destination = new Account("destination", "Joseph Doe", Money.ofCents(5), 7L);
+        final Transaction transaction = new Transaction("id", origin, destination, Money.ofCents(100),
+            LocalDateTime.of(2020, 3, 14, 15, 9, 26, 535897000));
+
+        assertEquals("{\"number\":\"origin\",\"owner\":\"John \\\"Doe\\\"\",\"balance\":10.50}",
+            this.codec.write(origin), "Account version must be left out");
+        assertEquals("{\"id\":\"id\","
+                + "\"origin\":{\"number\":\"origin\",\"owner\":\"John \\\"Doe\\\"\",\"balance\":10.50},"
+                + "\"destination\":{\"number\":\"destination\",\"owner\":\"Joseph Doe\",\"balance\":0.05},"
+                + "\"amount\":1.00,"
+                + "\"date\":{\"date\":{\"year\":2020,\"month\":3,\"day\":14},"
+                + "\"time\":{\"hour\":15,\"minute\":9,\"second\":26,\"nano\":535897000}}}",
+            this.codec.write(transaction));
+        assertEquals("{\"id\":\"id\",\"originAccountNumber\":\"origin\",\"destinationAccountNumber\":\"destination\","
+                + "\"amount\":1.00,"
+                + "\"date\":{\"date\":{\"year\":2020,\"month\":3,\"day\":14},"
+                + "\"time\":{\"hour\":15,\"minute\":9,\"second\":26,\"nano\":535897000}},"
+                + "\"balance\":10.50}",
+            this.codec.write(TransferReceipt.of(transaction)), "Receipt must leave the other account out");
+        assertEquals("{\"status\":\"COMPLETED\",\"transaction\":"
+                + this.codec.write(TransferReceipt.withoutBalance(transaction)) + "}",
+            this.codec.write(TransferResult.completed(transaction)));
+        assertEquals(TransferReceipt.of(transaction), this.codec.read(
+            stream(this.codec.write(TransferReceipt.of(transaction))), TransferReceipt.class));
+        assertEquals("{}", this.codec.write(new ErrorResponse(null)), "Null fields must be left out");
+        assertEquals(transaction, this.codec.read(stream(this.codec.write(transaction)), Transaction.class));
+    }
+
+    @Test
+    public void testRequestsShouldBeReadFromStream() {
+        final TransferRequest transfer = this.codec.read(stream("{\"amount\":\"10.5\",\"unknown\":[1,{}],"
+            + "\"originAccountNumber\":\"a\",\"destinationAccountNumber\":\"b\"}"), TransferRequest.class);
+
+        assertEquals(new TransferRequest("a", "b", new BigDecimal("10.5")), transfer);
+        assertEquals(new UpdateBalanceRequest(BigDecimal.TEN),
+            this.codec.read(stream("{\"amount\":10}"), UpdateBalanceRequest.class));
+        assertEquals(2, this.codec.read(stream("[{\"amount\":1},{\"amount\":2}]"), TransferRequest[].class).length);
+        assertNull(this.codec.read(stream(""), AccountRequest.class), "Empty body must be read as null");
+        assertThrows(JsonParseException.class,
+            () -> this.codec.read(stream("{\"amount\":\"ten\"}"), UpdateBalanceRequest.class));
+        assertThrows(JsonParseException.class,
+            () -> this.codec.read(stream("{\"amount\":1} {"), UpdateBalanceRequest.class),
+            "Body must hold a single payload");
+    }
+
+    @Test
+    public void testMultibyteCharactersShouldBeDecodedAcrossBufferBoundaries() {
+        final StringBuilder owner = new StringBuilder();
+
+        while (owner.length() < 5000) {
+            owner.append("João 💰 ");
+        }
+
+        final AccountRequest request = new AccountRequest(owner.toString());
+
+        assertEquals(request, this.codec.read(stream(this.codec.write(request)), AccountRequest.class));
+        assertEquals(request, this.codec.read(stream(this.codec.write(request)), AccountRequest.class),
+            "Reader must be reusable");
+    }
+
+    @Test
+    public void testBufferShouldNotLeakIntoNextPayload() {
+        final StringBuilder message = new StringBuilder();
+
+        while (message.length() <= JsonCodec.MAX_RETAINED_CHARS) {
+            message.append("error ");
+        }
+
+        assertEquals(message.length() + 14, this.codec.write(new ErrorResponse(message.toString())).length());
+        assertEquals("{\"message\":\"x\"}", this.codec.write(new ErrorResponse("x")));
+        assertEquals("{\"message\":\"y\"}", this.codec.write(new ErrorResponse("y")));
+    }
+
+    private static InputStream stream(final String json) {
+        return new ByteArrayInputStream(json.getBytes(UTF_8));
+    }
+}
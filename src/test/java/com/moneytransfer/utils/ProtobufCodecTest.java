@@ -0,0 +1,111 @@
+package com.moneytransfer.utils;
+
+import com.moneytransfer.domain.entities.Account;
+import com.moneytransfer.domain.entities.Money;
+import com.moneytransfer.domain.entities.Transaction;
+import com.moneytransfer.domain.request.AccountRequest;
+import com.moneytransfer.domain.request.TransferRequest;
+import com.moneytransfer.domain.request.UpdateBalanceRequest;
+import com.moneytransfer.domain.response.TransferReceipt;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProtobufCodecTest {
+
+    private final ProtobufCodec codec = new ProtobufCodec();
+
+    @Test
+    public void testPayloadsShouldBeReadAsWritten() {
+        final Account origin = new Account(randomUUID().toString(), "João 💰", Money.ofCents(-1050), null);
+        final Account destination = new Account(randomUUID().toString(), "Joseph Doe", Money.ofCents(5), null);
+        final TransferReceipt receipt = TransferReceipt.of(new Transaction(randomUUID().toString(), origin,
+            destination, Money.ofCents(100), LocalDateTime.of(1969, 3, 14, 15, 9, 26, 535897000)));
+        final TransferReceipt batchReceipt = TransferReceipt.withoutBalance(new Transaction(origin, destination,
+            BigDecimal.ONE));
+        final TransferRequest transfer = new TransferRequest(origin.getNumber(), destination.getNumber(),
+            new BigDecimal("10.50"));
+
+        assertEquals(origin, this.codec.read(this.codec.write(origin), Account.class));
+        assertEquals(receipt, this.codec.read(this.codec.write(receipt), TransferReceipt.class));
+        assertEquals(batchReceipt, this.codec.read(this.codec.write(batchReceipt), TransferReceipt.class),
+            "Missing balance must be read as null");
+        assertEquals(transfer, this.codec.read(this.codec.write(transfer), TransferRequest.class));
+        assertArrayEquals(new TransferRequest[] {transfer, transfer},
+            this.codec.read(this.codec.write(new TransferRequest[] {transfer, transfer}), TransferRequest[].class));
+        assertEquals(new AccountRequest("John Doe"),
+            this.codec.read(this.codec.write(new AccountRequest("John Doe")), AccountRequest.class));
+        assertNull(this.codec.read(new byte[0], UpdateBalanceRequest.class).getAmount(),
+            "Missing fields must be read as null");
+    }
+
+    @Test
+    public void testPayloadsShouldBeSmallerThanJson() {
+        final Account account = new Account(randomUUID().toString(), "John Doe", Money.ofCents(100000), null);
+        final TransferReceipt receipt = TransferReceipt.of(
+            new Transaction(account, new Account("Joseph Doe"), new BigDecimal("250.59")));
+        final TransferRequest transfer = new TransferRequest(randomUUID().toString(), randomUUID().toString(),
+            new BigDecimal("250.59"));
+
+        final byte[] bytes = this.codec.write(transfer);
+
+        assertEquals(2 + 16 + 2 + 16 + 1 + 3, bytes.length, "Numbers must be 16 bytes and amount a varint");
+        assertTrue(this.codec.write(account).length * 2 < new JsonCodec().write(account).getBytes(UTF_8).length);
+        assertTrue(this.codec.write(receipt).length * 2 < new JsonCodec().write(receipt).getBytes(UTF_8).length);
+    }
+
+    @Test
+    public void testUnknownFieldsShouldBeSkipped() {
+        final byte[] known = this.codec.write(new UpdateBalanceRequest(BigDecimal.TEN));
+        final byte[] unknown = {(9 << 3), 1, (10 << 3) | 2, 2, 'x', 'y', (11 << 3) | 5, 0, 0, 0, 0,
+            (12 << 3) | 1, 0, 0, 0, 0, 0, 0, 0, 0};
+        final byte[] bytes = new byte[unknown.length + known.length];
+        System.arraycopy(unknown, 0, bytes, 0, unknown.length);
+        System.arraycopy(known, 0, bytes, unknown.length, known.length);
+
+        assertEquals(0, BigDecimal.TEN.compareTo(this.codec.read(bytes, UpdateBalanceRequest.class).getAmount()));
+    }
+
+    @Test
+    public void testMalformedPayloadsShouldBeRejected() {
+        final byte[] transfer = this.codec.write(new TransferRequest(randomUUID().toString(), null, BigDecimal.ONE));
+        final byte[] truncated = new byte[transfer.length - 5];
+        System.arraycopy(transfer, 0, truncated, 0, truncated.length);
+
+        assertThrows(IllegalArgumentException.class, () -> this.codec.read(truncated, TransferRequest.class));
+        assertThrows(IllegalArgumentException.class,
+            () -> this.codec.read(new byte[] {(1 << 3) | 2, 3, 1, 2, 3}, TransferRequest.class),
+            "Account numbers must be 16 bytes");
+        assertThrows(IllegalArgumentException.class,
+            () -> this.codec.read(new byte[] {(1 << 3), (byte) 0x80}, UpdateBalanceRequest.class));
+        assertThrows(IllegalArgumentException.class, () -> this.codec.read(new byte[0], Account.class));
+        assertThrows(IllegalArgumentException.class, () -> this.codec.read(new byte[0], String.class));
+    }
+
+    @Test
+    public void testNegativeLengthsShouldBeRejected() {
+        final byte[] minusEleven = {(byte) 0xF5, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01};
+        final byte[] unknown = new byte[1 + minusEleven.length];
+        final byte[] name = new byte[1 + minusEleven.length];
+        unknown[0] = (15 << 3) | 2;
+        name[0] = (1 << 3) | 2;
+        System.arraycopy(minusEleven, 0, unknown, 1, minusEleven.length);
+        System.arraycopy(minusEleven, 0, name, 1, minusEleven.length);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(IllegalArgumentException.class,
+            () -> this.codec.read(unknown, TransferRequest.class)), "Skipping must not move backwards");
+        assertThrows(IllegalArgumentException.class, () -> this.codec.read(name, AccountRequest.class));
+    }
+}